@@ -0,0 +1,159 @@
+package ticketReservation.soen345.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to a downstream service, AIMD-style: each fast success adds
+ * {@code 1/limit} (about +1 per round trip of the whole window), each slow or overloaded
+ * response multiplies the limit by {@code backoffRatio}. Waiters are admitted by priority,
+ * level 0 first; within a level, order is not guaranteed.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition[] turns;
+    private final int[] waiting;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio, int priorityLevels) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1 || priorityLevels < 1) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1) and priorityLevels positive");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.turns = new Condition[priorityLevels];
+        this.waiting = new int[priorityLevels];
+        for (int i = 0; i < priorityLevels; i++) {
+            turns[i] = lock.newCondition();
+        }
+    }
+
+    /**
+     * Waits for a permit. Returns false if none became available within the timeout; a caller
+     * that gets true must call {@link #release} exactly once.
+     */
+    public boolean tryAcquire(int priority, long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            if (canEnter(priority)) {
+                inFlight++;
+                return true;
+            }
+            waiting[priority]++;
+            try {
+                while (!canEnter(priority)) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = turns[priority].awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting[priority]--;
+                signalNext();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit and feeds the call's outcome into the limit.
+     *
+     * @param overloaded whether the downstream pushed back (e.g. HTTP 429), regardless of latency
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (overloaded || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlight + 1 >= (int) limit) {
+                // Only grow while the window is actually in use.
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit without adjusting the limit, for calls that never reached the downstream.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int waiting(int priority) {
+        lock.lock();
+        try {
+            return waiting[priority];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canEnter(int priority) {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        for (int higher = 0; higher < priority; higher++) {
+            if (waiting[higher] > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void signalNext() {
+        for (int level = 0; level < waiting.length; level++) {
+            if (waiting[level] > 0) {
+                turns[level].signalAll();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ticketReservation.soen345.concurrency;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Keyed timer wheel with overflow levels, after Varghese and Lauck. The lowest level has
+ * {@code wheelSize} buckets of {@code tickMillis}; each overflow level's tick is the span of the
+ * level below, created only when something is scheduled that far out. Scheduling, rescheduling
+ * and cancelling are O(1); advancing costs one step per tick plus the entries that move.
+ * Entries fire at the tick containing their deadline, so up to one tick early.
+ *
+ * <p>Not thread-safe; callers serialize access.
+ */
+public class HierarchicalTimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private final List<Entry<K, V>> due = new ArrayList<>();
+    private final Level<K, V> root;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.root = new Level<>(tickMillis, wheelSize, startMillis - Math.floorMod(startMillis, tickMillis));
+    }
+
+    /**
+     * Schedules {@code value} under {@code key}, replacing any entry with the same key. A deadline
+     * that has already passed fires on the next {@link #advanceTo}.
+     */
+    public void schedule(K key, long deadlineMillis, V value) {
+        cancel(key);
+        Entry<K, V> entry = new Entry<>(key, deadlineMillis, value);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    public boolean cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.bucket != null) {
+            entry.bucket.remove(entry);
+            entry.bucket = null;
+        } else {
+            due.remove(entry);
+        }
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        for (Entry<K, V> entry : entries.values()) {
+            if (entry.bucket != null) {
+                entry.bucket.clear();
+            }
+        }
+        entries.clear();
+        due.clear();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}, handing every entry that came due to
+     * {@code expired} in deadline order per tick. Fired entries are removed before the callback.
+     */
+    public void advanceTo(long nowMillis, BiConsumer<K, V> expired) {
+        fire(expired);
+        while (root.currentTime + tickMillis <= nowMillis) {
+            long time = root.currentTime + tickMillis;
+            for (Level<K, V> level = root; level != null; level = level.overflow) {
+                level.currentTime = time - Math.floorMod(time, level.tickMillis);
+            }
+            cascade(root, time);
+            fire(expired);
+        }
+    }
+
+    private void cascade(Level<K, V> level, long time) {
+        if (level.overflow != null && Math.floorMod(time, level.overflow.tickMillis) == 0) {
+            cascade(level.overflow, time);
+        }
+        LinkedHashSet<Entry<K, V>> bucket = level.bucketFor(time);
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Entry<K, V>> moving = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<K, V> entry : moving) {
+            entry.bucket = null;
+            place(entry);
+        }
+    }
+
+    private void place(Entry<K, V> entry) {
+        if (entry.deadline < root.currentTime + tickMillis) {
+            due.add(entry);
+            return;
+        }
+        Level<K, V> level = root;
+        while (entry.deadline >= level.currentTime + level.interval) {
+            if (level.overflow == null) {
+                long overflowTick = level.interval;
+                level.overflow = new Level<>(overflowTick, wheelSize,
+                        level.currentTime - Math.floorMod(level.currentTime, overflowTick));
+            }
+            level = level.overflow;
+        }
+        LinkedHashSet<Entry<K, V>> bucket = level.bucketFor(entry.deadline);
+        bucket.add(entry);
+        entry.bucket = bucket;
+    }
+
+    private void fire(BiConsumer<K, V> expired) {
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Entry<K, V>> firing = new ArrayList<>(due);
+        due.clear();
+        firing.sort((a, b) -> Long.compare(a.deadline, b.deadline));
+        for (Entry<K, V> entry : firing) {
+            entries.remove(entry.key, entry);
+        }
+        for (Entry<K, V> entry : firing) {
+            expired.accept(entry.key, entry.value);
+        }
+    }
+
+    private static final class Level<K, V> {
+        private final long tickMillis;
+        private final long interval;
+        private final LinkedHashSet<Entry<K, V>>[] buckets;
+        private long currentTime;
+        private Level<K, V> overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMillis, int wheelSize, long currentTime) {
+            this.tickMillis = tickMillis;
+            this.interval = tickMillis * wheelSize;
+            this.currentTime = currentTime;
+            this.buckets = new LinkedHashSet[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new LinkedHashSet<>();
+            }
+        }
+
+        private LinkedHashSet<Entry<K, V>> bucketFor(long time) {
+            return buckets[(int) Math.floorMod(Math.floorDiv(time, tickMillis), (long) buckets.length)];
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final long deadline;
+        private final V value;
+        private LinkedHashSet<Entry<K, V>> bucket;
+
+        private Entry(K key, long deadline, V value) {
+            this.key = key;
+            this.deadline = deadline;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ticketReservation.soen345.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per key, created on first use and never holding more than
+ * {@code maxKeys} of them. Buckets that have refilled are indistinguishable from new ones, so once
+ * the map is full they are swept out, at most once per token refill interval so key-spraying
+ * traffic cannot make every request scan the map. A new key that still finds the map full is
+ * denied until the next sweep frees room: the limiter fails closed rather than forgetting
+ * buckets that are still throttling someone.
+ */
+public class KeyedRateLimiter<K> {
+
+    private final ConcurrentMap<K, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final double refillPerSecond;
+    private final int maxKeys;
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweepNanos;
+    private final LongSupplier nanoTime;
+
+    public KeyedRateLimiter(int capacity, Duration refillPeriod, int maxKeys) {
+        this(capacity, refillPeriod, maxKeys, System::nanoTime);
+    }
+
+    /**
+     * @param capacity     burst size per key
+     * @param refillPeriod time to refill {@code capacity} tokens from empty
+     */
+    public KeyedRateLimiter(int capacity, Duration refillPeriod, int maxKeys, LongSupplier nanoTime) {
+        this.capacity = capacity;
+        this.refillPerSecond = capacity / (refillPeriod.toNanos() / 1_000_000_000d);
+        this.maxKeys = maxKeys;
+        this.sweepIntervalNanos = refillPeriod.toNanos() / Math.max(1, capacity);
+        this.nanoTime = nanoTime;
+        this.nextSweepNanos = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    public boolean tryAcquire(K key) {
+        TokenBucket bucket = bucketFor(key);
+        return bucket != null && bucket.tryConsume();
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire}, for attempts that should not count.
+     */
+    public void refund(K key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.refund(1);
+        }
+    }
+
+    public Duration retryAfter(K key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return Duration.ofNanos(bucket.nanosUntilAvailable());
+        }
+        if (buckets.size() >= maxKeys) {
+            return Duration.ofNanos(Math.max(0, nextSweepNanos.get() - nanoTime.getAsLong()));
+        }
+        return Duration.ZERO;
+    }
+
+    public int trackedKeys() {
+        return buckets.size();
+    }
+
+    /**
+     * The bucket for {@code key}, or {@code null} when it is new and there is no room for it.
+     * Concurrent first uses can overshoot {@code maxKeys} by at most the number of callers racing.
+     */
+    private TokenBucket bucketFor(K key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            sweepIfDue();
+            if (buckets.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerSecond, nanoTime));
+    }
+
+    private void sweepIfDue() {
+        long now = nanoTime.getAsLong();
+        long due = nextSweepNanos.get();
+        if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        buckets.values().removeIf(TokenBucket::isFull);
+    }
+}
@@ -0,0 +1,79 @@
+package ticketReservation.soen345.concurrency;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Classic token bucket: up to {@code capacity} tokens, refilled continuously at
+ * {@code refillPerSecond}. Time comes from a nanosecond source so tests can drive it.
+ */
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double capacity, double refillPerSecond, LongSupplier nanoTime) {
+        if (capacity <= 0 || refillPerSecond < 0) {
+            throw new IllegalArgumentException("capacity must be positive and refill non-negative");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / NANOS_PER_SECOND;
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoTime.getAsLong();
+    }
+
+    public synchronized boolean tryConsume() {
+        return tryConsume(1);
+    }
+
+    public synchronized boolean tryConsume(double permits) {
+        refill();
+        if (tokens < permits) {
+            return false;
+        }
+        tokens -= permits;
+        return true;
+    }
+
+    /**
+     * Puts back {@code permits} taken earlier, never above {@code capacity}.
+     */
+    public synchronized void refund(double permits) {
+        refill();
+        tokens = Math.min(capacity, tokens + permits);
+    }
+
+    /**
+     * Nanoseconds until one token is available; zero when one already is.
+     */
+    public synchronized long nanosUntilAvailable() {
+        refill();
+        if (tokens >= 1 || refillPerNano == 0) {
+            return tokens >= 1 ? 0 : Long.MAX_VALUE;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerNano);
+    }
+
+    /**
+     * True once the bucket has refilled completely, meaning it carries no state worth keeping.
+     */
+    public synchronized boolean isFull() {
+        refill();
+        return tokens >= capacity;
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
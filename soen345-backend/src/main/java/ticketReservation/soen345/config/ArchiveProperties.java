@@ -0,0 +1,21 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    /** Events move to {@code events_archive} this long after their date. */
+    private Duration eventRetention = Duration.ofDays(30);
+    /** Cancelled reservations move to {@code reservations_archive} this long after cancellation. */
+    private Duration cancelledReservationRetention = Duration.ofDays(90);
+    /** Documents moved per batch: one read, one bulk copy and one delete. */
+    private int batchSize = 500;
+    /** Batches per collection per run, so a single run never holds the primary for long. */
+    private int maxBatchesPerRun = 20;
+    private Duration leaseTtl = Duration.ofMinutes(5);
+}
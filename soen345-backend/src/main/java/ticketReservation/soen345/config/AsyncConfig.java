@@ -0,0 +1,94 @@
+package ticketReservation.soen345.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    public static final String PAYMENT_EXECUTOR = "paymentTaskExecutor";
+    public static final String EMAIL_EXECUTOR = "emailTaskExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationTaskExecutor";
+    public static final String BATCH_JOB_SCHEDULER = "batchJobScheduler";
+
+    /** One thread per batch job, so none of them waits behind another. */
+    private static final int BATCH_JOB_THREADS = 4;
+
+    /**
+     * Runs the short, latency-sensitive ticks (revocation sync, cache invalidation, reminders,
+     * coalesced notifications). Declared because defining {@link #batchJobScheduler()} turns off
+     * Spring Boot's default scheduler; it is still sized by {@code spring.task.scheduling.*}.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Runs the long batch jobs (payment reconciliation, archiving, snapshot backfill) that page
+     * through whole collections or pace provider calls, so they never hold up {@link #taskScheduler}.
+     */
+    @Bean(name = BATCH_JOB_SCHEDULER)
+    public ThreadPoolTaskScheduler batchJobScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("batch-job-");
+        scheduler.setPoolSize(BATCH_JOB_THREADS);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        return scheduler;
+    }
+
+    /**
+     * Runs webhook processing and deferred payment confirmation off the request thread.
+     * When the queue is full the caller runs the task itself rather than dropping it.
+     */
+    @Bean(name = PAYMENT_EXECUTOR)
+    public TaskExecutor paymentTaskExecutor(PaymentWebhookProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("payment-");
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs email batch requests; the pool size is the cap on provider requests in flight.
+     */
+    @Bean(name = EMAIL_EXECUTOR)
+    public TaskExecutor emailTaskExecutor(EmailDeliveryProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("email-");
+        executor.setCorePoolSize(properties.getBatch().getConcurrency());
+        executor.setMaxPoolSize(properties.getBatch().getConcurrency());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Sends deferred notifications (due reminders, coalesced messages) off the shared scheduler thread.
+     */
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public TaskExecutor notificationTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("notification-");
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
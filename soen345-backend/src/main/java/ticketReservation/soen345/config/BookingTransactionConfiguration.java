@@ -0,0 +1,44 @@
+package ticketReservation.soen345.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.service.BookingTransactions;
+import ticketReservation.soen345.service.CapacityReserver;
+import ticketReservation.soen345.service.impl.CombiningCapacityReserver;
+import ticketReservation.soen345.service.impl.DirectBookingTransactions;
+import ticketReservation.soen345.service.impl.DirectCapacityReserver;
+import ticketReservation.soen345.service.impl.MongoBookingTransactions;
+
+@Configuration
+public class BookingTransactionConfiguration {
+
+    @Bean
+    public BookingTransactions bookingTransactions(
+            ReservationProperties reservationProperties,
+            ObjectProvider<MongoDatabaseFactory> mongoDatabaseFactory,
+            MeterRegistry meterRegistry) {
+        if (!reservationProperties.isTransactional()) {
+            return new DirectBookingTransactions();
+        }
+        // Kept out of the context so it does not become the default manager for @Transactional.
+        return new MongoBookingTransactions(
+                new MongoTransactionManager(mongoDatabaseFactory.getObject()), reservationProperties, meterRegistry);
+    }
+
+    @Bean
+    public CapacityReserver capacityReserver(
+            ReservationProperties reservationProperties,
+            EventRepository eventRepository,
+            MeterRegistry meterRegistry) {
+        ReservationProperties.CapacityCombining combining = reservationProperties.getCapacityCombining();
+        if (reservationProperties.isTransactional() || !combining.isEnabled()) {
+            return new DirectCapacityReserver(eventRepository);
+        }
+        return new CombiningCapacityReserver(eventRepository, combining.getWindow(), meterRegistry);
+    }
+}
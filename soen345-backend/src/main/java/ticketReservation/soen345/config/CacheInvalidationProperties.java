@@ -0,0 +1,34 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    public enum Mode {
+        /** Change streams on a replica set or sharded cluster, polling on a standalone server. */
+        AUTO,
+        CHANGE_STREAM,
+        POLLING
+    }
+
+    private boolean enabled = true;
+
+    private Mode mode = Mode.AUTO;
+
+    /** Pause between syncs, so other nodes see a change within roughly this long. */
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    /** How long each sync waits on the change stream for more changes. */
+    private Duration maxAwaitTime = Duration.ofMillis(100);
+
+    /** Changes turned into invalidations per sync; the rest wait for the next one. */
+    private int maxChangesPerSync = 1000;
+
+    /** Polling only: extra look-back on each poll to absorb clock skew between nodes. */
+    private Duration pollOverlap = Duration.ofSeconds(5);
+}
@@ -0,0 +1,30 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.email")
+public class EmailDeliveryProperties {
+
+    /** {@code resend} sends through Resend; {@code local} uses the in-process stand-in for throughput tests. */
+    private String provider = "resend";
+    private Batch batch = new Batch();
+    private Local local = new Local();
+
+    @Data
+    public static class Batch {
+        /** Messages per provider request; Resend accepts at most 100. */
+        private int size = 100;
+        /** Provider requests in flight at once, across all batch sends. */
+        private int concurrency = 4;
+    }
+
+    @Data
+    public static class Local {
+        /** Simulated round trip per provider request, single or batch. */
+        private Duration latency = Duration.ofMillis(50);
+    }
+}
@@ -0,0 +1,23 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.notifications.reminders")
+public class EventReminderProperties {
+    private boolean enabled = true;
+    /** How long before the event date each reminder goes out. */
+    private List<Duration> offsets = new ArrayList<>(List.of(Duration.ofHours(24), Duration.ofHours(1)));
+    /** Resolution of the timing wheel; reminders fire up to one tick early. */
+    private Duration tick = Duration.ofSeconds(1);
+    /** Reservations loaded and handed to the notification service per page. */
+    private int batchSize = 200;
+    /** How often the owning node picks up events changed through other nodes. */
+    private Duration syncInterval = Duration.ofSeconds(30);
+    private Duration leaseTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,32 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.login")
+public class LoginProtectionProperties {
+
+    /** Threads dedicated to password hashing; keeps BCrypt from taking every core. */
+    private int verifierThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Verifications allowed to wait for a thread before new logins are turned away. */
+    private int verifierQueueCapacity = 64;
+
+    private Duration verifierTimeout = Duration.ofSeconds(5);
+
+    /** Attempts allowed per account identifier within {@link #identifierWindow}. */
+    private int identifierAttempts = 5;
+
+    private Duration identifierWindow = Duration.ofMinutes(1);
+
+    /** Attempts allowed per client IP within {@link #ipWindow}. */
+    private int ipAttempts = 30;
+
+    private Duration ipWindow = Duration.ofMinutes(1);
+
+    /** Upper bound on keys tracked by each limiter; new keys are refused while it is full. */
+    private int maxTrackedKeys = 100_000;
+}
@@ -0,0 +1,40 @@
+package ticketReservation.soen345.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ticketReservation.soen345.monitoring.MongoConnectionPoolMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoClientConfiguration {
+
+    @Bean
+    public MongoConnectionPoolMetrics mongoConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        return new MongoConnectionPoolMetrics(meterRegistry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientPoolCustomizer(
+            MongoClientProperties properties,
+            MongoConnectionPoolMetrics poolMetrics
+    ) {
+        MongoClientProperties.Pool pool = properties.getPool();
+        return builder -> builder
+                .applyToConnectionPoolSettings(settings -> settings
+                        .maxSize(pool.getMaxSize())
+                        .minSize(pool.getMinSize())
+                        .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnecting(pool.getMaxConnecting())
+                        .addConnectionPoolListener(poolMetrics))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(settings -> settings
+                        .serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
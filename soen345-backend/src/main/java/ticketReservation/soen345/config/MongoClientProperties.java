@@ -0,0 +1,61 @@
+package ticketReservation.soen345.config;
+
+import com.mongodb.ReadPreference;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver pool and timeout settings, applied on top of {@code spring.data.mongodb.uri}; values
+ * here win over the same options in the connection string. A zero duration means no limit.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.mongodb.client")
+public class MongoClientProperties {
+    private Pool pool = new Pool();
+    private SecondaryReads secondaryReads = new SecondaryReads();
+    /** How long an operation waits for a suitable server (e.g. a primary during failover). */
+    private Duration serverSelectionTimeout = Duration.ofSeconds(10);
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    @Data
+    public static class Pool {
+        /** Connections per server; requests beyond this queue for a free one. */
+        private int maxSize = 100;
+        private int minSize = 0;
+        /**
+         * How long a request queues for a connection before failing. The driver default is two
+         * minutes, which during an on-sale holds the HTTP thread long after the client gave up.
+         */
+        private Duration maxWaitTime = Duration.ofSeconds(2);
+        private Duration maxConnectionIdleTime = Duration.ofMinutes(10);
+        private Duration maxConnectionLifeTime = Duration.ZERO;
+        /** Connections a pool may be opening at once. */
+        private int maxConnecting = 2;
+    }
+
+    /**
+     * Reads that tolerate lag (catalog, organizer listings, reservation history) go to a
+     * secondary when one is within {@code maxStaleness} of the primary, otherwise to the primary.
+     * Capacity checks, payments and everything else always read the primary.
+     */
+    @Data
+    public static class SecondaryReads {
+        /** The smallest max staleness a driver accepts. */
+        static final Duration MIN_MAX_STALENESS = Duration.ofSeconds(90);
+
+        private boolean enabled = true;
+        private Duration maxStaleness = MIN_MAX_STALENESS;
+
+        public ReadPreference readPreference() {
+            if (!enabled) {
+                return ReadPreference.primary();
+            }
+            Duration staleness = maxStaleness.compareTo(MIN_MAX_STALENESS) < 0 ? MIN_MAX_STALENESS : maxStaleness;
+            return ReadPreference.secondaryPreferred(staleness.toSeconds(), TimeUnit.SECONDS);
+        }
+    }
+}
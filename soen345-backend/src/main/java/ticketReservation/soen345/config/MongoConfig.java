@@ -5,15 +5,28 @@ import lombok.RequiredArgsConstructor;
 import org.bson.Document;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.index.IndexOperations;
 import org.springframework.data.mongodb.core.index.IndexResolver;
 import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.lang.NonNull;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.OrganizerBalance;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentWebhookEvent;
+import ticketReservation.soen345.domain.PayoutLedgerEntry;
+import ticketReservation.soen345.domain.RefreshToken;
+import ticketReservation.soen345.domain.Reservation;
+import ticketReservation.soen345.domain.RevokedToken;
 import ticketReservation.soen345.domain.User;
+import ticketReservation.soen345.repository.ColdArchive;
+
+import java.util.List;
 
 @Configuration
 @EnableMongoAuditing
@@ -21,6 +34,16 @@ import ticketReservation.soen345.domain.User;
 @RequiredArgsConstructor
 public class MongoConfig {
 
+    private static final List<Class<?>> ANNOTATED_INDEX_ENTITIES = List.of(
+            Event.class,
+            Payment.class,
+            Reservation.class,
+            PaymentWebhookEvent.class,
+            PayoutLedgerEntry.class,
+            OrganizerBalance.class,
+            RefreshToken.class,
+            RevokedToken.class);
+
     private final MongoTemplate mongoTemplate;
     private final MongoMappingContext mongoMappingContext;
 
@@ -31,11 +54,30 @@ public class MongoConfig {
         ensureAnnotationBasedIndexes(indexOps);
         createPartialUniqueIndexForEmail(indexOps);
         createPartialUniqueIndexForPhone(indexOps);
+
+        ANNOTATED_INDEX_ENTITIES.forEach(entity ->
+                ensureAnnotationBasedIndexes(entity, mongoTemplate.indexOps(entity)));
+        createArchiveIndexes();
+    }
+
+    /**
+     * The archive collections are only read by organizer and user history.
+     */
+    private void createArchiveIndexes() {
+        mongoTemplate.indexOps(ColdArchive.EVENTS)
+                .ensureIndex(new Index("organizerId", Sort.Direction.ASC).named("organizer"));
+        mongoTemplate.indexOps(ColdArchive.RESERVATIONS)
+                .ensureIndex(new CompoundIndexDefinition(new Document("userId", 1).append("createdAt", -1))
+                        .named("user_created"));
     }
 
     private void ensureAnnotationBasedIndexes(IndexOperations indexOps) {
+        ensureAnnotationBasedIndexes(User.class, indexOps);
+    }
+
+    private void ensureAnnotationBasedIndexes(Class<?> entity, IndexOperations indexOps) {
         IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
-        resolver.resolveIndexFor(User.class).forEach(indexOps::ensureIndex);
+        resolver.resolveIndexFor(entity).forEach(indexOps::ensureIndex);
     }
 
     private void createPartialUniqueIndexForEmail(IndexOperations indexOps) {
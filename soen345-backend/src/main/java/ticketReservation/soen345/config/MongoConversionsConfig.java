@@ -0,0 +1,50 @@
+package ticketReservation.soen345.config;
+
+import org.bson.types.Decimal128;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.lang.NonNull;
+import ticketReservation.soen345.domain.Money;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * {@link Money} is stored as an embedded {@code {minorUnits, currency}} document. Documents
+ * written before that change hold a plain decimal (string or Decimal128), which these
+ * converters read as {@link Money#DEFAULT_CURRENCY}, the only currency in use at the time,
+ * rounding half up to cents as the old charge path did.
+ */
+@Configuration
+public class MongoConversionsConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                LegacyStringToMoneyConverter.INSTANCE,
+                LegacyDecimal128ToMoneyConverter.INSTANCE));
+    }
+
+    @ReadingConverter
+    enum LegacyStringToMoneyConverter implements Converter<String, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(@NonNull String source) {
+            return Money.ofRounded(new BigDecimal(source), Money.DEFAULT_CURRENCY);
+        }
+    }
+
+    @ReadingConverter
+    enum LegacyDecimal128ToMoneyConverter implements Converter<Decimal128, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(@NonNull Decimal128 source) {
+            return Money.ofRounded(source.bigDecimalValue(), Money.DEFAULT_CURRENCY);
+        }
+    }
+}
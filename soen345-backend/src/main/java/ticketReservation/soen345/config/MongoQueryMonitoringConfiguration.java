@@ -0,0 +1,23 @@
+package ticketReservation.soen345.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ticketReservation.soen345.monitoring.MongoCommandMonitor;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.mongodb.queries", name = "enabled", matchIfMissing = true)
+public class MongoQueryMonitoringConfiguration {
+
+    @Bean
+    public MongoCommandMonitor mongoCommandMonitor(MongoQueryProperties properties, MeterRegistry meterRegistry) {
+        return new MongoCommandMonitor(properties, meterRegistry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMonitorCustomizer(MongoCommandMonitor monitor) {
+        return builder -> builder.addCommandListener(monitor);
+    }
+}
@@ -0,0 +1,19 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.mongodb.queries")
+public class MongoQueryProperties {
+    private boolean enabled = true;
+    /** Commands slower than this are logged with the request that issued them. */
+    private Duration slowThreshold = Duration.ofMillis(100);
+    /**
+     * Mongo commands one HTTP request may issue before a warning is logged. A request well over
+     * this is usually a lookup inside a loop.
+     */
+    private int requestBudget = 20;
+}
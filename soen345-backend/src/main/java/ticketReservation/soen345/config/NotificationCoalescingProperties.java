@@ -0,0 +1,17 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.notifications.coalescing")
+public class NotificationCoalescingProperties {
+    /**
+     * How long a reservation confirmation or cancellation waits for a newer message about the
+     * same user and event before it is sent. Zero sends immediately.
+     */
+    private Duration window = Duration.ofSeconds(10);
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
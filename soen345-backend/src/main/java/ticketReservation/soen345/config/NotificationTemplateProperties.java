@@ -0,0 +1,27 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ticketReservation.soen345.domain.NotificationChannel;
+import ticketReservation.soen345.domain.NotificationType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.notifications")
+public class NotificationTemplateProperties {
+
+    /**
+     * Overrides for the built-in templates, e.g.
+     * {@code app.notifications.templates.confirm-reservation.sms.body}. Anything left unset keeps
+     * its default. Templates are plain text; email bodies are converted to HTML when compiled.
+     */
+    private Map<NotificationType, Map<NotificationChannel, Template>> templates = new EnumMap<>(NotificationType.class);
+
+    @Data
+    public static class Template {
+        private String subject;
+        private String body;
+    }
+}
@@ -0,0 +1,34 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Target algorithm and cost for new password hashes. Stored hashes that do not match the
+ * target are rehashed the next time their owner logs in.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.auth.password")
+public class PasswordHashingProperties {
+
+    public enum Algorithm {
+        BCRYPT,
+        ARGON2
+    }
+
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    /** BCrypt log2 rounds; each step doubles the CPU cost of a login. */
+    private int bcryptStrength = 10;
+
+    private int argon2SaltLength = 16;
+
+    private int argon2HashLength = 32;
+
+    private int argon2Parallelism = 1;
+
+    /** Argon2 memory cost in KiB. */
+    private int argon2MemoryKib = 19_456;
+
+    private int argon2Iterations = 2;
+}
@@ -0,0 +1,20 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.payments.reconciliation")
+public class PaymentReconciliationProperties {
+    private boolean enabled = true;
+    /** PENDING payments younger than this are still expected to settle through webhooks. */
+    private Duration pendingGracePeriod = Duration.ofMinutes(15);
+    /** How far back CONFIRMED payments are re-checked for refunds made outside the app. */
+    private Duration confirmedLookback = Duration.ofDays(3);
+    private int batchSize = 50;
+    /** Upper bound on provider lookups per second, shared by all batches of a run. */
+    private int providerRequestsPerSecond = 20;
+    private Duration leaseTtl = Duration.ofMinutes(10);
+}
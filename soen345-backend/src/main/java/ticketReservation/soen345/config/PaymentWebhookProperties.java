@@ -0,0 +1,16 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.payments.webhook")
+public class PaymentWebhookProperties {
+    private int workerThreads = 4;
+    private int queueCapacity = 1000;
+    /** How long an inbox entry may stay unprocessed before the sweeper retries it. */
+    private Duration retryAfter = Duration.ofSeconds(30);
+    private int maxAttempts = 5;
+}
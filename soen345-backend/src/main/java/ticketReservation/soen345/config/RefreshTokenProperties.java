@@ -0,0 +1,14 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.refresh-token")
+public class RefreshTokenProperties {
+
+    /** Lifetime of each refresh token; every refresh issues a new one, so idle sessions end after this. */
+    private Duration ttl = Duration.ofDays(14);
+}
@@ -0,0 +1,60 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.reservations")
+public class ReservationProperties {
+    /**
+     * When true, checkout returns as soon as the payment intent exists and the reservation
+     * stays PENDING until the provider confirms the payment.
+     */
+    private boolean asyncPaymentConfirmation = false;
+
+    /**
+     * When true, the seat count and reservation document are written in one multi-document
+     * transaction, after the payment is taken. Requires MongoDB running as a replica set.
+     */
+    private boolean transactional = false;
+
+    /**
+     * Attempts per booking transaction when it aborts on a write conflict.
+     */
+    private int transactionAttempts = 3;
+
+    /**
+     * Pause before retrying a conflicted transaction, multiplied by the attempt number and jittered.
+     */
+    private Duration transactionRetryBackoff = Duration.ofMillis(10);
+
+    private SnapshotBackfill snapshotBackfill = new SnapshotBackfill();
+
+    private CapacityCombining capacityCombining = new CapacityCombining();
+
+    @Data
+    public static class SnapshotBackfill {
+        private boolean enabled = true;
+        /** Reservations read and written per bulk update. */
+        private int batchSize = 500;
+        private Duration leaseTtl = Duration.ofMinutes(5);
+        /**
+         * Events updated within this window get their reservation snapshots re-copied on each
+         * reconcile, catching bookings saved with details read before an edit.
+         */
+        private Duration reconcileWindow = Duration.ofHours(1);
+    }
+
+    /**
+     * Concurrent seat holds on the same event applied as one guarded update. Ignored when
+     * {@link #transactional}, where each hold must be written in its own booking's transaction.
+     */
+    @Data
+    public static class CapacityCombining {
+        private boolean enabled = true;
+        /** Extra wait before a batch is applied, to let more bookings join it. */
+        private Duration window = Duration.ZERO;
+    }
+}
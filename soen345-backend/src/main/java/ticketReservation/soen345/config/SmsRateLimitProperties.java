@@ -0,0 +1,25 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.sms.rate-limit")
+public class SmsRateLimitProperties {
+
+    /** Account throughput in messages per second, must be positive; Twilio long codes allow 1, toll-free 3. */
+    private double messagesPerSecond = 1;
+    /** Messages that may go out back to back before the per-second rate applies. */
+    private int burst = 1;
+    private int initialConcurrency = 4;
+    private int minConcurrency = 1;
+    private int maxConcurrency = 16;
+    /** Sends slower than this count as congestion and shrink the concurrency limit. */
+    private Duration latencyThreshold = Duration.ofSeconds(2);
+    /** Multiplier applied to the concurrency limit on congestion or a 429. */
+    private double backoffRatio = 0.5;
+    /** How long a queued send waits for a slot before failing. */
+    private Duration queueTimeout = Duration.ofSeconds(30);
+}
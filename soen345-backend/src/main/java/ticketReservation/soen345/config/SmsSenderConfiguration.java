@@ -0,0 +1,23 @@
+package ticketReservation.soen345.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ticketReservation.soen345.service.SmsSender;
+import ticketReservation.soen345.service.impl.RateLimitedSmsSender;
+import ticketReservation.soen345.service.impl.TwilioSmsAdapter;
+
+@Configuration
+public class SmsSenderConfiguration {
+
+    @Bean
+    public SmsSender smsSender(
+            @Value("${twilio.account-sid}") String accountSid,
+            @Value("${twilio.auth-token}") String authToken,
+            SmsRateLimitProperties rateLimitProperties,
+            MeterRegistry meterRegistry
+    ) {
+        return new RateLimitedSmsSender(new TwilioSmsAdapter(accountSid, authToken), rateLimitProperties, meterRegistry);
+    }
+}
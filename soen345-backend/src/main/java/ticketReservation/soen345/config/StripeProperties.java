@@ -3,8 +3,13 @@ package ticketReservation.soen345.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Data
 @ConfigurationProperties(prefix = "stripe")
 public class StripeProperties {
     private String apiKey;
+    private String webhookSecret;
+    /** How long a setup intent client secret is handed out again instead of creating a new intent. */
+    private Duration setupIntentCacheTtl = Duration.ofMinutes(5);
 }
@@ -0,0 +1,24 @@
+package ticketReservation.soen345.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.revocation")
+public class TokenRevocationProperties {
+
+    /** How often each node pulls revocations written by other nodes. */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /** Extra look-back on each poll to absorb clock skew between nodes. */
+    private Duration pollOverlap = Duration.ofMinutes(1);
+
+    /** Full reload interval; drops expired entries from the in-memory filter. */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    private int expectedEntries = 100_000;
+
+    private double falsePositiveRate = 0.01;
+}
@@ -1,17 +1,22 @@
 package ticketReservation.soen345.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ticketReservation.soen345.dto.request.LoginRequest;
+import ticketReservation.soen345.dto.request.LogoutRequest;
+import ticketReservation.soen345.dto.request.RefreshTokenRequest;
 import ticketReservation.soen345.dto.request.RegisterRequest;
 import ticketReservation.soen345.dto.response.LoginResponse;
 import ticketReservation.soen345.dto.response.RegisterResponse;
+import ticketReservation.soen345.security.AuthenticatedUser;
 import ticketReservation.soen345.service.AuthService;
 import ticketReservation.soen345.service.UserService;
 
@@ -52,8 +57,25 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        LoginResponse response = authService.login(request);
+    public ResponseEntity<LoginResponse> login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
+        LoginResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            Authentication authentication,
+            @RequestBody(required = false) LogoutRequest request) {
+        AuthenticatedUser principal = authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser user ? user : null;
+        authService.logout(principal, request);
+        return ResponseEntity.noContent().build();
+    }
 }
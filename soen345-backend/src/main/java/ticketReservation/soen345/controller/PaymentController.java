@@ -3,18 +3,35 @@ package ticketReservation.soen345.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ticketReservation.soen345.domain.Permission;
+import ticketReservation.soen345.dto.response.OrganizerBalanceResponse;
 import ticketReservation.soen345.dto.response.PaymentSetupIntentResponse;
+import ticketReservation.soen345.dto.response.PayoutLedgerVerificationResponse;
+import ticketReservation.soen345.security.RequiresPermission;
 import ticketReservation.soen345.service.PaymentProfileService;
+import ticketReservation.soen345.service.PaymentWebhookService;
+import ticketReservation.soen345.service.PayoutLedgerService;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/payments")
 @RequiredArgsConstructor
 public class PaymentController {
 
+    private static final String STRIPE_SIGNATURE_HEADER = "Stripe-Signature";
+
     private final PaymentProfileService paymentProfileService;
+    private final PaymentWebhookService paymentWebhookService;
+    private final PayoutLedgerService payoutLedgerService;
 
     @PostMapping("/setup-intent")
     public ResponseEntity<PaymentSetupIntentResponse> createSetupIntent(Authentication authentication) {
@@ -22,4 +39,26 @@ public class PaymentController {
         PaymentSetupIntentResponse response = paymentProfileService.createSetupIntent(userId);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receiveWebhook(
+            @RequestBody String payload,
+            @RequestHeader(value = STRIPE_SIGNATURE_HEADER, required = false) String signature) {
+        paymentWebhookService.receive(payload, signature);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/payouts/balance")
+    @RequiresPermission(Permission.VIEW_PAYOUTS)
+    public ResponseEntity<List<OrganizerBalanceResponse>> getPayoutBalance(Authentication authentication) {
+        return ResponseEntity.ok(payoutLedgerService.getBalances(authentication.getName()));
+    }
+
+    @PostMapping("/payouts/{organizerId}/rebuild")
+    @RequiresPermission(Permission.MANAGE_PAYOUTS)
+    public ResponseEntity<PayoutLedgerVerificationResponse> rebuildPayoutLedger(
+            @PathVariable String organizerId,
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        return ResponseEntity.ok(payoutLedgerService.rebuild(organizerId, dryRun));
+    }
 }
@@ -14,6 +14,7 @@ import org.springframework.security.core.Authentication;
 import ticketReservation.soen345.domain.Permission;
 import ticketReservation.soen345.dto.request.UpdateNotificationPreferenceRequest;
 import ticketReservation.soen345.dto.request.UpdateUserProfileRequest;
+import ticketReservation.soen345.dto.request.UpdateUserStatusRequest;
 import ticketReservation.soen345.dto.request.RegisterRequest;
 import ticketReservation.soen345.dto.response.RegisterResponse;
 import ticketReservation.soen345.dto.response.UserResponse;
@@ -66,4 +67,12 @@ public class UserController {
         UserResponse updatedUser = userService.updateUserProfile(userId, request);
         return ResponseEntity.ok(updatedUser);
     }
+
+    @PatchMapping("/{id}/status")
+    @RequiresPermission(Permission.MANAGE_USERS)
+    public ResponseEntity<UserResponse> updateUserStatus(
+            @PathVariable String id,
+            @Valid @RequestBody UpdateUserStatusRequest request) {
+        return ResponseEntity.ok(userService.updateUserStatus(id, request.getStatus()));
+    }
 }
@@ -0,0 +1,26 @@
+package ticketReservation.soen345.domain;
+
+import java.util.Objects;
+
+/**
+ * A document in {@code collection} changed on some node. A {@code null} id means changes may
+ * have been missed, so everything cached from the collection must be dropped.
+ */
+public record CacheInvalidation(CachedCollection collection, String id) {
+
+    public CacheInvalidation {
+        Objects.requireNonNull(collection, "collection is required");
+    }
+
+    public static CacheInvalidation of(CachedCollection collection, String id) {
+        return new CacheInvalidation(collection, Objects.requireNonNull(id, "id is required"));
+    }
+
+    public static CacheInvalidation all(CachedCollection collection) {
+        return new CacheInvalidation(collection, null);
+    }
+
+    public boolean isAll() {
+        return id == null;
+    }
+}
@@ -0,0 +1,27 @@
+package ticketReservation.soen345.domain;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Collections whose documents other nodes may hold in process, and so must be invalidated
+ * cluster-wide when they change.
+ */
+public enum CachedCollection {
+    EVENTS("events"),
+    USERS("users");
+
+    private final String collectionName;
+
+    CachedCollection(String collectionName) {
+        this.collectionName = collectionName;
+    }
+
+    public String collectionName() {
+        return collectionName;
+    }
+
+    public static Optional<CachedCollection> fromCollectionName(String name) {
+        return Arrays.stream(values()).filter(c -> c.collectionName.equals(name)).findFirst();
+    }
+}
@@ -10,9 +10,10 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Data
@@ -30,6 +31,7 @@ public class Event {
     private String description;
 
     @NotNull
+    @Indexed
     private Instant date;
 
     @NotBlank
@@ -40,7 +42,7 @@ public class Event {
     private Integer capacity;
 
     @NotNull
-    private BigDecimal ticketPrice;
+    private Money ticketPrice;
 
     private String category;
 
@@ -53,5 +55,13 @@ public class Event {
     private Instant createdAt;
 
     @LastModifiedDate
+    @Indexed
     private Instant updatedAt;
+
+    /**
+     * Bumped by every organizer edit. Seat sales and releases move {@code capacity} atomically
+     * and leave it alone, so they never make an edit conflict.
+     */
+    @Version
+    private Long version;
 }
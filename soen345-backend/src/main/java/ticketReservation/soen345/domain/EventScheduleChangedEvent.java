@@ -0,0 +1,14 @@
+package ticketReservation.soen345.domain;
+
+import java.time.Instant;
+
+/**
+ * Published after an event was created, or its date or status was saved, so schedules keyed
+ * on the event date can follow.
+ */
+public record EventScheduleChangedEvent(String eventId, Instant date, EventStatus status) {
+
+    public static EventScheduleChangedEvent of(Event event) {
+        return new EventScheduleChangedEvent(event.getId(), event.getDate(), event.getStatus());
+    }
+}
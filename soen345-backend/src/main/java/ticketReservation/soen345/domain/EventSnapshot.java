@@ -0,0 +1,18 @@
+package ticketReservation.soen345.domain;
+
+import java.time.Instant;
+
+/**
+ * The event details a reservation displays, copied at booking so history reads need no join
+ * against {@code events}. Name, date and location follow organizer edits; the ticket price stays
+ * what the customer paid. {@code eventVersion} is the {@link Event#getVersion()} the details were
+ * copied from, so a refresh never overwrites them with an older copy; it is {@code null} on
+ * snapshots written before it existed and on projections read straight from {@code events}.
+ */
+public record EventSnapshot(String name, Instant date, String location, Money ticketPrice, Long eventVersion) {
+
+    public static EventSnapshot of(Event event) {
+        return new EventSnapshot(
+                event.getName(), event.getDate(), event.getLocation(), event.getTicketPrice(), event.getVersion());
+    }
+}
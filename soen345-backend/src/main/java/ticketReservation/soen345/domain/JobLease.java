@@ -0,0 +1,31 @@
+package ticketReservation.soen345.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Time-bounded ownership of a cluster-wide job. The job name is the {@code _id}, so at most
+ * one node can hold a lease at a time.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_leases")
+public class JobLease {
+
+    @Id
+    private String id;
+
+    private String owner;
+
+    private Instant acquiredAt;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,100 @@
+package ticketReservation.soen345.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * An amount in the currency's minor units (cents for USD). Arithmetic stays on {@code long};
+ * {@link BigDecimal} is only used when converting at the API and legacy storage boundaries.
+ *
+ * @param minorUnits amount in minor units, for example {@code 2550} for 25.50 USD
+ * @param currency   lower-case ISO 4217 code, matching what Stripe expects
+ */
+public record Money(long minorUnits, String currency) {
+
+    public static final String DEFAULT_CURRENCY = "usd";
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        currency = currency.toLowerCase(Locale.ROOT);
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Converts a decimal amount exactly.
+     *
+     * @throws IllegalArgumentException if the amount has more decimals than the currency allows
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        Objects.requireNonNull(amount, "amount");
+        try {
+            long minor = amount.setScale(fractionDigits(currency), RoundingMode.UNNECESSARY)
+                    .unscaledValue()
+                    .longValueExact();
+            return new Money(minor, currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " cannot be represented in " + currency, e);
+        }
+    }
+
+    /**
+     * Converts a decimal amount, rounding half up to the currency's minor units. Only for
+     * values stored before amounts were kept in minor units; new amounts go through {@link #of}.
+     */
+    public static Money ofRounded(BigDecimal amount, String currency) {
+        Objects.requireNonNull(amount, "amount");
+        return of(amount.setScale(fractionDigits(currency), RoundingMode.HALF_UP), currency);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    static int fractionDigits(String currency) {
+        try {
+            int digits = Currency.getInstance(currency.toUpperCase(Locale.ROOT)).getDefaultFractionDigits();
+            return Math.max(digits, 0);
+        } catch (IllegalArgumentException e) {
+            return 2;
+        }
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+}
@@ -2,5 +2,6 @@ package ticketReservation.soen345.domain;
 
 public enum NotificationType {
     CONFIRM_RESERVATION,
-    CANCEL_RESERVATION
+    CANCEL_RESERVATION,
+    EVENT_REMINDER
 }
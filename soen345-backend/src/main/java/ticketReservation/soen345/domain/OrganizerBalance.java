@@ -0,0 +1,45 @@
+package ticketReservation.soen345.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Running payout totals for one organizer in one currency, maintained with {@code $inc} as
+ * ledger entries are appended. Amounts are in the currency's minor units.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "organizer_balances")
+public class OrganizerBalance {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String organizerId;
+
+    private String currency;
+
+    private long creditedMinor;
+
+    private long debitedMinor;
+
+    private long netMinor;
+
+    private long entryCount;
+
+    private Instant updatedAt;
+
+    public static String idFor(String organizerId, String currency) {
+        return organizerId + ":" + currency;
+    }
+}
@@ -0,0 +1,15 @@
+package ticketReservation.soen345.domain;
+
+/**
+ * The organizer details shown next to an event: name, contact email and whether a payout account
+ * is connected. Read as a projection of {@link User}, so only {@code paymentInfo.payoutAccountId}
+ * is populated in {@code paymentInfo}.
+ */
+public record OrganizerProfile(String id, String firstName, String lastName, String email, PaymentInfo paymentInfo) {
+
+    public boolean payoutReady() {
+        return paymentInfo != null
+                && paymentInfo.getPayoutAccountId() != null
+                && !paymentInfo.getPayoutAccountId().isBlank();
+    }
+}
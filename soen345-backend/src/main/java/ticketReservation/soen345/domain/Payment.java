@@ -7,9 +7,10 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Data
@@ -17,6 +18,7 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "payments")
+@CompoundIndex(name = "status_updated_idx", def = "{'status': 1, 'updatedAt': 1}")
 public class Payment {
 
     @Id
@@ -26,6 +28,7 @@ public class Payment {
 
     private String payeeUserId;
 
+    @Indexed
     private String providerPaymentId;
 
     @Builder.Default
@@ -34,9 +37,7 @@ public class Payment {
     @Builder.Default
     private PaymentStatus status = PaymentStatus.PENDING;
 
-    private BigDecimal amount;
-
-    private String currency;
+    private Money amount;
 
     @CreatedDate
     private Instant createdAt;
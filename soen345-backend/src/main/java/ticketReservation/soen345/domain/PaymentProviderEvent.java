@@ -0,0 +1,19 @@
+package ticketReservation.soen345.domain;
+
+import java.time.Instant;
+
+/**
+ * Provider-neutral view of a verified webhook event. {@code targetStatus} is null when the
+ * event type does not affect payment state.
+ */
+public record PaymentProviderEvent(
+        String eventId,
+        String type,
+        String providerPaymentId,
+        PaymentStatus targetStatus,
+        Instant createdAt) {
+
+    public boolean affectsPayment() {
+        return targetStatus != null && providerPaymentId != null && !providerPaymentId.isBlank();
+    }
+}
@@ -0,0 +1,44 @@
+package ticketReservation.soen345.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "payment_reconciliation_reports")
+public class PaymentReconciliationReport {
+
+    @Id
+    private String id;
+
+    private String node;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private long scanned;
+
+    private long unchanged;
+
+    private long corrected;
+
+    /** Payments the provider could not report on, such as mock or test payments. */
+    private long unverifiable;
+
+    private long errors;
+
+    /** Corrections keyed by transition, for example {@code PENDING->CONFIRMED}. */
+    @Builder.Default
+    private Map<String, Long> corrections = new LinkedHashMap<>();
+}
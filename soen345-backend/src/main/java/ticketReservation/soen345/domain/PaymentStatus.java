@@ -4,5 +4,18 @@ public enum PaymentStatus {
     PENDING,
     CONFIRMED,
     FAILED,
-    REFUNDED
+    REFUNDED;
+
+    /**
+     * Provider events can arrive late or out of order, so only forward moves are accepted:
+     * a pending or failed payment can still succeed, and any payment can end up refunded.
+     */
+    public boolean canTransitionTo(PaymentStatus target) {
+        return switch (target) {
+            case PENDING -> false;
+            case CONFIRMED -> this == PENDING || this == FAILED;
+            case FAILED -> this == PENDING;
+            case REFUNDED -> this != REFUNDED;
+        };
+    }
 }
@@ -0,0 +1,17 @@
+package ticketReservation.soen345.domain;
+
+import java.util.Objects;
+
+/**
+ * Published after a payment document has moved to a new status.
+ */
+public record PaymentStatusChangedEvent(Payment payment, PaymentStatus previousStatus) {
+
+    public PaymentStatusChangedEvent {
+        Objects.requireNonNull(payment, "payment is required");
+    }
+
+    public PaymentStatus currentStatus() {
+        return payment.getStatus();
+    }
+}
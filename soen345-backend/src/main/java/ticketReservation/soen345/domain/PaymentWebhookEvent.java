@@ -0,0 +1,55 @@
+package ticketReservation.soen345.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Inbox entry for a provider webhook. The provider event id is used as {@code _id},
+ * so a redelivered event fails the insert instead of being processed twice. Timestamps are
+ * set explicitly because auditing treats documents with an assigned id as existing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "payment_webhook_events")
+@CompoundIndex(name = "status_updated_idx", def = "{'status': 1, 'updatedAt': 1}")
+public class PaymentWebhookEvent {
+
+    @Id
+    private String id;
+
+    @Builder.Default
+    private PaymentProvider provider = PaymentProvider.STRIPE;
+
+    private String type;
+
+    private String providerPaymentId;
+
+    private PaymentStatus targetStatus;
+
+    private Instant providerCreatedAt;
+
+    @Builder.Default
+    private WebhookEventStatus status = WebhookEventStatus.RECEIVED;
+
+    @Builder.Default
+    private Integer attempts = 0;
+
+    private String lastError;
+
+    private Instant processedAt;
+
+    private Instant receivedAt;
+
+    @LastModifiedDate
+    private Instant updatedAt;
+}
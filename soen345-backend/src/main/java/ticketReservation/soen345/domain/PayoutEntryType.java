@@ -0,0 +1,6 @@
+package ticketReservation.soen345.domain;
+
+public enum PayoutEntryType {
+    PAYMENT_CONFIRMED,
+    PAYMENT_REFUNDED
+}
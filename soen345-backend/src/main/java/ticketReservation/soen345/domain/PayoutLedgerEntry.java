@@ -0,0 +1,44 @@
+package ticketReservation.soen345.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Append-only record of money owed to an organizer. The id is derived from the payment and
+ * entry type, so replaying the same payment transition never double counts.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "payout_ledger_entries")
+@CompoundIndex(name = "organizer_currency_idx", def = "{'organizerId': 1, 'currency': 1}")
+public class PayoutLedgerEntry {
+
+    @Id
+    private String id;
+
+    private String organizerId;
+
+    private String paymentId;
+
+    private PayoutEntryType type;
+
+    private String currency;
+
+    /** Always positive; {@link #type} decides whether it is a credit or a debit. */
+    private long amountMinor;
+
+    private Instant createdAt;
+
+    public static String idFor(String paymentId, PayoutEntryType type) {
+        return paymentId + ":" + type;
+    }
+}
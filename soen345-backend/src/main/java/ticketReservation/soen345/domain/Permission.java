@@ -1,9 +1,31 @@
 package ticketReservation.soen345.domain;
 
+import java.util.Collection;
+
 public enum Permission {
     CREATE_EVENT,
     EDIT_EVENT,
     CANCEL_EVENT,
     RESERVE_TICKET,
-    CANCEL_TICKET
+    CANCEL_TICKET,
+    VIEW_PAYOUTS,
+    MANAGE_PAYOUTS,
+    MANAGE_USERS;
+
+    private final long mask = 1L << ordinal();
+
+    /**
+     * Single-bit mask for this permission; a set of permissions is the OR of their masks.
+     */
+    public long mask() {
+        return mask;
+    }
+
+    public static long maskOf(Collection<Permission> permissions) {
+        long mask = 0L;
+        for (Permission permission : permissions) {
+            mask |= permission.mask;
+        }
+        return mask;
+    }
 }
@@ -0,0 +1,41 @@
+package ticketReservation.soen345.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One refresh token of a login session. The {@code _id} is the SHA-256 of the token, so the
+ * token itself is never stored. Each use rotates to a new token in the same family; a rotated
+ * token is kept until it expires so that replaying it can be detected. Mongo removes expired
+ * tokens through the TTL index on {@code expiresAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String userId;
+
+    @Indexed
+    private String familyId;
+
+    private Instant createdAt;
+
+    @Indexed(name = "expires_at_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+
+    private Instant rotatedAt;
+}
@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -16,6 +18,9 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "reservations")
+@CompoundIndex(name = "event_status_id", def = "{'eventId': 1, 'status': 1, '_id': 1}")
+@CompoundIndex(name = "user_created", def = "{'userId': 1, 'createdAt': -1}")
+@CompoundIndex(name = "status_cancelled", def = "{'status': 1, 'cancelledAt': 1}")
 public class Reservation {
 
     @Id
@@ -25,6 +30,9 @@ public class Reservation {
 
     private String eventId;
 
+    private EventSnapshot eventSnapshot;
+
+    @Indexed
     private String paymentId;
 
     @Builder.Default
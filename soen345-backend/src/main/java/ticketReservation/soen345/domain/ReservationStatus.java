@@ -1,6 +1,7 @@
 package ticketReservation.soen345.domain;
 
 public enum ReservationStatus {
+    PENDING,
     ACTIVE,
     CANCELLED
 }
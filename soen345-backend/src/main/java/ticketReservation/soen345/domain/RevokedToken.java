@@ -0,0 +1,47 @@
+package ticketReservation.soen345.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A revoked access token ({@link Kind#TOKEN}, keyed by JWT id) or every access token of a user
+ * issued up to {@link #revokedAt} ({@link Kind#USER}). Entries only need to outlive the access
+ * tokens they block, so they expire through the TTL index on {@code expiresAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    public enum Kind {
+        TOKEN,
+        USER
+    }
+
+    /** {@code kind:subject}, see {@link #idFor}. */
+    @Id
+    private String id;
+
+    private Kind kind;
+
+    private String subject;
+
+    @Indexed
+    private Instant revokedAt;
+
+    @Indexed(name = "expires_at_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+
+    public static String idFor(Kind kind, String subject) {
+        return kind.name().toLowerCase() + ":" + subject;
+    }
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -46,6 +47,7 @@ public class User {
     private Instant createdAt;
 
     @LastModifiedDate
+    @Indexed
     private Instant updatedAt;
 
     public boolean hasPermission(Permission permission) {
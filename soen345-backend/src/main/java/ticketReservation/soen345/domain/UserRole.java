@@ -6,17 +6,24 @@ import java.util.Set;
 
 public enum UserRole {
     CUSTOMER(EnumSet.of(Permission.RESERVE_TICKET, Permission.CANCEL_TICKET)),
-    ORGANIZER(EnumSet.of(Permission.CREATE_EVENT, Permission.EDIT_EVENT, Permission.CANCEL_EVENT)),
+    ORGANIZER(EnumSet.of(
+            Permission.CREATE_EVENT, Permission.EDIT_EVENT, Permission.CANCEL_EVENT, Permission.VIEW_PAYOUTS)),
     ADMIN(EnumSet.allOf(Permission.class));
 
     private final Set<Permission> permissions;
+    private final long permissionMask;
 
     UserRole(Set<Permission> permissions) {
         this.permissions = Collections.unmodifiableSet(permissions);
+        this.permissionMask = Permission.maskOf(permissions);
     }
 
     public boolean hasPermission(Permission permission) {
-        return permissions.contains(permission);
+        return (permissionMask & permission.mask()) != 0;
+    }
+
+    public long getPermissionMask() {
+        return permissionMask;
     }
 
     public Set<Permission> getPermissions() {
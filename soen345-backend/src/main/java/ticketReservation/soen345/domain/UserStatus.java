@@ -4,5 +4,12 @@ public enum UserStatus {
     ACTIVE,
     PENDING_VERIFICATION,
     SUSPENDED,
-    DEACTIVATED
+    DEACTIVATED;
+
+    /**
+     * True for statuses whose sessions must end and who may not log in.
+     */
+    public boolean blocksAccess() {
+        return this == SUSPENDED || this == DEACTIVATED;
+    }
 }
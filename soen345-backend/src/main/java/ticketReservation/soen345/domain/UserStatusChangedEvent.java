@@ -0,0 +1,14 @@
+package ticketReservation.soen345.domain;
+
+import java.util.Objects;
+
+/**
+ * Published after an administrator has changed a user's account status.
+ */
+public record UserStatusChangedEvent(String userId, UserStatus previousStatus, UserStatus currentStatus) {
+
+    public UserStatusChangedEvent {
+        Objects.requireNonNull(userId, "userId is required");
+        Objects.requireNonNull(currentStatus, "currentStatus is required");
+    }
+}
@@ -0,0 +1,9 @@
+package ticketReservation.soen345.domain;
+
+public enum WebhookEventStatus {
+    RECEIVED,
+    PROCESSING,
+    PROCESSED,
+    IGNORED,
+    FAILED
+}
@@ -1,6 +1,7 @@
 package ticketReservation.soen345.dto.request;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -35,6 +36,7 @@ public class CreateEventRequest {
 
     @NotNull(message = "Ticket price is required")
     @DecimalMin(value = "0.00", message = "Ticket price must be non-negative")
+    @Digits(integer = 12, fraction = 2, message = "Ticket price must have at most two decimal places")
     private BigDecimal ticketPrice;
 
     @NotBlank(message = "Event category is required")
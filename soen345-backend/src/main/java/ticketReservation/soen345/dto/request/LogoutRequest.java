@@ -0,0 +1,16 @@
+package ticketReservation.soen345.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutRequest {
+
+    /** Optional; when present the whole refresh session is ended as well. */
+    private String refreshToken;
+}
@@ -1,6 +1,7 @@
 package ticketReservation.soen345.dto.request;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,7 +29,13 @@ public class UpdateEventRequest {
     private Integer capacity;
 
     @DecimalMin(value = "0.00", message = "Ticket price must be non-negative")
+    @Digits(integer = 12, fraction = 2, message = "Ticket price must have at most two decimal places")
     private BigDecimal ticketPrice;
 
     private String category;
+
+    /**
+     * Version the client last saw. When set, the update is refused if the event changed since.
+     */
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package ticketReservation.soen345.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ticketReservation.soen345.domain.UserStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateUserStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private UserStatus status;
+}
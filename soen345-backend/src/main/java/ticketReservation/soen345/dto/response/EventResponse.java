@@ -30,4 +30,5 @@ public class EventResponse {
     private EventStatus status;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
 }
@@ -15,6 +15,8 @@ public class LoginResponse {
     private String tokenType;
     private String accessToken;
     private long expiresIn;
+    private String refreshToken;
+    private long refreshExpiresIn;
     private UserInfo user;
 
     @Data
@@ -0,0 +1,22 @@
+package ticketReservation.soen345.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizerBalanceResponse {
+    private String currency;
+    private BigDecimal credited;
+    private BigDecimal refunded;
+    private BigDecimal net;
+    private long entryCount;
+    private Instant updatedAt;
+}
@@ -0,0 +1,22 @@
+package ticketReservation.soen345.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayoutLedgerVerificationResponse {
+    private String organizerId;
+    private boolean dryRun;
+    private boolean consistent;
+    /** Settled payments with no ledger entry; appended unless this was a dry run. */
+    private long missingEntries;
+    private List<OrganizerBalanceResponse> storedBalances;
+    private List<OrganizerBalanceResponse> recomputedBalances;
+}
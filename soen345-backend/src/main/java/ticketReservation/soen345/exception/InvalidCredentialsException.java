@@ -5,4 +5,8 @@ public class InvalidCredentialsException extends RuntimeException {
     public InvalidCredentialsException() {
         super("Invalid credentials");
     }
+
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,12 @@
+package ticketReservation.soen345.exception;
+
+public class InvalidWebhookSignatureException extends RuntimeException {
+
+    public InvalidWebhookSignatureException(String message) {
+        super(message);
+    }
+
+    public InvalidWebhookSignatureException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
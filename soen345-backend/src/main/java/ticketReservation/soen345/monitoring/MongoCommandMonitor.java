@@ -0,0 +1,114 @@
+package ticketReservation.soen345.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import ticketReservation.soen345.config.MongoQueryProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver command listener: times every command by name and collection, counts the documents it
+ * returned or touched, logs the slow ones and adds each command to the current request's
+ * {@link MongoRequestQueries}. Replaces DEBUG logging of {@code org.springframework.data.mongodb},
+ * which printed every query but not its duration or the endpoint behind it.
+ */
+@Slf4j
+public class MongoCommandMonitor implements CommandListener {
+
+    static final String NO_COLLECTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final Map<Integer, String> collectionsByRequestId = new ConcurrentHashMap<>();
+
+    public MongoCommandMonitor(MongoQueryProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        collectionsByRequestId.put(event.getRequestId(), collection(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = collectionOf(event.getRequestId());
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        int documents = documentCount(event.getCommandName(), event.getResponse());
+        DistributionSummary.builder("mongodb.command.documents")
+                .tag("command", event.getCommandName())
+                .tag("collection", collection)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(documents);
+        completed(event.getCommandName(), collection, nanos, "success", documents);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        String collection = collectionOf(event.getRequestId());
+        completed(event.getCommandName(), collection, event.getElapsedTime(TimeUnit.NANOSECONDS), "failure", 0);
+    }
+
+    private void completed(String command, String collection, long nanos, String outcome, int documents) {
+        Timer.builder("mongodb.command.duration")
+                .tag("command", command)
+                .tag("collection", collection)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        MongoRequestQueries queries = MongoRequestQueries.current();
+        if (queries != null) {
+            queries.record(command, collection, nanos);
+        }
+        if (nanos >= slowThresholdNanos) {
+            meterRegistry.counter("mongodb.command.slow", "command", command, "collection", collection).increment();
+            log.warn("Slow Mongo command {} on {} took {} ms ({}, {} documents) during {}",
+                    command, collection, TimeUnit.NANOSECONDS.toMillis(nanos), outcome, documents,
+                    queries == null ? "background work" : queries.request());
+        }
+    }
+
+    private String collectionOf(int requestId) {
+        String collection = collectionsByRequestId.remove(requestId);
+        return collection == null ? NO_COLLECTION : collection;
+    }
+
+    /**
+     * Collection commands name the collection as the value of their first field
+     * ({@code {find: "events", ...}}); {@code getMore} names it in {@code collection}.
+     */
+    static String collection(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : NO_COLLECTION;
+    }
+
+    /** Documents returned by a cursor batch, or matched/affected ({@code n}) by a write or count. */
+    static int documentCount(String commandName, BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().get("getMore".equals(commandName) ? "nextBatch" : "firstBatch");
+            return batch instanceof BsonArray array ? array.size() : 0;
+        }
+        if ("findAndModify".equals(commandName)) {
+            BsonValue value = response.get("value");
+            return value == null || value.isNull() ? 0 : 1;
+        }
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().intValue() : 0;
+    }
+}
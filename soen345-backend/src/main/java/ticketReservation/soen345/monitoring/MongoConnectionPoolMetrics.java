@@ -0,0 +1,141 @@
+package ticketReservation.soen345.monitoring;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool saturation per server: open, checked-out and waiting connection gauges next to the
+ * configured maximum, and a timer for how long each checkout queued. Waiting above zero with
+ * checked-out at the maximum means requests are queueing for connections rather than for Mongo.
+ */
+@Slf4j
+public class MongoConnectionPoolMetrics implements ConnectionPoolListener {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ServerId, Pool> pools = new ConcurrentHashMap<>();
+
+    public MongoConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        pools.put(event.getServerId(), new Pool(event.getServerId(), event.getSettings().getMaxSize()));
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        Pool pool = pools.remove(event.getServerId());
+        if (pool != null) {
+            pool.meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        Pool pool = pools.get(event.getConnectionId().getServerId());
+        if (pool != null) {
+            pool.size.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        Pool pool = pools.get(event.getConnectionId().getServerId());
+        if (pool != null) {
+            pool.size.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        Pool pool = pools.get(event.getServerId());
+        if (pool != null) {
+            pool.waiting.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        Pool pool = pools.get(event.getConnectionId().getServerId());
+        if (pool != null) {
+            pool.waiting.decrementAndGet();
+            pool.checkedOut.incrementAndGet();
+            pool.waitTime.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        Pool pool = pools.get(event.getServerId());
+        if (pool == null) {
+            return;
+        }
+        pool.waiting.decrementAndGet();
+        String reason = event.getReason().name().toLowerCase(Locale.ROOT);
+        meterRegistry.counter("mongodb.pool.checkout.failed", "server", pool.server, "reason", reason).increment();
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+            log.warn("Timed out after {} ms waiting for a Mongo connection to {} ({} of {} checked out, {} waiting)",
+                    event.getElapsedTime(TimeUnit.MILLISECONDS), pool.server, pool.checkedOut.get(), pool.maxSize,
+                    pool.waiting.get());
+        }
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        Pool pool = pools.get(event.getConnectionId().getServerId());
+        if (pool != null) {
+            pool.checkedOut.decrementAndGet();
+        }
+    }
+
+    private final class Pool {
+        private final String server;
+        private final int maxSize;
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger checkedOut = new AtomicInteger();
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Timer waitTime;
+        private final List<Meter> meters;
+
+        private Pool(ServerId serverId, int maxSize) {
+            this.server = serverId.getAddress().toString();
+            this.maxSize = maxSize;
+            this.waitTime = Timer.builder("mongodb.pool.wait")
+                    .description("Time a checkout queued for a pooled connection")
+                    .tag("server", server)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.meters = List.of(
+                    waitTime,
+                    gauge("mongodb.pool.size", size),
+                    gauge("mongodb.pool.checkedout", checkedOut),
+                    gauge("mongodb.pool.waiting", waiting),
+                    Gauge.builder("mongodb.pool.max", this, pool -> pool.maxSize).tag("server", server).register(meterRegistry));
+        }
+
+        private Gauge gauge(String name, AtomicInteger value) {
+            return Gauge.builder(name, value, AtomicInteger::get).tag("server", server).register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ticketReservation.soen345.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ticketReservation.soen345.config.MongoQueryProperties;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the Mongo commands each request issues and warns when it goes over
+ * {@code app.mongodb.queries.request-budget}, listing the commands by collection so N+1 lookups
+ * stand out. Runs ahead of the security chain so token checks are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.mongodb.queries", name = "enabled", matchIfMissing = true)
+@Slf4j
+@RequiredArgsConstructor
+public class MongoQueryBudgetFilter extends OncePerRequestFilter {
+
+    static final String UNMATCHED = "UNKNOWN";
+
+    private final MongoQueryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        MongoRequestQueries queries = MongoRequestQueries.open(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MongoRequestQueries.close();
+            report(request, queries);
+        }
+    }
+
+    private void report(HttpServletRequest request, MongoRequestQueries queries) {
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : UNMATCHED;
+        DistributionSummary.builder("mongodb.request.commands")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queries.count());
+
+        if (queries.count() > properties.getRequestBudget()) {
+            meterRegistry.counter("mongodb.request.budget.exceeded", "method", request.getMethod(), "uri", uri)
+                    .increment();
+            log.warn("{} issued {} Mongo commands (budget {}) taking {} ms: {}",
+                    queries.request(), queries.count(), properties.getRequestBudget(),
+                    TimeUnit.NANOSECONDS.toMillis(queries.nanos()), queries.breakdown());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ticketReservation.soen345.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Mongo commands issued by the HTTP request running on the current thread. Opened and closed by
+ * {@link MongoQueryBudgetFilter}; the driver reports commands on the calling thread, so
+ * {@link MongoCommandMonitor} can add to it without synchronisation. Work handed to an executor
+ * is not attributed to the request.
+ */
+public final class MongoRequestQueries {
+
+    private static final ThreadLocal<MongoRequestQueries> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private final Map<String, Integer> commands = new LinkedHashMap<>();
+    private int count;
+    private long nanos;
+
+    private MongoRequestQueries(String request) {
+        this.request = request;
+    }
+
+    static MongoRequestQueries open(String request) {
+        MongoRequestQueries queries = new MongoRequestQueries(request);
+        CURRENT.set(queries);
+        return queries;
+    }
+
+    static MongoRequestQueries current() {
+        return CURRENT.get();
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    void record(String command, String collection, long elapsedNanos) {
+        count++;
+        nanos += elapsedNanos;
+        commands.merge(command + " " + collection, 1, Integer::sum);
+    }
+
+    String request() {
+        return request;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+
+    /** Commands by name and collection, most frequent first, e.g. {@code find events x12}. */
+    String breakdown() {
+        return commands.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(entry -> entry.getKey() + " x" + entry.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,35 @@
+package ticketReservation.soen345.repository;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import ticketReservation.soen345.domain.CachedCollection;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reads the changes the cache invalidation feed turns into invalidations.
+ */
+public interface CacheChangeRepository {
+
+    /**
+     * Whether the deployment is a replica set or sharded cluster, the only ones with change streams.
+     */
+    boolean supportsChangeStreams();
+
+    /**
+     * Opens one change stream over every {@link CachedCollection}, carrying only the operation,
+     * namespace and document key. Starts after {@code resumeAfter} when given, otherwise now.
+     */
+    MongoChangeStreamCursor<ChangeStreamDocument<Document>> watchCachedCollections(
+            BsonDocument resumeAfter, Duration maxAwaitTime);
+
+    /**
+     * Ids of documents in {@code collection} whose {@code updatedAt} is at or after {@code since},
+     * oldest first, at most {@code limit}.
+     */
+    List<String> findIdsChangedSince(CachedCollection collection, Instant since, int limit);
+}
@@ -0,0 +1,65 @@
+package ticketReservation.soen345.repository;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import ticketReservation.soen345.domain.CachedCollection;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@RequiredArgsConstructor
+public class CacheChangeRepositoryImpl implements CacheChangeRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean supportsChangeStreams() {
+        Document hello = mongoTemplate.executeCommand(new Document("hello", 1));
+        return hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+    }
+
+    @Override
+    public MongoChangeStreamCursor<ChangeStreamDocument<Document>> watchCachedCollections(
+            BsonDocument resumeAfter, Duration maxAwaitTime) {
+        List<String> collections = Arrays.stream(CachedCollection.values())
+                .map(CachedCollection::collectionName)
+                .toList();
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb().watch(List.of(
+                        Aggregates.match(Filters.in("ns.coll", collections)),
+                        Aggregates.project(Projections.include("operationType", "ns", "documentKey"))))
+                .maxAwaitTime(maxAwaitTime.toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeAfter != null) {
+            stream = stream.resumeAfter(resumeAfter);
+        }
+        return stream.cursor();
+    }
+
+    @Override
+    public List<String> findIdsChangedSince(CachedCollection collection, Instant since, int limit) {
+        Query query = Query.query(Criteria.where("updatedAt").gte(since))
+                .with(Sort.by(Sort.Direction.ASC, "updatedAt"))
+                .limit(limit);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, collection.collectionName()).stream()
+                .map(document -> document.get("_id"))
+                .map(id -> id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id))
+                .toList();
+    }
+}
@@ -0,0 +1,72 @@
+package ticketReservation.soen345.repository;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Moves documents from a hot collection to its archive collection. A batch is copied before it
+ * is deleted, so a crash in between leaves a document in both tiers rather than in neither; the
+ * next run re-copies it idempotently, and readers merge the tiers preferring the hot copy.
+ */
+public final class ColdArchive {
+
+    public static final String EVENTS = "events_archive";
+    public static final String RESERVATIONS = "reservations_archive";
+
+    private ColdArchive() {
+    }
+
+    /**
+     * Moves up to {@code limit} documents matching {@code eligible}. Documents changed so that
+     * they no longer match between the read and the delete stay hot and their copies are removed.
+     * Returns the number moved.
+     */
+    static int moveBatch(MongoTemplate mongoTemplate, String source, String archive, Criteria eligible, int limit) {
+        List<Document> batch = mongoTemplate.find(Query.query(eligible).limit(limit), Document.class, source);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> ids = new ArrayList<>(batch.size());
+        BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, archive);
+        for (Document document : batch) {
+            ids.add(document.get("_id"));
+            copy.replaceOne(Query.query(Criteria.where("_id").is(document.get("_id"))), document,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        copy.execute();
+
+        long deleted = mongoTemplate.remove(
+                Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), eligible)), source)
+                .getDeletedCount();
+        if (deleted < ids.size()) {
+            List<Object> stillHot = mongoTemplate.findDistinct(
+                    Query.query(Criteria.where("_id").in(ids)), "_id", source, Object.class);
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(stillHot)), archive);
+        }
+        return (int) deleted;
+    }
+
+    /**
+     * Hot and archived results as one list without duplicates, the hot copy winning.
+     */
+    static <T> List<T> merge(List<T> hot, List<T> archived, Function<T, String> id, Comparator<T> order) {
+        Map<String, T> byId = new LinkedHashMap<>();
+        archived.forEach(document -> byId.put(id.apply(document), document));
+        hot.forEach(document -> byId.put(id.apply(document), document));
+        List<T> merged = new ArrayList<>(byId.values());
+        merged.sort(order);
+        return merged;
+    }
+}
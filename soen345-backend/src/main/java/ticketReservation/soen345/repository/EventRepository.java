@@ -1,12 +1,24 @@
 package ticketReservation.soen345.repository;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
 import ticketReservation.soen345.domain.EventStatus;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EventRepository extends MongoRepository<Event, String> {
-    List<Event> findByStatus(EventStatus status);
-    List<Event> findByOrganizerId(String organizerId);
+public interface EventRepository extends MongoRepository<Event, String>, EventRepositoryCustom {
+
+    String SNAPSHOT_FIELDS = "{ 'name': 1, 'date': 1, 'location': 1, 'ticketPrice': 1 }";
+
+    @Query(value = "{ '_id': ?0 }", fields = SNAPSHOT_FIELDS)
+    Optional<EventSnapshot> findSnapshotById(String id);
+
+    Stream<Event> streamByStatusAndDateAfter(EventStatus status, Instant date);
+
+    List<Event> findByUpdatedAtGreaterThanEqual(Instant updatedAt);
 }
@@ -0,0 +1,96 @@
+package ticketReservation.soen345.repository;
+
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
+import ticketReservation.soen345.domain.EventStatus;
+import ticketReservation.soen345.domain.Money;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Events in {@code status} dated after {@code date}, for the public catalog, read from a
+     * secondary when secondary reads are enabled. May lag the primary by up to
+     * {@code app.mongodb.client.secondary-reads.max-staleness}.
+     */
+    List<Event> findByStatusAndDateAfterFromSecondary(EventStatus status, Instant date);
+
+    /**
+     * An organizer's events from both the hot and archive collections, oldest first, read like
+     * {@link #findByStatusAndDateAfterFromSecondary}.
+     */
+    List<Event> findByOrganizerIdFromSecondary(String organizerId);
+
+    /**
+     * The snapshot fields of an event that has been moved to the archive collection.
+     */
+    Optional<EventSnapshot> findArchivedSnapshotById(String eventId);
+
+    /**
+     * An event that has been moved to the archive collection.
+     */
+    Optional<Event> findArchivedById(String eventId);
+
+    /**
+     * Moves up to {@code limit} events dated before {@code endedBefore} to the archive collection.
+     * Returns the number moved.
+     */
+    int archiveEndedBefore(Instant endedBefore, int limit);
+
+    /**
+     * Sets only the non-null fields of {@code changes} on an active event and bumps its version.
+     * Capacity moves by {@code capacityDelta} with {@code $inc}, so tickets sold since the caller
+     * read the event are kept. Returns empty when the event is no longer active, its version is
+     * not {@code expectedVersion}, or the delta would take capacity below zero.
+     */
+    Optional<Event> applyChanges(String eventId, Long expectedVersion, EventChanges changes);
+
+    /**
+     * Moves an active event to {@code CANCELLED} without touching any other field.
+     * Returns empty when the event is missing or already cancelled.
+     */
+    Optional<Event> cancel(String eventId);
+
+    /**
+     * Takes {@code quantity} seats from an active event only if that many remain.
+     */
+    boolean reserveCapacity(String eventId, int quantity);
+
+    /**
+     * Like {@link #reserveCapacity(String, int)}, and also records {@code holdId} among the event's
+     * most recent holds, so a caller whose reply was lost can ask {@link #hasCapacityHold} whether
+     * the update was applied.
+     */
+    boolean reserveCapacity(String eventId, int quantity, String holdId);
+
+    /**
+     * Whether a {@link #reserveCapacity(String, int, String)} with {@code holdId} was applied recently.
+     */
+    boolean hasCapacityHold(String eventId, String holdId);
+
+    /**
+     * Seats left on the event, read from the primary; 0 when it is missing or no longer active.
+     */
+    int remainingCapacity(String eventId);
+
+    /**
+     * Returns {@code quantity} seats to the event.
+     */
+    void releaseCapacity(String eventId, int quantity);
+
+    /**
+     * Organizer edits to an event. {@code null} leaves a field as stored.
+     */
+    record EventChanges(
+            String name,
+            String description,
+            Instant date,
+            String location,
+            Money ticketPrice,
+            String category,
+            int capacityDelta) {
+    }
+}
@@ -0,0 +1,166 @@
+package ticketReservation.soen345.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ticketReservation.soen345.config.MongoClientProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
+import ticketReservation.soen345.domain.EventStatus;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    /** Hold ids kept per event; a lost reply is looked up right away, long before this many follow. */
+    private static final int RECENT_HOLDS = 100;
+    private static final String RECENT_HOLDS_FIELD = "recentCapacityHolds";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoClientProperties clientProperties;
+
+    @Override
+    public List<Event> findByStatusAndDateAfterFromSecondary(EventStatus status, Instant date) {
+        Query query = Query.query(Criteria.where("status").is(status).and("date").gt(date));
+        return mongoTemplate.find(fromSecondary(query), Event.class);
+    }
+
+    @Override
+    public List<Event> findByOrganizerIdFromSecondary(String organizerId) {
+        Criteria organizer = Criteria.where("organizerId").is(organizerId);
+        return ColdArchive.merge(
+                mongoTemplate.find(fromSecondary(Query.query(organizer)), Event.class),
+                mongoTemplate.find(fromSecondary(Query.query(organizer)), Event.class, ColdArchive.EVENTS),
+                Event::getId,
+                Comparator.comparing(Event::getDate, Comparator.nullsLast(Comparator.naturalOrder())));
+    }
+
+    @Override
+    public Optional<EventSnapshot> findArchivedSnapshotById(String eventId) {
+        Query query = Query.query(Criteria.where("_id").is(eventId));
+        query.fields().include("name", "date", "location", "ticketPrice");
+        return mongoTemplate.query(Event.class)
+                .inCollection(ColdArchive.EVENTS)
+                .as(EventSnapshot.class)
+                .matching(query)
+                .one();
+    }
+
+    @Override
+    public Optional<Event> findArchivedById(String eventId) {
+        return Optional.ofNullable(mongoTemplate.findById(eventId, Event.class, ColdArchive.EVENTS));
+    }
+
+    @Override
+    public int archiveEndedBefore(Instant endedBefore, int limit) {
+        return ColdArchive.moveBatch(mongoTemplate, mongoTemplate.getCollectionName(Event.class), ColdArchive.EVENTS,
+                Criteria.where("date").lt(endedBefore), limit);
+    }
+
+    @Override
+    public Optional<Event> applyChanges(String eventId, Long expectedVersion, EventChanges changes) {
+        // A null expected version also matches events stored before versioning existed.
+        Criteria criteria = Criteria.where("_id").is(eventId)
+                .and("status").is(EventStatus.ACTIVE)
+                .and("version").is(expectedVersion);
+        if (changes.capacityDelta() < 0) {
+            criteria = criteria.and("capacity").gte(-changes.capacityDelta());
+        }
+
+        Update update = new Update()
+                .inc("version", 1)
+                .set("updatedAt", Instant.now());
+        setIfPresent(update, "name", changes.name());
+        setIfPresent(update, "description", changes.description());
+        setIfPresent(update, "date", changes.date());
+        setIfPresent(update, "location", changes.location());
+        setIfPresent(update, "ticketPrice", changes.ticketPrice());
+        setIfPresent(update, "category", changes.category());
+        if (changes.capacityDelta() != 0) {
+            update.inc("capacity", changes.capacityDelta());
+        }
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                Query.query(criteria),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Event.class));
+    }
+
+    @Override
+    public Optional<Event> cancel(String eventId) {
+        Query query = Query.query(Criteria.where("_id").is(eventId).and("status").is(EventStatus.ACTIVE));
+        Update update = new Update()
+                .set("status", EventStatus.CANCELLED)
+                .inc("version", 1)
+                .set("updatedAt", Instant.now());
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Event.class));
+    }
+
+    @Override
+    public boolean reserveCapacity(String eventId, int quantity) {
+        Query query = Query.query(Criteria.where("_id").is(eventId)
+                .and("status").is(EventStatus.ACTIVE)
+                .and("capacity").gte(quantity));
+        Update update = new Update()
+                .inc("capacity", -quantity)
+                .set("updatedAt", Instant.now());
+        return mongoTemplate.updateFirst(query, update, Event.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean reserveCapacity(String eventId, int quantity, String holdId) {
+        Query query = Query.query(Criteria.where("_id").is(eventId)
+                .and("status").is(EventStatus.ACTIVE)
+                .and("capacity").gte(quantity));
+        Update update = new Update()
+                .inc("capacity", -quantity)
+                .set("updatedAt", Instant.now());
+        update.push(RECENT_HOLDS_FIELD).slice(-RECENT_HOLDS).each(holdId);
+        return mongoTemplate.updateFirst(query, update, Event.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean hasCapacityHold(String eventId, String holdId) {
+        return mongoTemplate.exists(
+                Query.query(Criteria.where("_id").is(eventId).and(RECENT_HOLDS_FIELD).is(holdId)), Event.class);
+    }
+
+    @Override
+    public int remainingCapacity(String eventId) {
+        Query query = Query.query(Criteria.where("_id").is(eventId).and("status").is(EventStatus.ACTIVE));
+        query.fields().include("capacity");
+        Event event = mongoTemplate.findOne(query, Event.class);
+        return event == null || event.getCapacity() == null ? 0 : event.getCapacity();
+    }
+
+    @Override
+    public void releaseCapacity(String eventId, int quantity) {
+        Query query = Query.query(Criteria.where("_id").is(eventId));
+        Update update = new Update()
+                .inc("capacity", quantity)
+                .set("updatedAt", Instant.now());
+        mongoTemplate.updateFirst(query, update, Event.class);
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+
+    private Query fromSecondary(Query query) {
+        return query.withReadPreference(clientProperties.getSecondaryReads().readPreference());
+    }
+}
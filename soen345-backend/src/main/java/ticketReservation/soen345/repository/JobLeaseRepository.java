@@ -0,0 +1,7 @@
+package ticketReservation.soen345.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ticketReservation.soen345.domain.JobLease;
+
+public interface JobLeaseRepository extends MongoRepository<JobLease, String>, JobLeaseRepositoryCustom {
+}
@@ -0,0 +1,13 @@
+package ticketReservation.soen345.repository;
+
+import java.time.Duration;
+
+public interface JobLeaseRepositoryCustom {
+
+    /**
+     * Acquires or extends the lease when it is free, expired, or already held by {@code owner}.
+     */
+    boolean tryAcquire(String name, String owner, Duration ttl);
+
+    void release(String name, String owner);
+}
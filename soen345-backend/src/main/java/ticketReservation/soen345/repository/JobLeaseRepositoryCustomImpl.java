@@ -0,0 +1,43 @@
+package ticketReservation.soen345.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ticketReservation.soen345.domain.JobLease;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class JobLeaseRepositoryCustomImpl implements JobLeaseRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean tryAcquire(String name, String owner, Duration ttl) {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(name).orOperator(
+                Criteria.where("expiresAt").lt(now),
+                Criteria.where("owner").is(owner)));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", now.plus(ttl))
+                .setOnInsert("acquiredAt", now);
+        try {
+            // A live lease held by another node makes the upsert collide on _id.
+            mongoTemplate.upsert(query, update, JobLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        Query query = Query.query(Criteria.where("_id").is(name).and("owner").is(owner));
+        mongoTemplate.remove(query, JobLease.class);
+    }
+}
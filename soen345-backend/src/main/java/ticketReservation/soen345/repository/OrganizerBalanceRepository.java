@@ -0,0 +1,14 @@
+package ticketReservation.soen345.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ticketReservation.soen345.domain.OrganizerBalance;
+
+import java.util.List;
+
+public interface OrganizerBalanceRepository
+        extends MongoRepository<OrganizerBalance, String>, OrganizerBalanceRepositoryCustom {
+
+    List<OrganizerBalance> findByOrganizerIdOrderByCurrencyAsc(String organizerId);
+
+    void deleteByOrganizerId(String organizerId);
+}
@@ -0,0 +1,11 @@
+package ticketReservation.soen345.repository;
+
+import ticketReservation.soen345.domain.PayoutLedgerEntry;
+
+public interface OrganizerBalanceRepositoryCustom {
+
+    /**
+     * Folds one ledger entry into the organizer's running balance with a single upsert.
+     */
+    void applyEntry(PayoutLedgerEntry entry);
+}
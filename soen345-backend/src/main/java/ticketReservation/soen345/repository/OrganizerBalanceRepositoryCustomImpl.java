@@ -0,0 +1,35 @@
+package ticketReservation.soen345.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ticketReservation.soen345.domain.OrganizerBalance;
+import ticketReservation.soen345.domain.PayoutEntryType;
+import ticketReservation.soen345.domain.PayoutLedgerEntry;
+
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class OrganizerBalanceRepositoryCustomImpl implements OrganizerBalanceRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void applyEntry(PayoutLedgerEntry entry) {
+        boolean credit = entry.getType() == PayoutEntryType.PAYMENT_CONFIRMED;
+        long amount = entry.getAmountMinor();
+
+        Query query = Query.query(Criteria.where("_id")
+                .is(OrganizerBalance.idFor(entry.getOrganizerId(), entry.getCurrency())));
+        Update update = new Update()
+                .setOnInsert("organizerId", entry.getOrganizerId())
+                .setOnInsert("currency", entry.getCurrency())
+                .inc(credit ? "creditedMinor" : "debitedMinor", amount)
+                .inc("netMinor", credit ? amount : -amount)
+                .inc("entryCount", 1)
+                .set("updatedAt", Instant.now());
+        mongoTemplate.upsert(query, update, OrganizerBalance.class);
+    }
+}
@@ -0,0 +1,11 @@
+package ticketReservation.soen345.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ticketReservation.soen345.domain.PaymentReconciliationReport;
+
+import java.util.Optional;
+
+public interface PaymentReconciliationReportRepository extends MongoRepository<PaymentReconciliationReport, String> {
+
+    Optional<PaymentReconciliationReport> findFirstByOrderByStartedAtDesc();
+}
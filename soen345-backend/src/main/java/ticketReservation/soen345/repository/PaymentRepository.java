@@ -1,7 +1,28 @@
 package ticketReservation.soen345.repository;
 
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentStatus;
 
-public interface PaymentRepository extends MongoRepository<Payment, String> {
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface PaymentRepository extends MongoRepository<Payment, String>, PaymentRepositoryCustom {
+
+    Optional<Payment> findByProviderPaymentId(String providerPaymentId);
+
+    /**
+     * Cursor-backed; callers must close the stream.
+     */
+    @Meta(cursorBatchSize = 200)
+    Stream<Payment> streamByStatusAndUpdatedAtBetween(PaymentStatus status, Instant from, Instant to);
+
+    /**
+     * Cursor-backed; callers must close the stream.
+     */
+    @Meta(cursorBatchSize = 200)
+    Stream<Payment> streamByPayeeUserIdAndStatusIn(String payeeUserId, Collection<PaymentStatus> statuses);
 }
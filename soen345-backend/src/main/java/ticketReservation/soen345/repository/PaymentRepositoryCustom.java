@@ -0,0 +1,15 @@
+package ticketReservation.soen345.repository;
+
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentStatus;
+
+import java.util.Optional;
+
+public interface PaymentRepositoryCustom {
+
+    /**
+     * Atomically moves a payment from {@code expected} to {@code target}.
+     * Returns the updated document, or empty when another writer got there first.
+     */
+    Optional<Payment> transitionStatus(String paymentId, PaymentStatus expected, PaymentStatus target);
+}
@@ -0,0 +1,32 @@
+package ticketReservation.soen345.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentStatus;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class PaymentRepositoryCustomImpl implements PaymentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Payment> transitionStatus(String paymentId, PaymentStatus expected, PaymentStatus target) {
+        Query query = Query.query(Criteria.where("_id").is(paymentId).and("status").is(expected));
+        Update update = new Update()
+                .set("status", target)
+                .set("updatedAt", Instant.now());
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Payment.class));
+    }
+}
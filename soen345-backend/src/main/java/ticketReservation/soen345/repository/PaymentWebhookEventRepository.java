@@ -0,0 +1,19 @@
+package ticketReservation.soen345.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ticketReservation.soen345.domain.PaymentWebhookEvent;
+import ticketReservation.soen345.domain.WebhookEventStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PaymentWebhookEventRepository
+        extends MongoRepository<PaymentWebhookEvent, String>, PaymentWebhookEventRepositoryCustom {
+
+    List<PaymentWebhookEvent> findTop100ByStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+            Collection<WebhookEventStatus> statuses,
+            Instant updatedBefore);
+
+    long countByStatus(WebhookEventStatus status);
+}
@@ -0,0 +1,15 @@
+package ticketReservation.soen345.repository;
+
+import ticketReservation.soen345.domain.PaymentWebhookEvent;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface PaymentWebhookEventRepositoryCustom {
+
+    /**
+     * Claims an inbox entry for processing. Entries that are RECEIVED, or that have been
+     * PROCESSING since before {@code staleBefore} (a crashed worker), can be claimed.
+     */
+    Optional<PaymentWebhookEvent> claim(String eventId, Instant staleBefore);
+}
@@ -0,0 +1,36 @@
+package ticketReservation.soen345.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ticketReservation.soen345.domain.PaymentWebhookEvent;
+import ticketReservation.soen345.domain.WebhookEventStatus;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class PaymentWebhookEventRepositoryCustomImpl implements PaymentWebhookEventRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<PaymentWebhookEvent> claim(String eventId, Instant staleBefore) {
+        Criteria claimable = new Criteria().orOperator(
+                Criteria.where("status").is(WebhookEventStatus.RECEIVED),
+                Criteria.where("status").is(WebhookEventStatus.PROCESSING).and("updatedAt").lt(staleBefore));
+        Query query = Query.query(Criteria.where("_id").is(eventId).andOperator(claimable));
+        Update update = new Update()
+                .set("status", WebhookEventStatus.PROCESSING)
+                .set("updatedAt", Instant.now())
+                .inc("attempts", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                PaymentWebhookEvent.class));
+    }
+}
@@ -0,0 +1,8 @@
+package ticketReservation.soen345.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ticketReservation.soen345.domain.PayoutLedgerEntry;
+
+public interface PayoutLedgerEntryRepository
+        extends MongoRepository<PayoutLedgerEntry, String>, PayoutLedgerEntryRepositoryCustom {
+}
@@ -0,0 +1,13 @@
+package ticketReservation.soen345.repository;
+
+import ticketReservation.soen345.domain.OrganizerBalance;
+
+import java.util.List;
+
+public interface PayoutLedgerEntryRepositoryCustom {
+
+    /**
+     * Recomputes an organizer's balances by aggregating every ledger entry they own.
+     */
+    List<OrganizerBalance> sumBalances(String organizerId);
+}
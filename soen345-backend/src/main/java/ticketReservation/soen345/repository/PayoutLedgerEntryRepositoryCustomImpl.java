@@ -0,0 +1,58 @@
+package ticketReservation.soen345.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import ticketReservation.soen345.domain.OrganizerBalance;
+import ticketReservation.soen345.domain.PayoutEntryType;
+import ticketReservation.soen345.domain.PayoutLedgerEntry;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class PayoutLedgerEntryRepositoryCustomImpl implements PayoutLedgerEntryRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<OrganizerBalance> sumBalances(String organizerId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("organizerId").is(organizerId)),
+                Aggregation.group("currency", "type")
+                        .sum("amountMinor").as("total")
+                        .count().as("entries"),
+                Aggregation.sort(Sort.by("_id.currency")));
+
+        Instant now = Instant.now();
+        Map<String, OrganizerBalance> byCurrency = new LinkedHashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, PayoutLedgerEntry.class, Document.class)) {
+            Document key = row.get("_id", Document.class);
+            String currency = key.getString("currency");
+            PayoutEntryType type = PayoutEntryType.valueOf(key.getString("type"));
+            long total = ((Number) row.get("total")).longValue();
+            long entries = ((Number) row.get("entries")).longValue();
+
+            OrganizerBalance balance = byCurrency.computeIfAbsent(currency, c -> OrganizerBalance.builder()
+                    .id(OrganizerBalance.idFor(organizerId, c))
+                    .organizerId(organizerId)
+                    .currency(c)
+                    .updatedAt(now)
+                    .build());
+            if (type == PayoutEntryType.PAYMENT_CONFIRMED) {
+                balance.setCreditedMinor(balance.getCreditedMinor() + total);
+            } else {
+                balance.setDebitedMinor(balance.getDebitedMinor() + total);
+            }
+            balance.setNetMinor(balance.getCreditedMinor() - balance.getDebitedMinor());
+            balance.setEntryCount(balance.getEntryCount() + entries);
+        }
+        return new ArrayList<>(byCurrency.values());
+    }
+}
@@ -0,0 +1,11 @@
+package ticketReservation.soen345.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ticketReservation.soen345.domain.RefreshToken;
+
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String>, RefreshTokenRepositoryCustom {
+
+    long deleteByFamilyId(String familyId);
+
+    long deleteByUserId(String userId);
+}
@@ -0,0 +1,15 @@
+package ticketReservation.soen345.repository;
+
+import ticketReservation.soen345.domain.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepositoryCustom {
+
+    /**
+     * Marks an unexpired, not yet rotated token as rotated and returns it. Empty when the token
+     * is unknown, expired or was already used, so only one caller can rotate a given token.
+     */
+    Optional<RefreshToken> markRotated(String id, Instant now);
+}
@@ -1,15 +1,34 @@
 package ticketReservation.soen345.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import ticketReservation.soen345.domain.Reservation;
 import ticketReservation.soen345.domain.ReservationStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ReservationRepository extends MongoRepository<Reservation, String> {
+public interface ReservationRepository extends MongoRepository<Reservation, String>, ReservationRepositoryCustom {
 
-    List<Reservation> findByUserIdOrderByCreatedAtDesc(String userId);
+    Optional<Reservation> findFirstByUserIdAndEventIdAndStatusIn(
+            String userId,
+            String eventId,
+            Collection<ReservationStatus> statuses);
 
-    Optional<Reservation> findByUserIdAndEventIdAndStatus(String userId, String eventId, ReservationStatus status);
+    Optional<Reservation> findByPaymentId(String paymentId);
+
+    /**
+     * Keyset page of an event's reservations in id order; pass the last id of the previous page.
+     */
+    List<Reservation> findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc(
+            String eventId,
+            ReservationStatus status,
+            String afterId,
+            Limit limit);
+
+    /**
+     * Keyset page of reservations booked before event snapshots existed.
+     */
+    List<Reservation> findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc(String afterId, Limit limit);
 }
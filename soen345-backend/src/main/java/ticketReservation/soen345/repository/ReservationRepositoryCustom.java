@@ -0,0 +1,45 @@
+package ticketReservation.soen345.repository;
+
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
+import ticketReservation.soen345.domain.Reservation;
+import ticketReservation.soen345.domain.ReservationStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ReservationRepositoryCustom {
+
+    /**
+     * A user's reservations from both the hot and archive collections, newest first, read from a
+     * secondary when secondary reads are enabled. A booking made moments ago may not be listed yet.
+     */
+    List<Reservation> findByUserIdFromSecondary(String userId);
+
+    /**
+     * Moves up to {@code limit} reservations cancelled before {@code cancelledBefore} to the
+     * archive collection. Returns the number moved.
+     */
+    int archiveCancelledBefore(Instant cancelledBefore, int limit);
+
+    /**
+     * Atomically moves a reservation from {@code expected} to {@code target}.
+     * Returns the updated document, or empty when the reservation was not in {@code expected}.
+     */
+    Optional<Reservation> transitionStatus(String reservationId, ReservationStatus expected, ReservationStatus target);
+
+    /**
+     * Copies the event's name, date and location into the snapshot of every reservation for it
+     * that was taken from an older version, with one multi-document update. The ticket price is
+     * left as paid. Returns the number updated.
+     */
+    long refreshEventSnapshots(Event event);
+
+    /**
+     * Sets the snapshot on each reservation that still has none, in one bulk write.
+     * Returns the number of reservations filled.
+     */
+    int fillEventSnapshots(Map<String, EventSnapshot> snapshotsByReservationId);
+}
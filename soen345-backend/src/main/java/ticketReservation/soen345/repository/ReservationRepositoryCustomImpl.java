@@ -0,0 +1,96 @@
+package ticketReservation.soen345.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ticketReservation.soen345.config.MongoClientProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
+import ticketReservation.soen345.domain.Reservation;
+import ticketReservation.soen345.domain.ReservationStatus;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoClientProperties clientProperties;
+
+    @Override
+    public List<Reservation> findByUserIdFromSecondary(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .withReadPreference(clientProperties.getSecondaryReads().readPreference());
+        return ColdArchive.merge(
+                mongoTemplate.find(query, Reservation.class),
+                mongoTemplate.find(query, Reservation.class, ColdArchive.RESERVATIONS),
+                Reservation::getId,
+                Comparator.comparing(Reservation::getCreatedAt, Comparator.nullsLast(Comparator.<Instant>reverseOrder())));
+    }
+
+    @Override
+    public int archiveCancelledBefore(Instant cancelledBefore, int limit) {
+        Criteria eligible = Criteria.where("status").is(ReservationStatus.CANCELLED.name())
+                .and("cancelledAt").lt(cancelledBefore);
+        return ColdArchive.moveBatch(mongoTemplate, mongoTemplate.getCollectionName(Reservation.class),
+                ColdArchive.RESERVATIONS, eligible, limit);
+    }
+
+    @Override
+    public Optional<Reservation> transitionStatus(
+            String reservationId,
+            ReservationStatus expected,
+            ReservationStatus target) {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(reservationId).and("status").is(expected));
+        Update update = new Update()
+                .set("status", target)
+                .set("updatedAt", now);
+        if (target == ReservationStatus.CANCELLED) {
+            update.set("cancelledAt", now);
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Reservation.class));
+    }
+
+    @Override
+    public long refreshEventSnapshots(Event event) {
+        long version = event.getVersion() == null ? 0 : event.getVersion();
+        // Reservations without a snapshot yet are left to the backfill, which copies the whole event.
+        // The version guard keeps a late or repeated refresh from undoing a newer one.
+        Query query = Query.query(Criteria.where("eventId").is(event.getId())
+                .and("eventSnapshot").ne(null)
+                .and("eventSnapshot.eventVersion").not().gte(version));
+        Update update = new Update()
+                .set("eventSnapshot.name", event.getName())
+                .set("eventSnapshot.date", event.getDate())
+                .set("eventSnapshot.location", event.getLocation())
+                .set("eventSnapshot.eventVersion", version);
+        return mongoTemplate.updateMulti(query, update, Reservation.class).getModifiedCount();
+    }
+
+    @Override
+    public int fillEventSnapshots(Map<String, EventSnapshot> snapshotsByReservationId) {
+        if (snapshotsByReservationId.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Reservation.class);
+        snapshotsByReservationId.forEach((reservationId, snapshot) -> bulk.updateOne(
+                Query.query(Criteria.where("_id").is(reservationId).and("eventSnapshot").is(null)),
+                new Update().set("eventSnapshot", snapshot)));
+        return bulk.execute().getModifiedCount();
+    }
+}
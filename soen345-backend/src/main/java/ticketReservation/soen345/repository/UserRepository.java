@@ -1,13 +1,34 @@
 package ticketReservation.soen345.repository;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import ticketReservation.soen345.domain.OrganizerProfile;
 import ticketReservation.soen345.domain.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
+
+    String ORGANIZER_PROFILE_FIELDS =
+            "{ 'firstName': 1, 'lastName': 1, 'email': 1, 'paymentInfo.payoutAccountId': 1 }";
+
+    /**
+     * What booking needs from the customer and the organizer (payment ids and payout account) and
+     * what notifications need (name, contact details, channel). No password hash, role or status.
+     */
+    String BOOKING_PROFILE_FIELDS = "{ 'firstName': 1, 'lastName': 1, 'email': 1, 'phone': 1, "
+            + "'preferredNotificationChannel': 1, 'paymentInfo.customerId': 1, "
+            + "'paymentInfo.defaultPaymentMethodId': 1, 'paymentInfo.payoutAccountId': 1 }";
+
+    /**
+     * What a refreshed session needs: the token claims and the user info returned with it.
+     */
+    String SESSION_PROFILE_FIELDS =
+            "{ 'firstName': 1, 'lastName': 1, 'email': 1, 'phone': 1, 'role': 1, 'status': 1 }";
 
     Optional<User> findByEmail(String email);
 
@@ -16,4 +37,24 @@ public interface UserRepository extends MongoRepository<User, String> {
     boolean existsByEmail(String email);
 
     boolean existsByPhone(String phone);
+
+    @Query(value = "{ '_id': ?0 }", fields = ORGANIZER_PROFILE_FIELDS)
+    Optional<OrganizerProfile> findOrganizerProfileById(String id);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = ORGANIZER_PROFILE_FIELDS)
+    List<OrganizerProfile> findOrganizerProfilesByIdIn(Collection<String> ids);
+
+    /**
+     * A partially loaded user with {@link #BOOKING_PROFILE_FIELDS}. Read-only: saving it would
+     * erase every field left out.
+     */
+    @Query(value = "{ '_id': ?0 }", fields = BOOKING_PROFILE_FIELDS)
+    Optional<User> findBookingProfileById(String id);
+
+    /**
+     * A partially loaded user with {@link #SESSION_PROFILE_FIELDS}. Read-only like
+     * {@link #findBookingProfileById}.
+     */
+    @Query(value = "{ '_id': ?0 }", fields = SESSION_PROFILE_FIELDS)
+    Optional<User> findSessionProfileById(String id);
 }
@@ -0,0 +1,16 @@
+package ticketReservation.soen345.repository;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Stores the Stripe customer id only if the user does not have one yet, touching no other
+     * field. Returns {@code false} when another request already stored an id.
+     */
+    boolean setCustomerIdIfAbsent(String userId, String customerId);
+
+    /**
+     * Replaces the password hash only if it still equals {@code expectedHash}, so a background
+     * rehash never overwrites a password changed in the meantime.
+     */
+    boolean replacePasswordHash(String userId, String expectedHash, String newHash);
+}
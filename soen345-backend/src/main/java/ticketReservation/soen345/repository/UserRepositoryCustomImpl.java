@@ -0,0 +1,40 @@
+package ticketReservation.soen345.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ticketReservation.soen345.domain.User;
+
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String CUSTOMER_ID = "paymentInfo.customerId";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean setCustomerIdIfAbsent(String userId, String customerId) {
+        Query query = Query.query(Criteria.where("_id").is(userId)
+                .orOperator(
+                        Criteria.where(CUSTOMER_ID).exists(false),
+                        Criteria.where(CUSTOMER_ID).is(null),
+                        Criteria.where(CUSTOMER_ID).regex("^\\s*$")));
+        Update update = new Update()
+                .set(CUSTOMER_ID, customerId)
+                .set("updatedAt", Instant.now());
+        return mongoTemplate.updateFirst(query, update, User.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean replacePasswordHash(String userId, String expectedHash, String newHash) {
+        Query query = Query.query(Criteria.where("_id").is(userId).and("passwordHash").is(expectedHash));
+        Update update = new Update()
+                .set("passwordHash", newHash)
+                .set("updatedAt", Instant.now());
+        return mongoTemplate.updateFirst(query, update, User.class).getModifiedCount() > 0;
+    }
+}
@@ -0,0 +1,42 @@
+package ticketReservation.soen345.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import ticketReservation.soen345.domain.Permission;
+import ticketReservation.soen345.domain.UserRole;
+
+import java.time.Instant;
+
+/**
+ * Principal set by {@link JwtAuthenticationFilter}. The role's permissions are folded into a
+ * bitmask once per request so permission checks are a single AND. {@link #getName()} is the
+ * user id, which is what controllers read through {@code Authentication#getName()}.
+ *
+ * @param role           null when the token carries a role this build does not know; the mask is then empty
+ * @param tokenId        JWT id of the access token, used to revoke it on logout; may be null
+ * @param tokenExpiresAt expiry of the access token; may be null
+ */
+public record AuthenticatedUser(
+        String userId,
+        UserRole role,
+        long permissionMask,
+        String tokenId,
+        Instant tokenExpiresAt) implements AuthenticatedPrincipal {
+
+    public static AuthenticatedUser of(String userId, UserRole role) {
+        return of(userId, role, null, null);
+    }
+
+    public static AuthenticatedUser of(String userId, UserRole role, String tokenId, Instant tokenExpiresAt) {
+        return new AuthenticatedUser(
+                userId, role, role == null ? 0L : role.getPermissionMask(), tokenId, tokenExpiresAt);
+    }
+
+    public boolean hasPermission(Permission permission) {
+        return (permissionMask & permission.mask()) != 0;
+    }
+
+    @Override
+    public String getName() {
+        return userId;
+    }
+}
@@ -1,10 +1,13 @@
 package ticketReservation.soen345.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -12,11 +15,16 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import ticketReservation.soen345.domain.UserRole;
+import ticketReservation.soen345.service.TokenRevocationService;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
 
 @Component
+@Slf4j
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -24,6 +32,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -40,19 +49,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(BEARER_PREFIX.length());
 
-        if (!jwtService.isTokenValid(token)) {
+        Claims claims;
+        try {
+            claims = jwtService.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
             filterChain.doFilter(request, response);
             return;
         }
 
         if (SecurityContextHolder.getContext().getAuthentication() == null) {
-            String userId = jwtService.extractUserId(token);
-            String role = jwtService.extractRole(token);
+            String userId = claims.getSubject();
+            String role = claims.get("role", String.class);
+
+            if (tokenRevocationService.isRevoked(claims.getId(), userId, toInstant(claims.getIssuedAt()))) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
 
-            var authentication = new UsernamePasswordAuthenticationToken(
-                    userId, null, authorities);
+            var principal = AuthenticatedUser.of(
+                    userId, resolveRole(role), claims.getId(), toInstant(claims.getExpiration()));
+            var authentication = new UsernamePasswordAuthenticationToken(principal, null, authorities);
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -60,4 +78,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private static UserRole resolveRole(String role) {
+        try {
+            return role == null ? null : UserRole.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown role value in token: {}", role);
+            return null;
+        }
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
 }
@@ -11,6 +11,7 @@ import ticketReservation.soen345.domain.User;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Service
 public class JwtService {
@@ -30,6 +31,7 @@ public class JwtService {
         Date expiry = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(user.getId())
                 .claim("role", user.getRole().name())
                 .claim("email", user.getEmail())
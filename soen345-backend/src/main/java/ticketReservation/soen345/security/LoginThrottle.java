@@ -0,0 +1,57 @@
+package ticketReservation.soen345.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.concurrency.KeyedRateLimiter;
+import ticketReservation.soen345.config.LoginProtectionProperties;
+import ticketReservation.soen345.exception.TooManyRequestsException;
+
+/**
+ * In-memory token buckets for login attempts, keyed on client IP and on the normalized
+ * account identifier. Checked before any database or hashing work so rejected attempts
+ * stay cheap. The identifier bucket is charged up front, so parallel guesses cannot slip past it,
+ * and refunded once the password checks out: only failed attempts count against an account.
+ */
+@Component
+public class LoginThrottle {
+
+    static final String THROTTLED_METRIC = "auth.login.throttled";
+
+    private final KeyedRateLimiter<String> ipLimiter;
+    private final KeyedRateLimiter<String> identifierLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public LoginThrottle(LoginProtectionProperties properties, MeterRegistry meterRegistry) {
+        this.ipLimiter = new KeyedRateLimiter<>(
+                properties.getIpAttempts(), properties.getIpWindow(), properties.getMaxTrackedKeys());
+        this.identifierLimiter = new KeyedRateLimiter<>(
+                properties.getIdentifierAttempts(), properties.getIdentifierWindow(), properties.getMaxTrackedKeys());
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("auth.login.throttle.tracked", ipLimiter, KeyedRateLimiter::trackedKeys);
+    }
+
+    /**
+     * @throws TooManyRequestsException when either the IP or the identifier is over its limit
+     */
+    public void check(String clientIp, String normalizedIdentifier) {
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp)) {
+            reject("ip", ipLimiter, clientIp);
+        }
+        if (!identifierLimiter.tryAcquire(normalizedIdentifier)) {
+            reject("identifier", identifierLimiter, normalizedIdentifier);
+        }
+    }
+
+    /**
+     * Refunds the identifier token taken by {@link #check} once the credentials proved valid, so
+     * an owner's own logins never use up the allowance for their account.
+     */
+    public void recordSuccess(String normalizedIdentifier) {
+        identifierLimiter.refund(normalizedIdentifier);
+    }
+
+    private void reject(String reason, KeyedRateLimiter<String> limiter, String key) {
+        meterRegistry.counter(THROTTLED_METRIC, "reason", reason).increment();
+        throw new TooManyRequestsException("Too many login attempts. Please try again later.", limiter.retryAfter(key));
+    }
+}
@@ -0,0 +1,69 @@
+package ticketReservation.soen345.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ticketReservation.soen345.config.PasswordHashingProperties;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the application password encoder. New hashes are written as {@code {id}hash} using the
+ * configured algorithm; every known algorithm can still verify, and hashes stored before ids
+ * were introduced are treated as BCrypt. {@link PasswordEncoder#upgradeEncoding} reports any
+ * hash whose algorithm or cost differs from the target.
+ */
+public final class PasswordEncoders {
+
+    static final String BCRYPT_ID = "bcrypt";
+    static final String ARGON2_ID = "argon2";
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder create(PasswordHashingProperties properties) {
+        PasswordEncoder bcrypt = new TargetCostBCryptPasswordEncoder(properties.getBcryptStrength());
+        PasswordEncoder argon2 = new Argon2PasswordEncoder(
+                properties.getArgon2SaltLength(),
+                properties.getArgon2HashLength(),
+                properties.getArgon2Parallelism(),
+                properties.getArgon2MemoryKib(),
+                properties.getArgon2Iterations());
+
+        String idForEncode = properties.getAlgorithm() == PasswordHashingProperties.Algorithm.ARGON2
+                ? ARGON2_ID
+                : BCRYPT_ID;
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                idForEncode, Map.of(BCRYPT_ID, bcrypt, ARGON2_ID, argon2));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * BCrypt that asks for a rehash when the stored cost is lower or higher than the target,
+     * so lowering the cost to relieve CPU takes effect as users log in.
+     */
+    static class TargetCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private static final Pattern COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+        private final int strength;
+
+        TargetCostBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            Matcher matcher = COST.matcher(encodedPassword);
+            return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ticketReservation.soen345.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.LoginProtectionProperties;
+import ticketReservation.soen345.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs password hash checks on a small fixed pool with a bounded queue, so a burst of
+ * logins queues behind a few threads instead of occupying every request thread and core.
+ * When the queue is full the login is rejected immediately with a 429.
+ */
+@Component
+@Slf4j
+public class PasswordVerifier {
+
+    static final String REHASHED_METRIC = "auth.password.rehashed";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordVerifier(
+            PasswordEncoder passwordEncoder,
+            LoginProtectionProperties properties,
+            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = properties.getVerifierTimeout();
+        this.meterRegistry = meterRegistry;
+
+        int threads = Math.max(1, properties.getVerifierThreads());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getVerifierQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        meterRegistry.gauge("auth.login.verifier.queue", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("auth.login.verifier.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, passwordHash));
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter(LoginThrottle.THROTTLED_METRIC, "reason", "busy").increment();
+            throw new TooManyRequestsException("Login is temporarily busy. Please try again shortly.", Duration.ofSeconds(1));
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            meterRegistry.counter(LoginThrottle.THROTTLED_METRIC, "reason", "timeout").increment();
+            throw new TooManyRequestsException("Login is temporarily busy. Please try again shortly.", Duration.ofSeconds(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    /**
+     * True when the stored hash uses a different algorithm or cost than new hashes would.
+     */
+    public boolean needsRehash(String passwordHash) {
+        return passwordHash != null && passwordEncoder.upgradeEncoding(passwordHash);
+    }
+
+    /**
+     * Hashes the password again on the verifier pool and hands the result to {@code onHashed}.
+     * Skipped when the pool is saturated; the next login will try again.
+     */
+    public void rehashInBackground(String rawPassword, Consumer<String> onHashed) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onHashed.accept(passwordEncoder.encode(rawPassword));
+                    meterRegistry.counter(REHASHED_METRIC).increment();
+                } catch (RuntimeException e) {
+                    log.warn("Password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Password verifier busy; skipping rehash");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
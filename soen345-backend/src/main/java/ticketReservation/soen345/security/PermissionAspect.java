@@ -26,6 +26,14 @@ public class PermissionAspect {
             throw new AccessDeniedException("Authentication is required");
         }
 
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            if (!user.hasPermission(required)) {
+                throw new AccessDeniedException("Missing required permission: " + required);
+            }
+            return;
+        }
+
+        // Authentications not created from a JWT (e.g. test or future login types) carry only authorities.
         String roleValue = authentication.getAuthorities().stream()
                 .map(grantedAuthority -> grantedAuthority.getAuthority())
                 .filter(authority -> authority.startsWith(ROLE_PREFIX))
@@ -1,9 +1,24 @@
 package ticketReservation.soen345.service;
 
 import ticketReservation.soen345.dto.request.LoginRequest;
+import ticketReservation.soen345.dto.request.LogoutRequest;
+import ticketReservation.soen345.dto.request.RefreshTokenRequest;
 import ticketReservation.soen345.dto.response.LoginResponse;
+import ticketReservation.soen345.security.AuthenticatedUser;
 
 public interface AuthService {
 
-    LoginResponse login(LoginRequest request);
+    /**
+     * @param clientIp caller address used for per-IP throttling; may be null
+     */
+    LoginResponse login(LoginRequest request, String clientIp);
+
+    LoginResponse refresh(RefreshTokenRequest request);
+
+    /**
+     * Revokes the caller's access token and, if given, the refresh token's session.
+     *
+     * @param principal null when the access token is missing or already expired
+     */
+    void logout(AuthenticatedUser principal, LogoutRequest request);
 }
@@ -0,0 +1,21 @@
+package ticketReservation.soen345.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the Mongo writes of a booking (seat count and reservation document) as one unit.
+ */
+public interface BookingTransactions {
+
+    /**
+     * Whether {@link #execute} commits its writes atomically. When false the writes are applied
+     * one by one and the caller orders them so a failure leaves nothing oversold.
+     */
+    boolean isTransactional();
+
+    /**
+     * Runs {@code work}, retrying it from the start on a transient write conflict when transactional.
+     * {@code work} must therefore only touch the database.
+     */
+    <T> T execute(Supplier<T> work);
+}
@@ -0,0 +1,12 @@
+package ticketReservation.soen345.service;
+
+import ticketReservation.soen345.domain.CacheInvalidation;
+
+/**
+ * An in-process cache that drops entries when the documents behind them change on any node.
+ */
+@FunctionalInterface
+public interface CacheInvalidationListener {
+
+    void onInvalidation(CacheInvalidation invalidation);
+}
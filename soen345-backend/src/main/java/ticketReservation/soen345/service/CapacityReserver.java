@@ -0,0 +1,14 @@
+package ticketReservation.soen345.service;
+
+/**
+ * Takes seats off an event's remaining capacity for a booking.
+ */
+public interface CapacityReserver {
+
+    /**
+     * Takes {@code quantity} seats from an active event only if that many remain.
+     *
+     * @return whether the seats were taken
+     */
+    boolean reserve(String eventId, int quantity);
+}
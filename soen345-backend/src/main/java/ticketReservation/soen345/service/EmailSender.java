@@ -1,6 +1,39 @@
 package ticketReservation.soen345.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface EmailSender {
 
     String sendEmail(String from, String to, String subject, String htmlBody);
+
+    /**
+     * Sends many messages, grouped into provider-sized batches. A failed recipient does not
+     * fail the call; it is reported in the result with its index in {@code emails}.
+     */
+    default BatchResult sendBatch(List<OutgoingEmail> emails) {
+        List<Failure> failures = new ArrayList<>();
+        for (int i = 0; i < emails.size(); i++) {
+            OutgoingEmail email = emails.get(i);
+            try {
+                sendEmail(email.from(), email.to(), email.subject(), email.htmlBody());
+            } catch (RuntimeException e) {
+                failures.add(new Failure(i, email.to(), e.getMessage()));
+            }
+        }
+        return new BatchResult(emails.size() - failures.size(), failures);
+    }
+
+    record OutgoingEmail(String from, String to, String subject, String htmlBody) {
+    }
+
+    record Failure(int index, String to, String reason) {
+    }
+
+    record BatchResult(int sent, List<Failure> failures) {
+
+        public boolean allSent() {
+            return failures.isEmpty();
+        }
+    }
 }
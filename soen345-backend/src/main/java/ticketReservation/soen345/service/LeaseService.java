@@ -0,0 +1,15 @@
+package ticketReservation.soen345.service;
+
+import java.time.Duration;
+
+public interface LeaseService {
+
+    /**
+     * Takes or renews the named cluster-wide lease for this node.
+     */
+    boolean tryAcquire(String name, Duration ttl);
+
+    void release(String name);
+
+    String nodeId();
+}
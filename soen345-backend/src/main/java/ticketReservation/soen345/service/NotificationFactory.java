@@ -7,4 +7,6 @@ public interface NotificationFactory {
     Notification createReservationConfirmation();
 
     Notification createReservationCancellation();
+
+    Notification createEventReminder();
 }
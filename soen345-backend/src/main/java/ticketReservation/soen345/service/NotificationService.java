@@ -5,6 +5,8 @@ import ticketReservation.soen345.domain.NotificationChannel;
 import ticketReservation.soen345.domain.NotificationType;
 import ticketReservation.soen345.domain.User;
 
+import java.util.List;
+
 public interface NotificationService {
 
     void sendMessage(NotificationChannel channel,
@@ -12,4 +14,11 @@ public interface NotificationService {
                      User to,
                      Event event,
                      String confirmationLink);
+
+    /**
+     * Sends one notification about {@code event} to many users, each on their preferred channel:
+     * email goes out as provider batches, SMS at bulk priority. Users without contact details for
+     * their channel are skipped, and one failed recipient does not stop the rest.
+     */
+    void sendBulk(NotificationType notificationType, Event event, List<User> recipients);
 }
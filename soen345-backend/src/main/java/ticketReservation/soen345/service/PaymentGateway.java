@@ -1,12 +1,15 @@
 package ticketReservation.soen345.service;
 
-import java.math.BigDecimal;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.PaymentProviderEvent;
+import ticketReservation.soen345.domain.PaymentStatus;
+
 import java.util.Map;
+import java.util.Optional;
 
 public interface PaymentGateway {
     String createPaymentIntent(
-            BigDecimal amount,
-            String currency,
+            Money amount,
             String customerId,
             String paymentMethodId,
             Map<String, String> metadata);
@@ -14,4 +17,15 @@ public interface PaymentGateway {
     String confirmPayment(String providerPaymentId);
 
     String refundPayment(String providerPaymentId);
+
+    /**
+     * Verifies the webhook signature and maps the provider event to a payment status change.
+     */
+    PaymentProviderEvent parseWebhookEvent(String payload, String signatureHeader);
+
+    /**
+     * Looks up the provider's current view of a payment. Empty when the provider has no
+     * record of it or cannot be asked (mock and test payments).
+     */
+    Optional<PaymentStatus> fetchPaymentStatus(String providerPaymentId);
 }
@@ -1,14 +1,30 @@
 package ticketReservation.soen345.service;
 
+import ticketReservation.soen345.domain.Money;
 import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentStatus;
 import ticketReservation.soen345.domain.User;
 
-import java.math.BigDecimal;
+import java.util.Optional;
 
 public interface PaymentService {
-    Payment createPaymentIntent(User payer, User payee, BigDecimal amount, String currency);
+    Payment createPaymentIntent(User payer, User payee, Money amount);
 
     Payment confirmPayment(String paymentId);
 
     Payment refundPayment(String paymentId);
+
+    Payment markFailed(String paymentId);
+
+    /**
+     * Settles the payment of a cancelled booking: refunds it when confirmed, fails it while still
+     * pending. Safe to call more than once; only the caller that claims the change acts on it.
+     */
+    Payment cancelPayment(String paymentId);
+
+    /**
+     * Applies a status reported by the payment provider. Returns the updated payment, or empty
+     * when the payment is unknown, already in that status, or the move is not allowed.
+     */
+    Optional<Payment> applyProviderStatus(String providerPaymentId, PaymentStatus status);
 }
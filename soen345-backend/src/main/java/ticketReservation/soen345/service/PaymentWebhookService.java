@@ -0,0 +1,9 @@
+package ticketReservation.soen345.service;
+
+public interface PaymentWebhookService {
+
+    /**
+     * Verifies and stores a provider webhook, then hands it off for asynchronous processing.
+     */
+    void receive(String payload, String signatureHeader);
+}
@@ -0,0 +1,20 @@
+package ticketReservation.soen345.service;
+
+import ticketReservation.soen345.dto.response.OrganizerBalanceResponse;
+import ticketReservation.soen345.dto.response.PayoutLedgerVerificationResponse;
+
+import java.util.List;
+
+public interface PayoutLedgerService {
+
+    /**
+     * Returns the organizer's precomputed balances, one per currency.
+     */
+    List<OrganizerBalanceResponse> getBalances(String organizerId);
+
+    /**
+     * Replays the organizer's settled payments into the ledger and recomputes their balances
+     * from scratch. With {@code dryRun} nothing is written and the result only reports drift.
+     */
+    PayoutLedgerVerificationResponse rebuild(String organizerId, boolean dryRun);
+}
@@ -0,0 +1,27 @@
+package ticketReservation.soen345.service;
+
+import java.time.Instant;
+
+public interface RefreshTokenService {
+
+    /**
+     * Starts a new session for the user and returns its first refresh token.
+     */
+    IssuedRefreshToken issue(String userId);
+
+    /**
+     * Exchanges a refresh token for the next one in its session. Presenting a token that was
+     * already rotated ends the whole session, since it means the token was copied.
+     */
+    IssuedRefreshToken rotate(String refreshToken);
+
+    /**
+     * Ends the session the token belongs to. Unknown tokens are ignored.
+     */
+    void revoke(String refreshToken);
+
+    void revokeAll(String userId);
+
+    record IssuedRefreshToken(String token, String userId, Instant expiresAt) {
+    }
+}
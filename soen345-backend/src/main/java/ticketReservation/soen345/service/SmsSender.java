@@ -3,4 +3,19 @@ package ticketReservation.soen345.service;
 public interface SmsSender {
 
     String sendSms(String to, String from, String body);
+
+    /**
+     * Sends with a queueing priority; senders that do not queue ignore it.
+     */
+    default String sendSms(String to, String from, String body, Priority priority) {
+        return sendSms(to, from, body);
+    }
+
+    /** Order in which queued sends get a slot when the provider is saturated. */
+    enum Priority {
+        /** Confirmations and other messages tied to something the user just did. */
+        TRANSACTIONAL,
+        /** Reminders and event-wide messages. */
+        BULK
+    }
 }
@@ -0,0 +1,22 @@
+package ticketReservation.soen345.service;
+
+import java.time.Instant;
+
+public interface TokenRevocationService {
+
+    /**
+     * Blocks a single access token until it would have expired anyway.
+     */
+    void revokeToken(String tokenId, Instant tokenExpiresAt);
+
+    /**
+     * Blocks every access token of the user issued up to now.
+     */
+    void revokeUser(String userId);
+
+    /**
+     * @param tokenId  JWT id; null for tokens issued before ids were added
+     * @param issuedAt JWT issue time, compared against user-wide revocations
+     */
+    boolean isRevoked(String tokenId, String userId, Instant issuedAt);
+}
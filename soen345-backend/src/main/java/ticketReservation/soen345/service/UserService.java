@@ -1,6 +1,7 @@
 package ticketReservation.soen345.service;
 
 import ticketReservation.soen345.domain.NotificationChannel;
+import ticketReservation.soen345.domain.UserStatus;
 import ticketReservation.soen345.dto.request.RegisterRequest;
 import ticketReservation.soen345.dto.request.UpdateUserProfileRequest;
 import ticketReservation.soen345.dto.response.RegisterResponse;
@@ -19,4 +20,9 @@ public interface UserService {
     UserResponse updateNotificationPreference(String userId, NotificationChannel preferredNotificationChannel);
 
     UserResponse updateUserProfile(String userId, UpdateUserProfileRequest request);
+
+    /**
+     * Changes an account's status. Suspending or deactivating ends the user's sessions.
+     */
+    UserResponse updateUserStatus(String userId, UserStatus status);
 }
@@ -1,16 +1,24 @@
 package ticketReservation.soen345.service.impl;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.dto.request.LoginRequest;
+import ticketReservation.soen345.dto.request.LogoutRequest;
+import ticketReservation.soen345.dto.request.RefreshTokenRequest;
 import ticketReservation.soen345.dto.response.LoginResponse;
 import ticketReservation.soen345.exception.InvalidCredentialsException;
 import ticketReservation.soen345.repository.UserRepository;
+import ticketReservation.soen345.security.AuthenticatedUser;
 import ticketReservation.soen345.security.JwtService;
+import ticketReservation.soen345.security.LoginThrottle;
+import ticketReservation.soen345.security.PasswordVerifier;
 import ticketReservation.soen345.service.AuthService;
+import ticketReservation.soen345.service.RefreshTokenService;
+import ticketReservation.soen345.service.TokenRevocationService;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 
 @Service
@@ -18,35 +26,86 @@ import java.util.Optional;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
     private final JwtService jwtService;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
-    public LoginResponse login(LoginRequest request) {
-        String identifier = request.getIdentifier().trim();
+    public LoginResponse login(LoginRequest request, String clientIp) {
+        String identifier = normalizeIdentifier(request.getIdentifier().trim());
+        loginThrottle.check(clientIp, identifier);
+
         User user = resolveUser(identifier)
                 .orElseThrow(InvalidCredentialsException::new);
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordVerifier.matches(request.getPassword(), user.getPasswordHash())) {
             throw new InvalidCredentialsException();
         }
+        loginThrottle.recordSuccess(identifier);
+        if (user.getStatus() != null && user.getStatus().blocksAccess()) {
+            throw new InvalidCredentialsException("Account is suspended or deactivated");
+        }
+        if (passwordVerifier.needsRehash(user.getPasswordHash())) {
+            String currentHash = user.getPasswordHash();
+            passwordVerifier.rehashInBackground(request.getPassword(),
+                    newHash -> userRepository.replacePasswordHash(user.getId(), currentHash, newHash));
+        }
+
+        return buildResponse(user, refreshTokenService.issue(user.getId()));
+    }
+
+    @Override
+    public LoginResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.IssuedRefreshToken refreshToken = refreshTokenService.rotate(request.getRefreshToken());
+
+        User user = userRepository.findSessionProfileById(refreshToken.userId())
+                .filter(found -> found.getStatus() == null || !found.getStatus().blocksAccess())
+                .orElse(null);
+        if (user == null) {
+            refreshTokenService.revokeAll(refreshToken.userId());
+            throw new InvalidCredentialsException("Invalid refresh token");
+        }
 
+        return buildResponse(user, refreshToken);
+    }
+
+    @Override
+    public void logout(AuthenticatedUser principal, LogoutRequest request) {
+        if (principal != null) {
+            tokenRevocationService.revokeToken(principal.tokenId(), principal.tokenExpiresAt());
+        }
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+    }
+
+    private LoginResponse buildResponse(User user, RefreshTokenService.IssuedRefreshToken refreshToken) {
         String token = jwtService.generateToken(user);
 
         return LoginResponse.builder()
                 .tokenType("Bearer")
                 .accessToken(token)
                 .expiresIn(jwtService.getExpirationSeconds())
+                .refreshToken(refreshToken.token())
+                .refreshExpiresIn(Math.max(0, Duration.between(Instant.now(), refreshToken.expiresAt()).toSeconds()))
                 .user(mapToUserInfo(user))
                 .build();
     }
 
-    private Optional<User> resolveUser(String identifier) {
+    private String normalizeIdentifier(String identifier) {
         if (identifier.contains("@")) {
-            return userRepository.findByEmail(identifier.toLowerCase());
+            return identifier.toLowerCase();
+        }
+        return identifier.replaceAll("[\\s\\-]", "");
+    }
+
+    private Optional<User> resolveUser(String normalizedIdentifier) {
+        if (normalizedIdentifier.contains("@")) {
+            return userRepository.findByEmail(normalizedIdentifier);
         }
-        String normalizedPhone = identifier.replaceAll("[\\s\\-]", "");
-        return userRepository.findByPhone(normalizedPhone);
+        return userRepository.findByPhone(normalizedIdentifier);
     }
 
     private LoginResponse.UserInfo mapToUserInfo(User user) {
@@ -0,0 +1,65 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.concurrency.ExpiringCache;
+import ticketReservation.soen345.domain.CacheInvalidation;
+import ticketReservation.soen345.domain.CachedCollection;
+import ticketReservation.soen345.service.CacheInvalidationListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hands invalidations from {@link CacheInvalidationFeed} to the caches registered here. Caches
+ * keyed by document id register with {@link #register(CachedCollection, ExpiringCache)}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+
+    private final MeterRegistry meterRegistry;
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void register(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Drops the entry for a changed document, or every entry when changes may have been missed.
+     */
+    public void register(CachedCollection collection, ExpiringCache<String, ?> cache) {
+        register(invalidation -> {
+            if (invalidation.collection() != collection) {
+                return;
+            }
+            if (invalidation.isAll()) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidate(invalidation.id());
+            }
+        });
+    }
+
+    public void publish(CacheInvalidation invalidation) {
+        meterRegistry.counter("cache.invalidations",
+                "collection", invalidation.collection().collectionName(),
+                "scope", invalidation.isAll() ? "all" : "document").increment();
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Cache listener failed on {}: {}", invalidation, e.getMessage());
+            }
+        }
+    }
+
+    public void publishAll() {
+        for (CachedCollection collection : CachedCollection.values()) {
+            publish(CacheInvalidation.all(collection));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package ticketReservation.soen345.service.impl;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.CacheInvalidationProperties;
+import ticketReservation.soen345.config.CacheInvalidationProperties.Mode;
+import ticketReservation.soen345.domain.CacheInvalidation;
+import ticketReservation.soen345.domain.CachedCollection;
+import ticketReservation.soen345.repository.CacheChangeRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Turns writes to the {@link CachedCollection}s, made on any node, into invalidations on the
+ * {@link CacheInvalidationBus} of this one.
+ * <p>
+ * On a replica set each sync drains one change stream over all cached collections and keeps its
+ * resume token, so a reconnected stream carries on where it left off. When the oplog no longer
+ * reaches back that far, every cache is dropped and the stream starts from now. A standalone
+ * server has no change streams; there each sync queries documents whose {@code updatedAt} moved
+ * since the last poll, so deletes are only seen by the change stream.
+ * <p>
+ * Every node runs its own feed, since each holds its own caches, and keeps its position in memory:
+ * a restarted node starts with empty caches and has nothing to replay.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.cache.invalidation", name = "enabled", matchIfMissing = true)
+public class CacheInvalidationFeed {
+
+    /** ChangeStreamFatalError and ChangeStreamHistoryLost: the token cannot be resumed from. */
+    private static final Set<Integer> HISTORY_LOST = Set.of(280, 286);
+
+    private final CacheChangeRepository changeRepository;
+    private final CacheInvalidationBus bus;
+    private final CacheInvalidationProperties properties;
+
+    private Mode mode;
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private BsonDocument resumeToken;
+    /** Polling only: caches may have been filled since startup, so the first poll reaches back to it. */
+    private Instant polledAt = Instant.now();
+
+    public CacheInvalidationFeed(
+            CacheChangeRepository changeRepository,
+            CacheInvalidationBus bus,
+            CacheInvalidationProperties properties) {
+        this.changeRepository = changeRepository;
+        this.bus = bus;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.sync-interval:1s}")
+    public synchronized void sync() {
+        try {
+            if (mode == null) {
+                mode = resolveMode();
+            }
+            if (mode == Mode.CHANGE_STREAM) {
+                drainChangeStream();
+            } else {
+                poll();
+            }
+        } catch (MongoException e) {
+            closeCursor();
+            if (!HISTORY_LOST.contains(e.getCode())) {
+                log.warn("Cache invalidation sync failed: {}", e.getMessage());
+                return;
+            }
+            log.warn("Change stream cannot resume from its token ({}); dropping all cached documents", e.getMessage());
+            bus.publishAll();
+            resumeToken = null;
+        } catch (RuntimeException e) {
+            closeCursor();
+            log.warn("Cache invalidation sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Which feed this node follows; {@code null} until the first sync has resolved it.
+     */
+    synchronized Mode mode() {
+        return mode;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeCursor();
+    }
+
+    private Mode resolveMode() {
+        Mode resolved = switch (properties.getMode()) {
+            case CHANGE_STREAM -> Mode.CHANGE_STREAM;
+            case POLLING -> Mode.POLLING;
+            case AUTO -> changeRepository.supportsChangeStreams() ? Mode.CHANGE_STREAM : Mode.POLLING;
+        };
+        log.info("Cache invalidation follows {}", resolved == Mode.CHANGE_STREAM
+                ? "a change stream" : "updatedAt polling every " + properties.getSyncInterval());
+        return resolved;
+    }
+
+    private void drainChangeStream() {
+        if (cursor == null) {
+            boolean fresh = resumeToken == null;
+            cursor = changeRepository.watchCachedCollections(resumeToken, properties.getMaxAwaitTime());
+            if (fresh) {
+                // Anything cached before the stream opened may have changed unseen.
+                bus.publishAll();
+            }
+        }
+
+        int handled = 0;
+        ChangeStreamDocument<Document> change;
+        while (handled < properties.getMaxChangesPerSync() && (change = cursor.tryNext()) != null) {
+            handled++;
+            if (change.getOperationType() == OperationType.INVALIDATE) {
+                // The stream ended (e.g. the database was dropped) and cannot be resumed past this point.
+                bus.publishAll();
+                closeCursor();
+                resumeToken = null;
+                return;
+            }
+            publish(change);
+        }
+
+        BsonDocument token = cursor.getResumeToken();
+        if (token != null) {
+            resumeToken = token;
+        }
+    }
+
+    private void publish(ChangeStreamDocument<Document> change) {
+        Optional<CachedCollection> collection = change.getNamespace() == null
+                ? Optional.empty()
+                : CachedCollection.fromCollectionName(change.getNamespace().getCollectionName());
+        if (collection.isEmpty()) {
+            bus.publishAll();
+            return;
+        }
+        BsonDocument key = change.getDocumentKey();
+        if (key == null || !key.containsKey("_id")) {
+            // drop or rename of the whole collection
+            bus.publish(CacheInvalidation.all(collection.get()));
+            return;
+        }
+        bus.publish(CacheInvalidation.of(collection.get(), idOf(key.get("_id"))));
+    }
+
+    private void poll() {
+        Instant now = Instant.now();
+        Instant since = polledAt.minus(properties.getPollOverlap());
+        int limit = properties.getMaxChangesPerSync();
+        for (CachedCollection collection : CachedCollection.values()) {
+            List<String> ids = changeRepository.findIdsChangedSince(collection, since, limit);
+            if (ids.size() >= limit) {
+                bus.publish(CacheInvalidation.all(collection));
+            } else {
+                ids.forEach(id -> bus.publish(CacheInvalidation.of(collection, id)));
+            }
+        }
+        polledAt = now;
+    }
+
+    private void closeCursor() {
+        if (cursor == null) {
+            return;
+        }
+        try {
+            cursor.close();
+        } catch (RuntimeException e) {
+            log.debug("Closing the change stream failed: {}", e.getMessage());
+        }
+        cursor = null;
+    }
+
+    private static String idOf(BsonValue id) {
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
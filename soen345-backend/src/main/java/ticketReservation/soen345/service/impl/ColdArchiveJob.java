@@ -0,0 +1,82 @@
+package ticketReservation.soen345.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.ArchiveProperties;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.ReservationRepository;
+import ticketReservation.soen345.service.LeaseService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Moves events past their retention and long-cancelled reservations out of the hot collections
+ * into {@code events_archive} and {@code reservations_archive}, a bounded number of batches per
+ * run. Organizer listings and reservation history read both tiers.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ColdArchiveJob {
+
+    static final String LEASE_NAME = "cold-archive";
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final LeaseService leaseService;
+    private final ArchiveProperties properties;
+
+    @Scheduled(initialDelayString = "${app.archive.initial-delay:5m}",
+            fixedDelayString = "${app.archive.interval:1h}",
+            scheduler = AsyncConfig.BATCH_JOB_SCHEDULER)
+    public void runScheduled() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * Returns the number of documents archived, or 0 when another node holds the lease.
+     */
+    public long run() {
+        Duration leaseTtl = properties.getLeaseTtl();
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+            log.debug("Cold archive is running on another node");
+            return 0;
+        }
+
+        try {
+            Instant now = Instant.now();
+            Instant eventsEndedBefore = now.minus(properties.getEventRetention());
+            Instant reservationsCancelledBefore = now.minus(properties.getCancelledReservationRetention());
+
+            long events = moveInBatches(limit -> eventRepository.archiveEndedBefore(eventsEndedBefore, limit));
+            long reservations = moveInBatches(limit ->
+                    reservationRepository.archiveCancelledBefore(reservationsCancelledBefore, limit));
+
+            log.info("Cold archive moved {} events and {} cancelled reservations", events, reservations);
+            return events + reservations;
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    private long moveInBatches(IntUnaryOperator moveBatch) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long moved = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int count = moveBatch.applyAsInt(batchSize);
+            moved += count;
+            if (count < batchSize) {
+                break;
+            }
+            leaseService.tryAcquire(LEASE_NAME, properties.getLeaseTtl());
+        }
+        return moved;
+    }
+}
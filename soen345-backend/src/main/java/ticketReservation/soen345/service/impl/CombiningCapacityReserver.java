@@ -0,0 +1,256 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ticketReservation.soen345.repository.EventRepositoryCustom;
+import ticketReservation.soen345.service.CapacityReserver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Combines concurrent seat holds on the same event into one guarded update, so a flash sale costs
+ * one round trip per batch instead of one per booking contending on the same document.
+ * <p>
+ * Bookings for an event queue behind the update in flight for it. The caller that finds no update
+ * in flight leads: it waits {@code window} (zero by default, since the batch also fills while the
+ * previous update is on the wire), takes everything queued and applies it, then hands the next
+ * batch to the first caller queued behind it. If the whole batch no longer fits, the remaining
+ * seats are handed out in arrival order, so every caller still gets an exact answer.
+ * <p>
+ * A failed write fails only the bookings it was for. Each write carries a hold id, so one whose
+ * reply was lost is looked up before its bookings are failed, rather than leaving seats taken
+ * that nobody was told about.
+ * <p>
+ * Writes run on whichever caller leads, so this must not be used inside a booking transaction.
+ */
+@Slf4j
+public class CombiningCapacityReserver implements CapacityReserver {
+
+    private final EventRepositoryCustom eventRepository;
+    private final long windowNanos;
+    private final DistributionSummary batchSize;
+    private final Counter splitBatches;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public CombiningCapacityReserver(EventRepositoryCustom eventRepository, Duration window, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.windowNanos = window.toNanos();
+        this.batchSize = DistributionSummary.builder("reservations.capacity.batch.size")
+                .description("Seat holds applied by one combined capacity update")
+                .register(meterRegistry);
+        this.splitBatches = Counter.builder("reservations.capacity.batch.split")
+                .description("Combined updates that did not fit the remaining seats and were split")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean reserve(String eventId, int quantity) {
+        Request request = new Request(quantity);
+        boolean[] leads = new boolean[1];
+        lanes.compute(eventId, (id, lane) -> {
+            if (lane == null) {
+                lane = new Lane();
+                leads[0] = true;
+            }
+            lane.pending.add(request);
+            return lane;
+        });
+
+        if (leads[0]) {
+            pause();
+            lead(eventId, drain(eventId));
+        } else {
+            Lead lead = request.done.join();
+            if (lead != null) {
+                lead(eventId, lead.batch());
+            }
+        }
+        if (request.failure != null) {
+            throw request.failure;
+        }
+        return request.granted;
+    }
+
+    /**
+     * Applies {@code batch} with as few guarded updates as possible and sets each request's result:
+     * {@link Request#granted}, or {@link Request#failure} when its update failed.
+     */
+    void apply(String eventId, List<Request> batch) {
+        batchSize.record(batch.size());
+        long total = batch.stream().mapToLong(Request::quantity).sum();
+        try {
+            if (total <= Integer.MAX_VALUE && hold(eventId, (int) total)) {
+                batch.forEach(request -> request.granted = true);
+                return;
+            }
+            if (batch.size() == 1) {
+                return;
+            }
+
+            splitBatches.increment();
+            int remaining = eventRepository.remainingCapacity(eventId);
+            List<Request> admitted = new ArrayList<>();
+            int seats = 0;
+            for (Request request : batch) {
+                if (request.quantity <= remaining - seats) {
+                    admitted.add(request);
+                    seats += request.quantity;
+                }
+            }
+            if (admitted.isEmpty()) {
+                return;
+            }
+            if (hold(eventId, seats)) {
+                admitted.forEach(request -> request.granted = true);
+                return;
+            }
+        } catch (RuntimeException e) {
+            // Nothing in the batch was taken yet.
+            batch.forEach(request -> request.failure = e);
+            return;
+        }
+        // Another instance took seats since the read; settle each booking on its own.
+        for (Request request : batch) {
+            try {
+                request.granted = hold(eventId, request.quantity);
+            } catch (RuntimeException e) {
+                request.failure = e;
+            }
+        }
+    }
+
+    /**
+     * Bookings queued for the next update on {@code eventId}.
+     */
+    int queued(String eventId) {
+        int[] size = new int[1];
+        lanes.computeIfPresent(eventId, (id, lane) -> {
+            size[0] = lane.pending.size();
+            return lane;
+        });
+        return size[0];
+    }
+
+    private void lead(String eventId, List<Request> batch) {
+        try {
+            apply(eventId, batch);
+        } catch (RuntimeException | Error e) {
+            // Not rethrown: a caller leading a later batch has its own result already settled.
+            abandon(eventId, batch, e);
+        } finally {
+            batch.forEach(request -> request.done.complete(null));
+            List<Request> next = drainOrClose(eventId);
+            if (next != null) {
+                next.get(0).done.complete(new Lead(next));
+            }
+        }
+    }
+
+    /**
+     * Takes {@code quantity} seats with a tagged update. When the update fails, the tag tells
+     * whether it was applied before the reply was lost.
+     */
+    private boolean hold(String eventId, int quantity) {
+        String holdId = UUID.randomUUID().toString();
+        try {
+            return eventRepository.reserveCapacity(eventId, quantity, holdId);
+        } catch (RuntimeException e) {
+            try {
+                if (eventRepository.hasCapacityHold(eventId, holdId)) {
+                    return true;
+                }
+            } catch (RuntimeException lookup) {
+                e.addSuppressed(lookup);
+                log.error("Could not tell whether hold {} of {} seats on event {} was applied",
+                        holdId, quantity, eventId, e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gives back the seats of bookings that were granted but will now be reported as failed.
+     */
+    private void abandon(String eventId, List<Request> batch, Throwable cause) {
+        int granted = batch.stream().filter(request -> request.granted).mapToInt(Request::quantity).sum();
+        batch.forEach(request -> {
+            request.granted = false;
+            request.failure = cause instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException("Seat hold failed", cause);
+        });
+        if (granted == 0) {
+            return;
+        }
+        try {
+            eventRepository.releaseCapacity(eventId, granted);
+        } catch (RuntimeException e) {
+            log.error("Could not release {} seats on event {} after a failed hold", granted, eventId, e);
+        }
+    }
+
+    private void pause() {
+        long deadline = System.nanoTime() + windowNanos;
+        for (long left = windowNanos; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private List<Request> drain(String eventId) {
+        List<List<Request>> taken = new ArrayList<>(1);
+        lanes.computeIfPresent(eventId, (id, lane) -> {
+            taken.add(lane.pending);
+            lane.pending = new ArrayList<>();
+            return lane;
+        });
+        return taken.get(0);
+    }
+
+    /**
+     * Takes the next batch, or retires the lane when nobody queued during the last update.
+     */
+    private List<Request> drainOrClose(String eventId) {
+        List<List<Request>> taken = new ArrayList<>(1);
+        lanes.computeIfPresent(eventId, (id, lane) -> {
+            if (lane.pending.isEmpty()) {
+                return null;
+            }
+            taken.add(lane.pending);
+            lane.pending = new ArrayList<>();
+            return lane;
+        });
+        return taken.isEmpty() ? null : taken.get(0);
+    }
+
+    static final class Request {
+        private final int quantity;
+        /** Completed empty once the result is set, or with a batch this caller must apply next. */
+        private final CompletableFuture<Lead> done = new CompletableFuture<>();
+        boolean granted;
+        RuntimeException failure;
+
+        Request(int quantity) {
+            this.quantity = quantity;
+        }
+
+        int quantity() {
+            return quantity;
+        }
+    }
+
+    private record Lead(List<Request> batch) {
+    }
+
+    private static final class Lane {
+        private List<Request> pending = new ArrayList<>();
+    }
+}
@@ -0,0 +1,21 @@
+package ticketReservation.soen345.service.impl;
+
+import ticketReservation.soen345.service.BookingTransactions;
+
+import java.util.function.Supplier;
+
+/**
+ * Applies booking writes without a transaction; used on standalone MongoDB deployments.
+ */
+public class DirectBookingTransactions implements BookingTransactions {
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> work) {
+        return work.get();
+    }
+}
@@ -0,0 +1,20 @@
+package ticketReservation.soen345.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import ticketReservation.soen345.repository.EventRepositoryCustom;
+import ticketReservation.soen345.service.CapacityReserver;
+
+/**
+ * One guarded update per booking. Used inside booking transactions, where the write must run on
+ * the caller's thread and session.
+ */
+@RequiredArgsConstructor
+public class DirectCapacityReserver implements CapacityReserver {
+
+    private final EventRepositoryCustom eventRepository;
+
+    @Override
+    public boolean reserve(String eventId, int quantity) {
+        return eventRepository.reserveCapacity(eventId, quantity);
+    }
+}
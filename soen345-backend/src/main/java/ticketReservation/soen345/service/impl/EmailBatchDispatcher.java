@@ -0,0 +1,89 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import ticketReservation.soen345.config.EmailDeliveryProperties;
+import ticketReservation.soen345.service.EmailSender.BatchResult;
+import ticketReservation.soen345.service.EmailSender.Failure;
+import ticketReservation.soen345.service.EmailSender.OutgoingEmail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits a batch send into provider-sized chunks and runs them on the shared email executor,
+ * whose pool size caps how many provider requests are in flight. Records latency per chunk
+ * and sent/failed counts per recipient.
+ */
+@Slf4j
+final class EmailBatchDispatcher {
+
+    @FunctionalInterface
+    interface ChunkSender {
+        /**
+         * @param offset index of {@code chunk.get(0)} in the whole send, for failure reporting
+         * @return recipients the provider rejected; throwing fails the whole chunk
+         */
+        List<Failure> send(List<OutgoingEmail> chunk, int offset) throws Exception;
+    }
+
+    private final EmailDeliveryProperties.Batch properties;
+    private final Executor executor;
+    private final Timer chunkTimer;
+    private final Counter sent;
+    private final Counter failed;
+
+    EmailBatchDispatcher(String provider, EmailDeliveryProperties properties, Executor executor,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties.getBatch();
+        this.executor = executor;
+        this.chunkTimer = Timer.builder("email.batch.duration")
+                .description("Latency of one provider batch request")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        this.sent = meterRegistry.counter("email.batch.recipients", "provider", provider, "outcome", "sent");
+        this.failed = meterRegistry.counter("email.batch.recipients", "provider", provider, "outcome", "failed");
+    }
+
+    BatchResult dispatch(List<OutgoingEmail> emails, ChunkSender sender) {
+        int size = Math.max(1, properties.getSize());
+        List<CompletableFuture<List<Failure>>> chunks = new ArrayList<>();
+        for (int offset = 0; offset < emails.size(); offset += size) {
+            List<OutgoingEmail> chunk = emails.subList(offset, Math.min(offset + size, emails.size()));
+            int chunkOffset = offset;
+            chunks.add(CompletableFuture.supplyAsync(() -> sendChunk(chunk, chunkOffset, sender), executor));
+        }
+
+        List<Failure> failures = new ArrayList<>();
+        for (CompletableFuture<List<Failure>> chunk : chunks) {
+            failures.addAll(chunk.join());
+        }
+        return new BatchResult(emails.size() - failures.size(), failures);
+    }
+
+    private List<Failure> sendChunk(List<OutgoingEmail> chunk, int offset, ChunkSender sender) {
+        long start = System.nanoTime();
+        List<Failure> failures;
+        try {
+            failures = sender.send(chunk, offset);
+        } catch (Exception e) {
+            log.warn("Email batch of {} starting at {} failed: {}", chunk.size(), offset, e.getMessage());
+            failures = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                failures.add(new Failure(offset + i, chunk.get(i).to(), e.getMessage()));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        chunkTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        sent.increment(chunk.size() - failures.size());
+        failed.increment(failures.size());
+        log.debug("Email batch of {} starting at {} took {} ms with {} failures",
+                chunk.size(), offset, elapsed / 1_000_000, failures.size());
+        return failures;
+    }
+}
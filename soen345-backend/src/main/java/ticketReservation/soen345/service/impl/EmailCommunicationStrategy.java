@@ -9,6 +9,9 @@ import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.service.EmailSender;
 import ticketReservation.soen345.service.NotificationChannelStrategy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @Slf4j
 public class EmailCommunicationStrategy implements NotificationChannelStrategy {
@@ -24,14 +27,39 @@ public class EmailCommunicationStrategy implements NotificationChannelStrategy {
         this.emailSender = emailSender;
     }
 
+    /**
+     * The email factory's notifications render HTML directly, so the body is sent as-is.
+     */
     @Override
     public void sendTo(User to, Notification notification, NotificationContext context) {
         String emailId = emailSender.sendEmail(
                 fromAddress,
                 to.getEmail(),
                 notification.subject(context),
-                notification.body(context).replace("\n", "<br/>")
+                notification.body(context)
         );
         log.info("Resend email sent to {} with id {}", to.getEmail(), emailId);
     }
+
+    /**
+     * Sends one notification to many recipients through the provider's batch API, for
+     * event-wide messages. Each context supplies the recipient and the values to render.
+     */
+    public EmailSender.BatchResult sendToAll(List<NotificationContext> contexts, Notification notification) {
+        List<EmailSender.OutgoingEmail> emails = new ArrayList<>(contexts.size());
+        for (NotificationContext context : contexts) {
+            emails.add(new EmailSender.OutgoingEmail(
+                    fromAddress,
+                    context.user().getEmail(),
+                    notification.subject(context),
+                    notification.body(context)));
+        }
+
+        EmailSender.BatchResult result = emailSender.sendBatch(emails);
+        for (EmailSender.Failure failure : result.failures()) {
+            log.warn("Batch email to {} failed: {}", failure.to(), failure.reason());
+        }
+        log.info("Batch email sent to {} of {} recipients", result.sent(), emails.size());
+        return result;
+    }
 }
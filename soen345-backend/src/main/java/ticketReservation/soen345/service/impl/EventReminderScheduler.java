@@ -0,0 +1,236 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.concurrency.HierarchicalTimingWheel;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.config.EventReminderProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventScheduleChangedEvent;
+import ticketReservation.soen345.domain.EventStatus;
+import ticketReservation.soen345.domain.NotificationType;
+import ticketReservation.soen345.domain.Reservation;
+import ticketReservation.soen345.domain.ReservationStatus;
+import ticketReservation.soen345.domain.User;
+import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.ReservationRepository;
+import ticketReservation.soen345.repository.UserRepository;
+import ticketReservation.soen345.service.LeaseService;
+import ticketReservation.soen345.service.NotificationService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Sends reminders at each configured offset before an event's date to everyone holding an
+ * active reservation. Upcoming events are loaded into a {@link HierarchicalTimingWheel} once,
+ * when this node takes the lease; after that the wheel follows {@link EventScheduleChangedEvent}s
+ * published locally and a periodic read of events updated through other nodes, so no query
+ * scans the catalog per tick. Due reminders are fanned out on the notification executor, paging
+ * through reservations by id.
+ *
+ * <p>Deadlines that passed while no node held the lease are skipped, not sent late.
+ */
+@Component
+@Slf4j
+public class EventReminderScheduler {
+
+    static final String LEASE_NAME = "event-reminders";
+
+    private static final int WHEEL_SIZE = 64;
+    private static final String FIRST_OBJECT_ID = "000000000000000000000000";
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final LeaseService leaseService;
+    private final EventReminderProperties properties;
+    private final Executor dispatchExecutor;
+    private final Counter remindersSent;
+    private final Counter recipientsNotified;
+    private final Counter dispatchFailures;
+
+    /** Null while another node owns the schedule. Guarded by {@code this}. */
+    private HierarchicalTimingWheel<String, Reminder> wheel;
+    private boolean owner;
+    private Instant leaseCheckedAt = Instant.EPOCH;
+    private Instant lastSyncAt = Instant.EPOCH;
+
+    public EventReminderScheduler(
+            EventRepository eventRepository,
+            ReservationRepository reservationRepository,
+            UserRepository userRepository,
+            NotificationService notificationService,
+            LeaseService leaseService,
+            EventReminderProperties properties,
+            @Qualifier(AsyncConfig.NOTIFICATION_EXECUTOR) Executor dispatchExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.leaseService = leaseService;
+        this.properties = properties;
+        this.dispatchExecutor = dispatchExecutor;
+        this.remindersSent = meterRegistry.counter("notifications.reminders.sent");
+        this.recipientsNotified = meterRegistry.counter("notifications.reminders.recipients");
+        this.dispatchFailures = meterRegistry.counter("notifications.reminders.failures");
+        Gauge.builder("notifications.reminders.scheduled", this, EventReminderScheduler::scheduledCount)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.reminders.tick:1s}")
+    public void tick() {
+        if (properties.isEnabled()) {
+            tick(Instant.now());
+        }
+    }
+
+    void tick(Instant now) {
+        if (!holdsLease(now)) {
+            return;
+        }
+        if (!now.isBefore(lastSyncAt.plus(properties.getSyncInterval()))) {
+            syncChangedEvents(now);
+        }
+
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            if (wheel != null) {
+                wheel.advanceTo(now.toEpochMilli(), (key, reminder) -> due.add(reminder));
+            }
+        }
+        for (Reminder reminder : due) {
+            dispatchExecutor.execute(() -> send(reminder));
+        }
+    }
+
+    @EventListener
+    public void onEventScheduleChanged(EventScheduleChangedEvent change) {
+        synchronized (this) {
+            if (wheel != null) {
+                schedule(wheel, change.eventId(), change.date(), change.status(), Instant.now());
+            }
+        }
+    }
+
+    synchronized int scheduledCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    private boolean holdsLease(Instant now) {
+        Duration renewEvery = properties.getLeaseTtl().dividedBy(3);
+        if (Duration.between(leaseCheckedAt, now).compareTo(renewEvery) < 0) {
+            return owner;
+        }
+        leaseCheckedAt = now;
+        boolean acquired = leaseService.tryAcquire(LEASE_NAME, properties.getLeaseTtl());
+        if (acquired && !owner) {
+            owner = true;
+            load(now);
+        } else if (!acquired && owner) {
+            owner = false;
+            synchronized (this) {
+                wheel = null;
+            }
+            log.info("Event reminder schedule moved to another node");
+        }
+        return owner;
+    }
+
+    private void load(Instant now) {
+        // Built outside the lock; changes published meanwhile are picked up by the next sync.
+        HierarchicalTimingWheel<String, Reminder> loaded =
+                new HierarchicalTimingWheel<>(properties.getTick().toMillis(), WHEEL_SIZE, now.toEpochMilli());
+        try (Stream<Event> upcoming = eventRepository.streamByStatusAndDateAfter(EventStatus.ACTIVE, now)) {
+            upcoming.forEach(event -> schedule(loaded, event.getId(), event.getDate(), event.getStatus(), now));
+        }
+        synchronized (this) {
+            wheel = loaded;
+        }
+        lastSyncAt = now;
+        log.info("Event reminder schedule loaded on node {} with {} reminders", leaseService.nodeId(), loaded.size());
+    }
+
+    private void syncChangedEvents(Instant now) {
+        // Overlap the previous window so writes that landed while it was read are not missed.
+        List<Event> changed = eventRepository.findByUpdatedAtGreaterThanEqual(
+                lastSyncAt.minus(properties.getSyncInterval()));
+        synchronized (this) {
+            if (wheel != null) {
+                changed.forEach(event -> schedule(wheel, event.getId(), event.getDate(), event.getStatus(), now));
+            }
+        }
+        lastSyncAt = now;
+    }
+
+    private void schedule(HierarchicalTimingWheel<String, Reminder> target, String eventId, Instant date,
+                          EventStatus status, Instant now) {
+        for (Duration offset : properties.getOffsets()) {
+            String key = eventId + "@" + offset;
+            Instant deadline = date == null ? null : date.minus(offset);
+            if (status == EventStatus.ACTIVE && deadline != null && deadline.isAfter(now)) {
+                target.schedule(key, deadline.toEpochMilli(), new Reminder(eventId, date, offset));
+            } else {
+                target.cancel(key);
+            }
+        }
+    }
+
+    void send(Reminder reminder) {
+        try {
+            Optional<Event> current = eventRepository.findById(reminder.eventId());
+            if (current.isEmpty()
+                    || current.get().getStatus() != EventStatus.ACTIVE
+                    || !reminder.eventDate().equals(current.get().getDate())) {
+                log.debug("Skipping stale reminder for event {}", reminder.eventId());
+                return;
+            }
+            Event event = current.get();
+
+            int batchSize = Math.max(1, properties.getBatchSize());
+            String afterId = FIRST_OBJECT_ID;
+            long recipients = 0;
+            List<Reservation> page;
+            do {
+                page = reservationRepository.findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                        event.getId(), ReservationStatus.ACTIVE, afterId, Limit.of(batchSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                Set<String> userIds = new LinkedHashSet<>();
+                page.forEach(reservation -> userIds.add(reservation.getUserId()));
+                List<User> users = userRepository.findAllById(userIds);
+                notificationService.sendBulk(NotificationType.EVENT_REMINDER, event, users);
+                recipients += users.size();
+                afterId = page.get(page.size() - 1).getId();
+            } while (page.size() == batchSize);
+
+            remindersSent.increment();
+            recipientsNotified.increment(recipients);
+            log.info("Sent {} reminder for event {} to {} users", reminder.offset(), event.getId(), recipients);
+        } catch (RuntimeException e) {
+            dispatchFailures.increment();
+            log.warn("Reminder for event {} failed: {}", reminder.eventId(), e.getMessage());
+        }
+    }
+
+    record Reminder(String eventId, Instant eventDate, Duration offset) {
+    }
+}
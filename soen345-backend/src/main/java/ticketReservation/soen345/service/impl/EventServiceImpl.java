@@ -1,28 +1,46 @@
 package ticketReservation.soen345.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventScheduleChangedEvent;
 import ticketReservation.soen345.domain.EventStatus;
-import ticketReservation.soen345.domain.PaymentInfo;
-import ticketReservation.soen345.domain.User;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.OrganizerProfile;
 import ticketReservation.soen345.dto.request.CreateEventRequest;
 import ticketReservation.soen345.dto.request.UpdateEventRequest;
 import ticketReservation.soen345.dto.response.EventResponse;
 import ticketReservation.soen345.exception.ResourceNotFoundException;
 import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.EventRepositoryCustom.EventChanges;
+import ticketReservation.soen345.repository.ReservationRepository;
 import ticketReservation.soen345.repository.UserRepository;
 import ticketReservation.soen345.service.EventService;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EventServiceImpl implements EventService {
 
+    /**
+     * Reads and re-applies an edit this many times when another organizer edit lands in between.
+     */
+    public static final int UPDATE_ATTEMPTS = 3;
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReservationRepository reservationRepository;
 
     @Override
     public EventResponse createEvent(CreateEventRequest request, String organizerId) {
@@ -32,74 +50,75 @@ public class EventServiceImpl implements EventService {
                 .date(request.getDate())
                 .location(request.getLocation().trim())
                 .capacity(request.getCapacity())
-                .ticketPrice(request.getTicketPrice())
+                .ticketPrice(Money.of(request.getTicketPrice(), Money.DEFAULT_CURRENCY))
                 .category(request.getCategory())
                 .organizerId(organizerId)
                 .status(EventStatus.ACTIVE)
                 .build();
 
         Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(EventScheduleChangedEvent.of(saved));
         return mapToResponse(saved);
     }
 
     @Override
     public EventResponse updateEvent(String eventId, UpdateEventRequest request) {
-        Event existing = findActiveEventById(eventId);
-
-        Event updated = Event.builder()
-                .id(existing.getId())
-                .name(request.getName() != null ? request.getName().trim() : existing.getName())
-                .description(request.getDescription() != null ? request.getDescription() : existing.getDescription())
-                .date(request.getDate() != null ? request.getDate() : existing.getDate())
-                .location(request.getLocation() != null ? request.getLocation().trim() : existing.getLocation())
-                .capacity(request.getCapacity() != null ? request.getCapacity() : existing.getCapacity())
-                .ticketPrice(request.getTicketPrice() != null ? request.getTicketPrice() : existing.getTicketPrice())
-                .category(request.getCategory() != null ? request.getCategory() : existing.getCategory())
-                .organizerId(existing.getOrganizerId())
-                .status(existing.getStatus())
-                .createdAt(existing.getCreatedAt())
-                .build();
-
-        Event saved = eventRepository.save(updated);
-        return mapToResponse(saved);
+        for (int attempt = 1; attempt <= UPDATE_ATTEMPTS; attempt++) {
+            Event existing = findActiveEventById(eventId);
+            if (request.getVersion() != null && !request.getVersion().equals(existing.getVersion())) {
+                throw new OptimisticLockingFailureException("Event was changed by someone else; reload and try again.");
+            }
+
+            int capacityDelta = request.getCapacity() != null
+                    ? request.getCapacity() - (existing.getCapacity() == null ? 0 : existing.getCapacity())
+                    : 0;
+            EventChanges changes = new EventChanges(
+                    request.getName() != null ? request.getName().trim() : null,
+                    request.getDescription(),
+                    request.getDate(),
+                    request.getLocation() != null ? request.getLocation().trim() : null,
+                    request.getTicketPrice() != null ? Money.of(request.getTicketPrice(), currencyOf(existing)) : null,
+                    request.getCategory(),
+                    capacityDelta);
+
+            Optional<Event> saved = eventRepository.applyChanges(eventId, existing.getVersion(), changes);
+            if (saved.isPresent()) {
+                Event updated = saved.get();
+                if (changes.name() != null || changes.date() != null || changes.location() != null) {
+                    reservationRepository.refreshEventSnapshots(updated);
+                }
+                eventPublisher.publishEvent(EventScheduleChangedEvent.of(updated));
+                return mapToResponse(updated);
+            }
+
+            Event current = findActiveEventById(eventId);
+            if (Objects.equals(current.getVersion(), existing.getVersion())) {
+                // Same version, so only the capacity guard can have refused the write.
+                throw new IllegalStateException("Capacity cannot be reduced below tickets already sold.");
+            }
+        }
+        throw new OptimisticLockingFailureException("Event is being edited concurrently; try again.");
     }
 
     @Override
     public EventResponse cancelEvent(String eventId) {
-        Event existing = findActiveEventById(eventId);
-
-        Event cancelled = Event.builder()
-                .id(existing.getId())
-                .name(existing.getName())
-                .description(existing.getDescription())
-                .date(existing.getDate())
-                .location(existing.getLocation())
-                .capacity(existing.getCapacity())
-                .ticketPrice(existing.getTicketPrice())
-                .category(existing.getCategory())
-                .organizerId(existing.getOrganizerId())
-                .status(EventStatus.CANCELLED)
-                .createdAt(existing.getCreatedAt())
-                .build();
+        Event cancelled = eventRepository.cancel(eventId).orElseThrow(() -> {
+            findActiveEventById(eventId);
+            return new IllegalStateException("Event is already cancelled");
+        });
 
-        Event saved = eventRepository.save(cancelled);
-        return mapToResponse(saved);
+        eventPublisher.publishEvent(EventScheduleChangedEvent.of(cancelled));
+        return mapToResponse(cancelled);
     }
 
     @Override
     public List<EventResponse> getAvailableEvents() {
-        return eventRepository.findByStatus(EventStatus.ACTIVE)
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        return mapToResponses(eventRepository.findByStatusAndDateAfterFromSecondary(EventStatus.ACTIVE, Instant.now()));
     }
 
     @Override
     public List<EventResponse> getOrganizerEvents(String organizerId) {
-        return eventRepository.findByOrganizerId(organizerId)
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        return mapToResponses(eventRepository.findByOrganizerIdFromSecondary(organizerId));
     }
 
     private Event findActiveEventById(String eventId) {
@@ -113,8 +132,38 @@ public class EventServiceImpl implements EventService {
         return event;
     }
 
+    private static String currencyOf(Event event) {
+        return event.getTicketPrice() != null ? event.getTicketPrice().currency() : Money.DEFAULT_CURRENCY;
+    }
+
+    /**
+     * Loads the organizers of all listed events in one projected query.
+     */
+    private List<EventResponse> mapToResponses(List<Event> events) {
+        Set<String> organizerIds = events.stream()
+                .map(Event::getOrganizerId)
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toSet());
+        Map<String, OrganizerProfile> organizers = organizerIds.isEmpty()
+                ? Map.of()
+                : userRepository.findOrganizerProfilesByIdIn(organizerIds).stream()
+                        .collect(Collectors.toMap(OrganizerProfile::id, Function.identity()));
+        return events.stream()
+                .map(event -> mapToResponse(event, event.getOrganizerId() == null
+                        ? null
+                        : organizers.get(event.getOrganizerId())))
+                .toList();
+    }
+
     private EventResponse mapToResponse(Event event) {
-        OrganizerSummary organizerSummary = organizerSummary(event.getOrganizerId());
+        String organizerId = event.getOrganizerId();
+        OrganizerProfile organizer = organizerId == null || organizerId.isBlank()
+                ? null
+                : userRepository.findOrganizerProfileById(organizerId).orElse(null);
+        return mapToResponse(event, organizer);
+    }
+
+    private EventResponse mapToResponse(Event event, OrganizerProfile organizer) {
         return EventResponse.builder()
                 .id(event.getId())
                 .name(event.getName())
@@ -122,49 +171,23 @@ public class EventServiceImpl implements EventService {
                 .date(event.getDate())
                 .location(event.getLocation())
                 .capacity(event.getCapacity())
-                .ticketPrice(event.getTicketPrice())
+                .ticketPrice(event.getTicketPrice() != null ? event.getTicketPrice().toBigDecimal() : null)
                 .category(event.getCategory())
                 .organizerId(event.getOrganizerId())
-                .organizerPayoutReady(isOrganizerPayoutReady(event.getOrganizerId()))
-                .organizerName(organizerSummary.name())
-                .organizerEmail(organizerSummary.email())
+                .organizerPayoutReady(organizer != null && organizer.payoutReady())
+                .organizerName(organizer != null ? formatName(organizer.firstName(), organizer.lastName()) : null)
+                .organizerEmail(organizer != null ? organizer.email() : null)
                 .status(event.getStatus())
                 .createdAt(event.getCreatedAt())
                 .updatedAt(event.getUpdatedAt())
+                .version(event.getVersion())
                 .build();
     }
 
-    private Boolean isOrganizerPayoutReady(String organizerId) {
-        if (organizerId == null || organizerId.isBlank()) {
-            return false;
-        }
-        return userRepository.findById(organizerId)
-                .map(User::getPaymentInfo)
-                .map(PaymentInfo::getPayoutAccountId)
-                .filter(value -> !value.isBlank())
-                .isPresent();
-    }
-
-    private OrganizerSummary organizerSummary(String organizerId) {
-        if (organizerId == null || organizerId.isBlank()) {
-            return new OrganizerSummary(null, null);
-        }
-        Optional<User> user = userRepository.findById(organizerId);
-        if (user.isEmpty()) {
-            return new OrganizerSummary(null, null);
-        }
-        User organizer = user.get();
-        String name = formatName(organizer.getFirstName(), organizer.getLastName());
-        return new OrganizerSummary(name, organizer.getEmail());
-    }
-
     private String formatName(String first, String last) {
         String safeFirst = first == null ? "" : first.trim();
         String safeLast = last == null ? "" : last.trim();
         String full = String.format("%s %s", safeFirst, safeLast).trim();
         return full.isBlank() ? null : full;
     }
-
-    private record OrganizerSummary(String name, String email) {
-    }
 }
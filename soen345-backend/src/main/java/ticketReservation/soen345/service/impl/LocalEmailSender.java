@@ -0,0 +1,85 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.config.EmailDeliveryProperties;
+import ticketReservation.soen345.service.EmailSender;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the email provider ({@code app.email.provider=local}). Each request,
+ * single or batch, sleeps for the configured latency so throughput can be measured without
+ * sending mail. Recipients on the reserved {@code .invalid} TLD are rejected.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.email.provider", havingValue = "local")
+public class LocalEmailSender implements EmailSender {
+
+    private final Duration latency;
+    private final EmailBatchDispatcher batchDispatcher;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LocalEmailSender(
+            EmailDeliveryProperties properties,
+            @Qualifier(AsyncConfig.EMAIL_EXECUTOR) Executor emailExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.latency = properties.getLocal().getLatency();
+        this.batchDispatcher = new EmailBatchDispatcher("local", properties, emailExecutor, meterRegistry);
+    }
+
+    @Override
+    public String sendEmail(String from, String to, String subject, String htmlBody) {
+        simulateRoundTrip();
+        if (isRejected(to)) {
+            throw new IllegalStateException("Invalid recipient " + to);
+        }
+        return nextId();
+    }
+
+    @Override
+    public BatchResult sendBatch(List<OutgoingEmail> emails) {
+        return batchDispatcher.dispatch(emails, (chunk, offset) -> {
+            simulateRoundTrip();
+            List<Failure> failures = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (isRejected(chunk.get(i).to())) {
+                    failures.add(new Failure(offset + i, chunk.get(i).to(), "Invalid recipient"));
+                } else {
+                    nextId();
+                }
+            }
+            return failures;
+        });
+    }
+
+    private String nextId() {
+        return "local-" + sequence.incrementAndGet();
+    }
+
+    private static boolean isRejected(String to) {
+        return to == null || to.endsWith(".invalid");
+    }
+
+    private void simulateRoundTrip() {
+        if (latency.isZero() || latency.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending email", e);
+        }
+    }
+}
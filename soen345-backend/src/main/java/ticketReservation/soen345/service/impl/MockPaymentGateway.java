@@ -1,9 +1,13 @@
 package ticketReservation.soen345.service.impl;
 
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.PaymentProviderEvent;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.exception.InvalidWebhookSignatureException;
 import ticketReservation.soen345.service.PaymentGateway;
 
-import java.math.BigDecimal;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -16,8 +20,7 @@ public class MockPaymentGateway implements PaymentGateway {
 
     @Override
     public String createPaymentIntent(
-            BigDecimal amount,
-            String currency,
+            Money amount,
             String customerId,
             String paymentMethodId,
             Map<String, String> metadata) {
@@ -33,4 +36,14 @@ public class MockPaymentGateway implements PaymentGateway {
     public String refundPayment(String providerPaymentId) {
         return "re_mock_" + sequence.incrementAndGet();
     }
+
+    @Override
+    public PaymentProviderEvent parseWebhookEvent(String payload, String signatureHeader) {
+        throw new InvalidWebhookSignatureException("Webhooks are not accepted without a Stripe configuration.");
+    }
+
+    @Override
+    public Optional<PaymentStatus> fetchPaymentStatus(String providerPaymentId) {
+        return Optional.empty();
+    }
 }
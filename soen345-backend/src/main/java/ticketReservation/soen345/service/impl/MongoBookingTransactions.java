@@ -0,0 +1,104 @@
+package ticketReservation.soen345.service.impl;
+
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ticketReservation.soen345.config.ReservationProperties;
+import ticketReservation.soen345.service.BookingTransactions;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs booking writes in a multi-document transaction (requires a replica set). A transaction
+ * aborted with the {@code TransientTransactionError} label, typically a write conflict on a
+ * popular event's seat count, is retried a few times with a short jittered pause.
+ */
+public class MongoBookingTransactions implements BookingTransactions {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Counter retries;
+    private final Counter failures;
+    private final Timer duration;
+
+    public MongoBookingTransactions(
+            PlatformTransactionManager transactionManager,
+            ReservationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, properties.getTransactionAttempts());
+        this.retryBackoff = properties.getTransactionRetryBackoff();
+        this.retries = Counter.builder("reservations.transaction.retries")
+                .description("Booking transactions retried after a transient write conflict")
+                .register(meterRegistry);
+        this.failures = Counter.builder("reservations.transaction.failures")
+                .description("Booking transactions that still conflicted after the last attempt")
+                .register(meterRegistry);
+        this.duration = Timer.builder("reservations.transaction.duration")
+                .description("Time to commit a booking transaction, including retries")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return true;
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> work.get());
+                } catch (RuntimeException e) {
+                    if (!isTransient(e)) {
+                        throw e;
+                    }
+                    if (attempt >= maxAttempts) {
+                        failures.increment();
+                        throw e;
+                    }
+                    retries.increment();
+                    pause(attempt, e);
+                }
+            }
+        } finally {
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Only aborted transactions are safe to replay. {@code UnknownTransactionCommitResult} may
+     * have committed, so it is left to the caller.
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof MongoException mongo
+                    && mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void pause(int attempt, RuntimeException conflict) {
+        long bound = retryBackoff.toMillis() * attempt;
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(bound / 2 + ThreadLocalRandom.current().nextLong(bound / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ticketReservation.soen345.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ticketReservation.soen345.repository.JobLeaseRepository;
+import ticketReservation.soen345.service.LeaseService;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class MongoLeaseService implements LeaseService {
+
+    private static final String NODE_ID = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final JobLeaseRepository jobLeaseRepository;
+
+    @Override
+    public boolean tryAcquire(String name, Duration ttl) {
+        return jobLeaseRepository.tryAcquire(name, NODE_ID, ttl);
+    }
+
+    @Override
+    public void release(String name) {
+        jobLeaseRepository.release(name, NODE_ID);
+    }
+
+    @Override
+    public String nodeId() {
+        return NODE_ID;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.config.NotificationCoalescingProperties;
+import ticketReservation.soen345.domain.NotificationType;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds reservation confirmations and cancellations for a short window per user and event, so
+ * a burst of reserve/cancel actions sends one message for the final state. A newer message
+ * replaces the pending one; a cancellation that follows an unsent confirmation drops both.
+ * The window runs from the first message, so a steady stream of actions cannot postpone the
+ * send indefinitely.
+ *
+ * <p>Pending messages live in memory: they are flushed on shutdown but lost if the node dies.
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+    private final NotificationCoalescingProperties properties;
+    private final Executor executor;
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+    private final Counter superseded;
+    private final Counter cancelledOut;
+
+    public NotificationCoalescer(
+            NotificationCoalescingProperties properties,
+            @Qualifier(AsyncConfig.NOTIFICATION_EXECUTOR) Executor executor,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.executor = executor;
+        this.superseded = meterRegistry.counter("notifications.coalesced", "outcome", "superseded");
+        this.cancelledOut = meterRegistry.counter("notifications.coalesced", "outcome", "cancelled_out");
+        Gauge.builder("notifications.coalescing.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Queues {@code send} for the user and event, or runs it right away when coalescing is off
+     * or the message is not tied to a user and event.
+     */
+    public void submit(String userId, String eventId, NotificationType type, Runnable send) {
+        if (properties.getWindow().isZero() || userId == null || eventId == null) {
+            send.run();
+            return;
+        }
+
+        Instant now = Instant.now();
+        pending.compute(new Key(userId, eventId), (key, existing) -> {
+            if (existing == null) {
+                return new Pending(type, send, now.plus(properties.getWindow()));
+            }
+            if (existing.type() == NotificationType.CONFIRM_RESERVATION && type == NotificationType.CANCEL_RESERVATION) {
+                cancelledOut.increment(2);
+                return null;
+            }
+            superseded.increment();
+            return new Pending(type, send, existing.dueAt());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.coalescing.flush-interval:1s}")
+    public void flushDue() {
+        flush(Instant.now());
+    }
+
+    void flush(Instant now) {
+        pending.forEach((key, message) -> {
+            if (!message.dueAt().isAfter(now) && pending.remove(key, message)) {
+                executor.execute(() -> send(key, message));
+            }
+        });
+    }
+
+    @PreDestroy
+    void flushAll() {
+        pending.forEach((key, message) -> {
+            if (pending.remove(key, message)) {
+                send(key, message);
+            }
+        });
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private static void send(Key key, Pending message) {
+        try {
+            message.send().run();
+        } catch (RuntimeException e) {
+            log.warn("{} notification for user {} and event {} failed: {}",
+                    message.type(), key.userId(), key.eventId(), e.getMessage());
+        }
+    }
+
+    private record Key(String userId, String eventId) {
+    }
+
+    private record Pending(NotificationType type, Runnable send, Instant dueAt) {
+    }
+}
@@ -1,6 +1,7 @@
 package ticketReservation.soen345.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ticketReservation.soen345.domain.Event;
 import ticketReservation.soen345.domain.Notification;
@@ -10,8 +11,13 @@ import ticketReservation.soen345.domain.NotificationType;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.service.NotificationFactory;
 import ticketReservation.soen345.service.NotificationService;
+import ticketReservation.soen345.service.SmsSender;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
@@ -19,6 +25,7 @@ public class NotificationServiceImpl implements NotificationService {
     private final SmsCommunicationStrategy smsCommunicationStrategy;
     private final EmailNotificationFactory emailNotificationFactory;
     private final SmsNotificationFactory smsNotificationFactory;
+    private final NotificationCoalescer coalescer;
 
     @Override
     public void sendMessage(NotificationChannel channel,
@@ -31,21 +38,66 @@ public class NotificationServiceImpl implements NotificationService {
         if (channel == NotificationChannel.EMAIL) {
             ensureEmailPresent(to);
             Notification notification = createNotification(emailNotificationFactory, notificationType);
-            emailCommunicationStrategy.sendTo(to, notification, context);
+            dispatch(notificationType, context, () -> emailCommunicationStrategy.sendTo(to, notification, context));
             return;
         }
 
         if (channel == NotificationChannel.SMS) {
             ensurePhonePresent(to);
             Notification notification = createNotification(smsNotificationFactory, notificationType);
-            smsCommunicationStrategy.sendTo(to, notification, context);
+            dispatch(notificationType, context, () -> smsCommunicationStrategy.sendTo(to, notification, context));
+        }
+    }
+
+    private void dispatch(NotificationType type, NotificationContext context, Runnable send) {
+        if (type == NotificationType.CONFIRM_RESERVATION || type == NotificationType.CANCEL_RESERVATION) {
+            coalescer.submit(context.user().getId(), context.event().getId(), type, send);
+        } else {
+            send.run();
+        }
+    }
+
+    @Override
+    public void sendBulk(NotificationType notificationType, Event event, List<User> recipients) {
+        List<NotificationContext> emailRecipients = new ArrayList<>();
+        List<User> smsRecipients = new ArrayList<>();
+        for (User user : recipients) {
+            if (user.getPreferredNotificationChannel() == NotificationChannel.SMS) {
+                if (hasText(user.getPhone())) {
+                    smsRecipients.add(user);
+                }
+            } else if (hasText(user.getEmail())) {
+                emailRecipients.add(new NotificationContext(user, event, null));
+            }
         }
+
+        if (!emailRecipients.isEmpty()) {
+            emailCommunicationStrategy.sendToAll(
+                    emailRecipients, createNotification(emailNotificationFactory, notificationType));
+        }
+
+        if (!smsRecipients.isEmpty()) {
+            Notification notification = createNotification(smsNotificationFactory, notificationType);
+            for (User user : smsRecipients) {
+                try {
+                    smsCommunicationStrategy.sendTo(
+                            user, notification, new NotificationContext(user, event, null), SmsSender.Priority.BULK);
+                } catch (RuntimeException e) {
+                    log.warn("Bulk SMS to user {} failed: {}", user.getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
     }
 
     private Notification createNotification(NotificationFactory factory, NotificationType type) {
         return switch (type) {
             case CONFIRM_RESERVATION -> factory.createReservationConfirmation();
             case CANCEL_RESERVATION -> factory.createReservationCancellation();
+            case EVENT_REMINDER -> factory.createEventReminder();
         };
     }
 
@@ -0,0 +1,31 @@
+package ticketReservation.soen345.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.exception.PaymentProcessingException;
+import ticketReservation.soen345.service.PaymentService;
+
+/**
+ * Confirms payments off the checkout thread when asynchronous confirmation is enabled.
+ * The resulting status change reaches reservations through {@code PaymentStatusChangedEvent}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentConfirmationDispatcher {
+
+    private final PaymentService paymentService;
+
+    @Async(AsyncConfig.PAYMENT_EXECUTOR)
+    public void confirmInBackground(String paymentId) {
+        try {
+            paymentService.confirmPayment(paymentId);
+        } catch (PaymentProcessingException e) {
+            log.warn("Deferred confirmation failed for payment {}: {}", paymentId, e.getMessage());
+            paymentService.markFailed(paymentId);
+        }
+    }
+}
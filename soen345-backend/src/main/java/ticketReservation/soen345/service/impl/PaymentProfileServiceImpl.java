@@ -4,11 +4,15 @@ import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 import com.stripe.model.SetupIntent;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.CustomerCreateParams;
 import com.stripe.param.SetupIntentCreateParams;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ticketReservation.soen345.concurrency.ExpiringCache;
+import ticketReservation.soen345.concurrency.SingleFlight;
 import ticketReservation.soen345.config.StripeProperties;
+import ticketReservation.soen345.domain.CachedCollection;
 import ticketReservation.soen345.domain.PaymentInfo;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.dto.response.PaymentSetupIntentResponse;
@@ -17,37 +21,68 @@ import ticketReservation.soen345.exception.ResourceNotFoundException;
 import ticketReservation.soen345.repository.UserRepository;
 import ticketReservation.soen345.service.PaymentProfileService;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class PaymentProfileServiceImpl implements PaymentProfileService {
 
+    private static final int SETUP_INTENT_CACHE_SIZE = 10_000;
+
     private final StripeProperties stripeProperties;
     private final UserRepository userRepository;
+    private final SingleFlight<String, String> customerCreation = new SingleFlight<>();
+    /** Keyed by user id, so any change to the user on any node drops the entry. */
+    private final ExpiringCache<String, CachedSetupIntent> setupIntentCache;
+
+    public PaymentProfileServiceImpl(
+            StripeProperties stripeProperties,
+            UserRepository userRepository,
+            CacheInvalidationBus cacheInvalidationBus) {
+        this.stripeProperties = stripeProperties;
+        this.userRepository = userRepository;
+        Duration ttl = stripeProperties.getSetupIntentCacheTtl();
+        this.setupIntentCache = new ExpiringCache<>(ttl != null ? ttl : Duration.ZERO, SETUP_INTENT_CACHE_SIZE);
+        cacheInvalidationBus.register(CachedCollection.USERS, setupIntentCache);
+    }
 
     @Override
     public PaymentSetupIntentResponse createSetupIntent(String userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
+        // Saving a new default payment method misses the cache, so a completed intent is never reused.
+        String paymentMethodId = Optional.ofNullable(user.getPaymentInfo())
+                .map(PaymentInfo::getDefaultPaymentMethodId)
+                .orElse("");
+        Optional<PaymentSetupIntentResponse> cached = setupIntentCache.get(userId)
+                .filter(entry -> entry.paymentMethodId().equals(paymentMethodId))
+                .map(CachedSetupIntent::response);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
         String customerId = ensureStripeCustomer(user);
         SetupIntent setupIntent = createStripeSetupIntent(customerId);
 
-        return PaymentSetupIntentResponse.builder()
+        PaymentSetupIntentResponse response = PaymentSetupIntentResponse.builder()
                 .clientSecret(setupIntent.getClientSecret())
                 .customerId(customerId)
                 .build();
+        setupIntentCache.put(userId, new CachedSetupIntent(paymentMethodId, response));
+        return response;
     }
 
     private String ensureStripeCustomer(User user) {
-        String existingCustomerId = Optional.ofNullable(user.getPaymentInfo())
-                .map(PaymentInfo::getCustomerId)
-                .orElse(null);
-        if (existingCustomerId != null && !existingCustomerId.isBlank()) {
+        String existingCustomerId = customerIdOf(user);
+        if (existingCustomerId != null) {
             return existingCustomerId;
         }
+        return customerCreation.execute(user.getId(), () -> createStripeCustomer(user));
+    }
 
+    private String createStripeCustomer(User user) {
         configureStripe();
 
         CustomerCreateParams.Builder params = CustomerCreateParams.builder();
@@ -59,30 +94,40 @@ public class PaymentProfileServiceImpl implements PaymentProfileService {
             params.setName(name);
         }
 
+        // Stripe replays the original response for a repeated key, which covers races between
+        // instances that the in-process single flight cannot see.
+        RequestOptions options = RequestOptions.builder()
+                .setIdempotencyKey("customer-create-" + user.getId())
+                .build();
+
+        String customerId;
         try {
-            Customer customer = Customer.create(params.build());
-            String customerId = customer.getId();
-            PaymentInfo updated = PaymentInfo.builder()
-                    .customerId(customerId)
-                    .defaultPaymentMethodId(user.getPaymentInfo() != null
-                            ? user.getPaymentInfo().getDefaultPaymentMethodId()
-                            : null)
-                    .payoutAccountId(user.getPaymentInfo() != null
-                            ? user.getPaymentInfo().getPayoutAccountId()
-                            : null)
-                    .payoutEmail(user.getPaymentInfo() != null
-                            ? user.getPaymentInfo().getPayoutEmail()
-                            : null)
-                    .payoutDisplayName(user.getPaymentInfo() != null
-                            ? user.getPaymentInfo().getPayoutDisplayName()
-                            : null)
-                    .build();
-            user.setPaymentInfo(updated);
-            userRepository.save(user);
-            return customerId;
+            customerId = Customer.create(params.build(), options).getId();
         } catch (StripeException e) {
             throw new PaymentProcessingException("Failed to create Stripe customer.", e);
         }
+
+        if (userRepository.setCustomerIdIfAbsent(user.getId(), customerId)) {
+            return customerId;
+        }
+
+        String storedCustomerId = userRepository.findById(user.getId())
+                .map(this::customerIdOf)
+                .orElse(null);
+        if (storedCustomerId == null) {
+            throw new PaymentProcessingException("Failed to store Stripe customer.");
+        }
+        if (!storedCustomerId.equals(customerId)) {
+            log.warn("Stripe customer {} for user {} lost a race to {}", customerId, user.getId(), storedCustomerId);
+        }
+        return storedCustomerId;
+    }
+
+    private String customerIdOf(User user) {
+        return Optional.ofNullable(user.getPaymentInfo())
+                .map(PaymentInfo::getCustomerId)
+                .filter(id -> !id.isBlank())
+                .orElse(null);
     }
 
     private SetupIntent createStripeSetupIntent(String customerId) {
@@ -118,4 +163,7 @@ public class PaymentProfileServiceImpl implements PaymentProfileService {
                 last == null ? "" : last.trim()).trim();
         return full.isBlank() ? null : full;
     }
+
+    private record CachedSetupIntent(String paymentMethodId, PaymentSetupIntentResponse response) {
+    }
 }
@@ -0,0 +1,155 @@
+package ticketReservation.soen345.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.config.PaymentReconciliationProperties;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentReconciliationReport;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.repository.PaymentReconciliationReportRepository;
+import ticketReservation.soen345.repository.PaymentRepository;
+import ticketReservation.soen345.service.LeaseService;
+import ticketReservation.soen345.service.PaymentGateway;
+import ticketReservation.soen345.service.PaymentService;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Finds payments whose stored status disagrees with the provider and corrects them through
+ * {@link PaymentService#applyProviderStatus}, so reservations follow as they do for webhooks.
+ * Payments are read from a cursor and checked in paced batches, keeping memory flat and
+ * provider traffic under the configured rate.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentReconciliationJob {
+
+    static final String LEASE_NAME = "payment-reconciliation";
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentReconciliationReportRepository reportRepository;
+    private final PaymentGateway paymentGateway;
+    private final PaymentService paymentService;
+    private final LeaseService leaseService;
+    private final PaymentReconciliationProperties properties;
+
+    @Scheduled(cron = "${app.payments.reconciliation.cron:0 */15 * * * *}", scheduler = AsyncConfig.BATCH_JOB_SCHEDULER)
+    public void runScheduled() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    public Optional<PaymentReconciliationReport> run() {
+        if (!leaseService.tryAcquire(LEASE_NAME, properties.getLeaseTtl())) {
+            log.debug("Payment reconciliation is running on another node");
+            return Optional.empty();
+        }
+
+        Instant now = Instant.now();
+        PaymentReconciliationReport report = PaymentReconciliationReport.builder()
+                .node(leaseService.nodeId())
+                .startedAt(now)
+                .build();
+
+        boolean held;
+        try (Stream<Payment> stalePending = paymentRepository.streamByStatusAndUpdatedAtBetween(
+                PaymentStatus.PENDING, Instant.EPOCH, now.minus(properties.getPendingGracePeriod()))) {
+            held = reconcile(stalePending, report);
+        }
+        if (held) {
+            try (Stream<Payment> recentConfirmed = paymentRepository.streamByStatusAndUpdatedAtBetween(
+                    PaymentStatus.CONFIRMED, now.minus(properties.getConfirmedLookback()), now)) {
+                held = reconcile(recentConfirmed, report);
+            }
+        }
+        if (!held) {
+            log.warn("Lost the payment reconciliation lease after {} payments; stopping this run", report.getScanned());
+            return Optional.empty();
+        }
+
+        // The lease is left to expire rather than released, so nodes whose schedule fires a little
+        // later do not start a second run right after this one.
+        report.setFinishedAt(Instant.now());
+        log.info("Payment reconciliation scanned {} payments, corrected {}, errors {}",
+                report.getScanned(), report.getCorrected(), report.getErrors());
+        return Optional.of(reportRepository.save(report));
+    }
+
+    /**
+     * Reconciles {@code payments} batch by batch, renewing the lease after each one.
+     *
+     * @return false when the lease could not be renewed and the run must stop
+     */
+    private boolean reconcile(Stream<Payment> payments, PaymentReconciliationReport report) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<Payment> batch = new ArrayList<>(batchSize);
+        Iterator<Payment> cursor = payments.iterator();
+        while (cursor.hasNext()) {
+            batch.add(cursor.next());
+            if (batch.size() == batchSize || !cursor.hasNext()) {
+                long started = System.nanoTime();
+                batch.forEach(payment -> reconcileOne(payment, report));
+                paceBatch(batch.size(), started);
+                batch.clear();
+                if (!leaseService.tryAcquire(LEASE_NAME, properties.getLeaseTtl())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void reconcileOne(Payment payment, PaymentReconciliationReport report) {
+        report.setScanned(report.getScanned() + 1);
+        try {
+            Optional<PaymentStatus> providerStatus = paymentGateway.fetchPaymentStatus(payment.getProviderPaymentId());
+            if (providerStatus.isEmpty()) {
+                report.setUnverifiable(report.getUnverifiable() + 1);
+                return;
+            }
+
+            PaymentStatus target = providerStatus.get();
+            if (target == payment.getStatus()) {
+                report.setUnchanged(report.getUnchanged() + 1);
+                return;
+            }
+
+            if (paymentService.applyProviderStatus(payment.getProviderPaymentId(), target).isPresent()) {
+                report.setCorrected(report.getCorrected() + 1);
+                report.getCorrections().merge(payment.getStatus() + "->" + target, 1L, Long::sum);
+            } else {
+                report.setUnchanged(report.getUnchanged() + 1);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile payment {}: {}", payment.getId(), e.getMessage());
+            report.setErrors(report.getErrors() + 1);
+        }
+    }
+
+    private void paceBatch(int calls, long startedNanos) {
+        int perSecond = properties.getProviderRequestsPerSecond();
+        if (perSecond <= 0) {
+            return;
+        }
+        long minimumNanos = TimeUnit.SECONDS.toNanos(calls) / perSecond;
+        long remainingNanos = minimumNanos - (System.nanoTime() - startedNanos);
+        if (remainingNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
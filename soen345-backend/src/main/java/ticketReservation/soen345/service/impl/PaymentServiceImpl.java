@@ -1,28 +1,34 @@
 package ticketReservation.soen345.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import ticketReservation.soen345.domain.Money;
 import ticketReservation.soen345.domain.Payment;
 import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.domain.PaymentStatusChangedEvent;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.exception.PaymentProcessingException;
 import ticketReservation.soen345.repository.PaymentRepository;
 import ticketReservation.soen345.service.PaymentGateway;
 import ticketReservation.soen345.service.PaymentService;
 
-import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentGateway paymentGateway;
     private final PaymentRepository paymentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public Payment createPaymentIntent(User payer, User payee, BigDecimal amount, String currency) {
+    public Payment createPaymentIntent(User payer, User payee, Money amount) {
         if (payer == null || payee == null) {
             throw new PaymentProcessingException("Both payer and payee are required.");
         }
@@ -37,7 +43,6 @@ public class PaymentServiceImpl implements PaymentService {
 
         String providerPaymentId = paymentGateway.createPaymentIntent(
                 amount,
-                currency,
                 customerId,
                 paymentMethodId,
                 metadata);
@@ -47,7 +52,6 @@ public class PaymentServiceImpl implements PaymentService {
                 .payeeUserId(payee.getId())
                 .providerPaymentId(providerPaymentId)
                 .amount(amount)
-                .currency(currency)
                 .status(PaymentStatus.PENDING)
                 .build();
 
@@ -56,23 +60,99 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public Payment confirmPayment(String paymentId) {
-        Payment payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new PaymentProcessingException("Payment not found."));
+        Payment payment = findPaymentById(paymentId);
+        PaymentStatus previous = payment.getStatus();
+        if (previous == PaymentStatus.CONFIRMED || !previous.canTransitionTo(PaymentStatus.CONFIRMED)) {
+            return payment;
+        }
 
         paymentGateway.confirmPayment(payment.getProviderPaymentId());
-        payment.setStatus(PaymentStatus.CONFIRMED);
-
-        return paymentRepository.save(payment);
+        // Changed in between (e.g. a webhook settled it first): report what it is now.
+        return paymentRepository.transitionStatus(paymentId, previous, PaymentStatus.CONFIRMED)
+                .map(confirmed -> published(confirmed, previous))
+                .orElseGet(() -> findPaymentById(paymentId));
     }
 
     @Override
     public Payment refundPayment(String paymentId) {
-        Payment payment = paymentRepository.findById(paymentId)
+        Payment payment = findPaymentById(paymentId);
+        PaymentStatus previous = payment.getStatus();
+        if (previous == PaymentStatus.REFUNDED) {
+            return payment;
+        }
+        return paymentRepository.transitionStatus(paymentId, previous, PaymentStatus.REFUNDED)
+                .map(claimed -> refundClaimed(claimed, previous))
+                .orElseGet(() -> refundPayment(paymentId));
+    }
+
+    @Override
+    public Payment markFailed(String paymentId) {
+        Payment payment = findPaymentById(paymentId);
+        PaymentStatus previous = payment.getStatus();
+        if (!previous.canTransitionTo(PaymentStatus.FAILED)) {
+            return payment;
+        }
+        return paymentRepository.transitionStatus(paymentId, previous, PaymentStatus.FAILED)
+                .map(failed -> published(failed, previous))
+                .orElseGet(() -> findPaymentById(paymentId));
+    }
+
+    @Override
+    public Payment cancelPayment(String paymentId) {
+        Payment payment = findPaymentById(paymentId);
+        PaymentStatus previous = payment.getStatus();
+        return switch (previous) {
+            // Moved on in between (e.g. just confirmed): settle whatever it is now.
+            case PENDING -> paymentRepository.transitionStatus(paymentId, previous, PaymentStatus.FAILED)
+                    .map(failed -> published(failed, previous))
+                    .orElseGet(() -> cancelPayment(paymentId));
+            case CONFIRMED -> paymentRepository.transitionStatus(paymentId, previous, PaymentStatus.REFUNDED)
+                    .map(claimed -> refundClaimed(claimed, previous))
+                    .orElseGet(() -> findPaymentById(paymentId));
+            case FAILED, REFUNDED -> payment;
+        };
+    }
+
+    @Override
+    public Optional<Payment> applyProviderStatus(String providerPaymentId, PaymentStatus status) {
+        Optional<Payment> existing = paymentRepository.findByProviderPaymentId(providerPaymentId);
+        if (existing.isEmpty()) {
+            log.warn("Ignoring provider status {} for unknown payment {}", status, providerPaymentId);
+            return Optional.empty();
+        }
+
+        Payment payment = existing.get();
+        PaymentStatus previous = payment.getStatus();
+        if (previous == status || !previous.canTransitionTo(status)) {
+            return Optional.empty();
+        }
+
+        Optional<Payment> updated = paymentRepository.transitionStatus(payment.getId(), previous, status);
+        updated.ifPresent(changed -> eventPublisher.publishEvent(new PaymentStatusChangedEvent(changed, previous)));
+        return updated;
+    }
+
+    private Payment findPaymentById(String paymentId) {
+        return paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new PaymentProcessingException("Payment not found."));
+    }
 
-        paymentGateway.refundPayment(payment.getProviderPaymentId());
-        payment.setStatus(PaymentStatus.REFUNDED);
+    /**
+     * Refunds at the provider a payment this caller already moved to REFUNDED, and moves it back
+     * when the provider refuses so the refund can be retried.
+     */
+    private Payment refundClaimed(Payment claimed, PaymentStatus previous) {
+        try {
+            paymentGateway.refundPayment(claimed.getProviderPaymentId());
+        } catch (RuntimeException e) {
+            paymentRepository.transitionStatus(claimed.getId(), PaymentStatus.REFUNDED, previous);
+            throw e;
+        }
+        return published(claimed, previous);
+    }
 
-        return paymentRepository.save(payment);
+    private Payment published(Payment changed, PaymentStatus previous) {
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(changed, previous));
+        return changed;
     }
 }
@@ -0,0 +1,116 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.config.PaymentWebhookProperties;
+import ticketReservation.soen345.domain.PaymentWebhookEvent;
+import ticketReservation.soen345.domain.WebhookEventStatus;
+import ticketReservation.soen345.repository.PaymentWebhookEventRepository;
+import ticketReservation.soen345.service.PaymentService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies stored webhook events to payments. Events are claimed before processing so the
+ * async hand-off and the retry sweep never apply the same event concurrently.
+ */
+@Component
+@Slf4j
+public class PaymentWebhookProcessor {
+
+    private static final List<WebhookEventStatus> RETRYABLE =
+            List.of(WebhookEventStatus.RECEIVED, WebhookEventStatus.PROCESSING);
+
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final PaymentService paymentService;
+    private final PaymentWebhookProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer lagTimer;
+    private final Timer processingTimer;
+
+    public PaymentWebhookProcessor(
+            PaymentWebhookEventRepository webhookEventRepository,
+            PaymentService paymentService,
+            PaymentWebhookProperties properties,
+            MeterRegistry meterRegistry) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.paymentService = paymentService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.lagTimer = Timer.builder("payments.webhook.lag")
+                .description("Time from the provider creating an event to its status being applied")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("payments.webhook.processing")
+                .description("Time spent applying a webhook event")
+                .register(meterRegistry);
+    }
+
+    @Async(AsyncConfig.PAYMENT_EXECUTOR)
+    public void processAsync(String eventId) {
+        process(eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.webhook.sweep-interval-ms:30000}")
+    public void retryStalled() {
+        Instant staleBefore = Instant.now().minus(properties.getRetryAfter());
+        webhookEventRepository
+                .findTop100ByStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(RETRYABLE, staleBefore)
+                .forEach(event -> process(event.getId()));
+    }
+
+    void process(String eventId) {
+        Instant staleBefore = Instant.now().minus(properties.getRetryAfter());
+        Optional<PaymentWebhookEvent> claimed = webhookEventRepository.claim(eventId, staleBefore);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        PaymentWebhookEvent event = claimed.get();
+        long started = System.nanoTime();
+        try {
+            boolean changed = paymentService
+                    .applyProviderStatus(event.getProviderPaymentId(), event.getTargetStatus())
+                    .isPresent();
+            complete(event, changed ? WebhookEventStatus.PROCESSED : WebhookEventStatus.IGNORED);
+        } catch (RuntimeException e) {
+            fail(event, e);
+        } finally {
+            processingTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    private void complete(PaymentWebhookEvent event, WebhookEventStatus outcome) {
+        Instant now = Instant.now();
+        event.setStatus(outcome);
+        event.setProcessedAt(now);
+        event.setLastError(null);
+        webhookEventRepository.save(event);
+
+        if (event.getProviderCreatedAt() != null) {
+            lagTimer.record(Duration.between(event.getProviderCreatedAt(), now));
+        }
+        meterRegistry.counter(PaymentWebhookServiceImpl.EVENTS_METRIC, "outcome", outcome.name().toLowerCase())
+                .increment();
+    }
+
+    private void fail(PaymentWebhookEvent event, RuntimeException error) {
+        int attempts = event.getAttempts() != null ? event.getAttempts() : 1;
+        boolean exhausted = attempts >= properties.getMaxAttempts();
+        log.warn("Webhook event {} failed on attempt {}: {}", event.getId(), attempts, error.getMessage());
+
+        event.setStatus(exhausted ? WebhookEventStatus.FAILED : WebhookEventStatus.RECEIVED);
+        event.setLastError(error.getMessage());
+        webhookEventRepository.save(event);
+        meterRegistry.counter(PaymentWebhookServiceImpl.EVENTS_METRIC, "outcome", exhausted ? "failed" : "retry")
+                .increment();
+    }
+}
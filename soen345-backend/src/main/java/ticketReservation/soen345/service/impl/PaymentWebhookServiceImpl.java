@@ -0,0 +1,61 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import ticketReservation.soen345.domain.PaymentProviderEvent;
+import ticketReservation.soen345.domain.PaymentWebhookEvent;
+import ticketReservation.soen345.domain.WebhookEventStatus;
+import ticketReservation.soen345.repository.PaymentWebhookEventRepository;
+import ticketReservation.soen345.service.PaymentGateway;
+import ticketReservation.soen345.service.PaymentWebhookService;
+
+import java.time.Instant;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+
+    static final String EVENTS_METRIC = "payments.webhook.events";
+
+    private final PaymentGateway paymentGateway;
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final PaymentWebhookProcessor webhookProcessor;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void receive(String payload, String signatureHeader) {
+        PaymentProviderEvent event = paymentGateway.parseWebhookEvent(payload, signatureHeader);
+
+        if (!event.affectsPayment()) {
+            meterRegistry.counter(EVENTS_METRIC, "outcome", "ignored").increment();
+            return;
+        }
+
+        Instant now = Instant.now();
+        PaymentWebhookEvent entry = PaymentWebhookEvent.builder()
+                .id(event.eventId())
+                .type(event.type())
+                .providerPaymentId(event.providerPaymentId())
+                .targetStatus(event.targetStatus())
+                .providerCreatedAt(event.createdAt())
+                .status(WebhookEventStatus.RECEIVED)
+                .receivedAt(now)
+                .updatedAt(now)
+                .build();
+
+        try {
+            webhookEventRepository.insert(entry);
+        } catch (DuplicateKeyException e) {
+            log.debug("Webhook event {} already received", event.eventId());
+            meterRegistry.counter(EVENTS_METRIC, "outcome", "duplicate").increment();
+            return;
+        }
+
+        meterRegistry.counter(EVENTS_METRIC, "outcome", "received").increment();
+        webhookProcessor.processAsync(entry.getId());
+    }
+}
@@ -0,0 +1,177 @@
+package ticketReservation.soen345.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.OrganizerBalance;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.domain.PaymentStatusChangedEvent;
+import ticketReservation.soen345.domain.PayoutEntryType;
+import ticketReservation.soen345.domain.PayoutLedgerEntry;
+import ticketReservation.soen345.dto.response.OrganizerBalanceResponse;
+import ticketReservation.soen345.dto.response.PayoutLedgerVerificationResponse;
+import ticketReservation.soen345.repository.OrganizerBalanceRepository;
+import ticketReservation.soen345.repository.PaymentRepository;
+import ticketReservation.soen345.repository.PayoutLedgerEntryRepository;
+import ticketReservation.soen345.service.PayoutLedgerService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PayoutLedgerServiceImpl implements PayoutLedgerService {
+
+    private static final List<PaymentStatus> SETTLED_STATUSES = List.of(PaymentStatus.CONFIRMED, PaymentStatus.REFUNDED);
+
+    private final PayoutLedgerEntryRepository ledgerEntryRepository;
+    private final OrganizerBalanceRepository organizerBalanceRepository;
+    private final PaymentRepository paymentRepository;
+
+    /**
+     * Appends to the ledger as payments settle. Failures are logged rather than thrown so the
+     * payment flow is never rolled back by bookkeeping; {@link #rebuild} repairs any gap.
+     */
+    @EventListener
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent statusChange) {
+        Payment payment = statusChange.payment();
+        try {
+            switch (statusChange.currentStatus()) {
+                case CONFIRMED -> record(payment, PayoutEntryType.PAYMENT_CONFIRMED);
+                case REFUNDED -> {
+                    // Only money that was credited can be taken back.
+                    if (ledgerEntryRepository.existsById(
+                            PayoutLedgerEntry.idFor(payment.getId(), PayoutEntryType.PAYMENT_CONFIRMED))) {
+                        record(payment, PayoutEntryType.PAYMENT_REFUNDED);
+                    }
+                }
+                default -> {
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to record payout ledger entry for payment {}", payment.getId(), e);
+        }
+    }
+
+    @Override
+    public List<OrganizerBalanceResponse> getBalances(String organizerId) {
+        return organizerBalanceRepository.findByOrganizerIdOrderByCurrencyAsc(organizerId).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    @Override
+    public PayoutLedgerVerificationResponse rebuild(String organizerId, boolean dryRun) {
+        long missingEntries = 0;
+        try (Stream<Payment> settled = paymentRepository.streamByPayeeUserIdAndStatusIn(organizerId, SETTLED_STATUSES)) {
+            for (Payment payment : (Iterable<Payment>) settled::iterator) {
+                missingEntries += replay(payment, PayoutEntryType.PAYMENT_CONFIRMED, dryRun);
+                if (payment.getStatus() == PaymentStatus.REFUNDED) {
+                    missingEntries += replay(payment, PayoutEntryType.PAYMENT_REFUNDED, dryRun);
+                }
+            }
+        }
+
+        List<OrganizerBalance> stored = organizerBalanceRepository.findByOrganizerIdOrderByCurrencyAsc(organizerId);
+        List<OrganizerBalance> recomputed = ledgerEntryRepository.sumBalances(organizerId);
+        boolean consistent = missingEntries == 0 && sameTotals(stored, recomputed);
+
+        if (!dryRun && !consistent) {
+            // Live $inc updates landing between the delete and the save would be lost, so this
+            // is meant for maintenance windows rather than routine use.
+            organizerBalanceRepository.deleteByOrganizerId(organizerId);
+            organizerBalanceRepository.saveAll(recomputed);
+            log.warn("Rebuilt payout balances for organizer {} ({} missing ledger entries)", organizerId, missingEntries);
+        }
+
+        return PayoutLedgerVerificationResponse.builder()
+                .organizerId(organizerId)
+                .dryRun(dryRun)
+                .consistent(consistent)
+                .missingEntries(missingEntries)
+                .storedBalances(stored.stream().map(this::mapToResponse).toList())
+                .recomputedBalances(recomputed.stream().map(this::mapToResponse).toList())
+                .build();
+    }
+
+    private void record(Payment payment, PayoutEntryType type) {
+        PayoutLedgerEntry entry = toEntry(payment, type);
+        if (entry != null && append(entry)) {
+            organizerBalanceRepository.applyEntry(entry);
+        }
+    }
+
+    private int replay(Payment payment, PayoutEntryType type, boolean dryRun) {
+        PayoutLedgerEntry entry = toEntry(payment, type);
+        if (entry == null || ledgerEntryRepository.existsById(entry.getId())) {
+            return 0;
+        }
+        if (!dryRun) {
+            append(entry);
+        }
+        return 1;
+    }
+
+    private boolean append(PayoutLedgerEntry entry) {
+        try {
+            ledgerEntryRepository.insert(entry);
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.debug("Ledger entry {} already recorded", entry.getId());
+            return false;
+        }
+    }
+
+    private PayoutLedgerEntry toEntry(Payment payment, PayoutEntryType type) {
+        if (payment.getPayeeUserId() == null || payment.getAmount() == null) {
+            log.warn("Payment {} has no payee or amount; skipping payout ledger", payment.getId());
+            return null;
+        }
+        return PayoutLedgerEntry.builder()
+                .id(PayoutLedgerEntry.idFor(payment.getId(), type))
+                .organizerId(payment.getPayeeUserId())
+                .paymentId(payment.getId())
+                .type(type)
+                .currency(payment.getAmount().currency())
+                .amountMinor(payment.getAmount().minorUnits())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static boolean sameTotals(List<OrganizerBalance> stored, List<OrganizerBalance> recomputed) {
+        Map<String, OrganizerBalance> storedByCurrency = stored.stream()
+                .collect(Collectors.toMap(OrganizerBalance::getCurrency, Function.identity()));
+        if (storedByCurrency.size() != recomputed.size()) {
+            return false;
+        }
+        return recomputed.stream().allMatch(expected -> {
+            OrganizerBalance actual = storedByCurrency.get(expected.getCurrency());
+            return actual != null
+                    && actual.getCreditedMinor() == expected.getCreditedMinor()
+                    && actual.getDebitedMinor() == expected.getDebitedMinor()
+                    && actual.getNetMinor() == expected.getNetMinor()
+                    && actual.getEntryCount() == expected.getEntryCount();
+        });
+    }
+
+    private OrganizerBalanceResponse mapToResponse(OrganizerBalance balance) {
+        String currency = balance.getCurrency();
+        return OrganizerBalanceResponse.builder()
+                .currency(currency)
+                .credited(Money.ofMinor(balance.getCreditedMinor(), currency).toBigDecimal())
+                .refunded(Money.ofMinor(balance.getDebitedMinor(), currency).toBigDecimal())
+                .net(Money.ofMinor(balance.getNetMinor(), currency).toBigDecimal())
+                .entryCount(balance.getEntryCount())
+                .updatedAt(balance.getUpdatedAt())
+                .build();
+    }
+}
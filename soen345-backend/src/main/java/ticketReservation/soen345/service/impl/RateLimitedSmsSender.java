@@ -0,0 +1,128 @@
+package ticketReservation.soen345.service.impl;
+
+import com.twilio.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ticketReservation.soen345.concurrency.AdaptiveConcurrencyLimiter;
+import ticketReservation.soen345.concurrency.TokenBucket;
+import ticketReservation.soen345.config.SmsRateLimitProperties;
+import ticketReservation.soen345.service.SmsSender;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Puts the SMS provider behind two limits: an adaptive concurrency limit that backs off on
+ * slow responses and 429s, and a token bucket matched to the account's messages-per-second.
+ * Transactional sends are admitted ahead of bulk ones. Nothing is retried here, so a
+ * throttled fan-out slows down instead of multiplying requests.
+ */
+public class RateLimitedSmsSender implements SmsSender {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final SmsSender delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final TokenBucket tokenBucket;
+    private final LongSupplier nanoTime;
+    private final long queueTimeoutNanos;
+    private final Timer sendTimer;
+    private final Counter throttled;
+    private final Counter queueTimeouts;
+
+    public RateLimitedSmsSender(SmsSender delegate, SmsRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitedSmsSender(SmsSender delegate, SmsRateLimitProperties properties, MeterRegistry meterRegistry,
+                         LongSupplier nanoTime) {
+        if (properties.getMessagesPerSecond() <= 0 || properties.getBurst() <= 0) {
+            throw new IllegalArgumentException("app.sms.rate-limit.messages-per-second and burst must be positive");
+        }
+        this.delegate = delegate;
+        this.nanoTime = nanoTime;
+        this.limiter = new AdaptiveConcurrencyLimiter(
+                properties.getInitialConcurrency(),
+                properties.getMinConcurrency(),
+                properties.getMaxConcurrency(),
+                properties.getLatencyThreshold().toNanos(),
+                properties.getBackoffRatio(),
+                Priority.values().length);
+        this.tokenBucket = new TokenBucket(properties.getBurst(), properties.getMessagesPerSecond(), nanoTime);
+        this.queueTimeoutNanos = properties.getQueueTimeout().toNanos();
+        this.sendTimer = Timer.builder("sms.send.duration").register(meterRegistry);
+        this.throttled = meterRegistry.counter("sms.send.throttled");
+        this.queueTimeouts = meterRegistry.counter("sms.send.queue_timeouts");
+        Gauge.builder("sms.send.concurrency_limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String sendSms(String to, String from, String body) {
+        return sendSms(to, from, body, Priority.TRANSACTIONAL);
+    }
+
+    @Override
+    public String sendSms(String to, String from, String body, Priority priority) {
+        long deadline = nanoTime.getAsLong() + queueTimeoutNanos;
+        acquire(priority);
+
+        try {
+            awaitToken(deadline);
+        } catch (RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+
+        boolean overloaded = false;
+        long start = nanoTime.getAsLong();
+        try {
+            return delegate.sendSms(to, from, body);
+        } catch (ApiException e) {
+            overloaded = e.getStatusCode() != null && e.getStatusCode() == TOO_MANY_REQUESTS;
+            if (overloaded) {
+                throttled.increment();
+            }
+            throw e;
+        } finally {
+            long latency = nanoTime.getAsLong() - start;
+            sendTimer.record(latency, TimeUnit.NANOSECONDS);
+            limiter.release(latency, overloaded);
+        }
+    }
+
+    int concurrencyLimit() {
+        return limiter.limit();
+    }
+
+    private void acquire(Priority priority) {
+        try {
+            if (!limiter.tryAcquire(priority.ordinal(), queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                queueTimeouts.increment();
+                throw new IllegalStateException("Timed out waiting to send SMS");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to send SMS", e);
+        }
+    }
+
+    private void awaitToken(long deadline) {
+        while (!tokenBucket.tryConsume()) {
+            long wait = tokenBucket.nanosUntilAvailable();
+            // Compared against what is left rather than summed, since an empty bucket reports Long.MAX_VALUE.
+            if (wait > deadline - nanoTime.getAsLong()) {
+                queueTimeouts.increment();
+                throw new IllegalStateException("Timed out waiting to send SMS");
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.max(wait, 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to send SMS", e);
+            }
+        }
+    }
+}
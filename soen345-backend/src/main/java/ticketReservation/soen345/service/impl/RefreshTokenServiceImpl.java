@@ -0,0 +1,110 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ticketReservation.soen345.config.RefreshTokenProperties;
+import ticketReservation.soen345.domain.RefreshToken;
+import ticketReservation.soen345.domain.UserStatusChangedEvent;
+import ticketReservation.soen345.exception.InvalidCredentialsException;
+import ticketReservation.soen345.repository.RefreshTokenRepository;
+import ticketReservation.soen345.service.RefreshTokenService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens: 256 random bits handed to the client, stored only as a SHA-256
+ * digest. Checking one costs a hash and an indexed update instead of a password check.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    static final String REUSE_METRIC = "auth.refresh.reuse_detected";
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public IssuedRefreshToken issue(String userId) {
+        return store(userId, UUID.randomUUID().toString(), Instant.now());
+    }
+
+    @Override
+    public IssuedRefreshToken rotate(String refreshToken) {
+        String id = digest(refreshToken);
+        Instant now = Instant.now();
+
+        Optional<RefreshToken> current = refreshTokenRepository.markRotated(id, now);
+        if (current.isPresent()) {
+            return store(current.get().getUserId(), current.get().getFamilyId(), now);
+        }
+
+        refreshTokenRepository.findById(id)
+                .filter(token -> token.getRotatedAt() != null)
+                .ifPresent(reused -> {
+                    log.warn("Refresh token reused for user {}; ending the session", reused.getUserId());
+                    meterRegistry.counter(REUSE_METRIC).increment();
+                    refreshTokenRepository.deleteByFamilyId(reused.getFamilyId());
+                });
+        throw new InvalidCredentialsException("Invalid refresh token");
+    }
+
+    @Override
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findById(digest(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    @Override
+    public void revokeAll(String userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @EventListener
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        if (event.currentStatus().blocksAccess()) {
+            revokeAll(event.userId());
+        }
+    }
+
+    private IssuedRefreshToken store(String userId, String familyId, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = now.plus(properties.getTtl());
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .id(digest(token))
+                .userId(userId)
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(expiresAt)
+                .build());
+        return new IssuedRefreshToken(token, userId, expiresAt);
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
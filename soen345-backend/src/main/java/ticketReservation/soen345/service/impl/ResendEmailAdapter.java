@@ -2,22 +2,47 @@ package ticketReservation.soen345.service.impl;
 
 import com.resend.Resend;
 import com.resend.core.exception.ResendException;
+import com.resend.core.net.RequestOptions;
+import com.resend.services.batch.model.BatchError;
+import com.resend.services.batch.model.CreateBatchEmailsResponse;
 import com.resend.services.emails.model.CreateEmailOptions;
 import com.resend.services.emails.model.CreateEmailResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.config.EmailDeliveryProperties;
 import ticketReservation.soen345.service.EmailSender;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 @Component
+@ConditionalOnProperty(name = "app.email.provider", havingValue = "resend", matchIfMissing = true)
 public class ResendEmailAdapter implements EmailSender {
 
+    /** Without this Resend rejects the whole batch when one message is invalid. */
+    private static final RequestOptions PERMISSIVE_BATCH = RequestOptions.builder()
+            .add("x-batch-validation", "permissive")
+            .build();
+
     private final String apiKey;
     private final Resend resendClient;
+    private final EmailBatchDispatcher batchDispatcher;
 
-    public ResendEmailAdapter(@Value("${resend.api-key}") String apiKey) {
+    public ResendEmailAdapter(
+            @Value("${resend.api-key}") String apiKey,
+            EmailDeliveryProperties properties,
+            @Qualifier(AsyncConfig.EMAIL_EXECUTOR) Executor emailExecutor,
+            MeterRegistry meterRegistry
+    ) {
         this.apiKey = apiKey != null ? apiKey : "";
         this.resendClient =
                 isDevEmailMode(this.apiKey) ? null : new Resend(this.apiKey);
+        this.batchDispatcher = new EmailBatchDispatcher("resend", properties, emailExecutor, meterRegistry);
     }
 
     private static boolean isDevEmailMode(String key) {
@@ -31,18 +56,46 @@ public class ResendEmailAdapter implements EmailSender {
             return "dev-email-mock";
         }
 
-        CreateEmailOptions params = CreateEmailOptions.builder()
-                .from(from)
-                .to(to)
-                .subject(subject)
-                .html(htmlBody)
-                .build();
-
         try {
-            CreateEmailResponse response = resendClient.emails().send(params);
+            CreateEmailResponse response = resendClient.emails().send(options(from, to, subject, htmlBody));
             return response.getId();
         } catch (ResendException exception) {
             throw new IllegalStateException("Failed to send email via Resend.", exception);
         }
     }
+
+    @Override
+    public BatchResult sendBatch(List<OutgoingEmail> emails) {
+        if (isDevEmailMode(apiKey)) {
+            return new BatchResult(emails.size(), List.of());
+        }
+        return batchDispatcher.dispatch(emails, this::sendChunk);
+    }
+
+    private List<Failure> sendChunk(List<OutgoingEmail> chunk, int offset) throws ResendException {
+        List<CreateEmailOptions> options = new ArrayList<>(chunk.size());
+        for (OutgoingEmail email : chunk) {
+            options.add(options(email.from(), email.to(), email.subject(), email.htmlBody()));
+        }
+
+        CreateBatchEmailsResponse response = resendClient.batch().send(options, PERMISSIVE_BATCH);
+        if (!response.hasErrors()) {
+            return List.of();
+        }
+        List<Failure> failures = new ArrayList<>(response.getErrorCount());
+        for (BatchError error : response.getErrors()) {
+            int index = error.getIndex();
+            failures.add(new Failure(offset + index, chunk.get(index).to(), error.getMessage()));
+        }
+        return failures;
+    }
+
+    private static CreateEmailOptions options(String from, String to, String subject, String htmlBody) {
+        return CreateEmailOptions.builder()
+                .from(from)
+                .to(to)
+                .subject(subject)
+                .html(htmlBody)
+                .build();
+    }
 }
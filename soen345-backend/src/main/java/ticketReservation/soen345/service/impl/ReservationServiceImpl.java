@@ -1,13 +1,18 @@
 package ticketReservation.soen345.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import ticketReservation.soen345.config.ReservationProperties;
 import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
 import ticketReservation.soen345.domain.EventStatus;
 import ticketReservation.soen345.domain.NotificationChannel;
 import ticketReservation.soen345.domain.NotificationType;
 import ticketReservation.soen345.domain.Payment;
 import ticketReservation.soen345.domain.PaymentInfo;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.domain.PaymentStatusChangedEvent;
 import ticketReservation.soen345.domain.Reservation;
 import ticketReservation.soen345.domain.ReservationStatus;
 import ticketReservation.soen345.domain.User;
@@ -17,22 +22,34 @@ import ticketReservation.soen345.exception.ResourceNotFoundException;
 import ticketReservation.soen345.repository.EventRepository;
 import ticketReservation.soen345.repository.ReservationRepository;
 import ticketReservation.soen345.repository.UserRepository;
+import ticketReservation.soen345.service.BookingTransactions;
+import ticketReservation.soen345.service.CapacityReserver;
 import ticketReservation.soen345.service.NotificationService;
 import ticketReservation.soen345.service.PaymentService;
 import ticketReservation.soen345.service.ReservationService;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationServiceImpl implements ReservationService {
 
+    static final List<ReservationStatus> OPEN_STATUSES =
+            List.of(ReservationStatus.PENDING, ReservationStatus.ACTIVE);
+
     private final ReservationRepository reservationRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final PaymentService paymentService;
+    private final PaymentConfirmationDispatcher paymentConfirmationDispatcher;
+    private final ReservationProperties reservationProperties;
+    private final BookingTransactions bookingTransactions;
+    private final CapacityReserver capacityReserver;
 
     @Override
     public ReservationResponse reserveTicket(String userId, CreateReservationRequest request) {
@@ -52,37 +69,57 @@ public class ReservationServiceImpl implements ReservationService {
             throw new IllegalStateException("No remaining capacity for this event.");
         }
 
-        reservationRepository.findByUserIdAndEventIdAndStatus(
+        reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(
                 userId,
                 event.getId(),
-                ReservationStatus.ACTIVE
+                OPEN_STATUSES
         ).ifPresent(existing -> {
             throw new IllegalStateException("You already have an active reservation for this event.");
         });
 
         User organizer = findOrganizerForEvent(event);
         ensurePaymentSetup(user, organizer);
-        Payment payment = paymentService.createPaymentIntent(
-                user,
-                organizer,
-                event.getTicketPrice().multiply(java.math.BigDecimal.valueOf(quantity)),
-                "usd");
-        Payment confirmedPayment = paymentService.confirmPayment(payment.getId());
 
-        event.setCapacity(event.getCapacity() - quantity);
-        eventRepository.save(event);
+        boolean deferConfirmation = reservationProperties.isAsyncPaymentConfirmation();
+        ReservationStatus initialStatus = deferConfirmation ? ReservationStatus.PENDING : ReservationStatus.ACTIVE;
+        EventSnapshot snapshot = EventSnapshot.of(event);
+        Payment settledPayment;
+        Reservation saved;
+        if (bookingTransactions.isTransactional()) {
+            // Seats and reservation commit together, so neither can exist without the other.
+            settledPayment = takePayment(user, organizer, event, quantity, deferConfirmation);
+            try {
+                saved = bookingTransactions.execute(() -> {
+                    holdSeats(event, quantity);
+                    return reservationRepository.save(
+                            newReservation(userId, snapshot, event, settledPayment, quantity, initialStatus));
+                });
+            } catch (RuntimeException e) {
+                voidPayment(settledPayment);
+                throw e;
+            }
+        } else {
+            // Seats are taken atomically before charging, so a concurrent sale or organizer edit
+            // can neither oversell nor overwrite the remaining capacity.
+            holdSeats(event, quantity);
+            try {
+                settledPayment = takePayment(user, organizer, event, quantity, deferConfirmation);
+            } catch (RuntimeException e) {
+                eventRepository.releaseCapacity(event.getId(), quantity);
+                throw e;
+            }
+            saved = reservationRepository.save(
+                    newReservation(userId, snapshot, event, settledPayment, quantity, initialStatus));
+        }
 
-        Reservation reservation = Reservation.builder()
-                .userId(userId)
-                .eventId(event.getId())
-                .paymentId(confirmedPayment.getId())
-                .quantity(quantity)
-                .status(ReservationStatus.ACTIVE)
-                .build();
-        Reservation saved = reservationRepository.save(reservation);
+        if (deferConfirmation) {
+            // Capacity is held; the payment status listener activates or releases it.
+            paymentConfirmationDispatcher.confirmInBackground(settledPayment.getId());
+            return mapToResponse(saved, snapshot);
+        }
 
         sendNotificationFor(user, event, NotificationType.CONFIRM_RESERVATION);
-        return mapToResponse(saved, event);
+        return mapToResponse(saved, snapshot);
     }
 
     @Override
@@ -99,34 +136,152 @@ public class ReservationServiceImpl implements ReservationService {
             throw new IllegalStateException("Reservation is already cancelled.");
         }
 
-        Event event = findEventById(reservation.getEventId());
+        Event event = findEventInEitherTier(reservation.getEventId());
         User user = findUserById(userId);
 
-        reservation.setStatus(ReservationStatus.CANCELLED);
-        reservation.setCancelledAt(Instant.now());
-        Reservation saved = reservationRepository.save(reservation);
-
-        Integer currentCapacity = event.getCapacity() == null ? 0 : event.getCapacity();
-        event.setCapacity(currentCapacity + quantity);
-        eventRepository.save(event);
+        // Guarded like the payment status paths, so only whichever cancels first returns the seats.
+        Reservation cancelled = bookingTransactions.execute(() -> reservationRepository
+                .transitionStatus(reservationId, reservation.getStatus(), ReservationStatus.CANCELLED)
+                .map(released -> {
+                    eventRepository.releaseCapacity(event.getId(), quantity);
+                    return released;
+                })
+                .orElse(null));
+        if (cancelled == null) {
+            throw new IllegalStateException("Reservation changed while cancelling; please try again.");
+        }
+        if (cancelled.getPaymentId() != null) {
+            paymentService.cancelPayment(cancelled.getPaymentId());
+        }
 
         sendNotificationFor(user, event, NotificationType.CANCEL_RESERVATION);
-        return mapToResponse(saved, event);
+        return mapToResponse(cancelled, cancelled.getEventSnapshot() != null
+                ? cancelled.getEventSnapshot()
+                : EventSnapshot.of(event));
+    }
+
+    /**
+     * Keeps reservations in step with payment status changes that happen outside checkout,
+     * such as provider webhooks, deferred confirmation and refunds.
+     */
+    @EventListener
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent statusChange) {
+        Payment payment = statusChange.payment();
+        reservationRepository.findByPaymentId(payment.getId()).ifPresent(reservation -> {
+            switch (statusChange.currentStatus()) {
+                case CONFIRMED -> {
+                    Optional<Reservation> activated = reservationRepository
+                            .transitionStatus(reservation.getId(), ReservationStatus.PENDING, ReservationStatus.ACTIVE);
+                    if (activated.isPresent()) {
+                        notifyReservationHolder(activated.get(), NotificationType.CONFIRM_RESERVATION);
+                    } else if (isCancelled(reservation.getId())) {
+                        // The charge went through after the customer cancelled, so it pays for nothing.
+                        paymentService.cancelPayment(payment.getId());
+                    }
+                }
+                case FAILED -> releaseReservation(reservation, ReservationStatus.PENDING);
+                case REFUNDED -> {
+                    if (reservation.getStatus() != ReservationStatus.CANCELLED) {
+                        releaseReservation(reservation, reservation.getStatus());
+                    }
+                }
+                default -> {
+                }
+            }
+        });
     }
 
     @Override
     public List<ReservationResponse> getMyReservations(String userId) {
-        return reservationRepository.findByUserIdOrderByCreatedAtDesc(userId)
+        // Reservations not yet backfilled fall back to one event lookup per distinct event.
+        Map<String, EventSnapshot> legacySnapshots = new HashMap<>();
+        return reservationRepository.findByUserIdFromSecondary(userId)
                 .stream()
-                .map(reservation -> {
-                    Event event = findEventById(reservation.getEventId());
-                    return mapToResponse(reservation, event);
-                })
+                .map(reservation -> mapToResponse(reservation, reservation.getEventSnapshot() != null
+                        ? reservation.getEventSnapshot()
+                        : legacySnapshots.computeIfAbsent(
+                                reservation.getEventId(), this::findSnapshotInEitherTier)))
                 .toList();
     }
 
+    private EventSnapshot findSnapshotInEitherTier(String eventId) {
+        return eventRepository.findSnapshotById(eventId)
+                .or(() -> eventRepository.findArchivedSnapshotById(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+    }
+
+    private boolean isCancelled(String reservationId) {
+        return reservationRepository.findById(reservationId)
+                .map(current -> current.getStatus() == ReservationStatus.CANCELLED)
+                .orElse(false);
+    }
+
+    private void releaseReservation(Reservation reservation, ReservationStatus expected) {
+        reservationRepository
+                .transitionStatus(reservation.getId(), expected, ReservationStatus.CANCELLED)
+                .ifPresent(released -> {
+                    Event event = findEventInEitherTier(released.getEventId());
+                    eventRepository.releaseCapacity(
+                            event.getId(), released.getQuantity() != null ? released.getQuantity() : 1);
+                    sendNotificationFor(findUserById(released.getUserId()), event, NotificationType.CANCEL_RESERVATION);
+                });
+    }
+
+    private void holdSeats(Event event, int quantity) {
+        if (!capacityReserver.reserve(event.getId(), quantity)) {
+            throw new IllegalStateException("No remaining capacity for this event.");
+        }
+    }
+
+    private Payment takePayment(User user, User organizer, Event event, int quantity, boolean deferConfirmation) {
+        Payment payment = paymentService.createPaymentIntent(
+                user,
+                organizer,
+                event.getTicketPrice().times(quantity));
+        return deferConfirmation ? payment : paymentService.confirmPayment(payment.getId());
+    }
+
+    /**
+     * Undoes a payment taken for a booking that could not be written.
+     */
+    private void voidPayment(Payment payment) {
+        if (payment.getStatus() == PaymentStatus.CONFIRMED) {
+            paymentService.refundPayment(payment.getId());
+        } else {
+            paymentService.markFailed(payment.getId());
+        }
+    }
+
+    private static Reservation newReservation(
+            String userId,
+            EventSnapshot snapshot,
+            Event event,
+            Payment payment,
+            int quantity,
+            ReservationStatus status) {
+        return Reservation.builder()
+                .userId(userId)
+                .eventId(event.getId())
+                .eventSnapshot(snapshot)
+                .paymentId(payment.getId())
+                .quantity(quantity)
+                .status(status)
+                .build();
+    }
+
+    private void notifyReservationHolder(Reservation reservation, NotificationType notificationType) {
+        sendNotificationFor(
+                findUserById(reservation.getUserId()),
+                findEventInEitherTier(reservation.getEventId()),
+                notificationType);
+    }
+
+    /**
+     * Loads only the fields booking and notifications use; see
+     * {@link UserRepository#BOOKING_PROFILE_FIELDS}.
+     */
     private User findUserById(String userId) {
-        return userRepository.findById(userId)
+        return userRepository.findBookingProfileById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
     }
 
@@ -135,6 +290,16 @@ public class ReservationServiceImpl implements ReservationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
     }
 
+    /**
+     * Past events are archived while their reservations stay hot, so paths acting on an existing
+     * reservation also look in the archive. Releasing seats of an archived event changes nothing.
+     */
+    private Event findEventInEitherTier(String eventId) {
+        return eventRepository.findById(eventId)
+                .or(() -> eventRepository.findArchivedById(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+    }
+
     private User findOrganizerForEvent(Event event) {
         String organizerId = event.getOrganizerId();
         if (organizerId == null || organizerId.isBlank()) {
@@ -168,16 +333,16 @@ public class ReservationServiceImpl implements ReservationService {
         notificationService.sendMessage(channel, notificationType, user, event, null);
     }
 
-    private ReservationResponse mapToResponse(Reservation reservation, Event event) {
+    private ReservationResponse mapToResponse(Reservation reservation, EventSnapshot event) {
         return ReservationResponse.builder()
                 .id(reservation.getId())
                 .userId(reservation.getUserId())
                 .eventId(reservation.getEventId())
                 .paymentId(reservation.getPaymentId())
-                .eventName(event.getName())
-                .eventDate(event.getDate())
-                .eventLocation(event.getLocation())
-                .eventTicketPrice(event.getTicketPrice())
+                .eventName(event.name())
+                .eventDate(event.date())
+                .eventLocation(event.location())
+                .eventTicketPrice(event.ticketPrice() != null ? event.ticketPrice().toBigDecimal() : null)
                 .quantity(reservation.getQuantity())
                 .status(reservation.getStatus())
                 .reservedAt(reservation.getCreatedAt())
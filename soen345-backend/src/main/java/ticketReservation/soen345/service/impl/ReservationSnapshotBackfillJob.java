@@ -0,0 +1,184 @@
+package ticketReservation.soen345.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.AsyncConfig;
+import ticketReservation.soen345.config.ReservationProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.Reservation;
+import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.PaymentRepository;
+import ticketReservation.soen345.repository.ReservationRepository;
+import ticketReservation.soen345.service.LeaseService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Copies event details into reservations booked before {@link Reservation#getEventSnapshot()}
+ * existed. Pages through them in id order, loads each page's events and payments in one query
+ * each and writes the snapshots in one bulk update. The price is what the payment charged per
+ * ticket, not the event's current price. Once a pass finds nothing left to fill, this node stops
+ * looking.
+ * <p>
+ * Snapshots written by a booking or by this backfill can still lose a race with an organizer's
+ * edit, and a node can stop between the event write and its refresh, so {@link #reconcile()}
+ * periodically re-applies the version-guarded refresh to recently updated events.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ReservationSnapshotBackfillJob {
+
+    static final String LEASE_NAME = "reservation-snapshot-backfill";
+    static final String RECONCILE_LEASE_NAME = "reservation-snapshot-reconcile";
+    private static final String FIRST_OBJECT_ID = "000000000000000000000000";
+
+    private final ReservationRepository reservationRepository;
+    private final EventRepository eventRepository;
+    private final PaymentRepository paymentRepository;
+    private final LeaseService leaseService;
+    private final ReservationProperties properties;
+
+    private volatile boolean completed;
+
+    @Scheduled(initialDelayString = "${app.reservations.snapshot-backfill.initial-delay:1m}",
+            fixedDelayString = "${app.reservations.snapshot-backfill.interval:1h}",
+            scheduler = AsyncConfig.BATCH_JOB_SCHEDULER)
+    public void runScheduled() {
+        if (properties.getSnapshotBackfill().isEnabled() && !completed) {
+            run();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.reservations.snapshot-backfill.initial-delay:1m}",
+            fixedDelayString = "${app.reservations.snapshot-backfill.reconcile-interval:5m}",
+            scheduler = AsyncConfig.BATCH_JOB_SCHEDULER)
+    public void reconcileScheduled() {
+        if (properties.getSnapshotBackfill().isEnabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Returns the number of reservations filled, or 0 when another node holds the lease.
+     */
+    public long run() {
+        ReservationProperties.SnapshotBackfill settings = properties.getSnapshotBackfill();
+        Duration leaseTtl = settings.getLeaseTtl();
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+            log.debug("Reservation snapshot backfill is running on another node");
+            return 0;
+        }
+
+        try {
+            int batchSize = Math.max(1, settings.getBatchSize());
+            String afterId = FIRST_OBJECT_ID;
+            long filled = 0;
+            List<Reservation> page;
+            do {
+                page = reservationRepository.findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc(
+                        afterId, Limit.of(batchSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                filled += fill(page);
+                afterId = page.get(page.size() - 1).getId();
+                leaseService.tryAcquire(LEASE_NAME, leaseTtl);
+            } while (page.size() == batchSize);
+
+            if (filled == 0) {
+                completed = true;
+            }
+            log.info("Reservation snapshot backfill filled {} reservations", filled);
+            return filled;
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Refreshes the snapshots of every event updated within the reconcile window. Snapshots already
+     * at the event's version are not rewritten. Returns the number of reservations corrected.
+     */
+    public long reconcile() {
+        ReservationProperties.SnapshotBackfill settings = properties.getSnapshotBackfill();
+        if (!leaseService.tryAcquire(RECONCILE_LEASE_NAME, settings.getLeaseTtl())) {
+            return 0;
+        }
+
+        try {
+            long corrected = 0;
+            Instant since = Instant.now().minus(settings.getReconcileWindow());
+            for (Event event : eventRepository.findByUpdatedAtGreaterThanEqual(since)) {
+                corrected += reservationRepository.refreshEventSnapshots(event);
+            }
+            if (corrected > 0) {
+                log.info("Reservation snapshot reconcile corrected {} reservations", corrected);
+            }
+            return corrected;
+        } finally {
+            leaseService.release(RECONCILE_LEASE_NAME);
+        }
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+
+    private int fill(List<Reservation> page) {
+        Set<String> eventIds = page.stream()
+                .map(Reservation::getEventId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Event> events = new HashMap<>();
+        for (Event event : eventRepository.findAllById(eventIds)) {
+            events.put(event.getId(), event);
+        }
+        Set<String> paymentIds = page.stream()
+                .map(Reservation::getPaymentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Payment> payments = new HashMap<>();
+        if (!paymentIds.isEmpty()) {
+            for (Payment payment : paymentRepository.findAllById(paymentIds)) {
+                payments.put(payment.getId(), payment);
+            }
+        }
+
+        // Reservations whose event was deleted keep no snapshot and fall back to the event lookup.
+        Map<String, EventSnapshot> snapshots = new HashMap<>();
+        for (Reservation reservation : page) {
+            Event event = events.get(reservation.getEventId());
+            if (event != null) {
+                snapshots.put(reservation.getId(), new EventSnapshot(event.getName(), event.getDate(),
+                        event.getLocation(), paidPerTicket(reservation, payments), event.getVersion()));
+            }
+        }
+        return reservationRepository.fillEventSnapshots(snapshots);
+    }
+
+    /**
+     * What the reservation's payment charged per ticket, or {@code null} when no payment records it.
+     */
+    private static Money paidPerTicket(Reservation reservation, Map<String, Payment> payments) {
+        Payment payment = reservation.getPaymentId() == null ? null : payments.get(reservation.getPaymentId());
+        if (payment == null || payment.getAmount() == null) {
+            return null;
+        }
+        int quantity = reservation.getQuantity() == null || reservation.getQuantity() < 1 ? 1 : reservation.getQuantity();
+        return Money.ofMinor(payment.getAmount().minorUnits() / quantity, payment.getAmount().currency());
+    }
+}
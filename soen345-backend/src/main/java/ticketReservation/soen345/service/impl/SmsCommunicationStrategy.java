@@ -33,4 +33,18 @@ public class SmsCommunicationStrategy implements NotificationChannelStrategy {
         );
         log.info("Twilio SMS sent to {} with sid {}", to.getPhone(), sid);
     }
+
+    /**
+     * Sends at the given queueing priority; bulk sends wait behind transactional ones when the
+     * provider is saturated.
+     */
+    public void sendTo(User to, Notification notification, NotificationContext context, SmsSender.Priority priority) {
+        String sid = smsSender.sendSms(
+                to.getPhone(),
+                fromNumber,
+                notification.body(context),
+                priority
+        );
+        log.info("Twilio SMS sent to {} with sid {}", to.getPhone(), sid);
+    }
 }
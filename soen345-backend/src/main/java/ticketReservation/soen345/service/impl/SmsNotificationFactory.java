@@ -1,21 +1,33 @@
 package ticketReservation.soen345.service.impl;
 
 import org.springframework.stereotype.Component;
-import ticketReservation.soen345.domain.CancelReservationContent;
-import ticketReservation.soen345.domain.ConfirmReservationContent;
 import ticketReservation.soen345.domain.Notification;
+import ticketReservation.soen345.domain.NotificationChannel;
+import ticketReservation.soen345.domain.NotificationType;
 import ticketReservation.soen345.service.NotificationFactory;
+import ticketReservation.soen345.service.template.NotificationTemplates;
 
 @Component
 public class SmsNotificationFactory implements NotificationFactory {
 
+    private final NotificationTemplates templates;
+
+    public SmsNotificationFactory(NotificationTemplates templates) {
+        this.templates = templates;
+    }
+
     @Override
     public Notification createReservationConfirmation() {
-        return new ConfirmReservationContent();
+        return templates.get(NotificationType.CONFIRM_RESERVATION, NotificationChannel.SMS);
     }
 
     @Override
     public Notification createReservationCancellation() {
-        return new CancelReservationContent();
+        return templates.get(NotificationType.CANCEL_RESERVATION, NotificationChannel.SMS);
+    }
+
+    @Override
+    public Notification createEventReminder() {
+        return templates.get(NotificationType.EVENT_REMINDER, NotificationChannel.SMS);
     }
 }
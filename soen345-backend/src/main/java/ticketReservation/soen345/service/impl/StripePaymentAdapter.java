@@ -1,19 +1,29 @@
 package ticketReservation.soen345.service.impl;
 
 import com.stripe.Stripe;
+import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
+import com.stripe.model.Charge;
+import com.stripe.model.Event;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.Refund;
+import com.stripe.model.StripeObject;
+import com.stripe.net.Webhook;
 import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PaymentIntentRetrieveParams;
 import com.stripe.param.RefundCreateParams;
 import lombok.RequiredArgsConstructor;
 import ticketReservation.soen345.config.StripeProperties;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.PaymentProviderEvent;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.exception.InvalidWebhookSignatureException;
 import ticketReservation.soen345.exception.PaymentProcessingException;
 import ticketReservation.soen345.service.PaymentGateway;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @RequiredArgsConstructor
@@ -36,24 +46,21 @@ public class StripePaymentAdapter implements PaymentGateway {
 
     @Override
     public String createPaymentIntent(
-            BigDecimal amount,
-            String currency,
+            Money amount,
             String customerId,
             String paymentMethodId,
             Map<String, String> metadata) {
+        if (amount == null) {
+            throw new PaymentProcessingException("Amount is required.");
+        }
         if (isE2ePlaceholderWallet(customerId, paymentMethodId)) {
-            if (amount == null) {
-                throw new PaymentProcessingException("Amount is required.");
-            }
             return E2E_PLACEHOLDER_INTENT_PREFIX + e2eIntentSequence.incrementAndGet();
         }
 
         configureStripe();
-        long minorUnits = toMinorUnits(amount);
-
         PaymentIntentCreateParams.Builder builder = PaymentIntentCreateParams.builder()
-                .setAmount(minorUnits)
-                .setCurrency(currency)
+                .setAmount(amount.minorUnits())
+                .setCurrency(amount.currency())
                 .addPaymentMethodType(DEFAULT_PAYMENT_METHOD);
 
         if (customerId != null && !customerId.isBlank()) {
@@ -110,14 +117,86 @@ public class StripePaymentAdapter implements PaymentGateway {
         }
     }
 
-    private long toMinorUnits(BigDecimal amount) {
-        if (amount == null) {
-            throw new PaymentProcessingException("Amount is required.");
+    @Override
+    public Optional<PaymentStatus> fetchPaymentStatus(String providerPaymentId) {
+        if (providerPaymentId == null || providerPaymentId.startsWith(E2E_PLACEHOLDER_INTENT_PREFIX)) {
+            return Optional.empty();
+        }
+
+        configureStripe();
+        PaymentIntentRetrieveParams params = PaymentIntentRetrieveParams.builder()
+                .addExpand("latest_charge")
+                .build();
+        try {
+            PaymentIntent paymentIntent = PaymentIntent.retrieve(providerPaymentId, params, null);
+            Charge latestCharge = paymentIntent.getLatestChargeObject();
+            if (latestCharge != null && Boolean.TRUE.equals(latestCharge.getRefunded())) {
+                return Optional.of(PaymentStatus.REFUNDED);
+            }
+            return Optional.ofNullable(statusForIntent(paymentIntent.getStatus()));
+        } catch (StripeException e) {
+            throw new PaymentProcessingException("Failed to retrieve Stripe payment intent.", e);
+        }
+    }
+
+    @Override
+    public PaymentProviderEvent parseWebhookEvent(String payload, String signatureHeader) {
+        String secret = stripeProperties.getWebhookSecret();
+        if (secret == null || secret.isBlank()) {
+            throw new PaymentProcessingException("Stripe webhook secret is not configured.");
+        }
+        if (payload == null || signatureHeader == null || signatureHeader.isBlank()) {
+            throw new InvalidWebhookSignatureException("Missing Stripe webhook payload or signature.");
+        }
+
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signatureHeader, secret);
+        } catch (SignatureVerificationException e) {
+            throw new InvalidWebhookSignatureException("Invalid Stripe webhook signature.", e);
+        }
+
+        StripeObject object = event.getDataObjectDeserializer().getObject().orElse(null);
+        Instant createdAt = event.getCreated() != null ? Instant.ofEpochSecond(event.getCreated()) : null;
+        return new PaymentProviderEvent(
+                event.getId(),
+                event.getType(),
+                providerPaymentIdOf(object),
+                targetStatusFor(event.getType()),
+                createdAt);
+    }
+
+    private static String providerPaymentIdOf(StripeObject object) {
+        if (object instanceof PaymentIntent paymentIntent) {
+            return paymentIntent.getId();
+        }
+        if (object instanceof Charge charge) {
+            return charge.getPaymentIntent();
+        }
+        return null;
+    }
+
+    private static PaymentStatus statusForIntent(String intentStatus) {
+        if (intentStatus == null) {
+            return null;
+        }
+        return switch (intentStatus) {
+            case "succeeded" -> PaymentStatus.CONFIRMED;
+            case "canceled", "requires_payment_method" -> PaymentStatus.FAILED;
+            default -> PaymentStatus.PENDING;
+        };
+    }
+
+    private static PaymentStatus targetStatusFor(String eventType) {
+        if (eventType == null) {
+            return null;
         }
-        return amount
-                .multiply(BigDecimal.valueOf(100))
-                .setScale(0, RoundingMode.HALF_UP)
-                .longValueExact();
+        return switch (eventType) {
+            case "payment_intent.succeeded" -> PaymentStatus.CONFIRMED;
+            case "payment_intent.payment_failed", "payment_intent.canceled" -> PaymentStatus.FAILED;
+            case "charge.refunded" -> PaymentStatus.REFUNDED;
+            default -> null;
+        };
     }
 
     private void configureStripe() {
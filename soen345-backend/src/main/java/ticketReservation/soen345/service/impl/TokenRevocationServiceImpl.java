@@ -0,0 +1,168 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ticketReservation.soen345.concurrency.BloomFilter;
+import ticketReservation.soen345.config.TokenRevocationProperties;
+import ticketReservation.soen345.domain.RevokedToken;
+import ticketReservation.soen345.domain.UserStatusChangedEvent;
+import ticketReservation.soen345.repository.RevokedTokenRepository;
+import ticketReservation.soen345.service.TokenRevocationService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Revocations live in {@code revoked_tokens}; each node mirrors their keys into two Bloom
+ * filters (token ids and user ids). A request whose token id and user id both miss the
+ * filters is not revoked, with no I/O. Only filter hits, about the configured false-positive
+ * rate of traffic plus genuinely revoked tokens, are confirmed against Mongo.
+ * <p>
+ * Revocations made on this node are visible immediately. Those made elsewhere arrive with the
+ * next poll, so other nodes lag by at most {@code app.auth.revocation.poll-interval}.
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    static final String CONFIRM_METRIC = "auth.revocation.confirmations";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationProperties properties;
+    private final Duration accessTokenLifetime;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Filters filters;
+    private volatile Instant lastRebuild = Instant.EPOCH;
+    private volatile Instant lastPoll = Instant.EPOCH;
+
+    public TokenRevocationServiceImpl(
+            RevokedTokenRepository revokedTokenRepository,
+            TokenRevocationProperties properties,
+            @Value("${app.jwt.expiration-ms}") long accessTokenLifetimeMs,
+            MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.properties = properties;
+        this.accessTokenLifetime = Duration.ofMillis(accessTokenLifetimeMs);
+        this.meterRegistry = meterRegistry;
+        this.filters = Filters.sized(properties.getExpectedEntries(), properties.getFalsePositiveRate());
+    }
+
+    @Override
+    public void revokeToken(String tokenId, Instant tokenExpiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        Instant expiresAt = tokenExpiresAt != null ? tokenExpiresAt : now.plus(accessTokenLifetime);
+        save(RevokedToken.Kind.TOKEN, tokenId, now, expiresAt);
+        filters.tokens().put(tokenId);
+    }
+
+    @Override
+    public void revokeUser(String userId) {
+        Instant now = Instant.now();
+        // Any access token issued before now expires within one lifetime, so the entry can too.
+        save(RevokedToken.Kind.USER, userId, now, now.plus(accessTokenLifetime));
+        filters.users().put(userId);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId, String userId, Instant issuedAt) {
+        Filters current = filters;
+        boolean tokenHit = tokenId != null && current.tokens().mightContain(tokenId);
+        boolean userHit = userId != null && current.users().mightContain(userId);
+        if (!tokenHit && !userHit) {
+            return false;
+        }
+
+        try {
+            boolean revoked = (tokenHit && isTokenRevoked(tokenId)) || (userHit && isUserRevoked(userId, issuedAt));
+            meterRegistry.counter(CONFIRM_METRIC, "result", revoked ? "revoked" : "false_positive").increment();
+            return revoked;
+        } catch (RuntimeException e) {
+            // Fail closed: a filter hit that cannot be confirmed is treated as revoked.
+            log.warn("Could not confirm token revocation for user {}: {}", userId, e.getMessage());
+            meterRegistry.counter(CONFIRM_METRIC, "result", "error").increment();
+            return true;
+        }
+    }
+
+    @EventListener
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        if (event.currentStatus().blocksAccess()) {
+            revokeUser(event.userId());
+        }
+    }
+
+    /**
+     * Pulls revocations written since the last poll, or reloads everything when the rebuild
+     * interval has passed.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation.poll-interval:5s}")
+    public void sync() {
+        Instant now = Instant.now();
+        try {
+            if (Duration.between(lastRebuild, now).compareTo(properties.getRebuildInterval()) >= 0) {
+                rebuild(now);
+            } else {
+                List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtGreaterThanEqual(
+                        lastPoll.minus(properties.getPollOverlap()));
+                Filters current = filters;
+                recent.forEach(current::add);
+            }
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            log.warn("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild(Instant now) {
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(now);
+        Filters rebuilt = Filters.sized(
+                Math.max(properties.getExpectedEntries(), active.size() * 2), properties.getFalsePositiveRate());
+        active.forEach(rebuilt::add);
+        filters = rebuilt;
+        lastRebuild = now;
+        log.debug("Rebuilt token revocation filter with {} entries", active.size());
+    }
+
+    private boolean isTokenRevoked(String tokenId) {
+        return revokedTokenRepository.existsById(RevokedToken.idFor(RevokedToken.Kind.TOKEN, tokenId));
+    }
+
+    private boolean isUserRevoked(String userId, Instant issuedAt) {
+        Optional<RevokedToken> entry = revokedTokenRepository.findById(RevokedToken.idFor(RevokedToken.Kind.USER, userId));
+        // JWT iat has second precision, so a token from the same second as the revocation is blocked too.
+        return entry.isPresent() && (issuedAt == null || !issuedAt.isAfter(entry.get().getRevokedAt()));
+    }
+
+    private void save(RevokedToken.Kind kind, String subject, Instant now, Instant expiresAt) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .id(RevokedToken.idFor(kind, subject))
+                .kind(kind)
+                .subject(subject)
+                .revokedAt(now)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    private record Filters(BloomFilter tokens, BloomFilter users) {
+
+        static Filters sized(int expectedEntries, double falsePositiveRate) {
+            return new Filters(
+                    new BloomFilter(expectedEntries, falsePositiveRate),
+                    new BloomFilter(expectedEntries, falsePositiveRate));
+        }
+
+        void add(RevokedToken entry) {
+            (entry.getKind() == RevokedToken.Kind.USER ? users : tokens).put(entry.getSubject());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ticketReservation.soen345.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import ticketReservation.soen345.domain.NotificationChannel;
@@ -8,6 +9,7 @@ import ticketReservation.soen345.domain.PaymentInfo;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.domain.UserRole;
 import ticketReservation.soen345.domain.UserStatus;
+import ticketReservation.soen345.domain.UserStatusChangedEvent;
 import ticketReservation.soen345.dto.request.PaymentInfoRequest;
 import ticketReservation.soen345.dto.request.RegisterRequest;
 import ticketReservation.soen345.dto.request.UpdateUserProfileRequest;
@@ -27,6 +29,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public RegisterResponse registerUser(RegisterRequest request) {
@@ -122,6 +125,20 @@ public class UserServiceImpl implements UserService {
         return mapToUserResponse(saved);
     }
 
+    @Override
+    public UserResponse updateUserStatus(String userId, UserStatus status) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        UserStatus previous = user.getStatus();
+        user.setStatus(status);
+        User saved = userRepository.save(user);
+        if (previous != status) {
+            eventPublisher.publishEvent(new UserStatusChangedEvent(userId, previous, status));
+        }
+        return mapToUserResponse(saved);
+    }
+
     private String normalizeEmail(String email) {
         if (email == null || email.isBlank()) {
             return null;
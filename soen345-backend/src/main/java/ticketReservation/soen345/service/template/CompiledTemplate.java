@@ -0,0 +1,154 @@
+package ticketReservation.soen345.service.template;
+
+import ticketReservation.soen345.domain.NotificationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into literal and placeholder segments. Supports {@code {{name}}}
+ * placeholders and {@code {{#name}}...{{/name}}} sections that render only when the variable
+ * has a value. Rendering walks the segments and writes into a per-thread buffer, so a message
+ * costs one {@link String} for the result.
+ */
+public final class CompiledTemplate {
+
+    private static final ThreadLocal<RenderBuffer> BUFFER = ThreadLocal.withInitial(RenderBuffer::new);
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private final Segment[] segments;
+    private final TemplateFormat format;
+
+    private CompiledTemplate(Segment[] segments, TemplateFormat format) {
+        this.segments = segments;
+        this.format = format;
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown placeholders or unbalanced sections
+     */
+    public static CompiledTemplate compile(String source, TemplateFormat format) {
+        List<Segment> segments = new ArrayList<>();
+        int end = parse(source, 0, null, format, segments);
+        if (end != source.length()) {
+            throw new IllegalArgumentException("Unexpected section end at " + end + " in template");
+        }
+        return new CompiledTemplate(segments.toArray(Segment[]::new), format);
+    }
+
+    public String render(NotificationContext context) {
+        RenderBuffer buffer = BUFFER.get();
+        StringBuilder out = buffer.out;
+        out.setLength(0);
+        try {
+            renderSegments(segments, context, buffer);
+            return out.toString();
+        } finally {
+            if (out.capacity() > MAX_RETAINED_CAPACITY) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private void renderSegments(Segment[] parts, NotificationContext context, RenderBuffer buffer) {
+        for (Segment segment : parts) {
+            if (segment instanceof Literal literal) {
+                buffer.out.append(literal.text());
+            } else if (segment instanceof Placeholder placeholder) {
+                try {
+                    placeholder.variable().appendTo(context, format == TemplateFormat.HTML ? buffer.escaping : buffer.out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else if (segment instanceof Section section && section.variable().isPresent(context)) {
+                renderSegments(section.body(), context, buffer);
+            }
+        }
+    }
+
+    /**
+     * Parses from {@code start} until the end of input or the closing tag of {@code openSection};
+     * returns the index just past what was consumed.
+     */
+    private static int parse(String source, int start, TemplateVariable openSection,
+                             TemplateFormat format, List<Segment> out) {
+        int position = start;
+        while (position < source.length()) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            if (open > position) {
+                out.add(new Literal(format.compileLiteral(source.substring(position, open))));
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at " + open + " in template");
+            }
+            String tag = source.substring(open + 2, close).trim();
+            position = close + 2;
+
+            if (tag.startsWith("#")) {
+                TemplateVariable variable = TemplateVariable.fromPlaceholder(tag.substring(1).trim());
+                List<Segment> body = new ArrayList<>();
+                position = parse(source, position, variable, format, body);
+                out.add(new Section(variable, body.toArray(Segment[]::new)));
+            } else if (tag.startsWith("/")) {
+                TemplateVariable variable = TemplateVariable.fromPlaceholder(tag.substring(1).trim());
+                if (variable != openSection) {
+                    throw new IllegalArgumentException("Unexpected {{/" + variable.placeholder() + "}} in template");
+                }
+                return position;
+            } else {
+                out.add(new Placeholder(TemplateVariable.fromPlaceholder(tag)));
+            }
+        }
+        if (openSection != null) {
+            throw new IllegalArgumentException("Unclosed section {{#" + openSection.placeholder() + "}} in template");
+        }
+        if (position < source.length()) {
+            out.add(new Literal(format.compileLiteral(source.substring(position))));
+        }
+        return source.length();
+    }
+
+    private sealed interface Segment permits Literal, Placeholder, Section {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private record Placeholder(TemplateVariable variable) implements Segment {
+    }
+
+    private record Section(TemplateVariable variable, Segment[] body) implements Segment {
+    }
+
+    private static final class RenderBuffer {
+
+        private final StringBuilder out = new StringBuilder(512);
+
+        private final Appendable escaping = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                return append(csq, 0, csq.length());
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                for (int i = start; i < end; i++) {
+                    TemplateFormat.appendEscaped(csq.charAt(i), out);
+                }
+                return this;
+            }
+
+            @Override
+            public Appendable append(char c) {
+                TemplateFormat.appendEscaped(c, out);
+                return this;
+            }
+        };
+    }
+}
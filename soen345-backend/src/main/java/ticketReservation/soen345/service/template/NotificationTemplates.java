@@ -0,0 +1,100 @@
+package ticketReservation.soen345.service.template;
+
+import org.springframework.stereotype.Component;
+import ticketReservation.soen345.config.NotificationTemplateProperties;
+import ticketReservation.soen345.domain.Notification;
+import ticketReservation.soen345.domain.NotificationChannel;
+import ticketReservation.soen345.domain.NotificationType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compiles one template per notification type and channel at startup, so a bad placeholder
+ * in configuration fails the boot instead of the first send. Email bodies compile to HTML,
+ * SMS bodies to plain text; subjects are always plain text.
+ */
+@Component
+public class NotificationTemplates {
+
+    private static final String CONFIRM_BODY = """
+            Hi {{firstName}},
+
+            Your reservation is confirmed.
+            Event: {{eventName}}
+            Date: {{eventDate}}
+            Location: {{eventLocation}}
+            {{#confirmationLink}}
+            Confirmation link: {{confirmationLink}}
+            {{/confirmationLink}}
+            Thank you for using our ticket reservation system.""";
+
+    private static final String CANCEL_BODY = """
+            Hi {{firstName}},
+
+            Your reservation has been cancelled.
+            Event: {{eventName}}
+            Date: {{eventDate}}
+            Location: {{eventLocation}}
+
+            If this was a mistake, please make a new reservation.""";
+
+    private static final String REMINDER_BODY = """
+            Hi {{firstName}},
+
+            This is a reminder about your upcoming event.
+            Event: {{eventName}}
+            Date: {{eventDate}}
+            Location: {{eventLocation}}
+
+            See you there!""";
+
+    private static final Map<NotificationType, NotificationTemplateProperties.Template> DEFAULTS = Map.of(
+            NotificationType.CONFIRM_RESERVATION, template("Reservation confirmed: {{eventName}}", CONFIRM_BODY),
+            NotificationType.CANCEL_RESERVATION, template("Reservation cancelled: {{eventName}}", CANCEL_BODY),
+            NotificationType.EVENT_REMINDER, template("Reminder: {{eventName}} on {{eventDate}}", REMINDER_BODY));
+
+    private final Map<NotificationType, Map<NotificationChannel, Notification>> notifications =
+            new EnumMap<>(NotificationType.class);
+
+    public NotificationTemplates(NotificationTemplateProperties properties) {
+        for (NotificationType type : NotificationType.values()) {
+            Map<NotificationChannel, Notification> byChannel = new EnumMap<>(NotificationChannel.class);
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                byChannel.put(channel, compile(type, channel, properties));
+            }
+            notifications.put(type, byChannel);
+        }
+    }
+
+    public Notification get(NotificationType type, NotificationChannel channel) {
+        return notifications.get(type).get(channel);
+    }
+
+    private static Notification compile(NotificationType type, NotificationChannel channel,
+                                        NotificationTemplateProperties properties) {
+        NotificationTemplateProperties.Template defaults = DEFAULTS.get(type);
+        NotificationTemplateProperties.Template override = properties.getTemplates()
+                .getOrDefault(type, Map.of())
+                .get(channel);
+
+        String subject = override != null && override.getSubject() != null ? override.getSubject() : defaults.getSubject();
+        String body = override != null && override.getBody() != null ? override.getBody() : defaults.getBody();
+        TemplateFormat bodyFormat = channel == NotificationChannel.EMAIL ? TemplateFormat.HTML : TemplateFormat.TEXT;
+
+        try {
+            return new TemplateNotification(
+                    CompiledTemplate.compile(subject, TemplateFormat.TEXT),
+                    CompiledTemplate.compile(body, bodyFormat));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + channel + " template for " + type + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static NotificationTemplateProperties.Template template(String subject, String body) {
+        NotificationTemplateProperties.Template template = new NotificationTemplateProperties.Template();
+        template.setSubject(subject);
+        template.setBody(body);
+        return template;
+    }
+}
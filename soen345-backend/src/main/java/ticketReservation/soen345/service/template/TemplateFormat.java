@@ -0,0 +1,38 @@
+package ticketReservation.soen345.service.template;
+
+/**
+ * Output format of a compiled template. Templates are written as plain text; for
+ * {@link #HTML} the literal text is escaped and line breaks become {@code <br/>} once, at
+ * compile time, and placeholder values are escaped as they are written.
+ */
+public enum TemplateFormat {
+    TEXT,
+    HTML;
+
+    String compileLiteral(String text) {
+        if (this == TEXT) {
+            return text;
+        }
+        StringBuilder html = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                html.append("<br/>");
+            } else {
+                appendEscaped(c, html);
+            }
+        }
+        return html.toString();
+    }
+
+    static void appendEscaped(char c, StringBuilder out) {
+        switch (c) {
+            case '<' -> out.append("&lt;");
+            case '>' -> out.append("&gt;");
+            case '&' -> out.append("&amp;");
+            case '"' -> out.append("&quot;");
+            case '\'' -> out.append("&#39;");
+            default -> out.append(c);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ticketReservation.soen345.service.template;
+
+import ticketReservation.soen345.domain.Notification;
+import ticketReservation.soen345.domain.NotificationContext;
+
+/**
+ * A {@link Notification} backed by compiled templates. Instances are immutable and shared
+ * across sends.
+ */
+public record TemplateNotification(CompiledTemplate subject, CompiledTemplate body) implements Notification {
+
+    @Override
+    public String subject(NotificationContext context) {
+        return subject.render(context);
+    }
+
+    @Override
+    public String body(NotificationContext context) {
+        return body.render(context);
+    }
+}
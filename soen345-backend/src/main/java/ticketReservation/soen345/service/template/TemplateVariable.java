@@ -0,0 +1,90 @@
+package ticketReservation.soen345.service.template;
+
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.NotificationContext;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Placeholders a notification template may use, written as {@code {{name}}}. Each one knows
+ * how to write its value for a context, so templates are checked against this list when they
+ * are compiled rather than when a message is sent.
+ */
+public enum TemplateVariable {
+
+    FIRST_NAME("firstName") {
+        @Override
+        void appendTo(NotificationContext context, Appendable out) throws IOException {
+            String firstName = context.user().getFirstName();
+            out.append(firstName == null || firstName.isBlank() ? "there" : firstName);
+        }
+    },
+    EVENT_NAME("eventName") {
+        @Override
+        void appendTo(NotificationContext context, Appendable out) throws IOException {
+            Event event = context.event();
+            out.append(event.getName() == null || event.getName().isBlank() ? "your event" : event.getName());
+        }
+    },
+    EVENT_DATE("eventDate") {
+        @Override
+        void appendTo(NotificationContext context, Appendable out) {
+            if (context.event().getDate() != null) {
+                DATE_FORMATTER.formatTo(context.event().getDate(), out);
+            }
+        }
+    },
+    EVENT_LOCATION("eventLocation") {
+        @Override
+        void appendTo(NotificationContext context, Appendable out) throws IOException {
+            String location = context.event().getLocation();
+            out.append(location == null ? "" : location);
+        }
+    },
+    CONFIRMATION_LINK("confirmationLink") {
+        @Override
+        void appendTo(NotificationContext context, Appendable out) throws IOException {
+            if (context.hasConfirmationLink()) {
+                out.append(context.confirmationLink());
+            }
+        }
+
+        @Override
+        boolean isPresent(NotificationContext context) {
+            return context.hasConfirmationLink();
+        }
+    };
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+    private final String placeholder;
+
+    TemplateVariable(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String placeholder() {
+        return placeholder;
+    }
+
+    abstract void appendTo(NotificationContext context, Appendable out) throws IOException;
+
+    /**
+     * Whether a {@code {{#name}}...{{/name}}} section around this variable is rendered.
+     */
+    boolean isPresent(NotificationContext context) {
+        return true;
+    }
+
+    static TemplateVariable fromPlaceholder(String placeholder) {
+        for (TemplateVariable variable : values()) {
+            if (variable.placeholder.equals(placeholder)) {
+                return variable;
+            }
+        }
+        throw new IllegalArgumentException("Unknown template placeholder: {{" + placeholder + "}}");
+    }
+}
@@ -4,9 +4,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ticketReservation.soen345.repository.CacheChangeRepository;
 import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.JobLeaseRepository;
+import ticketReservation.soen345.repository.OrganizerBalanceRepository;
+import ticketReservation.soen345.repository.PaymentReconciliationReportRepository;
 import ticketReservation.soen345.repository.PaymentRepository;
+import ticketReservation.soen345.repository.PaymentWebhookEventRepository;
+import ticketReservation.soen345.repository.PayoutLedgerEntryRepository;
+import ticketReservation.soen345.repository.RefreshTokenRepository;
 import ticketReservation.soen345.repository.ReservationRepository;
+import ticketReservation.soen345.repository.RevokedTokenRepository;
 import ticketReservation.soen345.repository.UserRepository;
 import ticketReservation.soen345.service.EmailSender;
 import ticketReservation.soen345.service.PaymentGateway;
@@ -43,6 +51,38 @@ class TicketReservationSoen345ApplicationTests {
 	@SuppressWarnings("unused")
 	private PaymentRepository paymentRepository;
 
+	@MockitoBean
+	@SuppressWarnings("unused")
+	private PaymentWebhookEventRepository paymentWebhookEventRepository;
+
+	@MockitoBean
+	@SuppressWarnings("unused")
+	private PaymentReconciliationReportRepository paymentReconciliationReportRepository;
+
+	@MockitoBean
+	@SuppressWarnings("unused")
+	private JobLeaseRepository jobLeaseRepository;
+
+	@MockitoBean
+	@SuppressWarnings("unused")
+	private PayoutLedgerEntryRepository payoutLedgerEntryRepository;
+
+	@MockitoBean
+	@SuppressWarnings("unused")
+	private OrganizerBalanceRepository organizerBalanceRepository;
+
+	@MockitoBean
+	@SuppressWarnings("unused")
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@MockitoBean
+	@SuppressWarnings("unused")
+	private RevokedTokenRepository revokedTokenRepository;
+
+	@MockitoBean
+	@SuppressWarnings("unused")
+	private CacheChangeRepository cacheChangeRepository;
+
 	@MockitoBean
 	@SuppressWarnings("unused")
 	private PaymentGateway paymentGateway;
@@ -0,0 +1,96 @@
+package ticketReservation.soen345.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import ticketReservation.soen345.config.MongoClientProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventStatus;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.repository.EventRepositoryCustomImpl;
+import ticketReservation.soen345.service.CapacityReserver;
+import ticketReservation.soen345.service.impl.CombiningCapacityReserver;
+import ticketReservation.soen345.service.impl.DirectCapacityReserver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat holds per second on a single hot event, one guarded update per hold or combined into one
+ * update per batch. {@code window} adds a wait before each combined batch is applied.
+ * <p>
+ * {@code MONGODB_URI=mongodb://localhost:27017 mvn -Pbenchmark -DskipTests verify
+ * -Djmh.args=CapacityCombiningBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class CapacityCombiningBenchmark {
+
+    private static final String DATABASE = "soen345_benchmark";
+
+    @Param({"false", "true"})
+    private boolean combining;
+
+    @Param({"0", "1"})
+    private int windowMillis;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private CapacityReserver reserver;
+    private String eventId;
+
+    @Setup
+    public void setUp() {
+        client = MongoClients.create(System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.getDb().drop();
+        eventId = mongoTemplate.insert(Event.builder()
+                .name("Flash sale")
+                .location("Hall")
+                .date(Instant.now().plus(30, ChronoUnit.DAYS))
+                .capacity(Integer.MAX_VALUE)
+                .ticketPrice(Money.ofMinor(2500, Money.DEFAULT_CURRENCY))
+                .status(EventStatus.ACTIVE)
+                .build()).getId();
+
+        EventRepositoryCustomImpl eventWrites = new EventRepositoryCustomImpl(mongoTemplate, new MongoClientProperties());
+        reserver = combining
+                ? new CombiningCapacityReserver(eventWrites, Duration.ofMillis(windowMillis), new SimpleMeterRegistry())
+                : new DirectCapacityReserver(eventWrites);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Benchmark
+    public boolean hold() {
+        if (!reserver.reserve(eventId, 1)) {
+            throw new IllegalStateException("Benchmark event sold out");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package ticketReservation.soen345.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ticketReservation.soen345.domain.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout pricing: ticket price times quantity, converted to the provider's minor units.
+ * Compares the previous {@link BigDecimal} path with {@link Money}. Run with {@code -prof gc}
+ * to see allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"1", "4"})
+    private int quantity;
+
+    private BigDecimal decimalPrice;
+    private Money moneyPrice;
+
+    @Setup
+    public void setUp() {
+        decimalPrice = new BigDecimal("49.99");
+        moneyPrice = Money.of(decimalPrice, Money.DEFAULT_CURRENCY);
+    }
+
+    @Benchmark
+    public long bigDecimalTotal() {
+        return decimalPrice.multiply(BigDecimal.valueOf(quantity))
+                .multiply(HUNDRED)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    @Benchmark
+    public long moneyTotal() {
+        return moneyPrice.times(quantity).minorUnits();
+    }
+}
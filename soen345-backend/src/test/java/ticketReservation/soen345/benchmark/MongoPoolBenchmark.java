@@ -0,0 +1,106 @@
+package ticketReservation.soen345.benchmark;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import ticketReservation.soen345.config.MongoClientProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventStatus;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.monitoring.MongoConnectionPoolMetrics;
+import ticketReservation.soen345.repository.EventRepositoryCustomImpl;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-sale traffic against the connection pool: 64 threads each reading an event and holding a
+ * seat, with {@code app.mongodb.client.pool.max-size} below, near and above the thread count.
+ * Throughput flattens once the pool is the bottleneck; the {@code mongodb.pool.wait} timer
+ * printed at teardown shows how long checkouts queued.
+ * <p>
+ * {@code MONGODB_URI=mongodb://localhost:27017 mvn -Pbenchmark -DskipTests verify
+ * -Djmh.args=MongoPoolBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class MongoPoolBenchmark {
+
+    private static final String DATABASE = "soen345_benchmark";
+    private static final int EVENTS = 100;
+
+    @Param({"8", "32", "100"})
+    private int poolSize;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private EventRepositoryCustomImpl eventWrites;
+    private String[] eventIds;
+
+    @Setup
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(
+                        System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017")))
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(poolSize)
+                        .maxWaitTime(30, TimeUnit.SECONDS)
+                        .addConnectionPoolListener(new MongoConnectionPoolMetrics(meterRegistry)))
+                .build());
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.getDb().drop();
+
+        eventIds = new String[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            eventIds[i] = mongoTemplate.insert(Event.builder()
+                    .name("Benchmark " + i)
+                    .location("Hall")
+                    .date(Instant.now().plus(30, ChronoUnit.DAYS))
+                    .capacity(Integer.MAX_VALUE)
+                    .ticketPrice(Money.ofMinor(2500, Money.DEFAULT_CURRENCY))
+                    .status(EventStatus.ACTIVE)
+                    .build()).getId();
+        }
+        eventWrites = new EventRepositoryCustomImpl(mongoTemplate, new MongoClientProperties());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%npool %d: mongodb.pool.wait %s%n", poolSize,
+                meterRegistry.get("mongodb.pool.wait").timer().takeSnapshot());
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Benchmark
+    public boolean readAndHold() {
+        String eventId = eventIds[ThreadLocalRandom.current().nextInt(EVENTS)];
+        mongoTemplate.findById(eventId, Event.class);
+        return eventWrites.reserveCapacity(eventId, 1);
+    }
+}
@@ -0,0 +1,56 @@
+package ticketReservation.soen345.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ticketReservation.soen345.config.PasswordHashingProperties;
+import ticketReservation.soen345.security.PasswordEncoders;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks per second on a single thread, i.e. logins one core can verify, for each
+ * candidate hashing setting. Multiply by {@code app.auth.login.verifier-threads} to size the pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class PasswordHashBenchmark {
+
+    @Param({"bcrypt-8", "bcrypt-10", "bcrypt-12", "argon2"})
+    private String setting;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        if (setting.startsWith("bcrypt-")) {
+            properties.setBcryptStrength(Integer.parseInt(setting.substring("bcrypt-".length())));
+        } else {
+            properties.setAlgorithm(PasswordHashingProperties.Algorithm.ARGON2);
+        }
+        encoder = PasswordEncoders.create(properties);
+        hash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches("correct horse battery staple", hash);
+    }
+}
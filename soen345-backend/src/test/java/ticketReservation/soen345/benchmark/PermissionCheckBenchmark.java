@@ -0,0 +1,74 @@
+package ticketReservation.soen345.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ticketReservation.soen345.domain.Permission;
+import ticketReservation.soen345.domain.UserRole;
+import ticketReservation.soen345.security.AuthenticatedUser;
+import ticketReservation.soen345.security.PermissionAspect;
+import ticketReservation.soen345.security.RequiresPermission;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PermissionAspect#checkPermission} for a principal built by the JWT filter (bitmask)
+ * versus a plain authority-only authentication (role parsed from {@code ROLE_*} each call).
+ * Run with {@code -prof gc}; the bitmask path should show no allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PermissionCheckBenchmark {
+
+    @Param({"bitmask", "authorities"})
+    private String principal;
+
+    private final PermissionAspect aspect = new PermissionAspect();
+    private RequiresPermission requiresPermission;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        requiresPermission = PermissionCheckBenchmark.class
+                .getDeclaredMethod("annotated")
+                .getAnnotation(RequiresPermission.class);
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_ORGANIZER"));
+        Authentication authentication = "bitmask".equals(principal)
+                ? new UsernamePasswordAuthenticationToken(
+                        AuthenticatedUser.of("organizer-1", UserRole.ORGANIZER), null, authorities)
+                : new UsernamePasswordAuthenticationToken("organizer-1", null, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void checkPermission() {
+        aspect.checkPermission(requiresPermission);
+    }
+
+    @RequiresPermission(Permission.EDIT_EVENT)
+    private static void annotated() {
+    }
+}
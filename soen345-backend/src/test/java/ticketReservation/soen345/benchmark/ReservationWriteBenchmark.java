@@ -0,0 +1,122 @@
+package ticketReservation.soen345.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import ticketReservation.soen345.config.MongoClientProperties;
+import ticketReservation.soen345.config.ReservationProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventStatus;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.Reservation;
+import ticketReservation.soen345.domain.ReservationStatus;
+import ticketReservation.soen345.repository.EventRepositoryCustomImpl;
+import ticketReservation.soen345.service.BookingTransactions;
+import ticketReservation.soen345.service.impl.DirectBookingTransactions;
+import ticketReservation.soen345.service.impl.MongoBookingTransactions;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bookings per second for the checkout writes (seat hold plus reservation insert), applied one
+ * by one or in a multi-document transaction. With {@code events=1} every thread books the same
+ * event, which is where transactions hit write conflicts and retry.
+ * <p>
+ * Needs a MongoDB replica set, e.g. a single-node {@code --replSet rs0}:
+ * {@code MONGODB_URI=mongodb://localhost:27017/?replicaSet=rs0 mvn -Pbenchmark -DskipTests verify
+ * -Djmh.args=ReservationWriteBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ReservationWriteBenchmark {
+
+    private static final String DATABASE = "soen345_benchmark";
+
+    @Param({"false", "true"})
+    private boolean transactional;
+
+    @Param({"1", "100"})
+    private int events;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private EventRepositoryCustomImpl eventWrites;
+    private BookingTransactions bookingTransactions;
+    private String[] eventIds;
+
+    @Setup
+    public void setUp() {
+        client = MongoClients.create(System.getenv().getOrDefault(
+                "MONGODB_URI", "mongodb://localhost:27017/?replicaSet=rs0"));
+        MongoDatabaseFactory databaseFactory = new SimpleMongoClientDatabaseFactory(client, DATABASE);
+        mongoTemplate = new MongoTemplate(databaseFactory);
+        mongoTemplate.getDb().drop();
+        mongoTemplate.createCollection(Reservation.class);
+
+        eventIds = new String[events];
+        for (int i = 0; i < events; i++) {
+            eventIds[i] = mongoTemplate.insert(Event.builder()
+                    .name("Benchmark " + i)
+                    .location("Hall")
+                    .date(Instant.now().plus(30, ChronoUnit.DAYS))
+                    .capacity(Integer.MAX_VALUE)
+                    .ticketPrice(Money.ofMinor(2500, Money.DEFAULT_CURRENCY))
+                    .status(EventStatus.ACTIVE)
+                    .build()).getId();
+        }
+
+        eventWrites = new EventRepositoryCustomImpl(mongoTemplate, new MongoClientProperties());
+        bookingTransactions = transactional
+                ? new MongoBookingTransactions(
+                        new MongoTransactionManager(databaseFactory), new ReservationProperties(), new SimpleMeterRegistry())
+                : new DirectBookingTransactions();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Benchmark
+    public Reservation book() {
+        String eventId = eventIds[ThreadLocalRandom.current().nextInt(eventIds.length)];
+        return bookingTransactions.execute(() -> {
+            if (!eventWrites.reserveCapacity(eventId, 1)) {
+                throw new IllegalStateException("Benchmark event sold out");
+            }
+            return mongoTemplate.insert(Reservation.builder()
+                    .userId("benchmark")
+                    .eventId(eventId)
+                    .paymentId("benchmark")
+                    .quantity(1)
+                    .status(ReservationStatus.ACTIVE)
+                    .build());
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package ticketReservation.soen345.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("grows additively on fast calls and backs off multiplicatively on slow or overloaded ones")
+    void aimd() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 8, THRESHOLD, 0.5, 1);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire(0, 0, TimeUnit.NANOSECONDS)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(0, 0, TimeUnit.NANOSECONDS)).isFalse();
+
+        limiter.release(THRESHOLD / 2, false);
+        assertThat(limiter.limit()).isEqualTo(4);
+        limiter.release(THRESHOLD * 2, false);
+        assertThat(limiter.limit()).isEqualTo(2);
+        limiter.release(THRESHOLD / 2, true);
+        assertThat(limiter.limit()).isEqualTo(1);
+        limiter.release(THRESHOLD * 2, false);
+        assertThat(limiter.limit()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("does not grow while the window is not in use")
+    void noGrowthWhenIdle() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 8, THRESHOLD, 0.5, 1);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(0, 0, TimeUnit.NANOSECONDS);
+            limiter.release(1, false);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("admits a waiting higher-priority caller before an earlier lower-priority one")
+    void priority() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, THRESHOLD, 0.5, 2);
+        assertThat(limiter.tryAcquire(0, 0, TimeUnit.NANOSECONDS)).isTrue();
+        List<String> admitted = new CopyOnWriteArrayList<>();
+
+        Thread bulk = new Thread(() -> acquireAndRecord(limiter, 1, "bulk", admitted));
+        bulk.start();
+        awaitWaiting(limiter, 1);
+        Thread transactional = new Thread(() -> acquireAndRecord(limiter, 0, "transactional", admitted));
+        transactional.start();
+        awaitWaiting(limiter, 0);
+
+        limiter.release();
+        transactional.join(2000);
+        bulk.join(2000);
+
+        assertThat(admitted).containsExactly("transactional", "bulk");
+    }
+
+    @Test
+    @DisplayName("times out when no permit frees up")
+    void timeout() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, THRESHOLD, 0.5, 1);
+        limiter.tryAcquire(0, 0, TimeUnit.NANOSECONDS);
+
+        assertThat(limiter.tryAcquire(0, 10, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(limiter.waiting(0)).isZero();
+    }
+
+    @Test
+    @DisplayName("rejects inconsistent limits")
+    void invalidConfiguration() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(5, 1, 4, THRESHOLD, 0.5, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(1, 1, 4, THRESHOLD, 1.0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void acquireAndRecord(AdaptiveConcurrencyLimiter limiter, int priority, String name,
+                                         List<String> admitted) {
+        try {
+            if (limiter.tryAcquire(priority, 2, TimeUnit.SECONDS)) {
+                admitted.add(name);
+                limiter.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(AdaptiveConcurrencyLimiter limiter, int priority) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (limiter.waiting(priority) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
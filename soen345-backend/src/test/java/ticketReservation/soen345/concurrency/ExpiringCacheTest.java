@@ -0,0 +1,67 @@
+package ticketReservation.soen345.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    };
+
+    @Test
+    @DisplayName("entries expire after the time to live")
+    void expires() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(5), 10, clock);
+        cache.put("k", "v");
+
+        assertThat(cache.get("k")).contains("v");
+        now.set(now.get().plus(Duration.ofMinutes(5)));
+        assertThat(cache.get("k")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("a zero time to live disables caching")
+    void disabled() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ZERO, 10, clock);
+        cache.put("k", "v");
+
+        assertThat(cache.get("k")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("stays within the size bound")
+    void bounded() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(5), 2, clock);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(cache.get("c")).contains("3");
+    }
+}
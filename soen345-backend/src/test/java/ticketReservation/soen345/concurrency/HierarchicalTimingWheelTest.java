@@ -0,0 +1,71 @@
+package ticketReservation.soen345.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    @DisplayName("fires entries in the tick that contains their deadline, across overflow levels")
+    void firesOnTime() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(1000, 4, 0);
+        wheel.schedule("soon", 2_500, "soon");
+        wheel.schedule("later", 70_000, "later");
+
+        wheel.advanceTo(1_999, (key, value) -> fired.add(value));
+        assertThat(fired).isEmpty();
+        wheel.advanceTo(2_000, (key, value) -> fired.add(value));
+        assertThat(fired).containsExactly("soon");
+
+        wheel.advanceTo(68_999, (key, value) -> fired.add(value));
+        assertThat(fired).containsExactly("soon");
+        wheel.advanceTo(70_000, (key, value) -> fired.add(value));
+        assertThat(fired).containsExactly("soon", "later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("rescheduling a key replaces its deadline and cancelling removes it")
+    void rescheduleAndCancel() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(1000, 4, 0);
+        wheel.schedule("a", 50_000, "first");
+        wheel.schedule("a", 5_000, "second");
+        wheel.schedule("b", 6_000, "b");
+
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("missing")).isFalse();
+        wheel.advanceTo(60_000, (key, value) -> fired.add(value));
+
+        assertThat(fired).containsExactly("second");
+    }
+
+    @Test
+    @DisplayName("a deadline already in the past fires on the next advance")
+    void pastDeadline() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(1000, 4, 10_000);
+        wheel.schedule("late", 1_000, "late");
+
+        assertThat(wheel.contains("late")).isTrue();
+        wheel.advanceTo(10_000, (key, value) -> fired.add(value));
+
+        assertThat(fired).containsExactly("late");
+        assertThat(wheel.contains("late")).isFalse();
+    }
+
+    @Test
+    @DisplayName("rejects a degenerate wheel")
+    void invalidConfiguration() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(0, 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(1000, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
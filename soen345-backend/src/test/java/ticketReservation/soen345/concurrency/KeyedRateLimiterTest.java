@@ -0,0 +1,88 @@
+package ticketReservation.soen345.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyedRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName("allows a burst, then refills over the window")
+    void burstAndRefill() {
+        KeyedRateLimiter<String> limiter = new KeyedRateLimiter<>(3, Duration.ofSeconds(30), 100, nanos::get);
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+        assertThat(limiter.tryAcquire("b")).isTrue();
+        assertThat(limiter.retryAfter("a")).isEqualTo(Duration.ofSeconds(10));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("drops refilled buckets once the key bound is reached")
+    void boundedKeys() {
+        KeyedRateLimiter<String> limiter = new KeyedRateLimiter<>(1, Duration.ofSeconds(1), 2, nanos::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("c");
+
+        assertThat(limiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("denies new keys while the map is full of buckets that are still throttling")
+    void hardKeyBound() {
+        KeyedRateLimiter<String> limiter = new KeyedRateLimiter<>(1, Duration.ofSeconds(10), 2, nanos::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertThat(limiter.tryAcquire("c")).isFalse();
+        assertThat(limiter.trackedKeys()).isEqualTo(2);
+        assertThat(limiter.retryAfter("c")).isEqualTo(Duration.ofSeconds(10));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire("c")).isTrue();
+        assertThat(limiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a refunded token can be taken again")
+    void refund() {
+        KeyedRateLimiter<String> limiter = new KeyedRateLimiter<>(1, Duration.ofSeconds(30), 100, nanos::get);
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        limiter.refund("a");
+        limiter.refund("a");
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("token bucket rejects bad configuration and reports full state")
+    void tokenBucket() {
+        TokenBucket bucket = new TokenBucket(2, 1, nanos::get);
+
+        assertThat(bucket.isFull()).isTrue();
+        assertThat(bucket.tryConsume(2)).isTrue();
+        assertThat(bucket.nanosUntilAvailable()).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(new TokenBucket(1, 0, nanos::get).tryConsume()).isTrue();
+        assertThatThrownBy(() -> new TokenBucket(0, 1, nanos::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
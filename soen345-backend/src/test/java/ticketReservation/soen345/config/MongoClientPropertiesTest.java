@@ -0,0 +1,40 @@
+package ticketReservation.soen345.config;
+
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoClientPropertiesTest {
+
+    @Test
+    @DisplayName("lag-tolerant reads prefer secondaries within the max staleness")
+    void secondaryPreferred() {
+        MongoClientProperties.SecondaryReads reads = new MongoClientProperties().getSecondaryReads();
+        reads.setMaxStaleness(Duration.ofMinutes(2));
+
+        assertThat(reads.readPreference()).isEqualTo(ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("max staleness below the driver minimum is raised to 90 seconds")
+    void stalenessFloor() {
+        MongoClientProperties.SecondaryReads reads = new MongoClientProperties().getSecondaryReads();
+        reads.setMaxStaleness(Duration.ofSeconds(5));
+
+        assertThat(reads.readPreference()).isEqualTo(ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("disabled secondary reads stay on the primary")
+    void disabled() {
+        MongoClientProperties.SecondaryReads reads = new MongoClientProperties().getSecondaryReads();
+        reads.setEnabled(false);
+
+        assertThat(reads.readPreference()).isEqualTo(ReadPreference.primary());
+    }
+}
@@ -0,0 +1,34 @@
+package ticketReservation.soen345.config;
+
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.domain.Money;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoConversionsConfigTest {
+
+    @Test
+    @DisplayName("legacy decimal amounts are read as USD money")
+    void legacyAmounts() {
+        assertThat(MongoConversionsConfig.LegacyStringToMoneyConverter.INSTANCE.convert("49.99"))
+                .isEqualTo(Money.ofMinor(4999, "usd"));
+        assertThat(MongoConversionsConfig.LegacyDecimal128ToMoneyConverter.INSTANCE
+                .convert(new Decimal128(new BigDecimal("10"))))
+                .isEqualTo(Money.ofMinor(1000, "usd"));
+        assertThat(new MongoConversionsConfig().mongoCustomConversions()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("legacy amounts with sub-cent digits are rounded half up instead of failing")
+    void legacyAmountsWithExtraDecimals() {
+        assertThat(MongoConversionsConfig.LegacyStringToMoneyConverter.INSTANCE.convert("19.995"))
+                .isEqualTo(Money.ofMinor(2000, "usd"));
+        assertThat(MongoConversionsConfig.LegacyDecimal128ToMoneyConverter.INSTANCE
+                .convert(new Decimal128(new BigDecimal("12.3449"))))
+                .isEqualTo(Money.ofMinor(1234, "usd"));
+    }
+}
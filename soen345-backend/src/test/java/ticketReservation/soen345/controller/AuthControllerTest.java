@@ -14,18 +14,26 @@ import ticketReservation.soen345.config.SecurityConfig;
 import ticketReservation.soen345.domain.UserRole;
 import ticketReservation.soen345.domain.UserStatus;
 import ticketReservation.soen345.dto.request.LoginRequest;
+import ticketReservation.soen345.dto.request.LogoutRequest;
+import ticketReservation.soen345.dto.request.RefreshTokenRequest;
 import ticketReservation.soen345.dto.request.RegisterRequest;
 import ticketReservation.soen345.dto.response.LoginResponse;
 import ticketReservation.soen345.dto.response.RegisterResponse;
 import ticketReservation.soen345.exception.DuplicateResourceException;
 import ticketReservation.soen345.exception.InvalidCredentialsException;
+import ticketReservation.soen345.exception.TooManyRequestsException;
 import ticketReservation.soen345.security.JwtService;
 import ticketReservation.soen345.service.AuthService;
+import ticketReservation.soen345.service.TokenRevocationService;
 import ticketReservation.soen345.service.UserService;
 
+import java.time.Duration;
 import java.time.Instant;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +57,9 @@ class AuthControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     // ================================================================
     // Registration Tests
     // ================================================================
@@ -268,7 +279,7 @@ class AuthControllerTest {
                             .build())
                     .build();
 
-            when(authService.login(any(LoginRequest.class))).thenReturn(response);
+            when(authService.login(any(LoginRequest.class), any())).thenReturn(response);
 
             mockMvc.perform(post(LOGIN_URL)
                             .contentType(MediaType.APPLICATION_JSON)
@@ -306,7 +317,7 @@ class AuthControllerTest {
                             .build())
                     .build();
 
-            when(authService.login(any(LoginRequest.class))).thenReturn(response);
+            when(authService.login(any(LoginRequest.class), any())).thenReturn(response);
 
             mockMvc.perform(post(LOGIN_URL)
                             .contentType(MediaType.APPLICATION_JSON)
@@ -326,7 +337,7 @@ class AuthControllerTest {
                     .password("WrongPassword123")
                     .build();
 
-            when(authService.login(any(LoginRequest.class)))
+            when(authService.login(any(LoginRequest.class), any()))
                     .thenThrow(new InvalidCredentialsException());
 
             mockMvc.perform(post(LOGIN_URL)
@@ -338,6 +349,25 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.message").value("Invalid credentials"));
         }
 
+        @Test
+        @DisplayName("Should return 429 with Retry-After when login is throttled")
+        void login_Throttled_Returns429() throws Exception {
+            LoginRequest request = LoginRequest.builder()
+                    .identifier("john.doe@example.com")
+                    .password("Password123")
+                    .build();
+
+            when(authService.login(any(LoginRequest.class), any()))
+                    .thenThrow(new TooManyRequestsException("Too many login attempts.", Duration.ofSeconds(12)));
+
+            mockMvc.perform(post(LOGIN_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "12"))
+                    .andExpect(jsonPath("$.status").value(429));
+        }
+
         @Test
         @DisplayName("TC4: Should return 401 for unknown identifier")
         void login_UnknownIdentifier_Returns401() throws Exception {
@@ -346,7 +376,7 @@ class AuthControllerTest {
                     .password("Password123")
                     .build();
 
-            when(authService.login(any(LoginRequest.class)))
+            when(authService.login(any(LoginRequest.class), any()))
                     .thenThrow(new InvalidCredentialsException());
 
             mockMvc.perform(post(LOGIN_URL)
@@ -371,4 +401,77 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.fieldErrors.length()").value(2));
         }
     }
+
+    // ================================================================
+    // Refresh Tests
+    // ================================================================
+
+    @Nested
+    @DisplayName("POST /api/v1/auth/refresh")
+    class RefreshTests {
+
+        private static final String REFRESH_URL = "/api/v1/auth/refresh";
+
+        @Test
+        @DisplayName("Should return new tokens for a valid refresh token")
+        void refresh_Success() throws Exception {
+            LoginResponse response = LoginResponse.builder()
+                    .tokenType("Bearer")
+                    .accessToken("new-access")
+                    .expiresIn(900)
+                    .refreshToken("next-refresh")
+                    .refreshExpiresIn(1209600)
+                    .build();
+            when(authService.refresh(any(RefreshTokenRequest.class))).thenReturn(response);
+
+            mockMvc.perform(post(REFRESH_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new RefreshTokenRequest("old-refresh"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accessToken").value("new-access"))
+                    .andExpect(jsonPath("$.refreshToken").value("next-refresh"));
+        }
+
+        @Test
+        @DisplayName("Should return 401 for an unknown or reused refresh token")
+        void refresh_Invalid_Returns401() throws Exception {
+            when(authService.refresh(any(RefreshTokenRequest.class)))
+                    .thenThrow(new InvalidCredentialsException("Invalid refresh token"));
+
+            mockMvc.perform(post(REFRESH_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new RefreshTokenRequest("stale"))))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(jsonPath("$.message").value("Invalid refresh token"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the refresh token is missing")
+        void refresh_Missing_Returns400() throws Exception {
+            mockMvc.perform(post(REFRESH_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    // ================================================================
+    // Logout Tests
+    // ================================================================
+
+    @Nested
+    @DisplayName("POST /api/v1/auth/logout")
+    class LogoutTests {
+
+        @Test
+        @DisplayName("Should return 204 and pass the refresh token to the service")
+        void logout_NoContent() throws Exception {
+            mockMvc.perform(post("/api/v1/auth/logout")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new LogoutRequest("refresh-1"))))
+                    .andExpect(status().isNoContent());
+
+            verify(authService).logout(isNull(), eq(new LogoutRequest("refresh-1")));
+        }
+    }
 }
@@ -20,6 +20,7 @@ import ticketReservation.soen345.exception.ResourceNotFoundException;
 import ticketReservation.soen345.security.JwtService;
 import ticketReservation.soen345.security.PermissionAspect;
 import ticketReservation.soen345.service.EventService;
+import ticketReservation.soen345.service.TokenRevocationService;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -49,6 +50,9 @@ class EventControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     private static final String BASE_URL = "/api/v1/events";
     private static final String EVENT_ID = "event123";
     private static final Instant FUTURE_DATE = Instant.now().plus(7, ChronoUnit.DAYS);
@@ -138,6 +142,20 @@ class EventControllerTest {
                     .andExpect(jsonPath("$.fieldErrors[?(@.field=='name')]").exists());
         }
 
+        @Test
+        @DisplayName("Should return 400 when ticket price has sub-cent precision")
+        @WithMockUser(roles = "ADMIN")
+        void createEvent_SubCentPrice_Returns400() throws Exception {
+            CreateEventRequest request = buildCreateRequest();
+            request.setTicketPrice(new BigDecimal("19.999"));
+
+            mockMvc.perform(post(BASE_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors[?(@.field=='ticketPrice')]").exists());
+        }
+
         @Test
         @DisplayName("Should return 400 when capacity is less than 1")
         @WithMockUser(roles = "ADMIN")
@@ -9,12 +9,24 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ticketReservation.soen345.config.SecurityConfig;
+import ticketReservation.soen345.dto.response.OrganizerBalanceResponse;
 import ticketReservation.soen345.dto.response.PaymentSetupIntentResponse;
+import ticketReservation.soen345.dto.response.PayoutLedgerVerificationResponse;
 import ticketReservation.soen345.security.JwtService;
 import ticketReservation.soen345.security.PermissionAspect;
+import ticketReservation.soen345.exception.InvalidWebhookSignatureException;
 import ticketReservation.soen345.service.PaymentProfileService;
+import ticketReservation.soen345.service.PaymentWebhookService;
+import ticketReservation.soen345.service.PayoutLedgerService;
+import ticketReservation.soen345.service.TokenRevocationService;
 
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -29,7 +41,13 @@ class PaymentControllerTest {
     @MockitoBean
     private PaymentProfileService paymentProfileService;
     @MockitoBean
+    private PaymentWebhookService paymentWebhookService;
+    @MockitoBean
+    private PayoutLedgerService payoutLedgerService;
+    @MockitoBean
     private JwtService jwtService;
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
 
     @Test
     @DisplayName("POST /api/v1/payments/setup-intent")
@@ -46,4 +64,70 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.clientSecret").value("sec"))
                 .andExpect(jsonPath("$.customerId").value("cus_1"));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/payments/webhook is accepted without authentication")
+    void webhook() throws Exception {
+        mockMvc.perform(post("/api/v1/payments/webhook")
+                        .header("Stripe-Signature", "t=1,v1=abc")
+                        .content("{\"id\":\"evt_1\"}"))
+                .andExpect(status().isOk());
+
+        verify(paymentWebhookService).receive("{\"id\":\"evt_1\"}", "t=1,v1=abc");
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/payments/webhook returns 400 for a bad signature")
+    void webhookBadSignature() throws Exception {
+        doThrow(new InvalidWebhookSignatureException("Invalid Stripe webhook signature."))
+                .when(paymentWebhookService).receive("{}", "bad");
+
+        mockMvc.perform(post("/api/v1/payments/webhook")
+                        .header("Stripe-Signature", "bad")
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/payments/payouts/balance returns the organizer's balances")
+    @WithMockUser(username = "org-1", roles = "ORGANIZER")
+    void payoutBalance() throws Exception {
+        when(payoutLedgerService.getBalances("org-1")).thenReturn(List.of(OrganizerBalanceResponse.builder()
+                .currency("usd")
+                .credited(new BigDecimal("50.00"))
+                .refunded(new BigDecimal("10.00"))
+                .net(new BigDecimal("40.00"))
+                .entryCount(3)
+                .build()));
+
+        mockMvc.perform(get("/api/v1/payments/payouts/balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currency").value("usd"))
+                .andExpect(jsonPath("$[0].net").value(40.00));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/payments/payouts/balance is forbidden for customers")
+    @WithMockUser(username = "cust-1", roles = "CUSTOMER")
+    void payoutBalance_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/payments/payouts/balance"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/payments/payouts/{organizerId}/rebuild defaults to a dry run")
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void rebuildPayouts() throws Exception {
+        when(payoutLedgerService.rebuild("org-1", true)).thenReturn(PayoutLedgerVerificationResponse.builder()
+                .organizerId("org-1")
+                .dryRun(true)
+                .consistent(true)
+                .storedBalances(List.of())
+                .recomputedBalances(List.of())
+                .build());
+
+        mockMvc.perform(post("/api/v1/payments/payouts/org-1/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(true));
+    }
 }
@@ -17,6 +17,7 @@ import ticketReservation.soen345.dto.response.ReservationResponse;
 import ticketReservation.soen345.security.JwtService;
 import ticketReservation.soen345.security.PermissionAspect;
 import ticketReservation.soen345.service.ReservationService;
+import ticketReservation.soen345.service.TokenRevocationService;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -44,6 +45,8 @@ class ReservationControllerTest {
     private ReservationService reservationService;
     @MockitoBean
     private JwtService jwtService;
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
 
     @Test
     @DisplayName("GET /api/v1/reservations lists for current user")
@@ -21,6 +21,7 @@ import ticketReservation.soen345.dto.response.RegisterResponse;
 import ticketReservation.soen345.dto.response.UserResponse;
 import ticketReservation.soen345.security.JwtService;
 import ticketReservation.soen345.security.PermissionAspect;
+import ticketReservation.soen345.service.TokenRevocationService;
 import ticketReservation.soen345.service.UserService;
 
 import java.time.Instant;
@@ -47,6 +48,8 @@ class UserControllerTest {
     private UserService userService;
     @MockitoBean
     private JwtService jwtService;
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
 
     @Test
     @DisplayName("GET /api/v1/users/{id} returns user")
@@ -161,4 +164,28 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.role").value("ADMIN"));
     }
+
+    @Test
+    @DisplayName("PATCH /api/v1/users/{id}/status lets an admin suspend a user")
+    @WithMockUser(roles = "ADMIN")
+    void updateUserStatus() throws Exception {
+        UserResponse res = UserResponse.builder().id("u1").status(UserStatus.SUSPENDED).build();
+        when(userService.updateUserStatus("u1", UserStatus.SUSPENDED)).thenReturn(res);
+
+        mockMvc.perform(patch("/api/v1/users/u1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SUSPENDED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUSPENDED"));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/users/{id}/status is forbidden without MANAGE_USERS")
+    @WithMockUser(roles = "ORGANIZER")
+    void updateUserStatusForbidden() throws Exception {
+        mockMvc.perform(patch("/api/v1/users/u1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SUSPENDED\"}"))
+                .andExpect(status().isForbidden());
+    }
 }
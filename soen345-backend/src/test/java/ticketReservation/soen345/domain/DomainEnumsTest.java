@@ -13,6 +13,21 @@ class DomainEnumsTest {
         assertThat(UserRole.ADMIN.hasPermission(Permission.CREATE_EVENT)).isTrue();
         assertThat(UserRole.ORGANIZER.hasPermission(Permission.EDIT_EVENT)).isTrue();
         assertThat(UserRole.CUSTOMER.hasPermission(Permission.CANCEL_TICKET)).isTrue();
+        assertThat(UserRole.ORGANIZER.hasPermission(Permission.VIEW_PAYOUTS)).isTrue();
+        assertThat(UserRole.ORGANIZER.hasPermission(Permission.MANAGE_PAYOUTS)).isFalse();
+    }
+
+    @Test
+    @DisplayName("UserRole permission mask matches its permission set")
+    void userRolePermissionMask() {
+        for (UserRole role : UserRole.values()) {
+            for (Permission permission : Permission.values()) {
+                assertThat((role.getPermissionMask() & permission.mask()) != 0)
+                        .as("%s / %s", role, permission)
+                        .isEqualTo(role.getPermissions().contains(permission));
+            }
+        }
+        assertThat(Long.bitCount(UserRole.ADMIN.getPermissionMask())).isEqualTo(Permission.values().length);
     }
 
     @Test
@@ -27,4 +42,15 @@ class DomainEnumsTest {
         assertThat(UserStatus.valueOf("ACTIVE")).isEqualTo(UserStatus.ACTIVE);
         assertThat(NotificationChannel.valueOf("EMAIL")).isEqualTo(NotificationChannel.EMAIL);
     }
+
+    @Test
+    @DisplayName("PaymentStatus only allows forward transitions")
+    void paymentStatusTransitions() {
+        assertThat(PaymentStatus.PENDING.canTransitionTo(PaymentStatus.CONFIRMED)).isTrue();
+        assertThat(PaymentStatus.FAILED.canTransitionTo(PaymentStatus.CONFIRMED)).isTrue();
+        assertThat(PaymentStatus.CONFIRMED.canTransitionTo(PaymentStatus.REFUNDED)).isTrue();
+        assertThat(PaymentStatus.CONFIRMED.canTransitionTo(PaymentStatus.FAILED)).isFalse();
+        assertThat(PaymentStatus.REFUNDED.canTransitionTo(PaymentStatus.CONFIRMED)).isFalse();
+        assertThat(PaymentStatus.CONFIRMED.canTransitionTo(PaymentStatus.PENDING)).isFalse();
+    }
 }
@@ -0,0 +1,44 @@
+package ticketReservation.soen345.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("converts decimals to minor units exactly and back")
+    void roundTrip() {
+        Money money = Money.of(new BigDecimal("25.5"), "USD");
+
+        assertThat(money.minorUnits()).isEqualTo(2550);
+        assertThat(money.currency()).isEqualTo("usd");
+        assertThat(money.toBigDecimal()).isEqualByComparingTo("25.50");
+        assertThat(Money.of(new BigDecimal("500"), "jpy").minorUnits()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("rejects amounts finer than the currency allows")
+    void rejectsSubMinorUnits() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.005"), "usd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("arithmetic stays in minor units and checks currency")
+    void arithmetic() {
+        Money price = Money.ofMinor(1999, "usd");
+
+        assertThat(price.times(3)).isEqualTo(Money.ofMinor(5997, "usd"));
+        assertThat(price.plus(Money.ofMinor(1, "usd")).minus(Money.ofMinor(2000, "usd")).minorUnits()).isZero();
+        assertThat(Money.zero("usd").minus(price).isNegative()).isTrue();
+        assertThatThrownBy(() -> price.plus(Money.ofMinor(1, "eur")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE, "usd").times(2))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.security.access.AccessDeniedException;
@@ -61,6 +62,11 @@ class GlobalExceptionHandlerTest {
             throw new DuplicateKeyException("dup");
         }
 
+        @GetMapping("/test/stale")
+        void stale() {
+            throw new OptimisticLockingFailureException("Event was changed by someone else");
+        }
+
         @GetMapping("/test/boom")
         void boom() {
             throw new RuntimeException("hidden");
@@ -136,6 +142,14 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.message").value("Email or phone already exists."));
     }
 
+    @Test
+    @DisplayName("OptimisticLockingFailureException -> 409")
+    void optimisticLock() throws Exception {
+        mvc().perform(get("/test/stale"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Event was changed by someone else"));
+    }
+
     @Test
     @DisplayName("generic Exception -> 500")
     void generic() throws Exception {
@@ -0,0 +1,129 @@
+package ticketReservation.soen345.monitoring;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.config.MongoQueryProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoCommandMonitorTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoCommandMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        MongoQueryProperties properties = new MongoQueryProperties();
+        properties.setSlowThreshold(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new MongoCommandMonitor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MongoRequestQueries.close();
+    }
+
+    @Test
+    @DisplayName("times each command by name and collection and counts returned documents")
+    void recordsCommand() {
+        BsonDocument reply = new BsonDocument("cursor", new BsonDocument("firstBatch",
+                new BsonArray(List.of(new BsonDocument(), new BsonDocument(), new BsonDocument()))))
+                .append("ok", new BsonInt32(1));
+
+        run(1, "find", new BsonDocument("find", new BsonString("events")), reply, 2);
+
+        assertThat(meterRegistry.get("mongodb.command.duration")
+                .tags("command", "find", "collection", "events", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mongodb.command.documents")
+                .tags("command", "find", "collection", "events")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.find("mongodb.command.slow").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("counts commands over the slow threshold")
+    void slowCommand() {
+        run(2, "update", new BsonDocument("update", new BsonString("reservations")),
+                new BsonDocument("n", new BsonInt32(4)), 120);
+
+        assertThat(meterRegistry.get("mongodb.command.slow")
+                .tags("command", "update", "collection", "reservations")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mongodb.command.documents").summary().totalAmount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("records failed commands with a failure outcome")
+    void failedCommand() {
+        monitor.commandStarted(new CommandStartedEvent(null, 1, 3, CONNECTION, "db", "insert",
+                new BsonDocument("insert", new BsonString("users"))));
+        monitor.commandFailed(new CommandFailedEvent(null, 1, 3, CONNECTION, "db", "insert",
+                TimeUnit.MILLISECONDS.toNanos(1), new IllegalStateException("duplicate key")));
+
+        assertThat(meterRegistry.get("mongodb.command.duration")
+                .tags("command", "insert", "collection", "users", "outcome", "failure")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("adds commands to the request open on the current thread")
+    void attributesToRequest() {
+        MongoRequestQueries queries = MongoRequestQueries.open("GET /api/reservations/me");
+        BsonDocument found = new BsonDocument("cursor", new BsonDocument("firstBatch", new BsonArray()));
+
+        run(4, "find", new BsonDocument("find", new BsonString("reservations")), found, 1);
+        run(5, "find", new BsonDocument("find", new BsonString("events")), found, 1);
+        run(6, "find", new BsonDocument("find", new BsonString("events")), found, 1);
+
+        assertThat(queries.count()).isEqualTo(3);
+        assertThat(queries.breakdown()).isEqualTo("find events x2, find reservations x1");
+    }
+
+    @Test
+    @DisplayName("reads the collection and document count for each command shape")
+    void commandShapes() {
+        assertThat(MongoCommandMonitor.collection("getMore",
+                new BsonDocument("getMore", new BsonInt64(7)).append("collection", new BsonString("events"))))
+                .isEqualTo("events");
+        assertThat(MongoCommandMonitor.collection("aggregate", new BsonDocument("aggregate", new BsonInt32(1))))
+                .isEqualTo(MongoCommandMonitor.NO_COLLECTION);
+        assertThat(MongoCommandMonitor.documentCount("getMore", new BsonDocument("cursor",
+                new BsonDocument("nextBatch", new BsonArray(List.of(new BsonDocument()))))))
+                .isEqualTo(1);
+        assertThat(MongoCommandMonitor.documentCount("findAndModify",
+                new BsonDocument("value", new BsonDocument("_id", new BsonString("e1"))))).isEqualTo(1);
+        assertThat(MongoCommandMonitor.documentCount("findAndModify",
+                new BsonDocument("value", BsonNull.VALUE))).isZero();
+    }
+
+    private void run(int requestId, String name, BsonDocument command, BsonDocument reply, long millis) {
+        monitor.commandStarted(new CommandStartedEvent(null, 1, requestId, CONNECTION, "db", name, command));
+        monitor.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "db", name, reply,
+                TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+}
@@ -0,0 +1,89 @@
+package ticketReservation.soen345.monitoring;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoConnectionPoolMetricsTest {
+
+    private static final ServerId SERVER = new ServerId(new ClusterId(), new ServerAddress("db1", 27017));
+    private static final String SERVER_TAG = "db1:27017";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoConnectionPoolMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new MongoConnectionPoolMetrics(meterRegistry);
+        metrics.connectionPoolCreated(new ConnectionPoolCreatedEvent(
+                SERVER, ConnectionPoolSettings.builder().maxSize(10).build()));
+    }
+
+    @Test
+    @DisplayName("tracks waiting and checked-out connections and how long checkouts queued")
+    void checkoutLifecycle() {
+        ConnectionId connection = new ConnectionId(SERVER);
+        metrics.connectionCreated(new ConnectionCreatedEvent(connection));
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER, 1));
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER, 2));
+
+        assertThat(gauge("mongodb.pool.waiting")).isEqualTo(2);
+
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(connection, 1, TimeUnit.MILLISECONDS.toNanos(40)));
+
+        assertThat(gauge("mongodb.pool.waiting")).isEqualTo(1);
+        assertThat(gauge("mongodb.pool.checkedout")).isEqualTo(1);
+        assertThat(gauge("mongodb.pool.size")).isEqualTo(1);
+        assertThat(gauge("mongodb.pool.max")).isEqualTo(10);
+        assertThat(meterRegistry.get("mongodb.pool.wait").tag("server", SERVER_TAG).timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+
+        metrics.connectionCheckedIn(new ConnectionCheckedInEvent(connection, 1));
+
+        assertThat(gauge("mongodb.pool.checkedout")).isZero();
+    }
+
+    @Test
+    @DisplayName("counts checkouts that gave up waiting by reason")
+    void checkoutTimeout() {
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER, 1));
+        metrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(
+                SERVER, 1, ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.SECONDS.toNanos(2)));
+
+        assertThat(gauge("mongodb.pool.waiting")).isZero();
+        assertThat(meterRegistry.get("mongodb.pool.checkout.failed")
+                .tags("server", SERVER_TAG, "reason", "timeout")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("removes a server's meters when its pool closes")
+    void poolClosed() {
+        metrics.connectionPoolClosed(new ConnectionPoolClosedEvent(SERVER));
+
+        assertThat(meterRegistry.find("mongodb.pool.waiting").gauge()).isNull();
+        assertThat(meterRegistry.find("mongodb.pool.wait").timer()).isNull();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("server", SERVER_TAG).gauge().value();
+    }
+}
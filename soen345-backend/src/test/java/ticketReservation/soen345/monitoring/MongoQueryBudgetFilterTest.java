@@ -0,0 +1,67 @@
+package ticketReservation.soen345.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import ticketReservation.soen345.config.MongoQueryProperties;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoQueryBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoQueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MongoQueryProperties properties = new MongoQueryProperties();
+        properties.setRequestBudget(2);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new MongoQueryBudgetFilter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("records commands per request under the matched route and flags requests over budget")
+    void overBudget() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/e1");
+
+        filter.doFilterInternal(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/events/{id}");
+            for (int i = 0; i < 3; i++) {
+                MongoRequestQueries.current().record("find", "events", 1_000);
+            }
+        });
+
+        assertThat(meterRegistry.get("mongodb.request.commands")
+                .tags("method", "GET", "uri", "/api/events/{id}")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("mongodb.request.budget.exceeded")
+                .tags("uri", "/api/events/{id}")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("stays quiet within budget and clears the request when it ends")
+    void withinBudget() throws Exception {
+        AtomicReference<MongoRequestQueries> during = new AtomicReference<>();
+
+        filter.doFilterInternal(new MockHttpServletRequest("GET", "/api/events"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    during.set(MongoRequestQueries.current());
+                    MongoRequestQueries.current().record("find", "events", 1_000);
+                });
+
+        assertThat(during.get().request()).isEqualTo("GET /api/events");
+        assertThat(MongoRequestQueries.current()).isNull();
+        assertThat(meterRegistry.get("mongodb.request.commands")
+                .tags("uri", MongoQueryBudgetFilter.UNMATCHED)
+                .summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("mongodb.request.budget.exceeded").counter()).isNull();
+    }
+}
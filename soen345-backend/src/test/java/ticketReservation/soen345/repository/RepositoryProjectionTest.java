@@ -0,0 +1,84 @@
+package ticketReservation.soen345.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.repository.Query;
+import ticketReservation.soen345.domain.EventSnapshot;
+import ticketReservation.soen345.domain.OrganizerProfile;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryProjectionTest {
+
+    private static Set<String> fetchedFields(Method method) {
+        return Document.parse(method.getAnnotation(Query.class).fields()).keySet();
+    }
+
+    private static Set<String> fetchedFields(Class<?> repository, String method, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        return fetchedFields(repository.getMethod(method, parameterTypes));
+    }
+
+    private static Set<String> components(Class<? extends Record> type) {
+        return Arrays.stream(type.getRecordComponents())
+                .map(RecordComponent::getName)
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("organizer profiles fetch the name, email and payout account only")
+    void organizerProfile() throws Exception {
+        Set<String> expected = Set.of("firstName", "lastName", "email", "paymentInfo.payoutAccountId");
+
+        assertThat(fetchedFields(UserRepository.class, "findOrganizerProfileById", String.class))
+                .isEqualTo(expected);
+        assertThat(fetchedFields(UserRepository.class, "findOrganizerProfilesByIdIn", Collection.class))
+                .isEqualTo(expected);
+        assertThat(components(OrganizerProfile.class))
+                .containsExactlyInAnyOrder("id", "firstName", "lastName", "email", "paymentInfo");
+    }
+
+    @Test
+    @DisplayName("booking profiles fetch payment ids and contact details but no credentials")
+    void bookingProfile() throws Exception {
+        assertThat(fetchedFields(UserRepository.class, "findBookingProfileById", String.class))
+                .containsExactlyInAnyOrder("firstName", "lastName", "email", "phone", "preferredNotificationChannel",
+                        "paymentInfo.customerId", "paymentInfo.defaultPaymentMethodId", "paymentInfo.payoutAccountId");
+    }
+
+    @Test
+    @DisplayName("session profiles fetch the token claims and returned user info")
+    void sessionProfile() throws Exception {
+        assertThat(fetchedFields(UserRepository.class, "findSessionProfileById", String.class))
+                .containsExactlyInAnyOrder("firstName", "lastName", "email", "phone", "role", "status");
+    }
+
+    @Test
+    @DisplayName("no user projection fetches the password hash or the whole payment info")
+    void noCredentials() {
+        Arrays.stream(UserRepository.class.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(Query.class))
+                .forEach(method -> assertThat(fetchedFields(method))
+                        .as(method.getName())
+                        .doesNotContain("passwordHash", "paymentInfo"));
+    }
+
+    @Test
+    @DisplayName("event snapshots fetch exactly the snapshot fields, leaving the version stamp unset")
+    void eventSnapshot() throws Exception {
+        Set<String> expected = components(EventSnapshot.class).stream()
+                .filter(component -> !component.equals("eventVersion"))
+                .collect(Collectors.toSet());
+
+        assertThat(fetchedFields(EventRepository.class, "findSnapshotById", String.class))
+                .isEqualTo(expected);
+    }
+}
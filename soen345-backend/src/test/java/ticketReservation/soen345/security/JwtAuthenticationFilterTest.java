@@ -1,5 +1,8 @@
 package ticketReservation.soen345.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +15,12 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import ticketReservation.soen345.domain.UserRole;
+import ticketReservation.soen345.service.TokenRevocationService;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,16 +32,21 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class JwtAuthenticationFilterTest {
 
+    private static final Instant ISSUED_AT = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private static final Instant EXPIRES_AT = ISSUED_AT.plusSeconds(3600);
+
     @Mock
     private JwtService jwtService;
     @Mock
+    private TokenRevocationService tokenRevocationService;
+    @Mock
     private FilterChain filterChain;
 
     private JwtAuthenticationFilter filter;
 
     @BeforeEach
     void setUp() {
-        filter = new JwtAuthenticationFilter(jwtService);
+        filter = new JwtAuthenticationFilter(jwtService, tokenRevocationService);
         SecurityContextHolder.clearContext();
     }
 
@@ -42,13 +55,23 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.clearContext();
     }
 
+    private static Claims claims(String role) {
+        return Jwts.claims()
+                .id("jti-1")
+                .subject("uid")
+                .add("role", role)
+                .issuedAt(Date.from(ISSUED_AT))
+                .expiration(Date.from(EXPIRES_AT))
+                .build();
+    }
+
     @Test
     @DisplayName("continues chain when Authorization header missing")
     void noHeader() throws Exception {
         MockHttpServletRequest request = new MockHttpServletRequest();
         MockHttpServletResponse response = new MockHttpServletResponse();
         filter.doFilterInternal(request, response, filterChain);
-        verify(jwtService, never()).isTokenValid(any());
+        verify(jwtService, never()).parseToken(any());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -61,7 +84,7 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtService, never()).isTokenValid(any());
+        verify(jwtService, never()).parseToken(any());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -71,7 +94,7 @@ class JwtAuthenticationFilterTest {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader("Authorization", "Bearer bad");
         MockHttpServletResponse response = new MockHttpServletResponse();
-        when(jwtService.isTokenValid("bad")).thenReturn(false);
+        when(jwtService.parseToken("bad")).thenThrow(new MalformedJwtException("bad"));
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -85,15 +108,46 @@ class JwtAuthenticationFilterTest {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader("Authorization", "Bearer good");
         MockHttpServletResponse response = new MockHttpServletResponse();
-        when(jwtService.isTokenValid("good")).thenReturn(true);
-        when(jwtService.extractUserId("good")).thenReturn("uid");
-        when(jwtService.extractRole("good")).thenReturn("CUSTOMER");
+        when(jwtService.parseToken("good")).thenReturn(claims("CUSTOMER"));
 
         filter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("uid");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isEqualTo(AuthenticatedUser.of("uid", UserRole.CUSTOMER, "jti-1", EXPIRES_AT));
+        verify(tokenRevocationService).isRevoked("jti-1", "uid", ISSUED_AT);
+    }
+
+    @Test
+    @DisplayName("leaves the request unauthenticated when the token was revoked")
+    void revokedToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer good");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtService.parseToken("good")).thenReturn(claims("CUSTOMER"));
+        when(tokenRevocationService.isRevoked("jti-1", "uid", ISSUED_AT)).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("grants no permissions when the token role is unknown")
+    void unknownRole() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer good");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtService.parseToken("good")).thenReturn(claims("SUPERUSER"));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isEqualTo(new AuthenticatedUser("uid", null, 0L, "jti-1", EXPIRES_AT));
+        verify(filterChain).doFilter(request, response);
     }
 
     @Test
@@ -106,12 +160,11 @@ class JwtAuthenticationFilterTest {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader("Authorization", "Bearer good");
         MockHttpServletResponse response = new MockHttpServletResponse();
-        when(jwtService.isTokenValid("good")).thenReturn(true);
+        when(jwtService.parseToken("good")).thenReturn(claims("CUSTOMER"));
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtService, never()).extractUserId(any());
-        verify(jwtService, never()).extractRole(any());
+        verify(tokenRevocationService, never()).isRevoked(any(), any(), any());
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("prior");
         verify(filterChain).doFilter(request, response);
     }
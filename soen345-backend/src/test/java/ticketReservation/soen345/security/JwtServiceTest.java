@@ -35,6 +35,8 @@ class JwtServiceTest {
         assertThat(claims.getSubject()).isEqualTo("user-1");
         assertThat(claims.get("role", String.class)).isEqualTo("CUSTOMER");
         assertThat(claims.get("email", String.class)).isEqualTo("e@x.com");
+        assertThat(claims.getId()).isNotBlank();
+        assertThat(jwtService.parseToken(jwtService.generateToken(user)).getId()).isNotEqualTo(claims.getId());
     }
 
     @Test
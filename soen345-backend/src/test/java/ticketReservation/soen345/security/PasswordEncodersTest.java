@@ -0,0 +1,58 @@
+package ticketReservation.soen345.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ticketReservation.soen345.config.PasswordHashingProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncodersTest {
+
+    @Test
+    @DisplayName("verifies legacy unprefixed BCrypt hashes and asks for a rehash")
+    void legacyHash() {
+        PasswordEncoder encoder = PasswordEncoders.create(bcrypt(4));
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertThat(encoder.matches("secret", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    @DisplayName("keeps hashes at the target cost and rehashes on any cost change")
+    void targetCost() {
+        String hash = PasswordEncoders.create(bcrypt(5)).encode("secret");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(PasswordEncoders.create(bcrypt(5)).upgradeEncoding(hash)).isFalse();
+        assertThat(PasswordEncoders.create(bcrypt(4)).upgradeEncoding(hash)).isTrue();
+        assertThat(PasswordEncoders.create(bcrypt(6)).upgradeEncoding(hash)).isTrue();
+        assertThat(PasswordEncoders.create(bcrypt(4)).matches("secret", hash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("writes Argon2 hashes when selected and still verifies BCrypt ones")
+    void argon2() {
+        PasswordHashingProperties properties = bcrypt(4);
+        properties.setAlgorithm(PasswordHashingProperties.Algorithm.ARGON2);
+        properties.setArgon2MemoryKib(1024);
+        properties.setArgon2Iterations(1);
+        PasswordEncoder encoder = PasswordEncoders.create(properties);
+        String bcryptHash = PasswordEncoders.create(bcrypt(4)).encode("secret");
+
+        String hash = encoder.encode("secret");
+
+        assertThat(hash).startsWith("{argon2}");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("secret", bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(bcryptHash)).isTrue();
+    }
+
+    private static PasswordHashingProperties bcrypt(int strength) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(strength);
+        return properties;
+    }
+}
@@ -0,0 +1,72 @@
+package ticketReservation.soen345.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ticketReservation.soen345.config.LoginProtectionProperties;
+import ticketReservation.soen345.exception.TooManyRequestsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordVerifierTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordVerifier verifier;
+
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Test
+    @DisplayName("delegates to the password encoder off the calling thread")
+    void matches() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches("secret", "hash")).thenAnswer(inv ->
+                Thread.currentThread().getName().startsWith("password-verifier-"));
+        verifier = new PasswordVerifier(encoder, new LoginProtectionProperties(), meterRegistry);
+
+        assertThat(verifier.matches("secret", "hash")).isTrue();
+    }
+
+    @Test
+    @DisplayName("rejects with 429 when the verification queue is full")
+    void rejectsWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches("slow", "hash")).thenAnswer(inv -> release.await(5, TimeUnit.SECONDS));
+        LoginProtectionProperties properties = new LoginProtectionProperties();
+        properties.setVerifierThreads(1);
+        properties.setVerifierQueueCapacity(1);
+        verifier = new PasswordVerifier(encoder, properties, meterRegistry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> verifier.matches("slow", "hash"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> verifier.matches("slow", "hash"));
+        waitForQueueDepth(1);
+
+        assertThatThrownBy(() -> verifier.matches("slow", "hash"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.counter("auth.login.throttled", "reason", "busy").count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.login.verifier.queue").gauge().value() < depth
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import ticketReservation.soen345.domain.Permission;
+import ticketReservation.soen345.domain.UserRole;
 
 import java.util.List;
 
@@ -81,4 +83,31 @@ class PermissionAspectTest {
         assertThatThrownBy(() -> aspect.checkPermission(ann))
                 .isInstanceOf(AccessDeniedException.class);
     }
+
+    @Test
+    @DisplayName("checks the precomputed mask of a JWT principal")
+    void authenticatedUserPrincipal() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                AuthenticatedUser.of("u1", UserRole.ORGANIZER), null, List.of()));
+        RequiresPermission create = mock(RequiresPermission.class);
+        when(create.value()).thenReturn(Permission.CREATE_EVENT);
+        RequiresPermission manage = mock(RequiresPermission.class);
+        when(manage.value()).thenReturn(Permission.MANAGE_PAYOUTS);
+
+        assertThatCode(() -> aspect.checkPermission(create)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> aspect.checkPermission(manage))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("permission");
+    }
+
+    @Test
+    @DisplayName("denies a JWT principal whose role was not recognised")
+    void authenticatedUserWithoutRole() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                AuthenticatedUser.of("u1", null), null, List.of()));
+        RequiresPermission ann = mock(RequiresPermission.class);
+        when(ann.value()).thenReturn(Permission.RESERVE_TICKET);
+
+        assertThatThrownBy(() -> aspect.checkPermission(ann)).isInstanceOf(AccessDeniedException.class);
+    }
 }
@@ -8,15 +8,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventScheduleChangedEvent;
 import ticketReservation.soen345.domain.EventStatus;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.OrganizerProfile;
 import ticketReservation.soen345.domain.PaymentInfo;
-import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.dto.request.CreateEventRequest;
 import ticketReservation.soen345.dto.request.UpdateEventRequest;
 import ticketReservation.soen345.dto.response.EventResponse;
 import ticketReservation.soen345.exception.ResourceNotFoundException;
 import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.EventRepositoryCustom.EventChanges;
+import ticketReservation.soen345.repository.ReservationRepository;
 import ticketReservation.soen345.repository.UserRepository;
 import ticketReservation.soen345.service.impl.EventServiceImpl;
 
@@ -25,10 +31,12 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +48,12 @@ class EventServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
     private EventServiceImpl eventService;
 
     private static final Instant FUTURE_DATE = Instant.now().plus(7, ChronoUnit.DAYS);
@@ -48,7 +62,7 @@ class EventServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        eventService = new EventServiceImpl(eventRepository, userRepository);
+        eventService = new EventServiceImpl(eventRepository, userRepository, eventPublisher, reservationRepository);
     }
 
     // ================================================================
@@ -82,7 +96,7 @@ class EventServiceImplTest {
             assertThat(saved.getDate()).isEqualTo(FUTURE_DATE);
             assertThat(saved.getLocation()).isEqualTo("Montreal");
             assertThat(saved.getCapacity()).isEqualTo(200);
-            assertThat(saved.getTicketPrice()).isEqualByComparingTo(BigDecimal.valueOf(49.99));
+            assertThat(saved.getTicketPrice()).isEqualTo(Money.ofMinor(4999, "usd"));
             assertThat(saved.getOrganizerId()).isEqualTo(ORGANIZER_ID);
             assertThat(response.getId()).isEqualTo(EVENT_ID);
         }
@@ -167,7 +181,8 @@ class EventServiceImplTest {
                     .build();
 
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(eventRepository.applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class)))
+                    .thenAnswer(inv -> Optional.of(applied(existing, inv.getArgument(2))));
 
             EventResponse response = eventService.updateEvent(EVENT_ID, request);
 
@@ -177,6 +192,24 @@ class EventServiceImplTest {
             assertThat(response.getLocation()).isEqualTo("Quebec City");
             assertThat(response.getCapacity()).isEqualTo(300);
             assertThat(response.getTicketPrice()).isEqualByComparingTo(BigDecimal.valueOf(75.00));
+            assertThat(response.getVersion()).isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("Should send only the fields present in the request")
+        void updateEvent_ShouldSendOnlyChangedFields() {
+            Event existing = buildEvent(EVENT_ID, EventStatus.ACTIVE);
+
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
+            when(eventRepository.applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class)))
+                    .thenAnswer(inv -> Optional.of(applied(existing, inv.getArgument(2))));
+
+            eventService.updateEvent(EVENT_ID, UpdateEventRequest.builder().name("  New Name ").build());
+
+            ArgumentCaptor<EventChanges> captor = ArgumentCaptor.forClass(EventChanges.class);
+            verify(eventRepository).applyChanges(eq(EVENT_ID), eq(4L), captor.capture());
+            assertThat(captor.getValue()).isEqualTo(new EventChanges("New Name", null, null, null, null, null, 0));
+            verify(eventRepository, never()).save(any());
         }
 
         @Test
@@ -187,7 +220,8 @@ class EventServiceImplTest {
             UpdateEventRequest request = UpdateEventRequest.builder().build(); // all null
 
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(eventRepository.applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class)))
+                    .thenAnswer(inv -> Optional.of(applied(existing, inv.getArgument(2))));
 
             EventResponse response = eventService.updateEvent(EVENT_ID, request);
 
@@ -196,7 +230,7 @@ class EventServiceImplTest {
             assertThat(response.getDate()).isEqualTo(existing.getDate());
             assertThat(response.getLocation()).isEqualTo(existing.getLocation());
             assertThat(response.getCapacity()).isEqualTo(existing.getCapacity());
-            assertThat(response.getTicketPrice()).isEqualByComparingTo(existing.getTicketPrice());
+            assertThat(response.getTicketPrice()).isEqualByComparingTo(existing.getTicketPrice().toBigDecimal());
         }
 
         @Test
@@ -207,7 +241,8 @@ class EventServiceImplTest {
             UpdateEventRequest request = UpdateEventRequest.builder().name("New Name").build();
 
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(eventRepository.applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class)))
+                    .thenAnswer(inv -> Optional.of(applied(existing, inv.getArgument(2))));
 
             EventResponse response = eventService.updateEvent(EVENT_ID, request);
 
@@ -221,7 +256,8 @@ class EventServiceImplTest {
             Event existing = buildEvent(EVENT_ID, EventStatus.ACTIVE);
 
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(eventRepository.applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class)))
+                    .thenAnswer(inv -> Optional.of(applied(existing, inv.getArgument(2))));
 
             EventResponse response = eventService.updateEvent(EVENT_ID, UpdateEventRequest.builder()
                     .category("music")
@@ -230,6 +266,131 @@ class EventServiceImplTest {
             assertThat(response.getCategory()).isEqualTo("music");
         }
 
+        @Test
+        @DisplayName("Should copy name, date and location edits into reservation snapshots")
+        void updateEvent_ShouldRefreshReservationSnapshots() {
+            Event existing = buildEvent(EVENT_ID, EventStatus.ACTIVE);
+            Instant newDate = FUTURE_DATE.plus(1, ChronoUnit.DAYS);
+
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
+            when(eventRepository.applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class)))
+                    .thenAnswer(inv -> Optional.of(applied(existing, inv.getArgument(2))));
+
+            eventService.updateEvent(EVENT_ID, UpdateEventRequest.builder()
+                    .date(newDate)
+                    .location(" Laval ")
+                    .build());
+
+            ArgumentCaptor<Event> refreshed = ArgumentCaptor.forClass(Event.class);
+            verify(reservationRepository).refreshEventSnapshots(refreshed.capture());
+            assertThat(refreshed.getValue().getDate()).isEqualTo(newDate);
+            assertThat(refreshed.getValue().getLocation()).isEqualTo("Laval");
+            assertThat(refreshed.getValue().getVersion()).isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("Should leave reservation snapshots alone when only price or capacity change")
+        void updateEvent_ShouldNotRefreshSnapshotsForPriceOrCapacity() {
+            Event existing = buildEvent(EVENT_ID, EventStatus.ACTIVE);
+
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
+            when(eventRepository.applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class)))
+                    .thenAnswer(inv -> Optional.of(applied(existing, inv.getArgument(2))));
+
+            eventService.updateEvent(EVENT_ID, UpdateEventRequest.builder()
+                    .ticketPrice(BigDecimal.valueOf(30))
+                    .capacity(150)
+                    .build());
+
+            verifyNoInteractions(reservationRepository);
+        }
+
+        @Test
+        @DisplayName("Should apply a capacity edit as a delta so concurrent sales are kept")
+        void updateEvent_ShouldApplyCapacityAsDelta() {
+            Event existing = buildEvent(EVENT_ID, EventStatus.ACTIVE);
+            Event afterSales = buildEvent(EVENT_ID, EventStatus.ACTIVE);
+            afterSales.setCapacity(95);
+
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
+            when(eventRepository.applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class)))
+                    .thenAnswer(inv -> Optional.of(applied(afterSales, inv.getArgument(2))));
+
+            EventResponse response = eventService.updateEvent(EVENT_ID,
+                    UpdateEventRequest.builder().capacity(120).build());
+
+            ArgumentCaptor<EventChanges> captor = ArgumentCaptor.forClass(EventChanges.class);
+            verify(eventRepository).applyChanges(eq(EVENT_ID), eq(4L), captor.capture());
+            assertThat(captor.getValue().capacityDelta()).isEqualTo(20);
+            assertThat(response.getCapacity()).isEqualTo(115);
+        }
+
+        @Test
+        @DisplayName("Should re-read and retry when another edit bumped the version")
+        void updateEvent_ShouldRetryOnVersionConflict() {
+            Event stale = buildEvent(EVENT_ID, EventStatus.ACTIVE);
+            Event fresh = buildEvent(EVENT_ID, EventStatus.ACTIVE);
+            fresh.setVersion(5L);
+
+            when(eventRepository.findById(EVENT_ID))
+                    .thenReturn(Optional.of(stale), Optional.of(fresh), Optional.of(fresh));
+            when(eventRepository.applyChanges(eq(EVENT_ID), any(), any(EventChanges.class)))
+                    .thenAnswer(inv -> Long.valueOf(5L).equals(inv.getArgument(1))
+                            ? Optional.of(applied(fresh, inv.getArgument(2)))
+                            : Optional.empty());
+
+            EventResponse response = eventService.updateEvent(EVENT_ID,
+                    UpdateEventRequest.builder().name("Renamed").build());
+
+            assertThat(response.getName()).isEqualTo("Renamed");
+            assertThat(response.getVersion()).isEqualTo(6L);
+            verify(eventRepository).applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class));
+        }
+
+        @Test
+        @DisplayName("Should report a conflict after the retry budget is spent")
+        void updateEvent_ShouldGiveUpAfterRetries() {
+            long[] version = {4L};
+            when(eventRepository.findById(EVENT_ID)).thenAnswer(inv -> {
+                Event event = buildEvent(EVENT_ID, EventStatus.ACTIVE);
+                event.setVersion(version[0]++);
+                return Optional.of(event);
+            });
+
+            assertThatThrownBy(() -> eventService.updateEvent(EVENT_ID,
+                    UpdateEventRequest.builder().name("Renamed").build()))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+
+            verify(eventRepository, times(EventServiceImpl.UPDATE_ATTEMPTS))
+                    .applyChanges(eq(EVENT_ID), any(), any(EventChanges.class));
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a stale client version without writing")
+        void updateEvent_ShouldRejectStaleClientVersion() {
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(buildEvent(EVENT_ID, EventStatus.ACTIVE)));
+
+            assertThatThrownBy(() -> eventService.updateEvent(EVENT_ID,
+                    UpdateEventRequest.builder().name("Renamed").version(3L).build()))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+
+            verify(eventRepository, never()).applyChanges(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should refuse to cut capacity below tickets already sold")
+        void updateEvent_ShouldRefuseCapacityBelowSold() {
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(buildEvent(EVENT_ID, EventStatus.ACTIVE)));
+
+            assertThatThrownBy(() -> eventService.updateEvent(EVENT_ID,
+                    UpdateEventRequest.builder().capacity(1).build()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("already sold");
+
+            verify(eventRepository).applyChanges(eq(EVENT_ID), eq(4L), any(EventChanges.class));
+        }
+
         @Test
         @DisplayName("Should throw ResourceNotFoundException when event does not exist")
         void updateEvent_ShouldThrowWhenEventNotFound() {
@@ -239,7 +400,7 @@ class EventServiceImplTest {
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("missing-id");
 
-            verify(eventRepository, never()).save(any());
+            verify(eventRepository, never()).applyChanges(any(), any(), any());
         }
 
         @Test
@@ -252,7 +413,7 @@ class EventServiceImplTest {
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessageContaining("cancelled");
 
-            verify(eventRepository, never()).save(any());
+            verify(eventRepository, never()).applyChanges(any(), any(), any());
         }
     }
 
@@ -267,28 +428,29 @@ class EventServiceImplTest {
         @Test
         @DisplayName("Should set status to CANCELLED")
         void cancelEvent_ShouldSetStatusToCancelled() {
-            Event existing = buildEvent(EVENT_ID, EventStatus.ACTIVE);
-            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            Event cancelled = buildEvent(EVENT_ID, EventStatus.CANCELLED);
+            when(eventRepository.cancel(EVENT_ID)).thenReturn(Optional.of(cancelled));
 
             EventResponse response = eventService.cancelEvent(EVENT_ID);
 
             assertThat(response.getStatus()).isEqualTo(EventStatus.CANCELLED);
             assertThat(response.getId()).isEqualTo(EVENT_ID);
+            verify(eventPublisher).publishEvent(
+                    new EventScheduleChangedEvent(EVENT_ID, cancelled.getDate(), EventStatus.CANCELLED));
+            verify(eventRepository, never()).save(any());
         }
 
         @Test
         @DisplayName("Should preserve all other fields when cancelling")
         void cancelEvent_ShouldPreserveOtherFields() {
-            Event existing = buildEvent(EVENT_ID, EventStatus.ACTIVE);
-            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(existing));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            Event cancelled = buildEvent(EVENT_ID, EventStatus.CANCELLED);
+            when(eventRepository.cancel(EVENT_ID)).thenReturn(Optional.of(cancelled));
 
             EventResponse response = eventService.cancelEvent(EVENT_ID);
 
-            assertThat(response.getName()).isEqualTo(existing.getName());
-            assertThat(response.getLocation()).isEqualTo(existing.getLocation());
-            assertThat(response.getCapacity()).isEqualTo(existing.getCapacity());
+            assertThat(response.getName()).isEqualTo(cancelled.getName());
+            assertThat(response.getLocation()).isEqualTo(cancelled.getLocation());
+            assertThat(response.getCapacity()).isEqualTo(cancelled.getCapacity());
             assertThat(response.getOrganizerId()).isEqualTo(ORGANIZER_ID);
         }
 
@@ -301,7 +463,7 @@ class EventServiceImplTest {
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("missing-id");
 
-            verify(eventRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any());
         }
 
         @Test
@@ -314,7 +476,7 @@ class EventServiceImplTest {
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessageContaining("cancelled");
 
-            verify(eventRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any());
         }
     }
 
@@ -332,31 +494,47 @@ class EventServiceImplTest {
             Event active1 = buildEvent("e1", EventStatus.ACTIVE);
             Event active2 = buildEvent("e2", EventStatus.ACTIVE);
 
-            when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(List.of(active1, active2));
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of(active1, active2));
 
             List<EventResponse> result = eventService.getAvailableEvents();
 
             assertThat(result).hasSize(2);
             assertThat(result).extracting(EventResponse::getId).containsExactlyInAnyOrder("e1", "e2");
             assertThat(result).allMatch(r -> r.getStatus() == EventStatus.ACTIVE);
-            verify(eventRepository).findByStatus(EventStatus.ACTIVE);
+            verify(eventRepository).findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class));
         }
 
         @Test
         @DisplayName("Should return empty list when no active events exist")
         void getAvailableEvents_ShouldReturnEmptyListWhenNone() {
-            when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(List.of());
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of());
 
             List<EventResponse> result = eventService.getAvailableEvents();
 
             assertThat(result).isEmpty();
         }
 
+        @Test
+        @DisplayName("Should leave out events whose date has passed")
+        void getAvailableEvents_ShouldExcludePastEvents() {
+            Instant before = Instant.now();
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of());
+
+            eventService.getAvailableEvents();
+
+            verify(eventRepository).findByStatusAndDateAfterFromSecondary(
+                    eq(EventStatus.ACTIVE), argThat(date -> !date.isBefore(before) && !date.isAfter(Instant.now())));
+        }
+
         @Test
         @DisplayName("Should map all fields to EventResponse")
         void getAvailableEvents_ShouldMapAllFieldsCorrectly() {
             Event event = buildEvent("e1", EventStatus.ACTIVE);
-            when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(List.of(event));
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of(event));
 
             List<EventResponse> result = eventService.getAvailableEvents();
 
@@ -366,7 +544,7 @@ class EventServiceImplTest {
             assertThat(response.getDate()).isEqualTo(event.getDate());
             assertThat(response.getLocation()).isEqualTo(event.getLocation());
             assertThat(response.getCapacity()).isEqualTo(event.getCapacity());
-            assertThat(response.getTicketPrice()).isEqualByComparingTo(event.getTicketPrice());
+            assertThat(response.getTicketPrice()).isEqualByComparingTo(event.getTicketPrice().toBigDecimal());
             assertThat(response.getOrganizerId()).isEqualTo(ORGANIZER_ID);
         }
 
@@ -375,7 +553,8 @@ class EventServiceImplTest {
         void getAvailableEvents_NullOrganizerId() {
             Event event = buildEvent("e1", EventStatus.ACTIVE);
             event.setOrganizerId(null);
-            when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(List.of(event));
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of(event));
 
             EventResponse r = eventService.getAvailableEvents().getFirst();
 
@@ -388,15 +567,11 @@ class EventServiceImplTest {
         @DisplayName("Should map organizer summary and payout readiness from user repository")
         void getAvailableEvents_OrganizerDetailsAndPayout() {
             Event event = buildEvent("e1", EventStatus.ACTIVE);
-            User organizer = User.builder()
-                    .id(ORGANIZER_ID)
-                    .firstName("Ann")
-                    .lastName("Org")
-                    .email("ann@example.com")
-                    .paymentInfo(PaymentInfo.builder().payoutAccountId("acct_123").build())
-                    .build();
-            when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(List.of(event));
-            when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.of(organizer));
+            OrganizerProfile organizer = new OrganizerProfile(ORGANIZER_ID, "Ann", "Org", "ann@example.com",
+                    PaymentInfo.builder().payoutAccountId("acct_123").build());
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of(event));
+            when(userRepository.findOrganizerProfilesByIdIn(Set.of(ORGANIZER_ID))).thenReturn(List.of(organizer));
 
             EventResponse r = eventService.getAvailableEvents().getFirst();
 
@@ -405,12 +580,30 @@ class EventServiceImplTest {
             assertThat(r.getOrganizerPayoutReady()).isTrue();
         }
 
+        @Test
+        @DisplayName("Should load the organizers of all listed events in one projected query")
+        void getAvailableEvents_OneOrganizerQuery() {
+            Event first = buildEvent("e1", EventStatus.ACTIVE);
+            Event second = buildEvent("e2", EventStatus.ACTIVE);
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of(first, second));
+            when(userRepository.findOrganizerProfilesByIdIn(Set.of(ORGANIZER_ID))).thenReturn(List.of(
+                    new OrganizerProfile(ORGANIZER_ID, "Ann", "Org", "ann@example.com", null)));
+
+            List<EventResponse> result = eventService.getAvailableEvents();
+
+            assertThat(result).extracting(EventResponse::getOrganizerName).containsExactly("Ann Org", "Ann Org");
+            verify(userRepository).findOrganizerProfilesByIdIn(Set.of(ORGANIZER_ID));
+            verify(userRepository, never()).findById(any());
+        }
+
         @Test
         @DisplayName("Should treat missing organizer user as unknown")
         void getAvailableEvents_OrganizerUserNotFound() {
             Event event = buildEvent("e1", EventStatus.ACTIVE);
-            when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(List.of(event));
-            when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.empty());
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of(event));
+            when(userRepository.findOrganizerProfilesByIdIn(Set.of(ORGANIZER_ID))).thenReturn(List.of());
 
             EventResponse r = eventService.getAvailableEvents().getFirst();
 
@@ -423,14 +616,11 @@ class EventServiceImplTest {
         @DisplayName("Should not mark payout ready when payout account id is blank")
         void getAvailableEvents_BlankPayoutId() {
             Event event = buildEvent("e1", EventStatus.ACTIVE);
-            User organizer = User.builder()
-                    .id(ORGANIZER_ID)
-                    .firstName(null)
-                    .lastName("Solo")
-                    .paymentInfo(PaymentInfo.builder().payoutAccountId("   ").build())
-                    .build();
-            when(eventRepository.findByStatus(EventStatus.ACTIVE)).thenReturn(List.of(event));
-            when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.of(organizer));
+            OrganizerProfile organizer = new OrganizerProfile(ORGANIZER_ID, null, "Solo", null,
+                    PaymentInfo.builder().payoutAccountId("   ").build());
+            when(eventRepository.findByStatusAndDateAfterFromSecondary(eq(EventStatus.ACTIVE), any(Instant.class)))
+                    .thenReturn(List.of(event));
+            when(userRepository.findOrganizerProfilesByIdIn(Set.of(ORGANIZER_ID))).thenReturn(List.of(organizer));
 
             EventResponse r = eventService.getAvailableEvents().getFirst();
 
@@ -449,20 +639,20 @@ class EventServiceImplTest {
             Event event1 = buildEvent("e1", EventStatus.ACTIVE);
             Event event2 = buildEvent("e2", EventStatus.CANCELLED);
 
-            when(eventRepository.findByOrganizerId(ORGANIZER_ID)).thenReturn(List.of(event1, event2));
+            when(eventRepository.findByOrganizerIdFromSecondary(ORGANIZER_ID)).thenReturn(List.of(event1, event2));
 
             List<EventResponse> result = eventService.getOrganizerEvents(ORGANIZER_ID);
 
             assertThat(result).hasSize(2);
             assertThat(result).extracting(EventResponse::getId).containsExactly("e1", "e2");
             assertThat(result).allMatch(response -> ORGANIZER_ID.equals(response.getOrganizerId()));
-            verify(eventRepository).findByOrganizerId(ORGANIZER_ID);
+            verify(eventRepository).findByOrganizerIdFromSecondary(ORGANIZER_ID);
         }
 
         @Test
         @DisplayName("Should return empty list when organizer has no events")
         void getOrganizerEvents_ShouldReturnEmptyListWhenOrganizerHasNone() {
-            when(eventRepository.findByOrganizerId(ORGANIZER_ID)).thenReturn(List.of());
+            when(eventRepository.findByOrganizerIdFromSecondary(ORGANIZER_ID)).thenReturn(List.of());
 
             List<EventResponse> result = eventService.getOrganizerEvents(ORGANIZER_ID);
 
@@ -482,10 +672,31 @@ class EventServiceImplTest {
                 .date(FUTURE_DATE)
                 .location("Montreal")
                 .capacity(100)
-                .ticketPrice(BigDecimal.valueOf(25.00))
+                .ticketPrice(Money.ofMinor(2500, "usd"))
                 .organizerId(ORGANIZER_ID)
                 .status(status)
                 .createdAt(Instant.now())
+                .version(4L)
+                .build();
+    }
+
+    /**
+     * What the database returns after {@code applyChanges}: non-null fields set, capacity moved by the delta.
+     */
+    private Event applied(Event stored, EventChanges changes) {
+        return Event.builder()
+                .id(stored.getId())
+                .name(changes.name() != null ? changes.name() : stored.getName())
+                .description(changes.description() != null ? changes.description() : stored.getDescription())
+                .date(changes.date() != null ? changes.date() : stored.getDate())
+                .location(changes.location() != null ? changes.location() : stored.getLocation())
+                .capacity(stored.getCapacity() + changes.capacityDelta())
+                .ticketPrice(changes.ticketPrice() != null ? changes.ticketPrice() : stored.getTicketPrice())
+                .category(changes.category() != null ? changes.category() : stored.getCategory())
+                .organizerId(stored.getOrganizerId())
+                .status(stored.getStatus())
+                .createdAt(stored.getCreatedAt())
+                .version(stored.getVersion() + 1)
                 .build();
     }
 
@@ -7,12 +7,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import ticketReservation.soen345.domain.NotificationChannel;
 import ticketReservation.soen345.domain.PaymentInfo;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.domain.UserRole;
 import ticketReservation.soen345.domain.UserStatus;
+import ticketReservation.soen345.domain.UserStatusChangedEvent;
 import ticketReservation.soen345.dto.request.PaymentInfoRequest;
 import ticketReservation.soen345.dto.request.RegisterRequest;
 import ticketReservation.soen345.dto.request.UpdateUserProfileRequest;
@@ -44,11 +46,14 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository, passwordEncoder);
+        userService = new UserServiceImpl(userRepository, passwordEncoder, eventPublisher);
     }
 
     @Test
@@ -463,4 +468,30 @@ class UserServiceImplTest {
         assertThat(r.getPaymentInfo().getCustomerId()).isEqualTo("cus_1");
         assertThat(r.getPaymentInfo().getPayoutDisplayName()).isEqualTo("Pay");
     }
+
+    @Test
+    @DisplayName("Should publish a status change when a user is suspended")
+    void updateUserStatus_PublishesEvent() {
+        User user = User.builder().id("u1").role(UserRole.CUSTOMER).status(UserStatus.ACTIVE).build();
+        when(userRepository.findById("u1")).thenReturn(java.util.Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        UserResponse response = userService.updateUserStatus("u1", UserStatus.SUSPENDED);
+
+        assertThat(response.getStatus()).isEqualTo(UserStatus.SUSPENDED);
+        verify(eventPublisher).publishEvent(
+                new UserStatusChangedEvent("u1", UserStatus.ACTIVE, UserStatus.SUSPENDED));
+    }
+
+    @Test
+    @DisplayName("Should not publish when the status does not change")
+    void updateUserStatus_Unchanged() {
+        User user = User.builder().id("u1").role(UserRole.CUSTOMER).status(UserStatus.SUSPENDED).build();
+        when(userRepository.findById("u1")).thenReturn(java.util.Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        userService.updateUserStatus("u1", UserStatus.SUSPENDED);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
 }
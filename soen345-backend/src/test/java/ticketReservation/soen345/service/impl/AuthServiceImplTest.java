@@ -1,5 +1,7 @@
 package ticketReservation.soen345.service.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,36 +9,71 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import ticketReservation.soen345.config.LoginProtectionProperties;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.domain.UserRole;
+import ticketReservation.soen345.domain.UserStatus;
 import ticketReservation.soen345.dto.request.LoginRequest;
+import ticketReservation.soen345.dto.request.LogoutRequest;
+import ticketReservation.soen345.dto.request.RefreshTokenRequest;
 import ticketReservation.soen345.dto.response.LoginResponse;
 import ticketReservation.soen345.exception.InvalidCredentialsException;
+import ticketReservation.soen345.exception.TooManyRequestsException;
 import ticketReservation.soen345.repository.UserRepository;
+import ticketReservation.soen345.security.AuthenticatedUser;
 import ticketReservation.soen345.security.JwtService;
+import ticketReservation.soen345.security.LoginThrottle;
+import ticketReservation.soen345.security.PasswordVerifier;
+import ticketReservation.soen345.service.RefreshTokenService;
+import ticketReservation.soen345.service.TokenRevocationService;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceImplTest {
 
+    private static final String CLIENT_IP = "203.0.113.7";
+
     @Mock
     private UserRepository userRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
     private JwtService jwtService;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
 
     private AuthServiceImpl authService;
+    private PasswordVerifier passwordVerifier;
+    private LoginProtectionProperties properties;
 
     @BeforeEach
     void setUp() {
-        authService = new AuthServiceImpl(userRepository, passwordEncoder, jwtService);
+        properties = new LoginProtectionProperties();
+        properties.setVerifierThreads(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordVerifier = new PasswordVerifier(passwordEncoder, properties, meterRegistry);
+        authService = new AuthServiceImpl(
+                userRepository, passwordVerifier, jwtService, new LoginThrottle(properties, meterRegistry),
+                refreshTokenService, tokenRevocationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordVerifier.shutdown();
     }
 
     @Test
@@ -54,14 +91,17 @@ class AuthServiceImplTest {
         when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
         when(jwtService.generateToken(user)).thenReturn("jwt-token");
         when(jwtService.getExpirationSeconds()).thenReturn(3600L);
+        when(refreshTokenService.issue("u1")).thenReturn(issued("u1"));
 
         LoginResponse response = authService.login(LoginRequest.builder()
                 .identifier("  A@B.COM  ")
                 .password("secret")
-                .build());
+                .build(), CLIENT_IP);
 
         assertThat(response.getAccessToken()).isEqualTo("jwt-token");
         assertThat(response.getUser().getEmail()).isEqualTo("a@b.com");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-u1");
+        assertThat(response.getRefreshExpiresIn()).isPositive();
     }
 
     @Test
@@ -77,15 +117,38 @@ class AuthServiceImplTest {
         when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
         when(jwtService.generateToken(user)).thenReturn("jwt");
         when(jwtService.getExpirationSeconds()).thenReturn(60L);
+        when(refreshTokenService.issue("u1")).thenReturn(issued("u1"));
 
         LoginResponse response = authService.login(LoginRequest.builder()
                 .identifier("+1 555 123-4567")
                 .password("secret")
-                .build());
+                .build(), CLIENT_IP);
 
         assertThat(response.getAccessToken()).isEqualTo("jwt");
     }
 
+    @Test
+    @DisplayName("login rehashes outdated password hashes in the background")
+    void rehashOnLogin() {
+        User user = User.builder()
+                .id("u1")
+                .email("a@b.com")
+                .passwordHash("old-hash")
+                .role(UserRole.CUSTOMER)
+                .build();
+        when(userRepository.findByEmail("a@b.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("new-hash");
+        when(jwtService.generateToken(user)).thenReturn("jwt");
+        when(jwtService.getExpirationSeconds()).thenReturn(60L);
+        when(refreshTokenService.issue("u1")).thenReturn(issued("u1"));
+
+        authService.login(LoginRequest.builder().identifier("a@b.com").password("secret").build(), CLIENT_IP);
+
+        verify(userRepository, timeout(2000)).replacePasswordHash("u1", "old-hash", "new-hash");
+    }
+
     @Test
     @DisplayName("login throws when user not found")
     void userMissing() {
@@ -94,7 +157,7 @@ class AuthServiceImplTest {
         assertThatThrownBy(() -> authService.login(LoginRequest.builder()
                 .identifier("x@y.com")
                 .password("p")
-                .build())).isInstanceOf(InvalidCredentialsException.class);
+                .build(), CLIENT_IP)).isInstanceOf(InvalidCredentialsException.class);
     }
 
     @Test
@@ -107,6 +170,124 @@ class AuthServiceImplTest {
         assertThatThrownBy(() -> authService.login(LoginRequest.builder()
                 .identifier("a@b.com")
                 .password("wrong")
-                .build())).isInstanceOf(InvalidCredentialsException.class);
+                .build(), CLIENT_IP)).isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("login is throttled per identifier before touching the database")
+    void throttledIdentifier() {
+        when(userRepository.findByEmail("a@b.com")).thenReturn(Optional.empty());
+        LoginRequest request = LoginRequest.builder().identifier("A@b.com").password("p").build();
+
+        for (int i = 0; i < properties.getIdentifierAttempts(); i++) {
+            assertThatThrownBy(() -> authService.login(request, CLIENT_IP))
+                    .isInstanceOf(InvalidCredentialsException.class);
+        }
+
+        assertThatThrownBy(() -> authService.login(
+                LoginRequest.builder().identifier(" a@B.com ").password("p").build(), "198.51.100.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(userRepository, times(properties.getIdentifierAttempts())).findByEmail("a@b.com");
+    }
+
+    @Test
+    @DisplayName("successful logins do not use up the identifier allowance")
+    void successNotCharged() {
+        User user = User.builder().id("u1").email("a@b.com").passwordHash("hash").role(UserRole.CUSTOMER).build();
+        when(userRepository.findByEmail("a@b.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(jwtService.generateToken(user)).thenReturn("jwt");
+        when(jwtService.getExpirationSeconds()).thenReturn(60L);
+        when(refreshTokenService.issue("u1")).thenReturn(issued("u1"));
+        LoginRequest request = LoginRequest.builder().identifier("a@b.com").password("secret").build();
+
+        for (int i = 0; i <= properties.getIdentifierAttempts(); i++) {
+            assertThat(authService.login(request, "198.51.100." + i).getAccessToken()).isEqualTo("jwt");
+        }
+    }
+
+    @Test
+    @DisplayName("login is throttled per client IP across identifiers")
+    void throttledIp() {
+        properties.setIpAttempts(1);
+        authService = new AuthServiceImpl(userRepository, passwordVerifier, jwtService,
+                new LoginThrottle(properties, new SimpleMeterRegistry()), refreshTokenService,
+                tokenRevocationService);
+        when(userRepository.findByEmail("first@b.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authService.login(
+                LoginRequest.builder().identifier("first@b.com").password("p").build(), CLIENT_IP))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThatThrownBy(() -> authService.login(
+                LoginRequest.builder().identifier("second@b.com").password("p").build(), CLIENT_IP))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(userRepository, never()).findByEmail("second@b.com");
+    }
+
+    @Test
+    @DisplayName("refresh rotates the token and issues a new access token without a password check")
+    void refresh() {
+        User user = User.builder().id("u1").status(UserStatus.ACTIVE).role(UserRole.CUSTOMER).build();
+        when(refreshTokenService.rotate("old")).thenReturn(issued("u1"));
+        when(userRepository.findSessionProfileById("u1")).thenReturn(Optional.of(user));
+        when(jwtService.generateToken(user)).thenReturn("jwt");
+        when(jwtService.getExpirationSeconds()).thenReturn(900L);
+
+        LoginResponse response = authService.refresh(new RefreshTokenRequest("old"));
+
+        assertThat(response.getAccessToken()).isEqualTo("jwt");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-u1");
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    @DisplayName("refresh ends every session of a suspended user")
+    void refreshSuspended() {
+        User user = User.builder().id("u1").status(UserStatus.SUSPENDED).build();
+        when(refreshTokenService.rotate("old")).thenReturn(issued("u1"));
+        when(userRepository.findSessionProfileById("u1")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> authService.refresh(new RefreshTokenRequest("old")))
+                .isInstanceOf(InvalidCredentialsException.class);
+        verify(refreshTokenService).revokeAll("u1");
+    }
+
+    private static RefreshTokenService.IssuedRefreshToken issued(String userId) {
+        return new RefreshTokenService.IssuedRefreshToken(
+                "refresh-" + userId, userId, Instant.now().plus(Duration.ofDays(14)));
+    }
+
+    @Test
+    @DisplayName("login is refused for a suspended account even with the right password")
+    void suspendedLogin() {
+        User user = User.builder().id("u1").passwordHash("hash").status(UserStatus.SUSPENDED).build();
+        when(userRepository.findByEmail("a@b.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        assertThatThrownBy(() -> authService.login(
+                LoginRequest.builder().identifier("a@b.com").password("secret").build(), CLIENT_IP))
+                .isInstanceOf(InvalidCredentialsException.class);
+        verify(refreshTokenService, never()).issue(any());
+    }
+
+    @Test
+    @DisplayName("logout revokes the access token and the refresh session")
+    void logout() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        AuthenticatedUser principal = AuthenticatedUser.of("u1", UserRole.CUSTOMER, "jti-1", expiresAt);
+
+        authService.logout(principal, new LogoutRequest("refresh-1"));
+
+        verify(tokenRevocationService).revokeToken("jti-1", expiresAt);
+        verify(refreshTokenService).revoke("refresh-1");
+    }
+
+    @Test
+    @DisplayName("logout without an access token still ends the refresh session")
+    void logoutWithoutAccessToken() {
+        authService.logout(null, new LogoutRequest("refresh-1"));
+
+        verify(tokenRevocationService, never()).revokeToken(any(), any());
+        verify(refreshTokenService).revoke("refresh-1");
     }
 }
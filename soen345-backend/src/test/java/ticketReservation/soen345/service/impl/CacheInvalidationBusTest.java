@@ -0,0 +1,54 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.concurrency.ExpiringCache;
+import ticketReservation.soen345.domain.CacheInvalidation;
+import ticketReservation.soen345.domain.CachedCollection;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(meterRegistry);
+
+    @Test
+    @DisplayName("a registered cache drops the changed document, or everything, from its own collection only")
+    void expiringCache() {
+        ExpiringCache<String, String> events = new ExpiringCache<>(Duration.ofMinutes(5), 10);
+        events.put("e1", "Concert");
+        events.put("e2", "Play");
+        bus.register(CachedCollection.EVENTS, events);
+
+        bus.publish(CacheInvalidation.of(CachedCollection.USERS, "e2"));
+        bus.publish(CacheInvalidation.of(CachedCollection.EVENTS, "e1"));
+        assertThat(events.get("e1")).isEmpty();
+        assertThat(events.get("e2")).contains("Play");
+
+        bus.publish(CacheInvalidation.all(CachedCollection.EVENTS));
+        assertThat(events.size()).isZero();
+        assertThat(meterRegistry.get("cache.invalidations").tag("collection", "events").counters()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("a failing listener does not stop the others")
+    void isolatesListeners() {
+        List<CacheInvalidation> received = new ArrayList<>();
+        bus.register(invalidation -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.register(received::add);
+
+        bus.publishAll();
+
+        assertThat(received).containsExactly(
+                CacheInvalidation.all(CachedCollection.EVENTS),
+                CacheInvalidation.all(CachedCollection.USERS));
+    }
+}
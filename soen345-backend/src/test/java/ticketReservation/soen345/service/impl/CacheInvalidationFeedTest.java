@@ -0,0 +1,181 @@
+package ticketReservation.soen345.service.impl;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.CacheInvalidationProperties;
+import ticketReservation.soen345.config.CacheInvalidationProperties.Mode;
+import ticketReservation.soen345.domain.CacheInvalidation;
+import ticketReservation.soen345.domain.CachedCollection;
+import ticketReservation.soen345.repository.CacheChangeRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationFeedTest {
+
+    private static final BsonDocument TOKEN = new BsonDocument("_data", new BsonString("8266A1"));
+    private static final BsonDocument NEXT_TOKEN = new BsonDocument("_data", new BsonString("8266A2"));
+
+    @Mock
+    private CacheChangeRepository changeRepository;
+    @Mock
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    private CacheInvalidationProperties properties;
+    private List<CacheInvalidation> published;
+    private CacheInvalidationFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheInvalidationProperties();
+        published = new CopyOnWriteArrayList<>();
+        CacheInvalidationBus bus = new CacheInvalidationBus(new SimpleMeterRegistry());
+        bus.register(published::add);
+        feed = new CacheInvalidationFeed(changeRepository, bus, properties);
+    }
+
+    @Test
+    @DisplayName("drops every cache when the stream opens, then invalidates each changed document")
+    void changeStream() {
+        ObjectId eventId = new ObjectId();
+        when(changeRepository.supportsChangeStreams()).thenReturn(true);
+        when(changeRepository.watchCachedCollections(isNull(), any())).thenReturn(cursor);
+        when(cursor.tryNext()).thenReturn(
+                change("update", "events", new BsonObjectId(eventId)),
+                change("delete", "users", new BsonString("u1")),
+                null);
+        when(cursor.getResumeToken()).thenReturn(NEXT_TOKEN);
+
+        feed.sync();
+
+        assertThat(feed.mode()).isEqualTo(Mode.CHANGE_STREAM);
+        assertThat(published).containsExactly(
+                CacheInvalidation.all(CachedCollection.EVENTS),
+                CacheInvalidation.all(CachedCollection.USERS),
+                CacheInvalidation.of(CachedCollection.EVENTS, eventId.toHexString()),
+                CacheInvalidation.of(CachedCollection.USERS, "u1"));
+    }
+
+    @Test
+    @DisplayName("reopens a dropped stream from the token this node kept, without dropping caches")
+    void resumesFromOwnToken() {
+        properties.setMode(Mode.CHANGE_STREAM);
+        when(changeRepository.watchCachedCollections(isNull(), any())).thenReturn(cursor);
+        when(changeRepository.watchCachedCollections(eq(TOKEN), any())).thenReturn(cursor);
+        when(cursor.tryNext())
+                .thenReturn(null)
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(change("update", "users", new BsonString("u2")))
+                .thenReturn(null);
+        when(cursor.getResumeToken()).thenReturn(TOKEN);
+
+        feed.sync();
+        feed.sync();
+        feed.sync();
+
+        assertThat(published).containsExactly(
+                CacheInvalidation.all(CachedCollection.EVENTS),
+                CacheInvalidation.all(CachedCollection.USERS),
+                CacheInvalidation.of(CachedCollection.USERS, "u2"));
+        verify(changeRepository).watchCachedCollections(eq(TOKEN), any());
+    }
+
+    @Test
+    @DisplayName("drops every cache and starts from now when the kept token fell off the oplog")
+    void historyLost() {
+        properties.setMode(Mode.CHANGE_STREAM);
+        when(changeRepository.watchCachedCollections(isNull(), any())).thenReturn(cursor);
+        when(changeRepository.watchCachedCollections(eq(TOKEN), any())).thenThrow(new MongoCommandException(
+                new BsonDocument("code", new BsonInt32(286)).append("errmsg", new BsonString("history lost")),
+                new ServerAddress()));
+        when(cursor.tryNext())
+                .thenReturn(null)
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(null);
+        when(cursor.getResumeToken()).thenReturn(TOKEN);
+
+        feed.sync();
+        feed.sync();
+        published.clear();
+        feed.sync();
+        feed.sync();
+
+        assertThat(published).containsExactly(
+                CacheInvalidation.all(CachedCollection.EVENTS),
+                CacheInvalidation.all(CachedCollection.USERS),
+                CacheInvalidation.all(CachedCollection.EVENTS),
+                CacheInvalidation.all(CachedCollection.USERS));
+        verify(changeRepository, times(2)).watchCachedCollections(isNull(), any());
+    }
+
+    @Test
+    @DisplayName("polls updatedAt on a standalone server, each poll reaching back to the previous one")
+    void polling() {
+        when(changeRepository.supportsChangeStreams()).thenReturn(false);
+        when(changeRepository.findIdsChangedSince(eq(CachedCollection.EVENTS), any(), eq(1000)))
+                .thenReturn(List.of("e1"), List.of());
+        when(changeRepository.findIdsChangedSince(eq(CachedCollection.USERS), any(), eq(1000)))
+                .thenReturn(List.of());
+        Instant started = Instant.now();
+
+        feed.sync();
+        feed.sync();
+
+        assertThat(feed.mode()).isEqualTo(Mode.POLLING);
+        assertThat(published).containsExactly(CacheInvalidation.of(CachedCollection.EVENTS, "e1"));
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(changeRepository, times(2)).findIdsChangedSince(eq(CachedCollection.EVENTS), since.capture(), eq(1000));
+        assertThat(since.getAllValues().get(0)).isBefore(started.minus(properties.getPollOverlap()).plusSeconds(1));
+        assertThat(since.getAllValues().get(1)).isAfterOrEqualTo(since.getAllValues().get(0));
+    }
+
+    @Test
+    @DisplayName("drops the whole collection when a poll returns more changes than it can list")
+    void pollingOverflow() {
+        properties.setMode(Mode.POLLING);
+        properties.setMaxChangesPerSync(2);
+        when(changeRepository.findIdsChangedSince(eq(CachedCollection.EVENTS), any(), eq(2)))
+                .thenReturn(List.of("e1", "e2"));
+        when(changeRepository.findIdsChangedSince(eq(CachedCollection.USERS), any(), eq(2)))
+                .thenReturn(List.of("u1"));
+
+        feed.sync();
+
+        assertThat(published).containsExactly(
+                CacheInvalidation.all(CachedCollection.EVENTS),
+                CacheInvalidation.of(CachedCollection.USERS, "u1"));
+    }
+
+    private static ChangeStreamDocument<Document> change(String operation, String collection, BsonValue id) {
+        return new ChangeStreamDocument<>(operation, TOKEN,
+                new BsonDocument("db", new BsonString("soen345")).append("coll", new BsonString(collection)),
+                null, null, null, new BsonDocument("_id", id), null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,99 @@
+package ticketReservation.soen345.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.ArchiveProperties;
+import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.ReservationRepository;
+import ticketReservation.soen345.service.LeaseService;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ColdArchiveJobTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private LeaseService leaseService;
+
+    private ArchiveProperties properties;
+    private ColdArchiveJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArchiveProperties();
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(3);
+        job = new ColdArchiveJob(eventRepository, reservationRepository, leaseService, properties);
+    }
+
+    @Test
+    @DisplayName("moves batches until one comes back short, using each collection's retention")
+    void movesUntilShortBatch() {
+        when(leaseService.tryAcquire(eq(ColdArchiveJob.LEASE_NAME), any())).thenReturn(true);
+        when(eventRepository.archiveEndedBefore(any(), eq(2))).thenReturn(2, 1);
+        when(reservationRepository.archiveCancelledBefore(any(), eq(2))).thenReturn(0);
+
+        Instant start = Instant.now();
+        assertThat(job.run()).isEqualTo(3);
+
+        verify(eventRepository, times(2)).archiveEndedBefore(
+                argThat(cutoff -> !cutoff.isAfter(Instant.now().minus(Duration.ofDays(30)))
+                        && !cutoff.isBefore(start.minus(Duration.ofDays(30)))), eq(2));
+        verify(reservationRepository).archiveCancelledBefore(
+                argThat(cutoff -> !cutoff.isBefore(start.minus(Duration.ofDays(90)))), eq(2));
+        verify(leaseService).release(ColdArchiveJob.LEASE_NAME);
+    }
+
+    @Test
+    @DisplayName("stops after the configured number of batches per run")
+    void boundedBatches() {
+        when(leaseService.tryAcquire(eq(ColdArchiveJob.LEASE_NAME), any())).thenReturn(true);
+        when(eventRepository.archiveEndedBefore(any(), eq(2))).thenReturn(2);
+        when(reservationRepository.archiveCancelledBefore(any(), eq(2))).thenReturn(2);
+
+        assertThat(job.run()).isEqualTo(12);
+
+        verify(eventRepository, times(3)).archiveEndedBefore(any(), eq(2));
+        verify(reservationRepository, times(3)).archiveCancelledBefore(any(), eq(2));
+    }
+
+    @Test
+    @DisplayName("does nothing while another node holds the lease")
+    void leaseHeldElsewhere() {
+        when(leaseService.tryAcquire(eq(ColdArchiveJob.LEASE_NAME), any())).thenReturn(false);
+
+        assertThat(job.run()).isZero();
+
+        verify(eventRepository, never()).archiveEndedBefore(any(), anyInt());
+        verify(leaseService, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("scheduled runs are skipped when archiving is disabled")
+    void disabled() {
+        properties.setEnabled(false);
+
+        job.runScheduled();
+
+        verify(leaseService, never()).tryAcquire(any(), any());
+    }
+}
@@ -0,0 +1,183 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.service.impl.CombiningCapacityReserver.Request;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CombiningCapacityReserverTest {
+
+    private static final String EVENT_ID = "evt1";
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CombiningCapacityReserver reserver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reserver = new CombiningCapacityReserver(eventRepository, Duration.ZERO, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("applies a lone hold straight away")
+    void uncontended() {
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(2), anyString())).thenReturn(true);
+
+        assertThat(reserver.reserve(EVENT_ID, 2)).isTrue();
+        assertThat(reserver.queued(EVENT_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("holds queued behind an update in flight are applied as one update")
+    void combinesQueuedHolds() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(1), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(3), anyString())).thenReturn(true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            results.add(pool.submit(() -> reserver.reserve(EVENT_ID, 1)));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                results.add(pool.submit(() -> reserver.reserve(EVENT_ID, 1)));
+            }
+            awaitQueued(3);
+            release.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(eventRepository).reserveCapacity(eq(EVENT_ID), eq(3), anyString());
+        assertThat(meterRegistry.get("reservations.capacity.batch.size").summary().max()).isEqualTo(3);
+        assertThat(reserver.queued(EVENT_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("splits a batch that no longer fits, admitting holds in arrival order")
+    void splitsBatchThatDoesNotFit() {
+        List<Request> batch = List.of(new Request(2), new Request(3), new Request(1));
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(6), anyString())).thenReturn(false);
+        when(eventRepository.remainingCapacity(EVENT_ID)).thenReturn(3);
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(3), anyString())).thenReturn(true);
+
+        reserver.apply(EVENT_ID, batch);
+
+        assertThat(batch).extracting(request -> request.granted).containsExactly(true, false, true);
+        assertThat(meterRegistry.get("reservations.capacity.batch.split").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("settles holds one by one when seats are taken between the read and the write")
+    void fallsBackToSingleUpdates() {
+        List<Request> batch = List.of(new Request(2), new Request(2));
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(4), anyString())).thenReturn(false);
+        when(eventRepository.remainingCapacity(EVENT_ID)).thenReturn(2);
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(2), anyString())).thenReturn(false, false, true);
+
+        reserver.apply(EVENT_ID, batch);
+
+        assertThat(batch).extracting(request -> request.granted).containsExactly(false, true);
+    }
+
+    @Test
+    @DisplayName("rejects every hold without writing when the event is sold out")
+    void soldOut() {
+        List<Request> batch = List.of(new Request(1), new Request(1));
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(2), anyString())).thenReturn(false);
+        when(eventRepository.remainingCapacity(EVENT_ID)).thenReturn(0);
+
+        reserver.apply(EVENT_ID, batch);
+
+        assertThat(batch).extracting(request -> request.granted).containsExactly(false, false);
+        verify(eventRepository, never()).reserveCapacity(eq(EVENT_ID), eq(1), anyString());
+    }
+
+    @Test
+    @DisplayName("a failed update fails the caller and leaves the event free for the next hold")
+    void failurePropagates() {
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), anyInt(), anyString()))
+                .thenThrow(new IllegalStateException("mongo down"))
+                .thenReturn(true);
+        when(eventRepository.hasCapacityHold(eq(EVENT_ID), anyString())).thenReturn(false);
+
+        assertThatThrownBy(() -> reserver.reserve(EVENT_ID, 1)).hasMessage("mongo down");
+        assertThat(reserver.reserve(EVENT_ID, 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("a hold that fails on its own leaves the others settled when the batch is split")
+    void failsOnlyTheFailedHold() {
+        Request first = new Request(1);
+        Request second = new Request(2);
+        Request third = new Request(1);
+        List<Request> batch = List.of(first, second, third);
+        IllegalStateException down = new IllegalStateException("mongo down");
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(4), anyString())).thenReturn(false);
+        when(eventRepository.remainingCapacity(EVENT_ID)).thenReturn(4);
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(1), anyString())).thenReturn(true);
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(2), anyString())).thenThrow(down);
+        when(eventRepository.hasCapacityHold(eq(EVENT_ID), anyString())).thenReturn(false);
+
+        reserver.apply(EVENT_ID, batch);
+
+        assertThat(batch).extracting(request -> request.granted).containsExactly(true, false, true);
+        assertThat(batch).extracting(request -> request.failure).containsExactly(null, down, null);
+    }
+
+    @Test
+    @DisplayName("grants the batch when the update was applied but its reply was lost")
+    void lostReply() {
+        List<Request> batch = List.of(new Request(1), new Request(1));
+        when(eventRepository.reserveCapacity(eq(EVENT_ID), eq(2), anyString()))
+                .thenThrow(new IllegalStateException("socket closed"));
+        when(eventRepository.hasCapacityHold(eq(EVENT_ID), anyString())).thenReturn(true);
+
+        reserver.apply(EVENT_ID, batch);
+
+        assertThat(batch).extracting(request -> request.granted).containsExactly(true, true);
+        assertThat(batch).extracting(request -> request.failure).containsOnlyNulls();
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reserver.queued(EVENT_ID) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -6,15 +6,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.Money;
 import ticketReservation.soen345.domain.Notification;
 import ticketReservation.soen345.domain.NotificationContext;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.service.EmailSender;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,7 +36,7 @@ class EmailCommunicationStrategyTest {
     }
 
     @Test
-    void sendTo_UsesEmailSenderWithExpectedValues() {
+    void sendTo_PassesRenderedHtmlBodyThrough() {
         User user = User.builder()
                 .email("customer@example.com")
                 .firstName("Sam")
@@ -46,7 +48,7 @@ class EmailCommunicationStrategyTest {
                 .date(Instant.now())
                 .location("Montreal")
                 .capacity(100)
-                .ticketPrice(BigDecimal.valueOf(25))
+                .ticketPrice(Money.ofMinor(2500, "usd"))
                 .build();
 
         Notification notification = new Notification() {
@@ -57,7 +59,7 @@ class EmailCommunicationStrategyTest {
 
             @Override
             public String body(NotificationContext context) {
-                return "Line1\nLine2";
+                return "Line1<br/>Line2";
             }
         };
 
@@ -78,6 +80,39 @@ class EmailCommunicationStrategyTest {
                 htmlCaptor.capture()
         );
 
-        assertThat(htmlCaptor.getValue()).contains("<br/>");
+        assertThat(htmlCaptor.getValue()).isEqualTo("Line1<br/>Line2");
+    }
+
+    @Test
+    void sendToAll_RendersPerRecipientAndSendsOneBatch() {
+        User first = User.builder().email("a@example.com").firstName("A").build();
+        User second = User.builder().email("b@example.com").firstName("B").build();
+        Event event = Event.builder().name("Concert").date(Instant.now()).location("Montreal").build();
+
+        Notification notification = new Notification() {
+            @Override
+            public String subject(NotificationContext context) {
+                return "Subject";
+            }
+
+            @Override
+            public String body(NotificationContext context) {
+                return "Hi " + context.user().getFirstName();
+            }
+        };
+
+        EmailSender.BatchResult failed = new EmailSender.BatchResult(
+                1, List.of(new EmailSender.Failure(1, "b@example.com", "rejected")));
+        when(emailSender.sendBatch(anyList())).thenReturn(failed);
+
+        EmailSender.BatchResult result = emailCommunicationStrategy.sendToAll(
+                List.of(new NotificationContext(first, event, null), new NotificationContext(second, event, null)),
+                notification
+        );
+
+        assertThat(result).isEqualTo(failed);
+        verify(emailSender).sendBatch(List.of(
+                new EmailSender.OutgoingEmail("no-reply@tiqthat.me", "a@example.com", "Subject", "Hi A"),
+                new EmailSender.OutgoingEmail("no-reply@tiqthat.me", "b@example.com", "Subject", "Hi B")));
     }
 }
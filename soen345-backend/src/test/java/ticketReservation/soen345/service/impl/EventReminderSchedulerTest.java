@@ -0,0 +1,174 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ticketReservation.soen345.config.EventReminderProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventScheduleChangedEvent;
+import ticketReservation.soen345.domain.EventStatus;
+import ticketReservation.soen345.domain.NotificationType;
+import ticketReservation.soen345.domain.Reservation;
+import ticketReservation.soen345.domain.ReservationStatus;
+import ticketReservation.soen345.domain.User;
+import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.ReservationRepository;
+import ticketReservation.soen345.repository.UserRepository;
+import ticketReservation.soen345.service.LeaseService;
+import ticketReservation.soen345.service.NotificationService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventReminderSchedulerTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T00:00:00Z");
+    private static final String FIRST_ID = "000000000000000000000000";
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private LeaseService leaseService;
+
+    private EventReminderProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private EventReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EventReminderProperties();
+        properties.setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new EventReminderScheduler(eventRepository, reservationRepository, userRepository,
+                notificationService, leaseService, properties, Runnable::run, meterRegistry);
+    }
+
+    private static Event event(Instant date) {
+        return Event.builder().id("e1").name("Gig").date(date).status(EventStatus.ACTIVE).build();
+    }
+
+    private static Reservation reservation(String id, String userId) {
+        return Reservation.builder().id(id).eventId("e1").userId(userId).status(ReservationStatus.ACTIVE).build();
+    }
+
+    private void takeLeaseWith(Event... upcoming) {
+        when(leaseService.tryAcquire(EventReminderScheduler.LEASE_NAME, properties.getLeaseTtl())).thenReturn(true);
+        when(eventRepository.streamByStatusAndDateAfter(EventStatus.ACTIVE, T0)).thenReturn(Stream.of(upcoming));
+        scheduler.tick(T0);
+    }
+
+    @Test
+    @DisplayName("loads upcoming events on taking the lease and sends due reminders in reservation pages")
+    void sendsDueReminderInPages() {
+        Event event = event(T0.plus(Duration.ofHours(24)).plusSeconds(10));
+        takeLeaseWith(event);
+        assertThat(scheduler.scheduledCount()).isEqualTo(2);
+
+        User first = User.builder().id("u1").build();
+        User second = User.builder().id("u2").build();
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event));
+        when(reservationRepository.findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                "e1", ReservationStatus.ACTIVE, FIRST_ID, Limit.of(2)))
+                .thenReturn(List.of(reservation("r1", "u1"), reservation("r2", "u2")));
+        when(reservationRepository.findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                "e1", ReservationStatus.ACTIVE, "r2", Limit.of(2)))
+                .thenReturn(List.of(reservation("r3", "u1")));
+        when(userRepository.findAllById(Set.of("u1", "u2"))).thenReturn(List.of(first, second));
+        when(userRepository.findAllById(Set.of("u1"))).thenReturn(List.of(first));
+
+        scheduler.tick(T0.plusSeconds(10));
+
+        verify(notificationService).sendBulk(NotificationType.EVENT_REMINDER, event, List.of(first, second));
+        verify(notificationService).sendBulk(NotificationType.EVENT_REMINDER, event, List.of(first));
+        assertThat(scheduler.scheduledCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.reminders.recipients").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("does nothing while another node holds the lease")
+    void notOwner() {
+        when(leaseService.tryAcquire(EventReminderScheduler.LEASE_NAME, properties.getLeaseTtl())).thenReturn(false);
+
+        scheduler.tick(T0);
+
+        verifyNoInteractions(eventRepository, notificationService);
+        assertThat(scheduler.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("drops the schedule when the lease moves to another node")
+    void losesLease() {
+        when(leaseService.tryAcquire(EventReminderScheduler.LEASE_NAME, properties.getLeaseTtl()))
+                .thenReturn(true, false);
+        when(eventRepository.streamByStatusAndDateAfter(EventStatus.ACTIVE, T0))
+                .thenReturn(Stream.of(event(T0.plus(Duration.ofDays(3)))));
+
+        scheduler.tick(T0);
+        assertThat(scheduler.scheduledCount()).isEqualTo(2);
+        scheduler.tick(T0.plus(properties.getLeaseTtl()));
+
+        assertThat(scheduler.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("follows reschedules and cancellations published by the event service")
+    void followsEventChanges() {
+        takeLeaseWith(event(T0.plus(Duration.ofDays(3))));
+
+        scheduler.onEventScheduleChanged(new EventScheduleChangedEvent("e2", T0.plus(Duration.ofDays(5)), EventStatus.ACTIVE));
+        assertThat(scheduler.scheduledCount()).isEqualTo(4);
+
+        scheduler.onEventScheduleChanged(new EventScheduleChangedEvent("e1", T0.plus(Duration.ofDays(3)), EventStatus.CANCELLED));
+        assertThat(scheduler.scheduledCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("picks up events changed through other nodes on the periodic sync")
+    void syncsChangedEvents() {
+        takeLeaseWith();
+        when(eventRepository.findByUpdatedAtGreaterThanEqual(T0.minus(properties.getSyncInterval())))
+                .thenReturn(List.of(event(T0.plus(Duration.ofDays(2)))));
+
+        scheduler.tick(T0.plus(properties.getSyncInterval()));
+
+        assertThat(scheduler.scheduledCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("skips a reminder whose event was moved or cancelled since it was scheduled")
+    void skipsStaleReminder() {
+        Instant oldDate = T0.plus(Duration.ofDays(1));
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event(oldDate.plusSeconds(3600))));
+
+        scheduler.send(new EventReminderScheduler.Reminder("e1", oldDate, Duration.ofHours(24)));
+
+        verify(reservationRepository, never()).findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                anyString(), any(), anyString(), any());
+        verify(notificationService, never()).sendBulk(eq(NotificationType.EVENT_REMINDER), any(), any());
+    }
+}
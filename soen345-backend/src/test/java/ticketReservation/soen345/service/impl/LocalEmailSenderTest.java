@@ -0,0 +1,80 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.config.EmailDeliveryProperties;
+import ticketReservation.soen345.service.EmailSender;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalEmailSenderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+    private LocalEmailSender sender;
+
+    @BeforeEach
+    void setUp() {
+        EmailDeliveryProperties properties = new EmailDeliveryProperties();
+        properties.getBatch().setSize(100);
+        properties.getLocal().setLatency(Duration.ZERO);
+        executor = Executors.newFixedThreadPool(2);
+        sender = new LocalEmailSender(properties, executor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static List<EmailSender.OutgoingEmail> emails(int count) {
+        List<EmailSender.OutgoingEmail> emails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            emails.add(new EmailSender.OutgoingEmail("f@x.com", "user" + i + "@example.com", "s", "h"));
+        }
+        return emails;
+    }
+
+    @Test
+    @DisplayName("sends a batch in provider-sized chunks and times each chunk")
+    void chunks() {
+        EmailSender.BatchResult result = sender.sendBatch(emails(250));
+
+        assertThat(result.sent()).isEqualTo(250);
+        assertThat(result.allSent()).isTrue();
+        assertThat(meterRegistry.get("email.batch.duration").tag("provider", "local").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("email.batch.recipients").tag("outcome", "sent").counter().count()).isEqualTo(250);
+    }
+
+    @Test
+    @DisplayName("reports rejected recipients with their index in the whole send")
+    void failures() {
+        List<EmailSender.OutgoingEmail> emails = emails(150);
+        emails.set(120, new EmailSender.OutgoingEmail("f@x.com", "bad@example.invalid", "s", "h"));
+
+        EmailSender.BatchResult result = sender.sendBatch(emails);
+
+        assertThat(result.sent()).isEqualTo(149);
+        assertThat(result.failures()).containsExactly(
+                new EmailSender.Failure(120, "bad@example.invalid", "Invalid recipient"));
+        assertThat(meterRegistry.get("email.batch.recipients").tag("outcome", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("single sends return ids and reject invalid recipients")
+    void singleSend() {
+        assertThat(sender.sendEmail("f@x.com", "a@example.com", "s", "h")).startsWith("local-");
+        assertThatThrownBy(() -> sender.sendEmail("f@x.com", "a@example.invalid", "s", "h"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
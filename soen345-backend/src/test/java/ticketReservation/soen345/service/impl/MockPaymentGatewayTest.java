@@ -2,11 +2,13 @@ package ticketReservation.soen345.service.impl;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.exception.InvalidWebhookSignatureException;
 
-import java.math.BigDecimal;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class MockPaymentGatewayTest {
 
@@ -14,9 +16,9 @@ class MockPaymentGatewayTest {
     @DisplayName("createPaymentIntent returns sequential mock ids")
     void create() {
         MockPaymentGateway gw = new MockPaymentGateway();
-        assertThat(gw.createPaymentIntent(BigDecimal.ONE, "usd", null, null, Map.of()))
+        assertThat(gw.createPaymentIntent(Money.ofMinor(100, "usd"), null, null, Map.of()))
                 .isEqualTo("pi_mock_1");
-        assertThat(gw.createPaymentIntent(BigDecimal.ONE, "usd", null, null, Map.of()))
+        assertThat(gw.createPaymentIntent(Money.ofMinor(100, "usd"), null, null, Map.of()))
                 .isEqualTo("pi_mock_2");
     }
 
@@ -33,4 +35,19 @@ class MockPaymentGatewayTest {
         MockPaymentGateway gw = new MockPaymentGateway();
         assertThat(gw.refundPayment("pi_x")).startsWith("re_mock_");
     }
+
+    @Test
+    @DisplayName("parseWebhookEvent rejects webhooks without a Stripe configuration")
+    void webhook() {
+        MockPaymentGateway gw = new MockPaymentGateway();
+        assertThatThrownBy(() -> gw.parseWebhookEvent("{}", "sig"))
+                .isInstanceOf(InvalidWebhookSignatureException.class);
+    }
+
+    @Test
+    @DisplayName("fetchPaymentStatus cannot verify mock payments")
+    void fetchStatus() {
+        MockPaymentGateway gw = new MockPaymentGateway();
+        assertThat(gw.fetchPaymentStatus("pi_mock_1")).isEmpty();
+    }
 }
@@ -0,0 +1,112 @@
+package ticketReservation.soen345.service.impl;
+
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.TransientClientSessionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ticketReservation.soen345.config.ReservationProperties;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MongoBookingTransactionsTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoBookingTransactions transactions;
+
+    @BeforeEach
+    void setUp() {
+        ReservationProperties properties = new ReservationProperties();
+        properties.setTransactionAttempts(3);
+        properties.setTransactionRetryBackoff(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        transactions = new MongoBookingTransactions(transactionManager, properties, meterRegistry);
+    }
+
+    private static RuntimeException writeConflict() {
+        MongoException conflict = new MongoException(112, "WriteConflict");
+        conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return new TransientClientSessionException("Write conflict", conflict);
+    }
+
+    @Test
+    @DisplayName("commits the work in a transaction")
+    void commits() {
+        String result = transactions.execute(() -> "booked");
+
+        assertThat(result).isEqualTo("booked");
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("replays the whole transaction after a write conflict")
+    void retriesWriteConflict() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = transactions.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw writeConflict();
+            }
+            return "booked";
+        });
+
+        assertThat(result).isEqualTo("booked");
+        assertThat(calls).hasValue(3);
+        verify(transactionManager, times(2)).rollback(any());
+        assertThat(meterRegistry.counter("reservations.transaction.retries").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("gives up after the configured attempts")
+    void givesUp() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> transactions.execute(() -> {
+            calls.incrementAndGet();
+            throw writeConflict();
+        })).isInstanceOf(TransientClientSessionException.class);
+
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.counter("reservations.transaction.failures").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("does not retry errors that are not transient")
+    void noRetryForOtherErrors() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> transactions.execute(() -> {
+            calls.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("treats an unknown commit result as not safe to replay")
+    void unknownCommitNotTransient() {
+        MongoException unknown = new MongoException("commit timed out");
+        unknown.addLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+
+        assertThat(MongoBookingTransactions.isTransient(new RuntimeException(unknown))).isFalse();
+        assertThat(MongoBookingTransactions.isTransient(writeConflict())).isTrue();
+    }
+}
@@ -0,0 +1,37 @@
+package ticketReservation.soen345.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.repository.JobLeaseRepository;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MongoLeaseServiceTest {
+
+    @Mock
+    private JobLeaseRepository jobLeaseRepository;
+
+    @InjectMocks
+    private MongoLeaseService leaseService;
+
+    @Test
+    @DisplayName("acquires and releases leases under this node's id")
+    void acquireAndRelease() {
+        String node = leaseService.nodeId();
+        when(jobLeaseRepository.tryAcquire("job", node, Duration.ofMinutes(1))).thenReturn(true);
+
+        assertThat(leaseService.tryAcquire("job", Duration.ofMinutes(1))).isTrue();
+        leaseService.release("job");
+
+        verify(jobLeaseRepository).release("job", node);
+    }
+}
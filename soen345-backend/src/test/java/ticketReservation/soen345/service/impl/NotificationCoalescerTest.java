@@ -0,0 +1,103 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.config.NotificationCoalescingProperties;
+import ticketReservation.soen345.domain.NotificationType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationCoalescerTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationCoalescingProperties properties;
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new NotificationCoalescingProperties();
+        properties.setWindow(Duration.ofSeconds(10));
+        coalescer = new NotificationCoalescer(properties, Runnable::run, meterRegistry);
+    }
+
+    private Runnable record(String message) {
+        return () -> sent.add(message);
+    }
+
+    private double coalesced(String outcome) {
+        return meterRegistry.get("notifications.coalesced").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("holds a message until the window ends")
+    void holdsUntilDue() {
+        coalescer.submit("u1", "e1", NotificationType.CONFIRM_RESERVATION, record("confirm"));
+
+        coalescer.flush(Instant.now());
+        assertThat(sent).isEmpty();
+        assertThat(coalescer.pendingCount()).isEqualTo(1);
+
+        coalescer.flush(Instant.now().plusSeconds(11));
+        assertThat(sent).containsExactly("confirm");
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("a cancellation of an unsent confirmation drops both messages")
+    void confirmThenCancel() {
+        coalescer.submit("u1", "e1", NotificationType.CONFIRM_RESERVATION, record("confirm"));
+        coalescer.submit("u1", "e1", NotificationType.CANCEL_RESERVATION, record("cancel"));
+
+        coalescer.flush(Instant.now().plusSeconds(11));
+
+        assertThat(sent).isEmpty();
+        assertThat(coalesced("cancelled_out")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("only the latest message per user and event is sent")
+    void latestWins() {
+        coalescer.submit("u1", "e1", NotificationType.CANCEL_RESERVATION, record("cancel"));
+        coalescer.submit("u1", "e1", NotificationType.CONFIRM_RESERVATION, record("confirm-1"));
+        coalescer.submit("u1", "e1", NotificationType.CONFIRM_RESERVATION, record("confirm-2"));
+        coalescer.submit("u1", "e2", NotificationType.CONFIRM_RESERVATION, record("other-event"));
+
+        coalescer.flush(Instant.now().plusSeconds(11));
+
+        assertThat(sent).containsExactlyInAnyOrder("confirm-2", "other-event");
+        assertThat(coalesced("superseded")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("sends immediately when the window is zero or the message has no user")
+    void passThrough() {
+        coalescer.submit(null, "e1", NotificationType.CONFIRM_RESERVATION, record("anonymous"));
+        properties.setWindow(Duration.ZERO);
+        coalescer.submit("u1", "e1", NotificationType.CONFIRM_RESERVATION, record("direct"));
+
+        assertThat(sent).containsExactly("anonymous", "direct");
+    }
+
+    @Test
+    @DisplayName("flushes pending messages on shutdown and survives a failing send")
+    void flushAllOnShutdown() {
+        coalescer.submit("u1", "e1", NotificationType.CONFIRM_RESERVATION, () -> {
+            throw new IllegalStateException("provider down");
+        });
+        coalescer.submit("u2", "e1", NotificationType.CONFIRM_RESERVATION, record("confirm"));
+
+        coalescer.flushAll();
+
+        assertThat(sent).containsExactly("confirm");
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+}
@@ -1,20 +1,27 @@
 package ticketReservation.soen345.service.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.NotificationCoalescingProperties;
 import ticketReservation.soen345.domain.Event;
 import ticketReservation.soen345.domain.Notification;
 import ticketReservation.soen345.domain.NotificationChannel;
+import ticketReservation.soen345.domain.NotificationContext;
 import ticketReservation.soen345.domain.NotificationType;
 import ticketReservation.soen345.domain.User;
+import ticketReservation.soen345.service.SmsSender;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,7 +45,8 @@ class NotificationServiceImplTest {
                 emailCommunicationStrategy,
                 smsCommunicationStrategy,
                 emailNotificationFactory,
-                smsNotificationFactory);
+                smsNotificationFactory,
+                new NotificationCoalescer(new NotificationCoalescingProperties(), Runnable::run, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -122,4 +130,24 @@ class NotificationServiceImplTest {
 
         verify(emailCommunicationStrategy).sendTo(eq(user), eq(n), any());
     }
+
+    @Test
+    @DisplayName("bulk send batches email recipients, sends SMS at bulk priority and skips missing contacts")
+    void bulkReminder() {
+        User emailUser = User.builder().id("u1").email("a@b.com").build();
+        User smsUser = User.builder().id("u2").phone("+15550001111")
+                .preferredNotificationChannel(NotificationChannel.SMS).build();
+        User noContact = User.builder().id("u3").preferredNotificationChannel(NotificationChannel.SMS).build();
+        Event event = Event.builder().name("E").build();
+        Notification email = org.mockito.Mockito.mock(Notification.class);
+        Notification sms = org.mockito.Mockito.mock(Notification.class);
+        when(emailNotificationFactory.createEventReminder()).thenReturn(email);
+        when(smsNotificationFactory.createEventReminder()).thenReturn(sms);
+
+        notificationService.sendBulk(NotificationType.EVENT_REMINDER, event, List.of(emailUser, smsUser, noContact));
+
+        verify(emailCommunicationStrategy).sendToAll(List.of(new NotificationContext(emailUser, event, null)), email);
+        verify(smsCommunicationStrategy).sendTo(eq(smsUser), eq(sms), any(), eq(SmsSender.Priority.BULK));
+        verify(smsCommunicationStrategy, never()).sendTo(eq(noContact), any(), any(), any());
+    }
 }
@@ -3,14 +3,18 @@ package ticketReservation.soen345.service.impl;
 import com.stripe.exception.InvalidRequestException;
 import com.stripe.model.Customer;
 import com.stripe.model.SetupIntent;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.CustomerCreateParams;
 import com.stripe.param.SetupIntentCreateParams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ticketReservation.soen345.config.StripeProperties;
+import ticketReservation.soen345.domain.CacheInvalidation;
+import ticketReservation.soen345.domain.CachedCollection;
 import ticketReservation.soen345.domain.PaymentInfo;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.dto.response.PaymentSetupIntentResponse;
@@ -18,19 +22,25 @@ import ticketReservation.soen345.exception.PaymentProcessingException;
 import ticketReservation.soen345.exception.ResourceNotFoundException;
 import ticketReservation.soen345.repository.UserRepository;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class PaymentProfileServiceImplTest {
 
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(new SimpleMeterRegistry());
+
     @Test
     @DisplayName("createSetupIntent reuses existing Stripe customer")
     void existingCustomer() {
@@ -48,7 +58,7 @@ class PaymentProfileServiceImplTest {
 
         try (MockedStatic<SetupIntent> ss = mockStatic(SetupIntent.class)) {
             ss.when(() -> SetupIntent.create(any(SetupIntentCreateParams.class))).thenReturn(si);
-            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur);
+            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
             PaymentSetupIntentResponse r = svc.createSetupIntent("u1");
             assertThat(r.getCustomerId()).isEqualTo("cus_old");
             assertThat(r.getClientSecret()).isEqualTo("sec");
@@ -68,7 +78,7 @@ class PaymentProfileServiceImplTest {
                 .lastName("B")
                 .build();
         when(ur.findById("u1")).thenReturn(Optional.of(user));
-        when(ur.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(ur.setCustomerIdIfAbsent(eq("u1"), anyString())).thenReturn(true);
 
         Customer customer = mock(Customer.class);
         when(customer.getId()).thenReturn("cus_new");
@@ -78,13 +88,13 @@ class PaymentProfileServiceImplTest {
 
         try (MockedStatic<Customer> cs = mockStatic(Customer.class);
              MockedStatic<SetupIntent> ss = mockStatic(SetupIntent.class)) {
-            cs.when(() -> Customer.create(any(CustomerCreateParams.class))).thenReturn(customer);
+            cs.when(() -> Customer.create(any(CustomerCreateParams.class), any(RequestOptions.class))).thenReturn(customer);
             ss.when(() -> SetupIntent.create(any(SetupIntentCreateParams.class))).thenReturn(si);
 
-            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur);
+            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
             PaymentSetupIntentResponse r = svc.createSetupIntent("u1");
             assertThat(r.getCustomerId()).isEqualTo("cus_new");
-            verify(ur).save(any(User.class));
+            verify(ur).setCustomerIdIfAbsent("u1", "cus_new");
         }
     }
 
@@ -94,7 +104,7 @@ class PaymentProfileServiceImplTest {
         StripeProperties sp = mock(StripeProperties.class);
         UserRepository ur = mock(UserRepository.class);
         when(ur.findById("x")).thenReturn(Optional.empty());
-        PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur);
+        PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
         assertThatThrownBy(() -> svc.createSetupIntent("x"))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
@@ -111,7 +121,7 @@ class PaymentProfileServiceImplTest {
                 .build();
         when(ur.findById("u1")).thenReturn(Optional.of(user));
 
-        PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur);
+        PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
         assertThatThrownBy(() -> svc.createSetupIntent("u1"))
                 .isInstanceOf(PaymentProcessingException.class)
                 .hasMessageContaining("API key");
@@ -128,7 +138,7 @@ class PaymentProfileServiceImplTest {
                 .paymentInfo(PaymentInfo.builder().customerId("   ").build())
                 .build();
         when(ur.findById("u1")).thenReturn(Optional.of(user));
-        when(ur.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(ur.setCustomerIdIfAbsent(eq("u1"), anyString())).thenReturn(true);
 
         Customer customer = mock(Customer.class);
         when(customer.getId()).thenReturn("cus_new");
@@ -137,13 +147,13 @@ class PaymentProfileServiceImplTest {
 
         try (MockedStatic<Customer> cs = mockStatic(Customer.class);
              MockedStatic<SetupIntent> ss = mockStatic(SetupIntent.class)) {
-            cs.when(() -> Customer.create(any(CustomerCreateParams.class))).thenReturn(customer);
+            cs.when(() -> Customer.create(any(CustomerCreateParams.class), any(RequestOptions.class))).thenReturn(customer);
             ss.when(() -> SetupIntent.create(any(SetupIntentCreateParams.class))).thenReturn(si);
 
-            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur);
+            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
             PaymentSetupIntentResponse r = svc.createSetupIntent("u1");
             assertThat(r.getCustomerId()).isEqualTo("cus_new");
-            verify(ur).save(any(User.class));
+            verify(ur).setCustomerIdIfAbsent("u1", "cus_new");
         }
     }
 
@@ -159,7 +169,7 @@ class PaymentProfileServiceImplTest {
                 .lastName(null)
                 .build();
         when(ur.findById("u1")).thenReturn(Optional.of(user));
-        when(ur.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(ur.setCustomerIdIfAbsent(eq("u1"), anyString())).thenReturn(true);
 
         Customer customer = mock(Customer.class);
         when(customer.getId()).thenReturn("cus_anon");
@@ -168,12 +178,12 @@ class PaymentProfileServiceImplTest {
 
         try (MockedStatic<Customer> cs = mockStatic(Customer.class);
              MockedStatic<SetupIntent> ss = mockStatic(SetupIntent.class)) {
-            cs.when(() -> Customer.create(any(CustomerCreateParams.class))).thenReturn(customer);
+            cs.when(() -> Customer.create(any(CustomerCreateParams.class), any(RequestOptions.class))).thenReturn(customer);
             ss.when(() -> SetupIntent.create(any(SetupIntentCreateParams.class))).thenReturn(si);
 
-            new PaymentProfileServiceImpl(sp, ur).createSetupIntent("u1");
+            new PaymentProfileServiceImpl(sp, ur, bus).createSetupIntent("u1");
 
-            cs.verify(() -> Customer.create(any(CustomerCreateParams.class)));
+            cs.verify(() -> Customer.create(any(CustomerCreateParams.class), any(RequestOptions.class)));
         }
     }
 
@@ -187,10 +197,10 @@ class PaymentProfileServiceImplTest {
         when(ur.findById("u1")).thenReturn(Optional.of(user));
 
         try (MockedStatic<Customer> cs = mockStatic(Customer.class)) {
-            cs.when(() -> Customer.create(any(CustomerCreateParams.class)))
+            cs.when(() -> Customer.create(any(CustomerCreateParams.class), any(RequestOptions.class)))
                     .thenThrow(new InvalidRequestException("bad", "p", "c", "t", 400, null));
 
-            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur);
+            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
             assertThatThrownBy(() -> svc.createSetupIntent("u1"))
                     .isInstanceOf(PaymentProcessingException.class)
                     .hasMessageContaining("Failed to create Stripe customer");
@@ -213,10 +223,101 @@ class PaymentProfileServiceImplTest {
             ss.when(() -> SetupIntent.create(any(SetupIntentCreateParams.class)))
                     .thenThrow(new InvalidRequestException("bad", "p", "c", "t", 400, null));
 
-            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur);
+            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
             assertThatThrownBy(() -> svc.createSetupIntent("u1"))
                     .isInstanceOf(PaymentProcessingException.class)
                     .hasMessageContaining("Failed to create Stripe setup intent");
         }
     }
+
+    @Test
+    @DisplayName("reuses the stored customer when another request stored one first")
+    void lostCustomerRace() {
+        StripeProperties sp = mock(StripeProperties.class);
+        when(sp.getApiKey()).thenReturn("sk_test");
+        UserRepository ur = mock(UserRepository.class);
+        User user = User.builder().id("u1").email("e@e.com").build();
+        User raced = User.builder()
+                .id("u1")
+                .paymentInfo(PaymentInfo.builder().customerId("cus_winner").build())
+                .build();
+        when(ur.findById("u1")).thenReturn(Optional.of(user), Optional.of(raced));
+        when(ur.setCustomerIdIfAbsent("u1", "cus_loser")).thenReturn(false);
+
+        Customer customer = mock(Customer.class);
+        when(customer.getId()).thenReturn("cus_loser");
+        SetupIntent si = mock(SetupIntent.class);
+        when(si.getClientSecret()).thenReturn("sec");
+
+        try (MockedStatic<Customer> cs = mockStatic(Customer.class);
+             MockedStatic<SetupIntent> ss = mockStatic(SetupIntent.class)) {
+            cs.when(() -> Customer.create(any(CustomerCreateParams.class), any(RequestOptions.class)))
+                    .thenReturn(customer);
+            ss.when(() -> SetupIntent.create(any(SetupIntentCreateParams.class))).thenReturn(si);
+
+            PaymentSetupIntentResponse r = new PaymentProfileServiceImpl(sp, ur, bus).createSetupIntent("u1");
+            assertThat(r.getCustomerId()).isEqualTo("cus_winner");
+        }
+    }
+
+    @Test
+    @DisplayName("serves a cached client secret until the default payment method changes")
+    void cachesSetupIntent() {
+        StripeProperties sp = mock(StripeProperties.class);
+        when(sp.getApiKey()).thenReturn("sk_test");
+        when(sp.getSetupIntentCacheTtl()).thenReturn(Duration.ofMinutes(5));
+        UserRepository ur = mock(UserRepository.class);
+        User user = User.builder()
+                .id("u1")
+                .paymentInfo(PaymentInfo.builder().customerId("cus_1").build())
+                .build();
+        User withMethod = User.builder()
+                .id("u1")
+                .paymentInfo(PaymentInfo.builder().customerId("cus_1").defaultPaymentMethodId("pm_1").build())
+                .build();
+        when(ur.findById("u1")).thenReturn(Optional.of(user), Optional.of(user), Optional.of(withMethod));
+
+        SetupIntent si = mock(SetupIntent.class);
+        when(si.getClientSecret()).thenReturn("sec");
+
+        try (MockedStatic<SetupIntent> ss = mockStatic(SetupIntent.class)) {
+            ss.when(() -> SetupIntent.create(any(SetupIntentCreateParams.class))).thenReturn(si);
+            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
+
+            svc.createSetupIntent("u1");
+            svc.createSetupIntent("u1");
+            ss.verify(() -> SetupIntent.create(any(SetupIntentCreateParams.class)), times(1));
+
+            svc.createSetupIntent("u1");
+            ss.verify(() -> SetupIntent.create(any(SetupIntentCreateParams.class)), times(2));
+        }
+    }
+
+    @Test
+    @DisplayName("drops the cached client secret when another node changes the user")
+    void invalidatedByUserChange() {
+        StripeProperties sp = mock(StripeProperties.class);
+        when(sp.getApiKey()).thenReturn("sk_test");
+        when(sp.getSetupIntentCacheTtl()).thenReturn(Duration.ofMinutes(5));
+        UserRepository ur = mock(UserRepository.class);
+        User user = User.builder()
+                .id("u1")
+                .paymentInfo(PaymentInfo.builder().customerId("cus_1").build())
+                .build();
+        when(ur.findById("u1")).thenReturn(Optional.of(user));
+
+        SetupIntent si = mock(SetupIntent.class);
+        when(si.getClientSecret()).thenReturn("sec");
+
+        try (MockedStatic<SetupIntent> ss = mockStatic(SetupIntent.class)) {
+            ss.when(() -> SetupIntent.create(any(SetupIntentCreateParams.class))).thenReturn(si);
+            PaymentProfileServiceImpl svc = new PaymentProfileServiceImpl(sp, ur, bus);
+
+            svc.createSetupIntent("u1");
+            bus.publish(CacheInvalidation.of(CachedCollection.USERS, "u1"));
+            svc.createSetupIntent("u1");
+
+            ss.verify(() -> SetupIntent.create(any(SetupIntentCreateParams.class)), times(2));
+        }
+    }
 }
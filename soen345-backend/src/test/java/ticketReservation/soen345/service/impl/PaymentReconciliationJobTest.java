@@ -0,0 +1,138 @@
+package ticketReservation.soen345.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.PaymentReconciliationProperties;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentReconciliationReport;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.exception.PaymentProcessingException;
+import ticketReservation.soen345.repository.PaymentReconciliationReportRepository;
+import ticketReservation.soen345.repository.PaymentRepository;
+import ticketReservation.soen345.service.LeaseService;
+import ticketReservation.soen345.service.PaymentGateway;
+import ticketReservation.soen345.service.PaymentService;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationJobTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private PaymentReconciliationReportRepository reportRepository;
+    @Mock
+    private PaymentGateway paymentGateway;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private LeaseService leaseService;
+
+    private PaymentReconciliationJob job;
+
+    @BeforeEach
+    void setUp() {
+        PaymentReconciliationProperties properties = new PaymentReconciliationProperties();
+        properties.setBatchSize(2);
+        properties.setProviderRequestsPerSecond(0);
+        job = new PaymentReconciliationJob(
+                paymentRepository, reportRepository, paymentGateway, paymentService, leaseService, properties);
+        lenient().when(reportRepository.save(any(PaymentReconciliationReport.class)))
+                .thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private Payment payment(String id, PaymentStatus status) {
+        return Payment.builder().id(id).providerPaymentId("pi_" + id).status(status).build();
+    }
+
+    @Test
+    @DisplayName("corrects drifted payments and summarises the run")
+    void reconciles() {
+        when(leaseService.tryAcquire(eq(PaymentReconciliationJob.LEASE_NAME), any())).thenReturn(true);
+        AtomicBoolean pendingClosed = new AtomicBoolean();
+        when(paymentRepository.streamByStatusAndUpdatedAtBetween(eq(PaymentStatus.PENDING), any(), any()))
+                .thenReturn(Stream.of(
+                        payment("a", PaymentStatus.PENDING),
+                        payment("b", PaymentStatus.PENDING),
+                        payment("c", PaymentStatus.PENDING)).onClose(() -> pendingClosed.set(true)));
+        when(paymentRepository.streamByStatusAndUpdatedAtBetween(eq(PaymentStatus.CONFIRMED), any(), any()))
+                .thenReturn(Stream.of(payment("d", PaymentStatus.CONFIRMED)));
+
+        when(paymentGateway.fetchPaymentStatus("pi_a")).thenReturn(Optional.of(PaymentStatus.CONFIRMED));
+        when(paymentGateway.fetchPaymentStatus("pi_b")).thenReturn(Optional.of(PaymentStatus.PENDING));
+        when(paymentGateway.fetchPaymentStatus("pi_c")).thenThrow(new PaymentProcessingException("down"));
+        when(paymentGateway.fetchPaymentStatus("pi_d")).thenReturn(Optional.of(PaymentStatus.REFUNDED));
+        when(paymentService.applyProviderStatus("pi_a", PaymentStatus.CONFIRMED))
+                .thenReturn(Optional.of(payment("a", PaymentStatus.CONFIRMED)));
+        when(paymentService.applyProviderStatus("pi_d", PaymentStatus.REFUNDED))
+                .thenReturn(Optional.of(payment("d", PaymentStatus.REFUNDED)));
+
+        PaymentReconciliationReport report = job.run().orElseThrow();
+
+        assertThat(report.getScanned()).isEqualTo(4);
+        assertThat(report.getCorrected()).isEqualTo(2);
+        assertThat(report.getUnchanged()).isEqualTo(1);
+        assertThat(report.getErrors()).isEqualTo(1);
+        assertThat(report.getCorrections())
+                .containsEntry("PENDING->CONFIRMED", 1L)
+                .containsEntry("CONFIRMED->REFUNDED", 1L);
+        assertThat(report.getFinishedAt()).isNotNull();
+        assertThat(pendingClosed).isTrue();
+        // Left to expire so a node firing slightly later does not run again straight away.
+        verify(leaseService, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("counts payments the provider cannot report on")
+    void unverifiable() {
+        when(leaseService.tryAcquire(eq(PaymentReconciliationJob.LEASE_NAME), any())).thenReturn(true);
+        when(paymentRepository.streamByStatusAndUpdatedAtBetween(eq(PaymentStatus.PENDING), any(), any()))
+                .thenReturn(Stream.of(payment("a", PaymentStatus.PENDING)));
+        when(paymentRepository.streamByStatusAndUpdatedAtBetween(eq(PaymentStatus.CONFIRMED), any(), any()))
+                .thenReturn(Stream.empty());
+        when(paymentGateway.fetchPaymentStatus("pi_a")).thenReturn(Optional.empty());
+
+        PaymentReconciliationReport report = job.run().orElseThrow();
+
+        assertThat(report.getUnverifiable()).isEqualTo(1);
+        verify(paymentService, never()).applyProviderStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("stops without a report when the lease cannot be renewed")
+    void leaseLost() {
+        when(leaseService.tryAcquire(eq(PaymentReconciliationJob.LEASE_NAME), any())).thenReturn(true, false);
+        when(paymentRepository.streamByStatusAndUpdatedAtBetween(eq(PaymentStatus.PENDING), any(), any()))
+                .thenReturn(Stream.of(payment("a", PaymentStatus.PENDING)));
+        when(paymentGateway.fetchPaymentStatus("pi_a")).thenReturn(Optional.of(PaymentStatus.PENDING));
+
+        assertThat(job.run()).isEmpty();
+        verify(paymentRepository, never()).streamByStatusAndUpdatedAtBetween(eq(PaymentStatus.CONFIRMED), any(), any());
+        verify(reportRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("does nothing when another node holds the lease")
+    void leaseHeld() {
+        when(leaseService.tryAcquire(eq(PaymentReconciliationJob.LEASE_NAME), any())).thenReturn(false);
+
+        assertThat(job.run()).isEmpty();
+        verify(paymentRepository, never()).streamByStatusAndUpdatedAtBetween(any(), any(), any());
+        verify(leaseService, never()).release(any());
+    }
+}
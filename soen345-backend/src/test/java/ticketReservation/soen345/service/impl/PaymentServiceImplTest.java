@@ -6,15 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ticketReservation.soen345.domain.Money;
 import ticketReservation.soen345.domain.Payment;
 import ticketReservation.soen345.domain.PaymentInfo;
 import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.domain.PaymentStatusChangedEvent;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.exception.PaymentProcessingException;
 import ticketReservation.soen345.repository.PaymentRepository;
 import ticketReservation.soen345.service.PaymentGateway;
 
-import java.math.BigDecimal;
 import java.util.Map;
 import java.util.Optional;
 
@@ -24,6 +26,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,12 +37,14 @@ class PaymentServiceImplTest {
     private PaymentGateway paymentGateway;
     @Mock
     private PaymentRepository paymentRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private PaymentServiceImpl paymentService;
 
     @BeforeEach
     void setUp() {
-        paymentService = new PaymentServiceImpl(paymentGateway, paymentRepository);
+        paymentService = new PaymentServiceImpl(paymentGateway, paymentRepository, eventPublisher);
     }
 
     @Test
@@ -51,8 +56,7 @@ class PaymentServiceImplTest {
                 .build();
         User payee = User.builder().id("p2").build();
         when(paymentGateway.createPaymentIntent(
-                eq(BigDecimal.valueOf(20)),
-                eq("usd"),
+                eq(Money.ofMinor(2000, "usd")),
                 eq("cus"),
                 eq("pm"),
                 argThat((Map<String, String> m) ->
@@ -65,13 +69,12 @@ class PaymentServiceImplTest {
             return p;
         });
 
-        Payment result = paymentService.createPaymentIntent(payer, payee, BigDecimal.valueOf(20), "usd");
+        Payment result = paymentService.createPaymentIntent(payer, payee, Money.ofMinor(2000, "usd"));
 
         assertThat(result.getId()).isEqualTo("pay-db");
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.PENDING);
         verify(paymentGateway).createPaymentIntent(
-                eq(BigDecimal.valueOf(20)),
-                eq("usd"),
+                eq(Money.ofMinor(2000, "usd")),
                 eq("cus"),
                 eq("pm"),
                 argThat((Map<String, String> m) ->
@@ -81,9 +84,9 @@ class PaymentServiceImplTest {
     @Test
     @DisplayName("createPaymentIntent throws when payer or payee null")
     void nullParties() {
-        assertThatThrownBy(() -> paymentService.createPaymentIntent(null, User.builder().build(), BigDecimal.ONE, "usd"))
+        assertThatThrownBy(() -> paymentService.createPaymentIntent(null, User.builder().build(), Money.ofMinor(100, "usd")))
                 .isInstanceOf(PaymentProcessingException.class);
-        assertThatThrownBy(() -> paymentService.createPaymentIntent(User.builder().build(), null, BigDecimal.ONE, "usd"))
+        assertThatThrownBy(() -> paymentService.createPaymentIntent(User.builder().build(), null, Money.ofMinor(100, "usd")))
                 .isInstanceOf(PaymentProcessingException.class);
     }
 
@@ -93,20 +96,18 @@ class PaymentServiceImplTest {
         User payer = User.builder().id("p1").build();
         User payee = User.builder().id("p2").build();
         when(paymentGateway.createPaymentIntent(
-                eq(BigDecimal.TEN),
-                eq("usd"),
+                eq(Money.ofMinor(1000, "usd")),
                 isNull(),
                 isNull(),
                 any()))
                 .thenReturn("pi_x");
         when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        Payment result = paymentService.createPaymentIntent(payer, payee, BigDecimal.TEN, "usd");
+        Payment result = paymentService.createPaymentIntent(payer, payee, Money.ofMinor(1000, "usd"));
 
         assertThat(result.getProviderPaymentId()).isEqualTo("pi_x");
         verify(paymentGateway).createPaymentIntent(
-                eq(BigDecimal.TEN),
-                eq("usd"),
+                eq(Money.ofMinor(1000, "usd")),
                 isNull(),
                 isNull(),
                 argThat((Map<String, String> m) ->
@@ -121,13 +122,22 @@ class PaymentServiceImplTest {
                 .providerPaymentId("pi_x")
                 .status(PaymentStatus.PENDING)
                 .build();
+        Payment confirmed = Payment.builder()
+                .id("id1")
+                .providerPaymentId("pi_x")
+                .status(PaymentStatus.CONFIRMED)
+                .build();
         when(paymentRepository.findById("id1")).thenReturn(Optional.of(existing));
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.PENDING, PaymentStatus.CONFIRMED))
+                .thenReturn(Optional.of(confirmed));
 
         Payment out = paymentService.confirmPayment("id1");
 
         assertThat(out.getStatus()).isEqualTo(PaymentStatus.CONFIRMED);
         verify(paymentGateway).confirmPayment("pi_x");
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof PaymentStatusChangedEvent changed
+                && changed.previousStatus() == PaymentStatus.PENDING
+                && changed.currentStatus() == PaymentStatus.CONFIRMED));
     }
 
     @Test
@@ -138,13 +148,48 @@ class PaymentServiceImplTest {
                 .providerPaymentId("pi_x")
                 .status(PaymentStatus.CONFIRMED)
                 .build();
+        Payment refunded = Payment.builder()
+                .id("id1")
+                .providerPaymentId("pi_x")
+                .status(PaymentStatus.REFUNDED)
+                .build();
         when(paymentRepository.findById("id1")).thenReturn(Optional.of(existing));
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.CONFIRMED, PaymentStatus.REFUNDED))
+                .thenReturn(Optional.of(refunded));
         when(paymentGateway.refundPayment("pi_x")).thenReturn("re_1");
 
         Payment out = paymentService.refundPayment("id1");
 
         assertThat(out.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        verify(eventPublisher).publishEvent(any(PaymentStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("confirmPayment does not overwrite or announce a status another caller changed first")
+    void confirmLosesRace() {
+        Payment pending = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.PENDING).build();
+        Payment failed = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.FAILED).build();
+        when(paymentRepository.findById("id1")).thenReturn(Optional.of(pending), Optional.of(failed));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.PENDING, PaymentStatus.CONFIRMED))
+                .thenReturn(Optional.empty());
+
+        assertThat(paymentService.confirmPayment("id1").getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("refundPayment does not refund again once another caller refunded the payment")
+    void refundLosesRace() {
+        Payment confirmed = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.CONFIRMED).build();
+        Payment refunded = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.REFUNDED).build();
+        when(paymentRepository.findById("id1")).thenReturn(Optional.of(confirmed), Optional.of(refunded));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.CONFIRMED, PaymentStatus.REFUNDED))
+                .thenReturn(Optional.empty());
+
+        assertThat(paymentService.refundPayment("id1").getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        verify(paymentGateway, never()).refundPayment(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -155,4 +200,112 @@ class PaymentServiceImplTest {
                 .isInstanceOf(PaymentProcessingException.class)
                 .hasMessageContaining("not found");
     }
+
+    @Test
+    @DisplayName("markFailed moves a pending payment to FAILED")
+    void markFailed() {
+        Payment existing = Payment.builder().id("id1").status(PaymentStatus.PENDING).build();
+        Payment failed = Payment.builder().id("id1").status(PaymentStatus.FAILED).build();
+        when(paymentRepository.findById("id1")).thenReturn(Optional.of(existing));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.PENDING, PaymentStatus.FAILED))
+                .thenReturn(Optional.of(failed));
+
+        assertThat(paymentService.markFailed("id1").getStatus()).isEqualTo(PaymentStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("markFailed leaves a confirmed payment untouched")
+    void markFailedConfirmed() {
+        Payment existing = Payment.builder().id("id1").status(PaymentStatus.CONFIRMED).build();
+        when(paymentRepository.findById("id1")).thenReturn(Optional.of(existing));
+
+        assertThat(paymentService.markFailed("id1").getStatus()).isEqualTo(PaymentStatus.CONFIRMED);
+        verify(paymentRepository, never()).transitionStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("applyProviderStatus transitions atomically and publishes the change")
+    void applyProviderStatus() {
+        Payment existing = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.PENDING).build();
+        Payment updated = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.CONFIRMED).build();
+        when(paymentRepository.findByProviderPaymentId("pi_x")).thenReturn(Optional.of(existing));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.PENDING, PaymentStatus.CONFIRMED))
+                .thenReturn(Optional.of(updated));
+
+        Optional<Payment> result = paymentService.applyProviderStatus("pi_x", PaymentStatus.CONFIRMED);
+
+        assertThat(result).contains(updated);
+        verify(eventPublisher).publishEvent(any(PaymentStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("applyProviderStatus ignores repeated and backward transitions")
+    void applyProviderStatusIdempotent() {
+        Payment confirmed = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.CONFIRMED).build();
+        when(paymentRepository.findByProviderPaymentId("pi_x")).thenReturn(Optional.of(confirmed));
+
+        assertThat(paymentService.applyProviderStatus("pi_x", PaymentStatus.CONFIRMED)).isEmpty();
+        assertThat(paymentService.applyProviderStatus("pi_x", PaymentStatus.FAILED)).isEmpty();
+        verify(paymentRepository, never()).transitionStatus(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("applyProviderStatus ignores unknown payments")
+    void applyProviderStatusUnknown() {
+        when(paymentRepository.findByProviderPaymentId("pi_missing")).thenReturn(Optional.empty());
+
+        assertThat(paymentService.applyProviderStatus("pi_missing", PaymentStatus.CONFIRMED)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("cancelPayment refunds a confirmed payment once it has claimed the refund")
+    void cancelPaymentRefunds() {
+        Payment confirmed = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.CONFIRMED).build();
+        Payment refunded = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.REFUNDED).build();
+        when(paymentRepository.findById("id1")).thenReturn(Optional.of(confirmed));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.CONFIRMED, PaymentStatus.REFUNDED))
+                .thenReturn(Optional.of(refunded));
+
+        assertThat(paymentService.cancelPayment("id1").getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        verify(paymentGateway).refundPayment("pi_x");
+        verify(eventPublisher).publishEvent(any(PaymentStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("cancelPayment does not refund again when another caller claimed the refund")
+    void cancelPaymentAlreadyClaimed() {
+        Payment confirmed = Payment.builder().id("id1").providerPaymentId("pi_x").status(PaymentStatus.CONFIRMED).build();
+        when(paymentRepository.findById("id1")).thenReturn(Optional.of(confirmed));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.CONFIRMED, PaymentStatus.REFUNDED))
+                .thenReturn(Optional.empty());
+
+        paymentService.cancelPayment("id1");
+
+        verify(paymentGateway, never()).refundPayment(any());
+    }
+
+    @Test
+    @DisplayName("cancelPayment fails a pending payment and hands back the refund claim when the provider refuses")
+    void cancelPaymentPendingAndRefundFailure() {
+        Payment pending = Payment.builder().id("id1").status(PaymentStatus.PENDING).build();
+        Payment failed = Payment.builder().id("id1").status(PaymentStatus.FAILED).build();
+        when(paymentRepository.findById("id1")).thenReturn(Optional.of(pending));
+        when(paymentRepository.transitionStatus("id1", PaymentStatus.PENDING, PaymentStatus.FAILED))
+                .thenReturn(Optional.of(failed));
+
+        assertThat(paymentService.cancelPayment("id1").getStatus()).isEqualTo(PaymentStatus.FAILED);
+
+        Payment confirmed = Payment.builder().id("id2").providerPaymentId("pi_y").status(PaymentStatus.CONFIRMED).build();
+        Payment refunded = Payment.builder().id("id2").providerPaymentId("pi_y").status(PaymentStatus.REFUNDED).build();
+        when(paymentRepository.findById("id2")).thenReturn(Optional.of(confirmed));
+        when(paymentRepository.transitionStatus("id2", PaymentStatus.CONFIRMED, PaymentStatus.REFUNDED))
+                .thenReturn(Optional.of(refunded));
+        when(paymentGateway.refundPayment("pi_y")).thenThrow(new PaymentProcessingException("declined"));
+        when(paymentRepository.transitionStatus("id2", PaymentStatus.REFUNDED, PaymentStatus.CONFIRMED))
+                .thenReturn(Optional.of(confirmed));
+
+        assertThatThrownBy(() -> paymentService.cancelPayment("id2")).isInstanceOf(PaymentProcessingException.class);
+        verify(paymentRepository).transitionStatus("id2", PaymentStatus.REFUNDED, PaymentStatus.CONFIRMED);
+    }
 }
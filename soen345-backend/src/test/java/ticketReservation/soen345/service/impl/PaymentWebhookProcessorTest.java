@@ -0,0 +1,130 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.PaymentWebhookProperties;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.domain.PaymentWebhookEvent;
+import ticketReservation.soen345.domain.WebhookEventStatus;
+import ticketReservation.soen345.exception.PaymentProcessingException;
+import ticketReservation.soen345.repository.PaymentWebhookEventRepository;
+import ticketReservation.soen345.service.PaymentService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentWebhookProcessorTest {
+
+    @Mock
+    private PaymentWebhookEventRepository webhookEventRepository;
+    @Mock
+    private PaymentService paymentService;
+
+    private PaymentWebhookProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentWebhookProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PaymentWebhookProperties();
+        properties.setMaxAttempts(2);
+        meterRegistry = new SimpleMeterRegistry();
+        processor = new PaymentWebhookProcessor(webhookEventRepository, paymentService, properties, meterRegistry);
+    }
+
+    private PaymentWebhookEvent claimed(int attempts) {
+        return PaymentWebhookEvent.builder()
+                .id("evt_1")
+                .providerPaymentId("pi_1")
+                .targetStatus(PaymentStatus.CONFIRMED)
+                .providerCreatedAt(Instant.now().minusSeconds(5))
+                .status(WebhookEventStatus.PROCESSING)
+                .attempts(attempts)
+                .build();
+    }
+
+    @Test
+    @DisplayName("applies the target status and records lag")
+    void processes() {
+        PaymentWebhookEvent event = claimed(1);
+        when(webhookEventRepository.claim(eq("evt_1"), any())).thenReturn(Optional.of(event));
+        when(paymentService.applyProviderStatus("pi_1", PaymentStatus.CONFIRMED))
+                .thenReturn(Optional.of(Payment.builder().id("pay1").build()));
+
+        processor.process("evt_1");
+
+        assertThat(event.getStatus()).isEqualTo(WebhookEventStatus.PROCESSED);
+        assertThat(event.getProcessedAt()).isNotNull();
+        verify(webhookEventRepository).save(event);
+        assertThat(meterRegistry.timer("payments.webhook.lag").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("marks no-op transitions as IGNORED")
+    void noop() {
+        PaymentWebhookEvent event = claimed(1);
+        when(webhookEventRepository.claim(eq("evt_1"), any())).thenReturn(Optional.of(event));
+        when(paymentService.applyProviderStatus("pi_1", PaymentStatus.CONFIRMED)).thenReturn(Optional.empty());
+
+        processor.process("evt_1");
+
+        assertThat(event.getStatus()).isEqualTo(WebhookEventStatus.IGNORED);
+    }
+
+    @Test
+    @DisplayName("skips events already claimed elsewhere")
+    void alreadyClaimed() {
+        when(webhookEventRepository.claim(eq("evt_1"), any())).thenReturn(Optional.empty());
+
+        processor.process("evt_1");
+
+        verify(paymentService, never()).applyProviderStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("returns failures to the inbox until attempts are exhausted")
+    void retriesThenFails() {
+        PaymentWebhookEvent first = claimed(1);
+        when(webhookEventRepository.claim(eq("evt_1"), any())).thenReturn(Optional.of(first));
+        when(paymentService.applyProviderStatus("pi_1", PaymentStatus.CONFIRMED))
+                .thenThrow(new PaymentProcessingException("boom"));
+
+        processor.process("evt_1");
+        assertThat(first.getStatus()).isEqualTo(WebhookEventStatus.RECEIVED);
+        assertThat(first.getLastError()).isEqualTo("boom");
+
+        PaymentWebhookEvent second = claimed(2);
+        when(webhookEventRepository.claim(eq("evt_1"), any())).thenReturn(Optional.of(second));
+
+        processor.process("evt_1");
+        assertThat(second.getStatus()).isEqualTo(WebhookEventStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("retryStalled reprocesses stale inbox entries")
+    void sweep() {
+        PaymentWebhookEvent stale = claimed(1);
+        when(webhookEventRepository.findTop100ByStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(any(), any()))
+                .thenReturn(List.of(stale));
+        when(webhookEventRepository.claim(eq("evt_1"), any())).thenReturn(Optional.empty());
+
+        processor.retryStalled();
+
+        verify(webhookEventRepository).claim(eq("evt_1"), any());
+    }
+}
@@ -0,0 +1,89 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import ticketReservation.soen345.domain.PaymentProviderEvent;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.domain.PaymentWebhookEvent;
+import ticketReservation.soen345.domain.WebhookEventStatus;
+import ticketReservation.soen345.repository.PaymentWebhookEventRepository;
+import ticketReservation.soen345.service.PaymentGateway;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentWebhookServiceImplTest {
+
+    @Mock
+    private PaymentGateway paymentGateway;
+    @Mock
+    private PaymentWebhookEventRepository webhookEventRepository;
+    @Mock
+    private PaymentWebhookProcessor webhookProcessor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentWebhookServiceImpl webhookService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        webhookService = new PaymentWebhookServiceImpl(
+                paymentGateway, webhookEventRepository, webhookProcessor, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("stores the event in the inbox and hands it off")
+    void storesAndDispatches() {
+        when(paymentGateway.parseWebhookEvent("{}", "sig")).thenReturn(new PaymentProviderEvent(
+                "evt_1", "payment_intent.succeeded", "pi_1", PaymentStatus.CONFIRMED, Instant.now()));
+
+        webhookService.receive("{}", "sig");
+
+        ArgumentCaptor<PaymentWebhookEvent> captor = ArgumentCaptor.forClass(PaymentWebhookEvent.class);
+        verify(webhookEventRepository).insert(captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo("evt_1");
+        assertThat(captor.getValue().getStatus()).isEqualTo(WebhookEventStatus.RECEIVED);
+        assertThat(captor.getValue().getTargetStatus()).isEqualTo(PaymentStatus.CONFIRMED);
+        verify(webhookProcessor).processAsync("evt_1");
+    }
+
+    @Test
+    @DisplayName("drops redelivered events without processing them again")
+    void duplicate() {
+        when(paymentGateway.parseWebhookEvent("{}", "sig")).thenReturn(new PaymentProviderEvent(
+                "evt_1", "payment_intent.succeeded", "pi_1", PaymentStatus.CONFIRMED, Instant.now()));
+        when(webhookEventRepository.insert(any(PaymentWebhookEvent.class)))
+                .thenThrow(new DuplicateKeyException("dup"));
+
+        webhookService.receive("{}", "sig");
+
+        verify(webhookProcessor, never()).processAsync(any());
+        assertThat(meterRegistry.counter(PaymentWebhookServiceImpl.EVENTS_METRIC, "outcome", "duplicate").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("ignores event types that do not affect payments")
+    void ignored() {
+        when(paymentGateway.parseWebhookEvent("{}", "sig")).thenReturn(new PaymentProviderEvent(
+                "evt_2", "customer.created", null, null, Instant.now()));
+
+        webhookService.receive("{}", "sig");
+
+        verify(webhookEventRepository, never()).insert(any(PaymentWebhookEvent.class));
+        verify(webhookProcessor, never()).processAsync(any());
+    }
+}
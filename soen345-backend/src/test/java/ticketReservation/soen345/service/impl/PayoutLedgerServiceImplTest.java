@@ -0,0 +1,158 @@
+package ticketReservation.soen345.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.OrganizerBalance;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.domain.PaymentStatusChangedEvent;
+import ticketReservation.soen345.domain.PayoutEntryType;
+import ticketReservation.soen345.domain.PayoutLedgerEntry;
+import ticketReservation.soen345.dto.response.OrganizerBalanceResponse;
+import ticketReservation.soen345.dto.response.PayoutLedgerVerificationResponse;
+import ticketReservation.soen345.repository.OrganizerBalanceRepository;
+import ticketReservation.soen345.repository.PaymentRepository;
+import ticketReservation.soen345.repository.PayoutLedgerEntryRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayoutLedgerServiceImplTest {
+
+    @Mock
+    private PayoutLedgerEntryRepository ledgerEntryRepository;
+    @Mock
+    private OrganizerBalanceRepository organizerBalanceRepository;
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @InjectMocks
+    private PayoutLedgerServiceImpl payoutLedgerService;
+
+    private Payment payment(PaymentStatus status) {
+        return Payment.builder()
+                .id("pay-1")
+                .payeeUserId("org-1")
+                .amount(Money.of(new BigDecimal("25.5"), "USD"))
+                .status(status)
+                .build();
+    }
+
+    @Test
+    @DisplayName("confirmed payment appends a credit in minor units and increments the balance")
+    void confirmedCredits() {
+        payoutLedgerService.onPaymentStatusChanged(
+                new PaymentStatusChangedEvent(payment(PaymentStatus.CONFIRMED), PaymentStatus.PENDING));
+
+        ArgumentCaptor<PayoutLedgerEntry> captor = ArgumentCaptor.forClass(PayoutLedgerEntry.class);
+        verify(ledgerEntryRepository).insert(captor.capture());
+        PayoutLedgerEntry entry = captor.getValue();
+        assertThat(entry.getId()).isEqualTo("pay-1:PAYMENT_CONFIRMED");
+        assertThat(entry.getAmountMinor()).isEqualTo(2550L);
+        assertThat(entry.getCurrency()).isEqualTo("usd");
+        verify(organizerBalanceRepository).applyEntry(entry);
+    }
+
+    @Test
+    @DisplayName("replayed confirmation does not touch the balance twice")
+    void duplicateIgnored() {
+        when(ledgerEntryRepository.insert(any(PayoutLedgerEntry.class))).thenThrow(new DuplicateKeyException("dup"));
+
+        payoutLedgerService.onPaymentStatusChanged(
+                new PaymentStatusChangedEvent(payment(PaymentStatus.CONFIRMED), PaymentStatus.PENDING));
+
+        verify(organizerBalanceRepository, never()).applyEntry(any());
+    }
+
+    @Test
+    @DisplayName("refund is only debited when the payment was credited")
+    void refundDebits() {
+        when(ledgerEntryRepository.existsById("pay-1:PAYMENT_CONFIRMED")).thenReturn(true);
+
+        payoutLedgerService.onPaymentStatusChanged(
+                new PaymentStatusChangedEvent(payment(PaymentStatus.REFUNDED), PaymentStatus.CONFIRMED));
+
+        ArgumentCaptor<PayoutLedgerEntry> captor = ArgumentCaptor.forClass(PayoutLedgerEntry.class);
+        verify(ledgerEntryRepository).insert(captor.capture());
+        assertThat(captor.getValue().getType()).isEqualTo(PayoutEntryType.PAYMENT_REFUNDED);
+    }
+
+    @Test
+    @DisplayName("refund of an uncredited payment leaves the ledger alone")
+    void refundWithoutCredit() {
+        when(ledgerEntryRepository.existsById("pay-1:PAYMENT_CONFIRMED")).thenReturn(false);
+
+        payoutLedgerService.onPaymentStatusChanged(
+                new PaymentStatusChangedEvent(payment(PaymentStatus.REFUNDED), PaymentStatus.PENDING));
+
+        verify(ledgerEntryRepository, never()).insert(any(PayoutLedgerEntry.class));
+    }
+
+    @Test
+    @DisplayName("getBalances converts minor units back to amounts")
+    void getBalances() {
+        when(organizerBalanceRepository.findByOrganizerIdOrderByCurrencyAsc("org-1")).thenReturn(List.of(
+                OrganizerBalance.builder().currency("usd").creditedMinor(5000).debitedMinor(1000).netMinor(4000)
+                        .entryCount(3).build()));
+
+        List<OrganizerBalanceResponse> balances = payoutLedgerService.getBalances("org-1");
+
+        assertThat(balances).singleElement().satisfies(b -> {
+            assertThat(b.getNet()).isEqualByComparingTo("40.00");
+            assertThat(b.getRefunded()).isEqualByComparingTo("10.00");
+        });
+    }
+
+    @Test
+    @DisplayName("dry run reports missing entries and drift without writing")
+    void rebuildDryRun() {
+        when(paymentRepository.streamByPayeeUserIdAndStatusIn(eq("org-1"), anyList()))
+                .thenReturn(Stream.of(payment(PaymentStatus.CONFIRMED)));
+        when(ledgerEntryRepository.existsById(anyString())).thenReturn(false);
+        when(organizerBalanceRepository.findByOrganizerIdOrderByCurrencyAsc("org-1")).thenReturn(List.of());
+        when(ledgerEntryRepository.sumBalances("org-1")).thenReturn(List.of());
+
+        PayoutLedgerVerificationResponse result = payoutLedgerService.rebuild("org-1", true);
+
+        assertThat(result.isConsistent()).isFalse();
+        assertThat(result.getMissingEntries()).isEqualTo(1);
+        verify(ledgerEntryRepository, never()).insert(any(PayoutLedgerEntry.class));
+        verify(organizerBalanceRepository, never()).deleteByOrganizerId(any());
+    }
+
+    @Test
+    @DisplayName("rebuild replaces stored balances with the ledger totals")
+    void rebuildRepairs() {
+        OrganizerBalance stored = OrganizerBalance.builder().currency("usd").creditedMinor(100).netMinor(100)
+                .entryCount(1).build();
+        OrganizerBalance recomputed = OrganizerBalance.builder().currency("usd").creditedMinor(2550).netMinor(2550)
+                .entryCount(1).build();
+        when(paymentRepository.streamByPayeeUserIdAndStatusIn(eq("org-1"), anyList())).thenReturn(Stream.empty());
+        when(organizerBalanceRepository.findByOrganizerIdOrderByCurrencyAsc("org-1")).thenReturn(List.of(stored));
+        when(ledgerEntryRepository.sumBalances("org-1")).thenReturn(List.of(recomputed));
+
+        PayoutLedgerVerificationResponse result = payoutLedgerService.rebuild("org-1", false);
+
+        assertThat(result.isConsistent()).isFalse();
+        verify(organizerBalanceRepository).deleteByOrganizerId("org-1");
+        verify(organizerBalanceRepository).saveAll(List.of(recomputed));
+    }
+}
@@ -0,0 +1,95 @@
+package ticketReservation.soen345.service.impl;
+
+import com.twilio.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.SmsRateLimitProperties;
+import ticketReservation.soen345.service.SmsSender;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitedSmsSenderTest {
+
+    @Mock
+    private SmsSender delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SmsRateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SmsRateLimitProperties();
+        properties.setMessagesPerSecond(100);
+        properties.setBurst(10);
+        properties.setQueueTimeout(Duration.ofMillis(100));
+    }
+
+    private RateLimitedSmsSender sender() {
+        return new RateLimitedSmsSender(delegate, properties, meterRegistry, nanos::get);
+    }
+
+    @Test
+    @DisplayName("delegates the send and records its latency")
+    void delegates() {
+        when(delegate.sendSms("+1555", "+1000", "hi")).thenReturn("SM1");
+        RateLimitedSmsSender sender = sender();
+
+        assertThat(sender.sendSms("+1555", "+1000", "hi", SmsSender.Priority.BULK)).isEqualTo("SM1");
+        assertThat(meterRegistry.get("sms.send.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("halves the concurrency limit when the provider answers 429")
+    void backsOffOnTooManyRequests() {
+        when(delegate.sendSms("+1555", "+1000", "hi"))
+                .thenThrow(new ApiException("Too Many Requests", 20429, null, 429, null));
+        RateLimitedSmsSender sender = sender();
+
+        assertThatThrownBy(() -> sender.sendSms("+1555", "+1000", "hi")).isInstanceOf(ApiException.class);
+
+        assertThat(sender.concurrencyLimit()).isEqualTo(properties.getInitialConcurrency() / 2);
+        assertThat(meterRegistry.get("sms.send.throttled").counter().count()).isEqualTo(1);
+        verify(delegate, times(1)).sendSms("+1555", "+1000", "hi");
+    }
+
+    @Test
+    @DisplayName("fails a send that cannot get a token before the queue timeout")
+    void tokenBucketTimeout() {
+        properties.setMessagesPerSecond(1);
+        properties.setBurst(1);
+        when(delegate.sendSms("+1555", "+1000", "hi")).thenReturn("SM1");
+        RateLimitedSmsSender sender = sender();
+
+        sender.sendSms("+1555", "+1000", "hi");
+        assertThatThrownBy(() -> sender.sendSms("+1555", "+1000", "hi"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("sms.send.queue_timeouts").counter().count()).isEqualTo(1);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(sender.sendSms("+1555", "+1000", "hi")).isEqualTo("SM1");
+        verify(delegate, times(2)).sendSms("+1555", "+1000", "hi");
+    }
+
+    @Test
+    @DisplayName("rejects a rate that would never hand out a token")
+    void rejectsNonPositiveRate() {
+        properties.setMessagesPerSecond(0);
+
+        assertThatThrownBy(this::sender).isInstanceOf(IllegalArgumentException.class);
+    }
+}
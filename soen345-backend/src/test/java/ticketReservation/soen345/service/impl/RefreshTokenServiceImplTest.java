@@ -0,0 +1,121 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.RefreshTokenProperties;
+import ticketReservation.soen345.domain.RefreshToken;
+import ticketReservation.soen345.domain.UserStatus;
+import ticketReservation.soen345.domain.UserStatusChangedEvent;
+import ticketReservation.soen345.exception.InvalidCredentialsException;
+import ticketReservation.soen345.repository.RefreshTokenRepository;
+import ticketReservation.soen345.service.RefreshTokenService;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RefreshTokenServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenServiceImpl(refreshTokenRepository, new RefreshTokenProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("issue stores only the digest of a random token")
+    void issue() {
+        RefreshTokenService.IssuedRefreshToken issued = service.issue("u1");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(issued.token()).hasSize(43);
+        assertThat(saved.getValue().getId()).isEqualTo(RefreshTokenServiceImpl.digest(issued.token()));
+        assertThat(saved.getValue().getUserId()).isEqualTo("u1");
+        assertThat(saved.getValue().getFamilyId()).isNotBlank();
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(issued.expiresAt());
+    }
+
+    @Test
+    @DisplayName("rotate issues the next token in the same family")
+    void rotate() {
+        String id = RefreshTokenServiceImpl.digest("current");
+        RefreshToken current = RefreshToken.builder().id(id).userId("u1").familyId("f1").build();
+        when(refreshTokenRepository.markRotated(eq(id), any(Instant.class))).thenReturn(Optional.of(current));
+
+        RefreshTokenService.IssuedRefreshToken next = service.rotate("current");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(next.userId()).isEqualTo("u1");
+        assertThat(next.token()).isNotEqualTo("current");
+        assertThat(saved.getValue().getFamilyId()).isEqualTo("f1");
+    }
+
+    @Test
+    @DisplayName("rotate revokes the family when an already rotated token is replayed")
+    void reuseDetected() {
+        String id = RefreshTokenServiceImpl.digest("stolen");
+        when(refreshTokenRepository.markRotated(eq(id), any(Instant.class))).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findById(id)).thenReturn(Optional.of(RefreshToken.builder()
+                .id(id).userId("u1").familyId("f1").rotatedAt(Instant.now()).build()));
+
+        assertThatThrownBy(() -> service.rotate("stolen")).isInstanceOf(InvalidCredentialsException.class);
+
+        verify(refreshTokenRepository).deleteByFamilyId("f1");
+        assertThat(meterRegistry.counter(RefreshTokenServiceImpl.REUSE_METRIC).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("rotate rejects unknown tokens without revoking anything")
+    void unknownToken() {
+        String id = RefreshTokenServiceImpl.digest("unknown");
+        when(refreshTokenRepository.markRotated(eq(id), any(Instant.class))).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.rotate("unknown")).isInstanceOf(InvalidCredentialsException.class);
+
+        verify(refreshTokenRepository, never()).deleteByFamilyId(any());
+    }
+
+    @Test
+    @DisplayName("revoke ends the family of the presented token")
+    void revoke() {
+        String id = RefreshTokenServiceImpl.digest("current");
+        when(refreshTokenRepository.findById(id))
+                .thenReturn(Optional.of(RefreshToken.builder().id(id).familyId("f1").build()));
+
+        service.revoke("current");
+
+        verify(refreshTokenRepository).deleteByFamilyId("f1");
+    }
+
+    @Test
+    @DisplayName("suspending a user deletes all of their refresh tokens")
+    void suspendedUser() {
+        service.onUserStatusChanged(new UserStatusChangedEvent("u1", UserStatus.ACTIVE, UserStatus.SUSPENDED));
+        service.onUserStatusChanged(new UserStatusChangedEvent("u2", UserStatus.SUSPENDED, UserStatus.ACTIVE));
+
+        verify(refreshTokenRepository).deleteByUserId("u1");
+        verify(refreshTokenRepository, never()).deleteByUserId("u2");
+    }
+}
@@ -1,16 +1,25 @@
 package ticketReservation.soen345.service.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.config.EmailDeliveryProperties;
+import ticketReservation.soen345.service.EmailSender;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ResendEmailAdapterTest {
 
+    private static ResendEmailAdapter adapter(String apiKey) {
+        return new ResendEmailAdapter(apiKey, new EmailDeliveryProperties(), Runnable::run, new SimpleMeterRegistry());
+    }
+
     @Test
     @DisplayName("dev mode returns mock id without calling API")
     void devMode() {
-        ResendEmailAdapter adapter = new ResendEmailAdapter("resend_test_key");
+        ResendEmailAdapter adapter = adapter("resend_test_key");
         assertThat(adapter.sendEmail("from@x.com", "to@x.com", "S", "<p>h</p>"))
                 .isEqualTo("dev-email-mock");
     }
@@ -18,7 +27,20 @@ class ResendEmailAdapterTest {
     @Test
     @DisplayName("blank api key uses dev mode")
     void blankKey() {
-        ResendEmailAdapter adapter = new ResendEmailAdapter("   ");
+        ResendEmailAdapter adapter = adapter("   ");
         assertThat(adapter.sendEmail("f", "t", "s", "h")).isEqualTo("dev-email-mock");
     }
+
+    @Test
+    @DisplayName("dev mode reports a batch as sent without calling API")
+    void devModeBatch() {
+        ResendEmailAdapter adapter = adapter("resend_test_key");
+
+        EmailSender.BatchResult result = adapter.sendBatch(List.of(
+                new EmailSender.OutgoingEmail("f", "a@x.com", "s", "h"),
+                new EmailSender.OutgoingEmail("f", "b@x.com", "s", "h")));
+
+        assertThat(result.sent()).isEqualTo(2);
+        assertThat(result.allSent()).isTrue();
+    }
 }
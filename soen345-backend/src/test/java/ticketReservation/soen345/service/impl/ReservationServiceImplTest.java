@@ -6,38 +6,47 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.ReservationProperties;
 import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
 import ticketReservation.soen345.domain.EventStatus;
+import ticketReservation.soen345.domain.Money;
 import ticketReservation.soen345.domain.NotificationChannel;
 import ticketReservation.soen345.domain.NotificationType;
 import ticketReservation.soen345.domain.Payment;
 import ticketReservation.soen345.domain.PaymentInfo;
 import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.domain.PaymentStatusChangedEvent;
 import ticketReservation.soen345.domain.Reservation;
 import ticketReservation.soen345.domain.ReservationStatus;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.domain.UserRole;
 import ticketReservation.soen345.dto.request.CreateReservationRequest;
 import ticketReservation.soen345.dto.response.ReservationResponse;
+import ticketReservation.soen345.exception.PaymentProcessingException;
 import ticketReservation.soen345.exception.ResourceNotFoundException;
 import ticketReservation.soen345.repository.EventRepository;
 import ticketReservation.soen345.repository.ReservationRepository;
 import ticketReservation.soen345.repository.UserRepository;
+import ticketReservation.soen345.service.BookingTransactions;
 import ticketReservation.soen345.service.NotificationService;
 import ticketReservation.soen345.service.PaymentService;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -55,7 +64,10 @@ class ReservationServiceImplTest {
     private NotificationService notificationService;
     @Mock
     private PaymentService paymentService;
+    @Mock
+    private PaymentConfirmationDispatcher paymentConfirmationDispatcher;
 
+    private ReservationProperties reservationProperties;
     private ReservationServiceImpl reservationService;
 
     private static final String USER_ID = "user1";
@@ -65,12 +77,36 @@ class ReservationServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        reservationProperties = new ReservationProperties();
         reservationService = new ReservationServiceImpl(
                 reservationRepository,
                 eventRepository,
                 userRepository,
                 notificationService,
-                paymentService);
+                paymentService,
+                paymentConfirmationDispatcher,
+                reservationProperties,
+                new DirectBookingTransactions(),
+                new DirectCapacityReserver(eventRepository));
+    }
+
+    /**
+     * Runs the work inline but reports itself as transactional, to drive the transactional checkout order.
+     */
+    private static final class InlineTransactions implements BookingTransactions {
+
+        private int executions;
+
+        @Override
+        public boolean isTransactional() {
+            return true;
+        }
+
+        @Override
+        public <T> T execute(Supplier<T> work) {
+            executions++;
+            return work.get();
+        }
     }
 
     private User customerWithPayment() {
@@ -102,7 +138,7 @@ class ReservationServiceImplTest {
                 .location("Here")
                 .date(EVENT_DATE)
                 .capacity(capacity)
-                .ticketPrice(BigDecimal.TEN)
+                .ticketPrice(Money.ofMinor(1000, "usd"))
                 .organizerId(ORG_ID)
                 .status(EventStatus.ACTIVE)
                 .build();
@@ -119,15 +155,15 @@ class ReservationServiceImplTest {
             User organizer = organizerWithPayout();
             Event event = activeEvent(5);
 
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customer));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customer));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
-            when(userRepository.findById(ORG_ID)).thenReturn(Optional.of(organizer));
-            when(reservationRepository.findByUserIdAndEventIdAndStatus(USER_ID, EVENT_ID, ReservationStatus.ACTIVE))
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizer));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
                     .thenReturn(Optional.empty());
 
             Payment pending = Payment.builder().id("pay1").providerPaymentId("pi_1").build();
             Payment confirmed = Payment.builder().id("pay1").providerPaymentId("pi_1").status(PaymentStatus.CONFIRMED).build();
-            when(paymentService.createPaymentIntent(any(), any(), any(), eq("usd"))).thenReturn(pending);
+            when(paymentService.createPaymentIntent(any(), any(), any())).thenReturn(pending);
             when(paymentService.confirmPayment("pay1")).thenReturn(confirmed);
 
             when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> {
@@ -136,7 +172,7 @@ class ReservationServiceImplTest {
                 r.setCreatedAt(Instant.now());
                 return r;
             });
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(eventRepository.reserveCapacity(EVENT_ID, 2)).thenReturn(true);
 
             CreateReservationRequest req = CreateReservationRequest.builder()
                     .eventId(EVENT_ID)
@@ -147,9 +183,8 @@ class ReservationServiceImplTest {
 
             assertThat(response.getId()).isEqualTo("res1");
             assertThat(response.getQuantity()).isEqualTo(2);
-            ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-            verify(eventRepository).save(eventCaptor.capture());
-            assertThat(eventCaptor.getValue().getCapacity()).isEqualTo(3);
+            verify(eventRepository).reserveCapacity(EVENT_ID, 2);
+            verify(eventRepository, never()).save(any());
             verify(notificationService).sendMessage(
                     eq(NotificationChannel.EMAIL),
                     eq(NotificationType.CONFIRM_RESERVATION),
@@ -158,6 +193,29 @@ class ReservationServiceImplTest {
                     eq(null));
         }
 
+        @Test
+        @DisplayName("stores the event details on the reservation at booking")
+        void storesEventSnapshot() {
+            Event event = activeEvent(5);
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizerWithPayout()));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
+                    .thenReturn(Optional.empty());
+            Payment pending = Payment.builder().id("pay1").providerPaymentId("pi_1").build();
+            when(paymentService.createPaymentIntent(any(), any(), any())).thenReturn(pending);
+            when(paymentService.confirmPayment("pay1")).thenReturn(pending);
+            when(eventRepository.reserveCapacity(EVENT_ID, 1)).thenReturn(true);
+            when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            reservationService.reserveTicket(USER_ID, CreateReservationRequest.builder().eventId(EVENT_ID).build());
+
+            ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
+            verify(reservationRepository).save(captor.capture());
+            assertThat(captor.getValue().getEventSnapshot())
+                    .isEqualTo(new EventSnapshot("Show", EVENT_DATE, "Here", Money.ofMinor(1000, "usd"), null));
+        }
+
         @Test
         @DisplayName("defaults quantity to 1 when null")
         void defaultQuantity() {
@@ -165,14 +223,14 @@ class ReservationServiceImplTest {
             User organizer = organizerWithPayout();
             Event event = activeEvent(5);
 
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customer));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customer));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
-            when(userRepository.findById(ORG_ID)).thenReturn(Optional.of(organizer));
-            when(reservationRepository.findByUserIdAndEventIdAndStatus(USER_ID, EVENT_ID, ReservationStatus.ACTIVE))
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizer));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
                     .thenReturn(Optional.empty());
 
             Payment pending = Payment.builder().id("pay1").providerPaymentId("pi_1").build();
-            when(paymentService.createPaymentIntent(any(), any(), any(), eq("usd"))).thenReturn(pending);
+            when(paymentService.createPaymentIntent(any(), any(), any())).thenReturn(pending);
             when(paymentService.confirmPayment("pay1")).thenReturn(pending);
 
             when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> {
@@ -180,7 +238,7 @@ class ReservationServiceImplTest {
                 r.setId("res1");
                 return r;
             });
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(eventRepository.reserveCapacity(EVENT_ID, 1)).thenReturn(true);
 
             CreateReservationRequest req = CreateReservationRequest.builder()
                     .eventId(EVENT_ID)
@@ -194,7 +252,7 @@ class ReservationServiceImplTest {
         @Test
         @DisplayName("throws when quantity < 1")
         void badQuantity() {
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(5)));
 
             CreateReservationRequest req = CreateReservationRequest.builder()
@@ -205,7 +263,7 @@ class ReservationServiceImplTest {
             assertThatThrownBy(() -> reservationService.reserveTicket(USER_ID, req))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessageContaining("Quantity");
-            verify(paymentService, never()).createPaymentIntent(any(), any(), any(), any());
+            verify(paymentService, never()).createPaymentIntent(any(), any(), any());
         }
 
         @Test
@@ -213,7 +271,7 @@ class ReservationServiceImplTest {
         void cancelledEvent() {
             Event event = activeEvent(5);
             event.setStatus(EventStatus.CANCELLED);
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
 
             CreateReservationRequest req = CreateReservationRequest.builder()
@@ -229,7 +287,7 @@ class ReservationServiceImplTest {
         @Test
         @DisplayName("throws when capacity insufficient")
         void noCapacity() {
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(1)));
 
             CreateReservationRequest req = CreateReservationRequest.builder()
@@ -247,7 +305,7 @@ class ReservationServiceImplTest {
         void nullCapacity() {
             Event event = activeEvent(5);
             event.setCapacity(null);
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
 
             CreateReservationRequest req = CreateReservationRequest.builder()
@@ -260,6 +318,50 @@ class ReservationServiceImplTest {
                     .hasMessageContaining("capacity");
         }
 
+        @Test
+        @DisplayName("throws without charging when the last seats sell concurrently")
+        void capacityTakenConcurrently() {
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(1)));
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizerWithPayout()));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
+                    .thenReturn(Optional.empty());
+            when(eventRepository.reserveCapacity(EVENT_ID, 1)).thenReturn(false);
+
+            CreateReservationRequest req = CreateReservationRequest.builder()
+                    .eventId(EVENT_ID)
+                    .quantity(1)
+                    .build();
+
+            assertThatThrownBy(() -> reservationService.reserveTicket(USER_ID, req))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("capacity");
+            verify(paymentService, never()).createPaymentIntent(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("returns held seats when the payment fails")
+        void paymentFailureReleasesSeats() {
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(5)));
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizerWithPayout()));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
+                    .thenReturn(Optional.empty());
+            when(eventRepository.reserveCapacity(EVENT_ID, 2)).thenReturn(true);
+            when(paymentService.createPaymentIntent(any(), any(), any()))
+                    .thenThrow(new PaymentProcessingException("card declined"));
+
+            CreateReservationRequest req = CreateReservationRequest.builder()
+                    .eventId(EVENT_ID)
+                    .quantity(2)
+                    .build();
+
+            assertThatThrownBy(() -> reservationService.reserveTicket(USER_ID, req))
+                    .isInstanceOf(PaymentProcessingException.class);
+            verify(eventRepository).releaseCapacity(EVENT_ID, 2);
+            verify(reservationRepository, never()).save(any());
+        }
+
         @Test
         @DisplayName("uses SMS notification channel when preferred")
         void smsNotificationChannel() {
@@ -279,14 +381,14 @@ class ReservationServiceImplTest {
             User organizer = organizerWithPayout();
             Event event = activeEvent(5);
 
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customer));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customer));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
-            when(userRepository.findById(ORG_ID)).thenReturn(Optional.of(organizer));
-            when(reservationRepository.findByUserIdAndEventIdAndStatus(USER_ID, EVENT_ID, ReservationStatus.ACTIVE))
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizer));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
                     .thenReturn(Optional.empty());
 
             Payment pending = Payment.builder().id("pay1").providerPaymentId("pi_1").build();
-            when(paymentService.createPaymentIntent(any(), any(), any(), eq("usd"))).thenReturn(pending);
+            when(paymentService.createPaymentIntent(any(), any(), any())).thenReturn(pending);
             when(paymentService.confirmPayment("pay1")).thenReturn(pending);
 
             when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> {
@@ -294,7 +396,7 @@ class ReservationServiceImplTest {
                 r.setId("res1");
                 return r;
             });
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(eventRepository.reserveCapacity(EVENT_ID, 1)).thenReturn(true);
 
             reservationService.reserveTicket(USER_ID, CreateReservationRequest.builder()
                     .eventId(EVENT_ID)
@@ -312,9 +414,9 @@ class ReservationServiceImplTest {
         @Test
         @DisplayName("throws when duplicate active reservation")
         void duplicateActive() {
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(5)));
-            when(reservationRepository.findByUserIdAndEventIdAndStatus(USER_ID, EVENT_ID, ReservationStatus.ACTIVE))
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
                     .thenReturn(Optional.of(Reservation.builder().build()));
 
             CreateReservationRequest req = CreateReservationRequest.builder()
@@ -332,9 +434,9 @@ class ReservationServiceImplTest {
         void missingOrganizer() {
             Event event = activeEvent(5);
             event.setOrganizerId(" ");
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
-            when(reservationRepository.findByUserIdAndEventIdAndStatus(USER_ID, EVENT_ID, ReservationStatus.ACTIVE))
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
                     .thenReturn(Optional.empty());
 
             CreateReservationRequest req = CreateReservationRequest.builder()
@@ -354,10 +456,10 @@ class ReservationServiceImplTest {
                     .id(USER_ID)
                     .paymentInfo(PaymentInfo.builder().customerId("cus").build())
                     .build();
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customer));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customer));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(5)));
-            when(userRepository.findById(ORG_ID)).thenReturn(Optional.of(organizerWithPayout()));
-            when(reservationRepository.findByUserIdAndEventIdAndStatus(USER_ID, EVENT_ID, ReservationStatus.ACTIVE))
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizerWithPayout()));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
                     .thenReturn(Optional.empty());
 
             CreateReservationRequest req = CreateReservationRequest.builder()
@@ -374,10 +476,10 @@ class ReservationServiceImplTest {
         @DisplayName("throws when organizer payout missing")
         void payeeNotReady() {
             User organizer = User.builder().id(ORG_ID).paymentInfo(PaymentInfo.builder().build()).build();
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(5)));
-            when(userRepository.findById(ORG_ID)).thenReturn(Optional.of(organizer));
-            when(reservationRepository.findByUserIdAndEventIdAndStatus(USER_ID, EVENT_ID, ReservationStatus.ACTIVE))
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizer));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
                     .thenReturn(Optional.empty());
 
             CreateReservationRequest req = CreateReservationRequest.builder()
@@ -393,7 +495,7 @@ class ReservationServiceImplTest {
         @Test
         @DisplayName("throws ResourceNotFoundException when user missing")
         void userMissing() {
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.empty());
             CreateReservationRequest req = CreateReservationRequest.builder().eventId(EVENT_ID).quantity(1).build();
             assertThatThrownBy(() -> reservationService.reserveTicket(USER_ID, req))
                     .isInstanceOf(ResourceNotFoundException.class);
@@ -419,16 +521,13 @@ class ReservationServiceImplTest {
             when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
             User customer = customerWithPayment();
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customer));
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customer));
+            stubCancellation(reservation);
 
             ReservationResponse response = reservationService.cancelReservation(USER_ID, "res1");
 
             assertThat(response.getStatus()).isEqualTo(ReservationStatus.CANCELLED);
-            ArgumentCaptor<Event> cap = ArgumentCaptor.forClass(Event.class);
-            verify(eventRepository).save(cap.capture());
-            assertThat(cap.getValue().getCapacity()).isEqualTo(5);
+            verify(eventRepository).releaseCapacity(EVENT_ID, 2);
             verify(notificationService).sendMessage(
                     eq(NotificationChannel.EMAIL),
                     eq(NotificationType.CANCEL_RESERVATION),
@@ -437,6 +536,30 @@ class ReservationServiceImplTest {
                     eq(null));
         }
 
+        @Test
+        @DisplayName("cancels a reservation whose past event has been archived")
+        void archivedEvent() {
+            Reservation reservation = Reservation.builder()
+                    .id("res1")
+                    .userId(USER_ID)
+                    .eventId(EVENT_ID)
+                    .quantity(1)
+                    .status(ReservationStatus.ACTIVE)
+                    .build();
+            Event event = activeEvent(0);
+
+            when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.empty());
+            when(eventRepository.findArchivedById(EVENT_ID)).thenReturn(Optional.of(event));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            stubCancellation(reservation);
+
+            ReservationResponse response = reservationService.cancelReservation(USER_ID, "res1");
+
+            assertThat(response.getStatus()).isEqualTo(ReservationStatus.CANCELLED);
+            assertThat(response.getEventName()).isEqualTo("Show");
+        }
+
         @Test
         @DisplayName("throws when not owner")
         void wrongUser() {
@@ -483,19 +606,16 @@ class ReservationServiceImplTest {
 
             when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            stubCancellation(reservation);
 
             reservationService.cancelReservation(USER_ID, "res1");
 
-            ArgumentCaptor<Event> cap = ArgumentCaptor.forClass(Event.class);
-            verify(eventRepository).save(cap.capture());
-            assertThat(cap.getValue().getCapacity()).isEqualTo(4);
+            verify(eventRepository).releaseCapacity(EVENT_ID, 1);
         }
 
         @Test
-        @DisplayName("cancel treats null event capacity as zero before restore")
+        @DisplayName("cancel restores seats atomically even when the loaded event has no capacity")
         void cancel_EventCapacityNull() {
             Reservation reservation = Reservation.builder()
                     .id("res1")
@@ -509,15 +629,254 @@ class ReservationServiceImplTest {
 
             when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation));
             when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
-            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
-            when(eventRepository.save(any(Event.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            stubCancellation(reservation);
+
+            reservationService.cancelReservation(USER_ID, "res1");
+
+            verify(eventRepository).releaseCapacity(EVENT_ID, 2);
+            verify(eventRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("does not release seats when a payment update cancelled the reservation first")
+        void lostRace() {
+            Reservation reservation = Reservation.builder()
+                    .id("res1").userId(USER_ID).eventId(EVENT_ID).quantity(2)
+                    .status(ReservationStatus.PENDING).build();
+            when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(3)));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(reservationRepository.transitionStatus("res1", ReservationStatus.PENDING, ReservationStatus.CANCELLED))
+                    .thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> reservationService.cancelReservation(USER_ID, "res1"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("changed while cancelling");
+            verify(eventRepository, never()).releaseCapacity(any(), anyInt());
+            verify(paymentService, never()).cancelPayment(any());
+        }
+
+        @Test
+        @DisplayName("refunds or voids the payment of the cancelled reservation")
+        void settlesPayment() {
+            Reservation reservation = Reservation.builder()
+                    .id("res1").userId(USER_ID).eventId(EVENT_ID).paymentId("pay1").quantity(1)
+                    .status(ReservationStatus.ACTIVE).build();
+            when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(3)));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            stubCancellation(reservation);
 
             reservationService.cancelReservation(USER_ID, "res1");
 
-            ArgumentCaptor<Event> cap = ArgumentCaptor.forClass(Event.class);
-            verify(eventRepository).save(cap.capture());
-            assertThat(cap.getValue().getCapacity()).isEqualTo(2);
+            InOrder order = inOrder(eventRepository, paymentService);
+            order.verify(eventRepository).releaseCapacity(EVENT_ID, 1);
+            order.verify(paymentService).cancelPayment("pay1");
+        }
+
+        private void stubCancellation(Reservation reservation) {
+            Reservation cancelled = Reservation.builder()
+                    .id(reservation.getId())
+                    .userId(reservation.getUserId())
+                    .eventId(reservation.getEventId())
+                    .paymentId(reservation.getPaymentId())
+                    .quantity(reservation.getQuantity())
+                    .status(ReservationStatus.CANCELLED)
+                    .cancelledAt(Instant.now())
+                    .build();
+            when(reservationRepository.transitionStatus(
+                    reservation.getId(), reservation.getStatus(), ReservationStatus.CANCELLED))
+                    .thenReturn(Optional.of(cancelled));
+        }
+    }
+
+    @Nested
+    @DisplayName("asynchronous payment confirmation")
+    class AsyncConfirmation {
+
+        @Test
+        @DisplayName("reserveTicket returns a PENDING reservation and defers confirmation")
+        void pendingCheckout() {
+            reservationProperties.setAsyncPaymentConfirmation(true);
+            User customer = customerWithPayment();
+            Event event = activeEvent(5);
+
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customer));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizerWithPayout()));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
+                    .thenReturn(Optional.empty());
+            Payment pending = Payment.builder().id("pay1").providerPaymentId("pi_1").build();
+            when(paymentService.createPaymentIntent(any(), any(), any())).thenReturn(pending);
+            when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(eventRepository.reserveCapacity(EVENT_ID, 1)).thenReturn(true);
+
+            ReservationResponse response = reservationService.reserveTicket(USER_ID,
+                    CreateReservationRequest.builder().eventId(EVENT_ID).quantity(1).build());
+
+            assertThat(response.getStatus()).isEqualTo(ReservationStatus.PENDING);
+            verify(paymentService, never()).confirmPayment(any());
+            verify(paymentConfirmationDispatcher).confirmInBackground("pay1");
+            verify(notificationService, never()).sendMessage(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("confirmed payment activates the pending reservation and notifies")
+        void confirmedActivates() {
+            Payment payment = Payment.builder().id("pay1").status(PaymentStatus.CONFIRMED).build();
+            Reservation pending = Reservation.builder()
+                    .id("res1").userId(USER_ID).eventId(EVENT_ID).paymentId("pay1")
+                    .status(ReservationStatus.PENDING).build();
+            Reservation active = Reservation.builder()
+                    .id("res1").userId(USER_ID).eventId(EVENT_ID).paymentId("pay1")
+                    .status(ReservationStatus.ACTIVE).build();
+            when(reservationRepository.findByPaymentId("pay1")).thenReturn(Optional.of(pending));
+            when(reservationRepository.transitionStatus("res1", ReservationStatus.PENDING, ReservationStatus.ACTIVE))
+                    .thenReturn(Optional.of(active));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(5)));
+
+            reservationService.onPaymentStatusChanged(new PaymentStatusChangedEvent(payment, PaymentStatus.PENDING));
+
+            verify(notificationService).sendMessage(
+                    eq(NotificationChannel.EMAIL),
+                    eq(NotificationType.CONFIRM_RESERVATION),
+                    any(User.class),
+                    any(Event.class),
+                    eq(null));
+        }
+
+        @Test
+        @DisplayName("failed payment cancels the pending reservation and releases capacity")
+        void failedReleases() {
+            Payment payment = Payment.builder().id("pay1").status(PaymentStatus.FAILED).build();
+            Reservation pending = Reservation.builder()
+                    .id("res1").userId(USER_ID).eventId(EVENT_ID).paymentId("pay1").quantity(2)
+                    .status(ReservationStatus.PENDING).build();
+            Reservation cancelled = Reservation.builder()
+                    .id("res1").userId(USER_ID).eventId(EVENT_ID).paymentId("pay1").quantity(2)
+                    .status(ReservationStatus.CANCELLED).build();
+            when(reservationRepository.findByPaymentId("pay1")).thenReturn(Optional.of(pending));
+            when(reservationRepository.transitionStatus("res1", ReservationStatus.PENDING, ReservationStatus.CANCELLED))
+                    .thenReturn(Optional.of(cancelled));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(3)));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+
+            reservationService.onPaymentStatusChanged(new PaymentStatusChangedEvent(payment, PaymentStatus.PENDING));
+
+            verify(eventRepository).releaseCapacity(EVENT_ID, 2);
+        }
+
+        @Test
+        @DisplayName("refunds a payment confirmed after the customer cancelled")
+        void confirmedAfterCancel() {
+            Payment payment = Payment.builder().id("pay1").status(PaymentStatus.CONFIRMED).build();
+            Reservation pending = Reservation.builder()
+                    .id("res1").userId(USER_ID).eventId(EVENT_ID).paymentId("pay1")
+                    .status(ReservationStatus.PENDING).build();
+            Reservation cancelled = Reservation.builder()
+                    .id("res1").userId(USER_ID).eventId(EVENT_ID).paymentId("pay1")
+                    .status(ReservationStatus.CANCELLED).build();
+            when(reservationRepository.findByPaymentId("pay1")).thenReturn(Optional.of(pending));
+            when(reservationRepository.transitionStatus("res1", ReservationStatus.PENDING, ReservationStatus.ACTIVE))
+                    .thenReturn(Optional.empty());
+            when(reservationRepository.findById("res1")).thenReturn(Optional.of(cancelled));
+
+            reservationService.onPaymentStatusChanged(new PaymentStatusChangedEvent(payment, PaymentStatus.FAILED));
+
+            verify(paymentService).cancelPayment("pay1");
+            verify(notificationService, never()).sendMessage(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("status change for a payment without reservation is a no-op")
+        void noReservation() {
+            Payment payment = Payment.builder().id("pay1").status(PaymentStatus.CONFIRMED).build();
+            when(reservationRepository.findByPaymentId("pay1")).thenReturn(Optional.empty());
+
+            reservationService.onPaymentStatusChanged(new PaymentStatusChangedEvent(payment, PaymentStatus.PENDING));
+
+            verify(reservationRepository, never()).transitionStatus(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("transactional checkout")
+    class TransactionalCheckout {
+
+        private InlineTransactions transactions;
+
+        @BeforeEach
+        void useTransactions() {
+            transactions = new InlineTransactions();
+            reservationService = new ReservationServiceImpl(
+                    reservationRepository,
+                    eventRepository,
+                    userRepository,
+                    notificationService,
+                    paymentService,
+                    paymentConfirmationDispatcher,
+                    reservationProperties,
+                    transactions,
+                    new DirectCapacityReserver(eventRepository));
+            when(userRepository.findBookingProfileById(USER_ID)).thenReturn(Optional.of(customerWithPayment()));
+            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(5)));
+            when(userRepository.findBookingProfileById(ORG_ID)).thenReturn(Optional.of(organizerWithPayout()));
+            when(reservationRepository.findFirstByUserIdAndEventIdAndStatusIn(USER_ID, EVENT_ID, ReservationServiceImpl.OPEN_STATUSES))
+                    .thenReturn(Optional.empty());
+            Payment pending = Payment.builder().id("pay1").providerPaymentId("pi_1").build();
+            when(paymentService.createPaymentIntent(any(), any(), any())).thenReturn(pending);
+        }
+
+        @Test
+        @DisplayName("takes the payment first, then writes seats and reservation in one transaction")
+        void booksInOneTransaction() {
+            Payment confirmed = Payment.builder().id("pay1").status(PaymentStatus.CONFIRMED).build();
+            when(paymentService.confirmPayment("pay1")).thenReturn(confirmed);
+            when(eventRepository.reserveCapacity(EVENT_ID, 2)).thenReturn(true);
+            when(reservationRepository.save(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            ReservationResponse response = reservationService.reserveTicket(USER_ID,
+                    CreateReservationRequest.builder().eventId(EVENT_ID).quantity(2).build());
+
+            assertThat(response.getStatus()).isEqualTo(ReservationStatus.ACTIVE);
+            assertThat(response.getPaymentId()).isEqualTo("pay1");
+            assertThat(transactions.executions).isEqualTo(1);
+            InOrder order = inOrder(paymentService, eventRepository, reservationRepository);
+            order.verify(paymentService).confirmPayment("pay1");
+            order.verify(eventRepository).reserveCapacity(EVENT_ID, 2);
+            order.verify(reservationRepository).save(any(Reservation.class));
+        }
+
+        @Test
+        @DisplayName("refunds the payment when the seats are gone by commit time")
+        void refundsWhenSeatsGone() {
+            Payment confirmed = Payment.builder().id("pay1").status(PaymentStatus.CONFIRMED).build();
+            when(paymentService.confirmPayment("pay1")).thenReturn(confirmed);
+            when(eventRepository.reserveCapacity(EVENT_ID, 1)).thenReturn(false);
+
+            assertThatThrownBy(() -> reservationService.reserveTicket(USER_ID,
+                    CreateReservationRequest.builder().eventId(EVENT_ID).quantity(1).build()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("capacity");
+
+            verify(paymentService).refundPayment("pay1");
+            verify(reservationRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("fails a deferred payment when the booking cannot be written")
+        void failsDeferredPayment() {
+            reservationProperties.setAsyncPaymentConfirmation(true);
+            when(eventRepository.reserveCapacity(EVENT_ID, 1)).thenReturn(false);
+
+            assertThatThrownBy(() -> reservationService.reserveTicket(USER_ID,
+                    CreateReservationRequest.builder().eventId(EVENT_ID).quantity(1).build()))
+                    .isInstanceOf(IllegalStateException.class);
+
+            verify(paymentService).markFailed("pay1");
+            verify(paymentConfirmationDispatcher, never()).confirmInBackground(any());
         }
     }
 
@@ -536,8 +895,8 @@ class ReservationServiceImplTest {
                     .status(ReservationStatus.ACTIVE)
                     .createdAt(Instant.now())
                     .build();
-            when(reservationRepository.findByUserIdOrderByCreatedAtDesc(USER_ID)).thenReturn(List.of(r));
-            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(activeEvent(10)));
+            when(reservationRepository.findByUserIdFromSecondary(USER_ID)).thenReturn(List.of(r));
+            when(eventRepository.findSnapshotById(EVENT_ID)).thenReturn(Optional.of(EventSnapshot.of(activeEvent(10))));
 
             List<ReservationResponse> list = reservationService.getMyReservations(USER_ID);
 
@@ -545,6 +904,45 @@ class ReservationServiceImplTest {
             assertThat(list.getFirst().getEventName()).isEqualTo("Show");
         }
 
+        @Test
+        @DisplayName("reads event details from the stored snapshot without loading the event")
+        void listsFromSnapshot() {
+            Reservation r = Reservation.builder()
+                    .id("r1")
+                    .userId(USER_ID)
+                    .eventId(EVENT_ID)
+                    .eventSnapshot(new EventSnapshot("Renamed", EVENT_DATE, "There", Money.ofMinor(1500, "usd"), 2L))
+                    .quantity(1)
+                    .status(ReservationStatus.ACTIVE)
+                    .build();
+            when(reservationRepository.findByUserIdFromSecondary(USER_ID)).thenReturn(List.of(r));
+
+            ReservationResponse response = reservationService.getMyReservations(USER_ID).getFirst();
+
+            assertThat(response.getEventName()).isEqualTo("Renamed");
+            assertThat(response.getEventLocation()).isEqualTo("There");
+            assertThat(response.getEventTicketPrice()).isEqualByComparingTo("15.00");
+            verify(eventRepository, never()).findSnapshotById(any());
+            verify(eventRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("falls back to the archived event for reservations without a snapshot")
+        void listsFromArchivedEvent() {
+            Reservation r = Reservation.builder()
+                    .id("r1")
+                    .userId(USER_ID)
+                    .eventId(EVENT_ID)
+                    .quantity(1)
+                    .status(ReservationStatus.ACTIVE)
+                    .build();
+            when(reservationRepository.findByUserIdFromSecondary(USER_ID)).thenReturn(List.of(r));
+            when(eventRepository.findArchivedSnapshotById(EVENT_ID))
+                    .thenReturn(Optional.of(EventSnapshot.of(activeEvent(10))));
+
+            assertThat(reservationService.getMyReservations(USER_ID).getFirst().getEventName()).isEqualTo("Show");
+        }
+
         @Test
         @DisplayName("throws when linked event no longer exists")
         void eventMissing() {
@@ -556,8 +954,7 @@ class ReservationServiceImplTest {
                     .status(ReservationStatus.ACTIVE)
                     .createdAt(Instant.now())
                     .build();
-            when(reservationRepository.findByUserIdOrderByCreatedAtDesc(USER_ID)).thenReturn(List.of(r));
-            when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.empty());
+            when(reservationRepository.findByUserIdFromSecondary(USER_ID)).thenReturn(List.of(r));
 
             assertThatThrownBy(() -> reservationService.getMyReservations(USER_ID))
                     .isInstanceOf(ResourceNotFoundException.class)
@@ -0,0 +1,166 @@
+package ticketReservation.soen345.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ticketReservation.soen345.config.ReservationProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.EventSnapshot;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.Payment;
+import ticketReservation.soen345.domain.Reservation;
+import ticketReservation.soen345.repository.EventRepository;
+import ticketReservation.soen345.repository.PaymentRepository;
+import ticketReservation.soen345.repository.ReservationRepository;
+import ticketReservation.soen345.service.LeaseService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationSnapshotBackfillJobTest {
+
+    private static final Instant DATE = Instant.parse("2026-06-01T20:00:00Z");
+
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private LeaseService leaseService;
+
+    private ReservationProperties properties;
+    private ReservationSnapshotBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReservationProperties();
+        properties.getSnapshotBackfill().setBatchSize(2);
+        job = new ReservationSnapshotBackfillJob(
+                reservationRepository, eventRepository, paymentRepository, leaseService, properties);
+    }
+
+    private static Reservation legacy(String id, String eventId) {
+        return Reservation.builder().id(id).eventId(eventId).build();
+    }
+
+    private static Event event(String id) {
+        return Event.builder()
+                .id(id)
+                .name("Show " + id)
+                .date(DATE)
+                .location("Hall")
+                .ticketPrice(Money.ofMinor(2000, "usd"))
+                .version(3L)
+                .build();
+    }
+
+    private static EventSnapshot unpriced(Event event) {
+        return new EventSnapshot(event.getName(), event.getDate(), event.getLocation(), null, event.getVersion());
+    }
+
+    @Test
+    @DisplayName("fills each page with one event lookup and one bulk write, paging by id")
+    void fillsPages() {
+        when(leaseService.tryAcquire(eq(ReservationSnapshotBackfillJob.LEASE_NAME), any())).thenReturn(true);
+        when(reservationRepository.findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc(
+                "000000000000000000000000", Limit.of(2)))
+                .thenReturn(List.of(legacy("r1", "e1"), legacy("r2", "e1")));
+        when(reservationRepository.findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc("r2", Limit.of(2)))
+                .thenReturn(List.of(legacy("r3", "e2")));
+        when(eventRepository.findAllById(Set.of("e1"))).thenReturn(List.of(event("e1")));
+        when(eventRepository.findAllById(Set.of("e2"))).thenReturn(List.of(event("e2")));
+        EventSnapshot first = unpriced(event("e1"));
+        when(reservationRepository.fillEventSnapshots(Map.of("r1", first, "r2", first))).thenReturn(2);
+        when(reservationRepository.fillEventSnapshots(Map.of("r3", unpriced(event("e2"))))).thenReturn(1);
+
+        long filled = job.run();
+
+        assertThat(filled).isEqualTo(3);
+        assertThat(job.isCompleted()).isFalse();
+        verify(leaseService).release(ReservationSnapshotBackfillJob.LEASE_NAME);
+    }
+
+    @Test
+    @DisplayName("takes the price from what the payment charged per ticket, not the event's current price")
+    void priceFromPayment() {
+        when(leaseService.tryAcquire(eq(ReservationSnapshotBackfillJob.LEASE_NAME), any())).thenReturn(true);
+        Reservation paid = Reservation.builder().id("r1").eventId("e1").paymentId("p1").quantity(3).build();
+        when(reservationRepository.findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(List.of(paid));
+        when(eventRepository.findAllById(Set.of("e1"))).thenReturn(List.of(event("e1")));
+        when(paymentRepository.findAllById(Set.of("p1"))).thenReturn(List.of(
+                Payment.builder().id("p1").amount(Money.ofMinor(4500, "usd")).build()));
+        EventSnapshot expected = new EventSnapshot("Show e1", DATE, "Hall", Money.ofMinor(1500, "usd"), 3L);
+        when(reservationRepository.fillEventSnapshots(Map.of("r1", expected))).thenReturn(1);
+
+        assertThat(job.run()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("reconcile re-applies the version-guarded refresh to recently updated events")
+    void reconciles() {
+        when(leaseService.tryAcquire(eq(ReservationSnapshotBackfillJob.RECONCILE_LEASE_NAME), any())).thenReturn(true);
+        when(eventRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of(event("e1"), event("e2")));
+        when(reservationRepository.refreshEventSnapshots(any(Event.class))).thenReturn(2L, 0L);
+
+        assertThat(job.reconcile()).isEqualTo(2);
+        verify(leaseService).release(ReservationSnapshotBackfillJob.RECONCILE_LEASE_NAME);
+    }
+
+    @Test
+    @DisplayName("skips reservations whose event no longer exists")
+    void skipsDeletedEvents() {
+        when(leaseService.tryAcquire(eq(ReservationSnapshotBackfillJob.LEASE_NAME), any())).thenReturn(true);
+        when(reservationRepository.findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(List.of(legacy("r1", "gone")));
+        when(eventRepository.findAllById(Set.of("gone"))).thenReturn(List.of());
+
+        long filled = job.run();
+
+        assertThat(filled).isZero();
+        verify(reservationRepository).fillEventSnapshots(Map.of());
+        assertThat(job.isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("stops scanning on this node once a pass finds nothing to fill")
+    void completes() {
+        when(leaseService.tryAcquire(eq(ReservationSnapshotBackfillJob.LEASE_NAME), any())).thenReturn(true);
+        when(reservationRepository.findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(List.of());
+
+        job.runScheduled();
+        job.runScheduled();
+
+        verify(reservationRepository).findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc(any(), any());
+        verify(reservationRepository, never()).fillEventSnapshots(anyMap());
+    }
+
+    @Test
+    @DisplayName("does nothing while another node holds the lease")
+    void leaseHeldElsewhere() {
+        when(leaseService.tryAcquire(eq(ReservationSnapshotBackfillJob.LEASE_NAME), any())).thenReturn(false);
+
+        assertThat(job.run()).isZero();
+
+        verify(reservationRepository, never()).findByEventSnapshotIsNullAndIdGreaterThanOrderByIdAsc(any(), any());
+        verify(leaseService, never()).release(any());
+    }
+}
@@ -6,12 +6,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.Money;
 import ticketReservation.soen345.domain.Notification;
 import ticketReservation.soen345.domain.NotificationContext;
 import ticketReservation.soen345.domain.User;
 import ticketReservation.soen345.service.SmsSender;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -46,7 +46,7 @@ class SmsCommunicationStrategyTest {
                 .date(Instant.now())
                 .location("Montreal")
                 .capacity(100)
-                .ticketPrice(BigDecimal.valueOf(25))
+                .ticketPrice(Money.ofMinor(2500, "usd"))
                 .build();
 
         Notification notification = new Notification() {
@@ -1,10 +1,16 @@
 package ticketReservation.soen345.service.impl;
 
+import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
 import com.stripe.exception.InvalidRequestException;
+import com.stripe.model.Charge;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.Refund;
+import com.stripe.net.Webhook;
 import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PaymentIntentRetrieveParams;
 import com.stripe.param.RefundCreateParams;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,14 +18,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ticketReservation.soen345.config.StripeProperties;
+import ticketReservation.soen345.domain.Money;
+import ticketReservation.soen345.domain.PaymentProviderEvent;
+import ticketReservation.soen345.domain.PaymentStatus;
+import ticketReservation.soen345.exception.InvalidWebhookSignatureException;
 import ticketReservation.soen345.exception.PaymentProcessingException;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
@@ -36,7 +50,7 @@ class StripePaymentAdapterTest {
 
         try (MockedStatic<PaymentIntent> pis = mockStatic(PaymentIntent.class)) {
             String id = adapter.createPaymentIntent(
-                    BigDecimal.TEN, "usd", "cus_e2e_test", "pm_e2e_test", Map.of("a", "b"));
+                    Money.ofMinor(1000, "usd"), "cus_e2e_test", "pm_e2e_test", Map.of("a", "b"));
             assertThat(id).startsWith("pi_e2e_");
             pis.verify(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class)), never());
         }
@@ -54,8 +68,10 @@ class StripePaymentAdapterTest {
 
         try (MockedStatic<PaymentIntent> pis = mockStatic(PaymentIntent.class)) {
             pis.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class))).thenReturn(pi);
-            String id = adapter.createPaymentIntent(BigDecimal.valueOf(10.5), "usd", "cus_1", "pm_1", Map.of("a", "b"));
+            String id = adapter.createPaymentIntent(Money.ofMinor(1050, "usd"), "cus_1", "pm_1", Map.of("a", "b"));
             assertThat(id).isEqualTo("pi_abc");
+            pis.verify(() -> PaymentIntent.create(argThat((PaymentIntentCreateParams params) ->
+                    params.getAmount() == 1050L && "usd".equals(params.getCurrency()))));
         }
     }
 
@@ -71,7 +87,7 @@ class StripePaymentAdapterTest {
 
         try (MockedStatic<PaymentIntent> pis = mockStatic(PaymentIntent.class)) {
             pis.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class))).thenReturn(pi);
-            String id = adapter.createPaymentIntent(BigDecimal.ONE, "usd", "  ", null, Map.of());
+            String id = adapter.createPaymentIntent(Money.ofMinor(100, "usd"), "  ", null, Map.of());
             assertThat(id).isEqualTo("pi_min");
         }
     }
@@ -87,7 +103,7 @@ class StripePaymentAdapterTest {
             pis.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class)))
                     .thenThrow(new InvalidRequestException("x", "p", "m", "c", 400, null));
 
-            assertThatThrownBy(() -> adapter.createPaymentIntent(BigDecimal.ONE, "usd", null, null, null))
+            assertThatThrownBy(() -> adapter.createPaymentIntent(Money.ofMinor(100, "usd"), null, null, null))
                     .isInstanceOf(PaymentProcessingException.class)
                     .hasMessageContaining("Failed to create Stripe payment intent");
         }
@@ -99,19 +115,18 @@ class StripePaymentAdapterTest {
         StripeProperties props = mock(StripeProperties.class);
         when(props.getApiKey()).thenReturn("  ");
         StripePaymentAdapter adapter = new StripePaymentAdapter(props);
-        assertThatThrownBy(() -> adapter.createPaymentIntent(BigDecimal.ONE, "usd", null, null, Map.of()))
+        assertThatThrownBy(() -> adapter.createPaymentIntent(Money.ofMinor(100, "usd"), null, null, Map.of()))
                 .isInstanceOf(PaymentProcessingException.class)
                 .hasMessageContaining("API key");
     }
 
     @Test
-    @DisplayName("toMinorUnits throws when amount null")
+    @DisplayName("createPaymentIntent throws when amount null")
     void nullAmount() {
         StripeProperties props = mock(StripeProperties.class);
-        when(props.getApiKey()).thenReturn("sk_test");
         StripePaymentAdapter adapter = new StripePaymentAdapter(props);
         try (MockedStatic<PaymentIntent> pis = mockStatic(PaymentIntent.class)) {
-            assertThatThrownBy(() -> adapter.createPaymentIntent(null, "usd", null, null, Map.of()))
+            assertThatThrownBy(() -> adapter.createPaymentIntent(null, null, null, Map.of()))
                     .isInstanceOf(PaymentProcessingException.class)
                     .hasMessageContaining("Amount");
         }
@@ -162,4 +177,129 @@ class StripePaymentAdapterTest {
             assertThat(adapter.refundPayment("pi_x")).isEqualTo("re_1");
         }
     }
+
+    @Test
+    @DisplayName("parseWebhookEvent maps a verified succeeded intent to CONFIRMED")
+    void webhook_Succeeded() {
+        StripeProperties props = mock(StripeProperties.class);
+        when(props.getWebhookSecret()).thenReturn("whsec_1");
+        StripePaymentAdapter adapter = new StripePaymentAdapter(props);
+
+        PaymentIntent intent = mock(PaymentIntent.class);
+        when(intent.getId()).thenReturn("pi_1");
+        Event event = stripeEvent("evt_1", "payment_intent.succeeded", intent);
+
+        try (MockedStatic<Webhook> webhook = mockStatic(Webhook.class)) {
+            webhook.when(() -> Webhook.constructEvent("{}", "sig", "whsec_1")).thenReturn(event);
+
+            PaymentProviderEvent parsed = adapter.parseWebhookEvent("{}", "sig");
+
+            assertThat(parsed.eventId()).isEqualTo("evt_1");
+            assertThat(parsed.providerPaymentId()).isEqualTo("pi_1");
+            assertThat(parsed.targetStatus()).isEqualTo(PaymentStatus.CONFIRMED);
+            assertThat(parsed.createdAt()).isEqualTo(Instant.ofEpochSecond(1_700_000_000L));
+        }
+    }
+
+    @Test
+    @DisplayName("parseWebhookEvent maps a refunded charge to its payment intent")
+    void webhook_Refunded() {
+        StripeProperties props = mock(StripeProperties.class);
+        when(props.getWebhookSecret()).thenReturn("whsec_1");
+        StripePaymentAdapter adapter = new StripePaymentAdapter(props);
+
+        Charge charge = mock(Charge.class);
+        when(charge.getPaymentIntent()).thenReturn("pi_2");
+        Event event = stripeEvent("evt_2", "charge.refunded", charge);
+
+        try (MockedStatic<Webhook> webhook = mockStatic(Webhook.class)) {
+            webhook.when(() -> Webhook.constructEvent("{}", "sig", "whsec_1")).thenReturn(event);
+
+            PaymentProviderEvent parsed = adapter.parseWebhookEvent("{}", "sig");
+
+            assertThat(parsed.providerPaymentId()).isEqualTo("pi_2");
+            assertThat(parsed.targetStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        }
+    }
+
+    @Test
+    @DisplayName("parseWebhookEvent rejects bad signatures")
+    void webhook_BadSignature() {
+        StripeProperties props = mock(StripeProperties.class);
+        when(props.getWebhookSecret()).thenReturn("whsec_1");
+        StripePaymentAdapter adapter = new StripePaymentAdapter(props);
+
+        try (MockedStatic<Webhook> webhook = mockStatic(Webhook.class)) {
+            webhook.when(() -> Webhook.constructEvent("{}", "bad", "whsec_1"))
+                    .thenThrow(new SignatureVerificationException("bad", "bad"));
+
+            assertThatThrownBy(() -> adapter.parseWebhookEvent("{}", "bad"))
+                    .isInstanceOf(InvalidWebhookSignatureException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("parseWebhookEvent requires a configured secret")
+    void webhook_MissingSecret() {
+        StripeProperties props = mock(StripeProperties.class);
+        StripePaymentAdapter adapter = new StripePaymentAdapter(props);
+
+        assertThatThrownBy(() -> adapter.parseWebhookEvent("{}", "sig"))
+                .isInstanceOf(PaymentProcessingException.class)
+                .hasMessageContaining("webhook secret");
+    }
+
+    private Event stripeEvent(String id, String type, com.stripe.model.StripeObject object) {
+        Event event = mock(Event.class);
+        EventDataObjectDeserializer deserializer = mock(EventDataObjectDeserializer.class);
+        when(event.getId()).thenReturn(id);
+        when(event.getType()).thenReturn(type);
+        when(event.getCreated()).thenReturn(1_700_000_000L);
+        when(event.getDataObjectDeserializer()).thenReturn(deserializer);
+        when(deserializer.getObject()).thenReturn(Optional.of(object));
+        return event;
+    }
+
+    @Test
+    @DisplayName("fetchPaymentStatus maps a succeeded intent to CONFIRMED")
+    void fetchStatus_Succeeded() {
+        StripeProperties props = mock(StripeProperties.class);
+        when(props.getApiKey()).thenReturn("sk_test_123");
+        StripePaymentAdapter adapter = new StripePaymentAdapter(props);
+
+        PaymentIntent pi = mock(PaymentIntent.class);
+        when(pi.getStatus()).thenReturn("succeeded");
+
+        try (MockedStatic<PaymentIntent> pis = mockStatic(PaymentIntent.class)) {
+            pis.when(() -> PaymentIntent.retrieve(eq("pi_1"), any(PaymentIntentRetrieveParams.class), isNull()))
+                    .thenReturn(pi);
+            assertThat(adapter.fetchPaymentStatus("pi_1")).contains(PaymentStatus.CONFIRMED);
+        }
+    }
+
+    @Test
+    @DisplayName("fetchPaymentStatus reports REFUNDED when the latest charge was refunded")
+    void fetchStatus_Refunded() {
+        StripeProperties props = mock(StripeProperties.class);
+        when(props.getApiKey()).thenReturn("sk_test_123");
+        StripePaymentAdapter adapter = new StripePaymentAdapter(props);
+
+        Charge charge = mock(Charge.class);
+        when(charge.getRefunded()).thenReturn(true);
+        PaymentIntent pi = mock(PaymentIntent.class);
+        when(pi.getLatestChargeObject()).thenReturn(charge);
+
+        try (MockedStatic<PaymentIntent> pis = mockStatic(PaymentIntent.class)) {
+            pis.when(() -> PaymentIntent.retrieve(eq("pi_1"), any(PaymentIntentRetrieveParams.class), isNull()))
+                    .thenReturn(pi);
+            assertThat(adapter.fetchPaymentStatus("pi_1")).contains(PaymentStatus.REFUNDED);
+        }
+    }
+
+    @Test
+    @DisplayName("fetchPaymentStatus skips Stripe for E2E placeholder intents")
+    void fetchStatus_E2ePlaceholder() {
+        StripePaymentAdapter adapter = new StripePaymentAdapter(mock(StripeProperties.class));
+        assertThat(adapter.fetchPaymentStatus("pi_e2e_1")).isEmpty();
+    }
 }
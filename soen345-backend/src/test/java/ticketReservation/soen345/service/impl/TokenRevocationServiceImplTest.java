@@ -0,0 +1,110 @@
+package ticketReservation.soen345.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ticketReservation.soen345.config.TokenRevocationProperties;
+import ticketReservation.soen345.domain.RevokedToken;
+import ticketReservation.soen345.domain.UserStatus;
+import ticketReservation.soen345.domain.UserStatusChangedEvent;
+import ticketReservation.soen345.repository.RevokedTokenRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceImplTest {
+
+    private static final long ACCESS_TOKEN_MS = 3_600_000L;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TokenRevocationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        TokenRevocationProperties properties = new TokenRevocationProperties();
+        properties.setExpectedEntries(1_000);
+        service = new TokenRevocationServiceImpl(revokedTokenRepository, properties, ACCESS_TOKEN_MS, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("a token that is not in the filter is accepted without touching Mongo")
+    void fastPath() {
+        assertThat(service.isRevoked("jti-1", "u1", Instant.now())).isFalse();
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("a token revoked on this node is rejected immediately")
+    void revokedToken() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        service.revokeToken("jti-1", expiresAt);
+        when(revokedTokenRepository.existsById("token:jti-1")).thenReturn(true);
+
+        assertThat(service.isRevoked("jti-1", "u1", Instant.now())).isTrue();
+
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(expiresAt);
+    }
+
+    @Test
+    @DisplayName("a user revocation blocks tokens issued before it but not after")
+    void revokedUser() {
+        Instant revokedAt = Instant.now();
+        service.onUserStatusChanged(new UserStatusChangedEvent("u1", UserStatus.ACTIVE, UserStatus.SUSPENDED));
+        when(revokedTokenRepository.findById("user:u1")).thenReturn(Optional.of(RevokedToken.builder()
+                .id("user:u1").kind(RevokedToken.Kind.USER).subject("u1").revokedAt(revokedAt).build()));
+
+        assertThat(service.isRevoked(null, "u1", revokedAt.minusSeconds(30))).isTrue();
+        assertThat(service.isRevoked(null, "u1", revokedAt.plusSeconds(30))).isFalse();
+    }
+
+    @Test
+    @DisplayName("reactivating a user does not write a revocation")
+    void reactivation() {
+        service.onUserStatusChanged(new UserStatusChangedEvent("u1", UserStatus.SUSPENDED, UserStatus.ACTIVE));
+
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("sync loads revocations written by other nodes")
+    void syncFromOtherNodes() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(
+                RevokedToken.builder().id("token:remote").kind(RevokedToken.Kind.TOKEN).subject("remote").build()));
+        when(revokedTokenRepository.existsById("token:remote")).thenReturn(true);
+
+        service.sync();
+
+        assertThat(service.isRevoked("remote", "u9", Instant.now())).isTrue();
+    }
+
+    @Test
+    @DisplayName("a filter hit that cannot be confirmed is treated as revoked")
+    void failClosed() {
+        service.revokeToken("jti-1", Instant.now().plusSeconds(60));
+        when(revokedTokenRepository.existsById("token:jti-1")).thenThrow(new IllegalStateException("mongo down"));
+
+        assertThat(service.isRevoked("jti-1", "u1", Instant.now())).isTrue();
+        assertThat(meterRegistry.counter(TokenRevocationServiceImpl.CONFIRM_METRIC, "result", "error").count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+package ticketReservation.soen345.service.template;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.NotificationContext;
+import ticketReservation.soen345.domain.User;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledTemplateTest {
+
+    private static NotificationContext context(String eventName, String link) {
+        User user = User.builder().firstName("Sam").build();
+        Event event = Event.builder().name(eventName).location("Hall").date(Instant.now()).build();
+        return new NotificationContext(user, event, link);
+    }
+
+    @Test
+    @DisplayName("renders literals and placeholders in order")
+    void rendersPlaceholders() {
+        CompiledTemplate template = CompiledTemplate.compile("Hi {{firstName}}, see you at {{ eventLocation }}.", TemplateFormat.TEXT);
+
+        assertThat(template.render(context("Gig", null))).isEqualTo("Hi Sam, see you at Hall.");
+    }
+
+    @Test
+    @DisplayName("renders a section only when its variable has a value")
+    void sections() {
+        CompiledTemplate template = CompiledTemplate.compile(
+                "A{{#confirmationLink}} [{{confirmationLink}}]{{/confirmationLink}}B", TemplateFormat.TEXT);
+
+        assertThat(template.render(context("Gig", null))).isEqualTo("AB");
+        assertThat(template.render(context("Gig", "https://x.com/c"))).isEqualTo("A [https://x.com/c]B");
+    }
+
+    @Test
+    @DisplayName("HTML templates convert line breaks at compile time and escape values")
+    void html() {
+        CompiledTemplate template = CompiledTemplate.compile("Event: {{eventName}}\nBring <ID> & ticket", TemplateFormat.HTML);
+
+        assertThat(template.render(context("Rock & <Roll>", null)))
+                .isEqualTo("Event: Rock &amp; &lt;Roll&gt;<br/>Bring &lt;ID&gt; &amp; ticket");
+    }
+
+    @Test
+    @DisplayName("reuses the render buffer without leaking previous output")
+    void bufferReuse() {
+        CompiledTemplate longer = CompiledTemplate.compile("{{eventName}} {{eventName}} {{eventName}}", TemplateFormat.TEXT);
+        CompiledTemplate shorter = CompiledTemplate.compile("{{firstName}}", TemplateFormat.TEXT);
+
+        assertThat(longer.render(context("Gig", null))).isEqualTo("Gig Gig Gig");
+        assertThat(shorter.render(context("Gig", null))).isEqualTo("Sam");
+    }
+
+    @Test
+    @DisplayName("rejects unknown placeholders and unbalanced sections when compiling")
+    void invalidTemplates() {
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hi {{lastName}}", TemplateFormat.TEXT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("lastName");
+        assertThatThrownBy(() -> CompiledTemplate.compile("{{#confirmationLink}}x", TemplateFormat.TEXT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledTemplate.compile("x{{/confirmationLink}}", TemplateFormat.TEXT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledTemplate.compile("Hi {{firstName", TemplateFormat.TEXT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package ticketReservation.soen345.service.template;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ticketReservation.soen345.config.NotificationTemplateProperties;
+import ticketReservation.soen345.domain.Event;
+import ticketReservation.soen345.domain.Notification;
+import ticketReservation.soen345.domain.NotificationChannel;
+import ticketReservation.soen345.domain.NotificationContext;
+import ticketReservation.soen345.domain.NotificationType;
+import ticketReservation.soen345.domain.User;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationTemplatesTest {
+
+    private final NotificationTemplates templates = new NotificationTemplates(new NotificationTemplateProperties());
+
+    @Test
+    @DisplayName("confirmation subject and body include event details")
+    void confirm() {
+        User user = User.builder().firstName("Sam").build();
+        Event event = Event.builder()
+                .name("Gig")
+                .location("Venue")
+                .date(Instant.parse("2030-01-15T20:00:00Z"))
+                .build();
+        NotificationContext ctx = new NotificationContext(user, event, null);
+
+        Notification sms = templates.get(NotificationType.CONFIRM_RESERVATION, NotificationChannel.SMS);
+        assertThat(sms.subject(ctx)).isEqualTo("Reservation confirmed: Gig");
+        assertThat(sms.body(ctx)).contains("Sam").contains("Gig").contains("Venue")
+                .doesNotContain("Confirmation link")
+                .endsWith("Location: Venue\n\nThank you for using our ticket reservation system.");
+    }
+
+    @Test
+    @DisplayName("confirmation adds link when present")
+    void confirmWithLink() {
+        User user = User.builder().firstName("A").build();
+        Event event = Event.builder().name("E").location("L").date(Instant.now()).build();
+        NotificationContext ctx = new NotificationContext(user, event, "https://x.com/c");
+
+        Notification sms = templates.get(NotificationType.CONFIRM_RESERVATION, NotificationChannel.SMS);
+        assertThat(sms.body(ctx)).contains("\nConfirmation link: https://x.com/c\n");
+    }
+
+    @Test
+    @DisplayName("email bodies are HTML with line breaks and escaped values")
+    void emailIsHtml() {
+        User user = User.builder().firstName("A").build();
+        Event event = Event.builder().name("Rock & Roll").location("L").date(Instant.now()).build();
+        NotificationContext ctx = new NotificationContext(user, event, null);
+
+        Notification email = templates.get(NotificationType.CONFIRM_RESERVATION, NotificationChannel.EMAIL);
+        assertThat(email.subject(ctx)).isEqualTo("Reservation confirmed: Rock & Roll");
+        assertThat(email.body(ctx)).contains("Hi A,<br/><br/>").contains("Rock &amp; Roll").doesNotContain("\n");
+    }
+
+    @Test
+    @DisplayName("uses fallback when event name is null or blank")
+    void fallbackEventName() {
+        User user = User.builder().firstName("Pat").build();
+        Notification cancel = templates.get(NotificationType.CANCEL_RESERVATION, NotificationChannel.SMS);
+
+        Event nullName = Event.builder().name(null).location("Hall").date(Instant.now()).build();
+        NotificationContext ctxNull = new NotificationContext(user, nullName, null);
+        assertThat(cancel.subject(ctxNull)).contains("your event");
+        assertThat(cancel.body(ctxNull)).contains("your event").contains("Pat").contains("cancelled");
+
+        Event blankName = Event.builder().name("\t").location("Hall").date(Instant.now()).build();
+        NotificationContext ctxBlank = new NotificationContext(user, blankName, null);
+        assertThat(cancel.subject(ctxBlank)).contains("your event");
+        assertThat(cancel.body(ctxBlank)).contains("your event");
+    }
+
+    @Test
+    @DisplayName("configured overrides replace only the parts they set")
+    void overrides() {
+        NotificationTemplateProperties properties = new NotificationTemplateProperties();
+        NotificationTemplateProperties.Template sms = new NotificationTemplateProperties.Template();
+        sms.setBody("Booked: {{eventName}}");
+        properties.setTemplates(Map.of(NotificationType.CONFIRM_RESERVATION, Map.of(NotificationChannel.SMS, sms)));
+        NotificationTemplates configured = new NotificationTemplates(properties);
+
+        User user = User.builder().firstName("A").build();
+        Event event = Event.builder().name("Gig").location("L").date(Instant.now()).build();
+        NotificationContext ctx = new NotificationContext(user, event, null);
+
+        Notification notification = configured.get(NotificationType.CONFIRM_RESERVATION, NotificationChannel.SMS);
+        assertThat(notification.body(ctx)).isEqualTo("Booked: Gig");
+        assertThat(notification.subject(ctx)).isEqualTo("Reservation confirmed: Gig");
+        assertThat(configured.get(NotificationType.CONFIRM_RESERVATION, NotificationChannel.EMAIL).body(ctx))
+                .contains("Your reservation is confirmed.");
+    }
+
+    @Test
+    @DisplayName("an invalid configured template fails at startup")
+    void invalidOverride() {
+        NotificationTemplateProperties properties = new NotificationTemplateProperties();
+        NotificationTemplateProperties.Template email = new NotificationTemplateProperties.Template();
+        email.setSubject("Hi {{nickname}}");
+        properties.setTemplates(Map.of(NotificationType.CANCEL_RESERVATION, Map.of(NotificationChannel.EMAIL, email)));
+
+        assertThatThrownBy(() -> new NotificationTemplates(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("nickname");
+    }
+}
@@ -1,18 +1,59 @@
-import { describe, expect, it, vi } from "vitest";
+import { beforeEach, describe, expect, it, vi } from "vitest";
 
 const mockCookieDelete = vi.fn();
+const mockCookieGet = vi.fn();
 vi.mock("next/headers", () => ({
-  cookies: vi.fn(() => Promise.resolve({ delete: mockCookieDelete })),
+  cookies: vi.fn(() =>
+    Promise.resolve({ get: mockCookieGet, delete: mockCookieDelete }),
+  ),
 }));
 
+const fetchMock = vi.fn();
+vi.stubGlobal("fetch", fetchMock);
+
 import { POST } from "@/app/api/auth/logout/route";
 
+beforeEach(() => {
+  fetchMock.mockReset();
+  mockCookieGet.mockReset();
+  mockCookieDelete.mockReset();
+});
+
 describe("POST /api/auth/logout", () => {
   it("deletes the auth_token cookie and returns success", async () => {
+    mockCookieGet.mockReturnValue(undefined);
+
     const res = await POST();
     const body = await res.json();
 
+    expect(fetchMock).not.toHaveBeenCalled();
     expect(mockCookieDelete).toHaveBeenCalledWith("auth_token");
     expect(body.message).toBe("Logged out");
   });
+
+  it("revokes the token on the backend before clearing the cookie", async () => {
+    mockCookieGet.mockReturnValue({ value: "jwt-token-123" });
+    fetchMock.mockResolvedValue(new Response(null, { status: 204 }));
+
+    await POST();
+
+    expect(fetchMock).toHaveBeenCalledWith(
+      expect.stringContaining("/api/v1/auth/logout"),
+      expect.objectContaining({
+        method: "POST",
+        headers: { Authorization: "Bearer jwt-token-123" },
+      }),
+    );
+    expect(mockCookieDelete).toHaveBeenCalledWith("auth_token");
+  });
+
+  it("still clears the cookie when the backend is unreachable", async () => {
+    mockCookieGet.mockReturnValue({ value: "jwt-token-123" });
+    fetchMock.mockRejectedValue(new Error("network"));
+
+    const res = await POST();
+
+    expect(res.status).toBe(200);
+    expect(mockCookieDelete).toHaveBeenCalledWith("auth_token");
+  });
 });
@@ -1,8 +1,24 @@
 import { cookies } from "next/headers";
 import { NextResponse } from "next/server";
+import { BACKEND_URL } from "@/lib/backend";
 
 export async function POST() {
   const cookieStore = await cookies();
+  const token = cookieStore.get("auth_token")?.value;
+
+  if (token) {
+    // Revoke the token server-side; the cookie is cleared even if this fails.
+    try {
+      await fetch(`${BACKEND_URL}/api/v1/auth/logout`, {
+        method: "POST",
+        headers: { Authorization: `Bearer ${token}` },
+        cache: "no-store",
+      });
+    } catch {
+      // ignore
+    }
+  }
+
   cookieStore.delete("auth_token");
 
   return NextResponse.json({ message: "Logged out" });
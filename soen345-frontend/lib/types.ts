@@ -12,6 +12,8 @@ export interface LoginResponse {
   tokenType: string;
   accessToken: string;
   expiresIn: number;
+  refreshToken?: string;
+  refreshExpiresIn?: number;
   user: UserInfo;
 }
 
@@ -77,7 +79,7 @@ export interface Reservation {
   eventLocation: string;
   eventTicketPrice: number;
   quantity?: number | null;
-  status: "ACTIVE" | "CANCELLED";
+  status: "PENDING" | "ACTIVE" | "CANCELLED";
   reservedAt: string;
   cancelledAt?: string | null;
   updatedAt?: string | null;